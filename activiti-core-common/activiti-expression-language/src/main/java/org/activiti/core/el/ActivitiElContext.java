@@ -30,6 +30,7 @@ public class ActivitiElContext extends ELContext {
 
     protected ELResolver elResolver;
     private ActivitiFunctionMapper functions;
+    private boolean sharedFunctions;
     private ActivitiVariablesMapper variables;
 
     public ActivitiElContext() {
@@ -40,6 +41,16 @@ public class ActivitiElContext extends ELContext {
         this.elResolver = elResolver;
     }
 
+    /**
+     * Creates a context that uses the given functions, which may be shared with other contexts:
+     * they are copied before a function is added to this context.
+     */
+    public ActivitiElContext(ELResolver elResolver, ActivitiFunctionMapper functions) {
+        this.elResolver = elResolver;
+        this.functions = functions;
+        this.sharedFunctions = functions != null;
+    }
+
     public ELResolver getELResolver() {
         return elResolver;
     }
@@ -61,6 +72,9 @@ public class ActivitiElContext extends ELContext {
     public void setFunction(String prefix, String localName, Method method) {
         if (functions == null) {
             functions = new ActivitiFunctionMapper();
+        } else if (sharedFunctions) {
+            functions = new ActivitiFunctionMapper(functions);
+            sharedFunctions = false;
         }
         functions.setFunction(prefix, localName, method);
     }
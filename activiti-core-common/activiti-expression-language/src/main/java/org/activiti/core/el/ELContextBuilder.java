@@ -19,7 +19,6 @@ import static org.activiti.core.el.DateResolverHelper.addDateFunctions;
 import static org.activiti.core.el.ListResolverHelper.addListFunctions;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -37,6 +36,11 @@ public class ELContextBuilder {
 
     private static final Logger logger = LoggerFactory.getLogger(ELContextBuilder.class);
 
+    /**
+     * The custom functions are the same for every context, so they are only looked up once.
+     */
+    private static final ActivitiFunctionMapper CUSTOM_FUNCTIONS = createCustomFunctions();
+
     private List<ELResolver> resolvers;
     private Map<String, Object> variables;
 
@@ -57,14 +61,18 @@ public class ELContextBuilder {
 
     public ELContext buildWithCustomFunctions() {
         CompositeELResolver elResolver = createCompositeResolver();
-        ActivitiElContext elContext = new ActivitiElContext(elResolver);
+        return new ActivitiElContext(elResolver, CUSTOM_FUNCTIONS);
+    }
+
+    private static ActivitiFunctionMapper createCustomFunctions() {
+        ActivitiElContext elContext = new ActivitiElContext();
         try {
             addDateFunctions(elContext);
             addListFunctions(elContext);
         } catch (NoSuchMethodException e) {
             logger.error("Error setting up EL custom functions", e);
         }
-        return elContext;
+        return (ActivitiFunctionMapper) elContext.getFunctionMapper();
     }
 
     private void addResolvers(CompositeELResolver compositeResolver) {
@@ -75,7 +83,8 @@ public class ELContextBuilder {
 
     private CompositeELResolver createCompositeResolver() {
         CompositeELResolver elResolver = new CompositeELResolver();
-        elResolver.add(new ReadOnlyMapELResolver((Objects.nonNull(variables) ? new HashMap<>(variables) : Collections.emptyMap())));
+        // The variables are only read while resolving, so they are wrapped instead of copied
+        elResolver.add(new ReadOnlyMapELResolver(Objects.nonNull(variables) ? Collections.<Object, Object>unmodifiableMap(variables) : Collections.emptyMap()));
         addResolvers(elResolver);
         return elResolver;
     }
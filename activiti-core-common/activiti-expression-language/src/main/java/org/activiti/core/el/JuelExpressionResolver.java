@@ -21,7 +21,9 @@ import static org.activiti.core.el.CommonELResolversUtil.jsonNodeResolver;
 import static org.activiti.core.el.CommonELResolversUtil.listResolver;
 import static org.activiti.core.el.CommonELResolversUtil.mapResolver;
 import java.util.Map;
+import javax.el.CompositeELResolver;
 import javax.el.ELContext;
+import javax.el.ELResolver;
 import javax.el.ExpressionFactory;
 import javax.el.ValueExpression;
 import de.odysseus.el.ExpressionFactoryImpl;
@@ -30,6 +32,11 @@ public class JuelExpressionResolver implements ExpressionResolver {
 
     private final ExpressionFactory expressionFactory;
 
+    /**
+     * The resolvers don't hold any state of an evaluation, so the same chain is used for every expression.
+     */
+    private final ELResolver commonResolver = createCommonResolver();
+
     public JuelExpressionResolver() {
         this(new ExpressionFactoryImpl());
     }
@@ -50,14 +57,18 @@ public class JuelExpressionResolver implements ExpressionResolver {
 
     protected ELContext buildContext (Map<String, Object> variables) {
         return new ELContextBuilder()
-            .withResolvers(
-                arrayResolver(),
-                listResolver(),
-                mapResolver(),
-                jsonNodeResolver(),
-                beanResolver()
-            )
+            .withResolvers(commonResolver)
             .withVariables(variables)
             .buildWithCustomFunctions();
     }
+
+    private static ELResolver createCommonResolver() {
+        CompositeELResolver resolver = new CompositeELResolver();
+        resolver.add(arrayResolver());
+        resolver.add(listResolver());
+        resolver.add(mapResolver());
+        resolver.add(jsonNodeResolver());
+        resolver.add(beanResolver());
+        return resolver;
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.core.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.lang.reflect.Method;
+import org.junit.Test;
+
+public class ELContextBuilderTest {
+
+    @Test
+    public void should_shareCustomFunctions_when_contextsAreBuilt() {
+        //when
+        ActivitiElContext firstContext = (ActivitiElContext) new ELContextBuilder().buildWithCustomFunctions();
+        ActivitiElContext secondContext = (ActivitiElContext) new ELContextBuilder().buildWithCustomFunctions();
+
+        //then
+        assertThat(firstContext.getFunctionMapper()).isSameAs(secondContext.getFunctionMapper());
+        assertThat(firstContext.getFunctionMapper().resolveFunction("", "now")).isNotNull();
+        assertThat(firstContext.getFunctionMapper().resolveFunction("", "list")).isNotNull();
+    }
+
+    @Test
+    public void should_notChangeOtherContexts_when_functionIsAddedToContext() throws Exception {
+        //given
+        ActivitiElContext context = (ActivitiElContext) new ELContextBuilder().buildWithCustomFunctions();
+        Method method = String.class.getMethod("valueOf", Object.class);
+
+        //when
+        context.setFunction("", "string", method);
+
+        //then
+        assertThat(context.getFunctionMapper().resolveFunction("", "string")).isEqualTo(method);
+        assertThat(context.getFunctionMapper().resolveFunction("", "now")).isNotNull();
+        ActivitiElContext otherContext = (ActivitiElContext) new ELContextBuilder().buildWithCustomFunctions();
+        assertThat(otherContext.getFunctionMapper().resolveFunction("", "string")).isNull();
+    }
+
+}
@@ -135,4 +135,19 @@ public class JuelResolverTest {
         //then
         assertThat(result).contains(1l, "item", 3l);
     }
+
+    @Test
+    public void should_resolveVariablesOfEachCall_when_resolverIsReused() {
+        //given
+        String expressionString = "${name}";
+        ExpressionResolver expressionResolver = new JuelExpressionResolver();
+
+        //when
+        String firstValue = expressionResolver.resolveExpression(expressionString, Collections.singletonMap("name", "jon doe"), String.class);
+        String secondValue = expressionResolver.resolveExpression(expressionString, Collections.singletonMap("name", "jane doe"), String.class);
+
+        //then
+        assertThat(firstValue).isEqualTo("jon doe");
+        assertThat(secondValue).isEqualTo("jane doe");
+    }
 }
@@ -62,6 +62,7 @@ public interface BpmnXMLConstants {
   public static final String ELEMENT_POTENTIAL_STARTER = "potentialStarter";
   public static final String ATTRIBUTE_PROCESS_CANDIDATE_USERS = "candidateStarterUsers";
   public static final String ATTRIBUTE_PROCESS_CANDIDATE_GROUPS = "candidateStarterGroups";
+  public static final String ATTRIBUTE_PROCESS_STRAIGHT_THROUGH = "straightThrough";
   public static final String ELEMENT_SUBPROCESS = "subProcess";
   public static final String ATTRIBUTE_TRIGGERED_BY = "triggeredByEvent";
   public static final String ELEMENT_TRANSACTION = "transaction";
@@ -129,6 +129,19 @@ public interface ManagementService {
    */
   Job moveDeadLetterJobToExecutableJob(String jobId, int retries);
 
+  /**
+   * Releases the locks that the given lock owner holds on jobs and timer jobs, regardless of
+   * their lock expiration time, so other async executors can acquire these jobs right away.
+   *
+   * Only use this when the lock owner is known to be down: jobs that are still being executed
+   * by a live lock owner can otherwise be executed twice.
+   *
+   * @param lockOwner
+   *          the lock owner of the async executor that went down, cannot be null.
+   * @return the number of jobs and timer jobs that were released.
+   */
+  int resetJobLocks(String lockOwner);
+
   /**
    * Delete the job with the provided id.
    *
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.delegate;
+
+/**
+ * An element returned by a {@link MultiInstanceElementSource}, together with the position token
+ * from which the source can continue with the next element.
+ */
+public class MultiInstanceElement {
+
+  protected Object value;
+  protected String position;
+
+  public MultiInstanceElement(Object value, String position) {
+    this.value = value;
+    this.position = position;
+  }
+
+  public Object getValue() {
+    return value;
+  }
+
+  public String getPosition() {
+    return position;
+  }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.delegate;
+
+/**
+ * Source of the elements of a sequential multi-instance activity, to be used instead of a collection
+ * when the elements are too many to be kept in a process variable.
+ *
+ * When the collection expression of a sequential multi-instance activity (eg. activiti:collection="${myElementSource}")
+ * resolves to an instance of this interface, the elements are fetched one at a time. Only the position of the
+ * last fetched element is stored, as a local variable on the multi-instance root execution, so the loop can
+ * resume from it in a later transaction.
+ *
+ * As the total number of elements is not known up front, the nrOfInstances variable holds the number of elements fetched so far.
+ */
+public interface MultiInstanceElementSource {
+
+  /**
+   * @param execution the multi-instance root execution
+   * @param position the position of the previously fetched element, or null to fetch the first element
+   * @return the next element with its position, or null when there are no more elements
+   */
+  MultiInstanceElement next(DelegateExecution execution, String position);
+
+}
@@ -41,6 +41,7 @@ import org.activiti.engine.impl.cmd.JobType;
 import org.activiti.engine.impl.cmd.MoveDeadLetterJobToExecutableJobCmd;
 import org.activiti.engine.impl.cmd.MoveJobToDeadLetterJobCmd;
 import org.activiti.engine.impl.cmd.MoveTimerToExecutableJobCmd;
+import org.activiti.engine.impl.cmd.ResetJobLocksCmd;
 import org.activiti.engine.impl.cmd.SetJobRetriesCmd;
 import org.activiti.engine.impl.cmd.SetTimerJobRetriesCmd;
 import org.activiti.engine.impl.db.DbSqlSession;
@@ -106,6 +107,11 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
     return commandExecutor.execute(new MoveDeadLetterJobToExecutableJobCmd(jobId, retries));
   }
 
+  @Override
+  public int resetJobLocks(String lockOwner) {
+    return commandExecutor.execute(new ResetJobLocksCmd(lockOwner));
+  }
+
   public void deleteJob(String jobId) {
     commandExecutor.execute(new DeleteJobCmd(jobId));
   }
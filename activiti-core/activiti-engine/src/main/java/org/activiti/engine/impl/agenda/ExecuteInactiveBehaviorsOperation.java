@@ -27,6 +27,10 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Operation that usually gets scheduled as last operation of handling a {@link Command}.
@@ -60,14 +64,26 @@ public class ExecuteInactiveBehaviorsOperation extends AbstractOperation {
      *
      */
 
+    // Many involved executions typically share their process instance and process definition
+    Set<String> handledProcessInstanceIds = new HashSet<String>();
+    Map<String, Collection<String>> flowNodeIdsWithInactivatedBehaviorByProcessDefinitionId = new HashMap<String, Collection<String>>();
+
     for (ExecutionEntity executionEntity : involvedExecutions) {
 
+      if (!handledProcessInstanceIds.add(executionEntity.getProcessInstanceId())) {
+        continue;
+      }
+
       Process process = ProcessDefinitionUtil.getProcess(executionEntity.getProcessDefinitionId());
-      Collection<String> flowNodeIdsWithInactivatedBehavior = new ArrayList<String>();
-      for (FlowNode flowNode : process.findFlowElementsOfType(FlowNode.class)) {
-        if (flowNode.getBehavior() instanceof InactiveActivityBehavior) {
-          flowNodeIdsWithInactivatedBehavior.add(flowNode.getId());
+      Collection<String> flowNodeIdsWithInactivatedBehavior = flowNodeIdsWithInactivatedBehaviorByProcessDefinitionId.get(executionEntity.getProcessDefinitionId());
+      if (flowNodeIdsWithInactivatedBehavior == null) {
+        flowNodeIdsWithInactivatedBehavior = new ArrayList<String>();
+        for (FlowNode flowNode : process.findFlowElementsOfType(FlowNode.class)) {
+          if (flowNode.getBehavior() instanceof InactiveActivityBehavior) {
+            flowNodeIdsWithInactivatedBehavior.add(flowNode.getId());
+          }
         }
+        flowNodeIdsWithInactivatedBehaviorByProcessDefinitionId.put(executionEntity.getProcessDefinitionId(), flowNodeIdsWithInactivatedBehavior);
       }
 
       if (flowNodeIdsWithInactivatedBehavior.size() > 0) {
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.agenda;
+
+import java.util.ArrayDeque;
+
+import org.activiti.engine.ActivitiEngineAgenda;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ActivitiEngineAgenda} for straight-through processes that take many steps in one command.
+ *
+ * Behaves like the {@link DefaultActivitiEngineAgenda}, but keeps its operations in an array based deque
+ * and reuses the operation instances it plans: an operation returns itself to the pool of its agenda
+ * once it has run, and is handed out again for the next operation of the same type. As the agenda
+ * lives as long as its command context, the pools are never shared between threads.
+ *
+ * Operations that are not run (for example because their execution ended in the meantime)
+ * are simply not reused.
+ */
+public class PooledActivitiEngineAgenda implements ActivitiEngineAgenda {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledActivitiEngineAgenda.class);
+
+    protected static final int MAX_POOLED_OPERATIONS_PER_TYPE = 16;
+
+    protected ArrayDeque<Runnable> operations = new ArrayDeque<Runnable>();
+    protected CommandContext commandContext;
+
+    protected ArrayDeque<PooledContinueProcessOperation> continueProcessOperations = new ArrayDeque<PooledContinueProcessOperation>();
+    protected ArrayDeque<PooledContinueMultiInstanceOperation> continueMultiInstanceOperations = new ArrayDeque<PooledContinueMultiInstanceOperation>();
+    protected ArrayDeque<PooledTakeOutgoingSequenceFlowsOperation> takeOutgoingSequenceFlowsOperations = new ArrayDeque<PooledTakeOutgoingSequenceFlowsOperation>();
+    protected ArrayDeque<PooledEndExecutionOperation> endExecutionOperations = new ArrayDeque<PooledEndExecutionOperation>();
+    protected ArrayDeque<PooledTriggerExecutionOperation> triggerExecutionOperations = new ArrayDeque<PooledTriggerExecutionOperation>();
+    protected ArrayDeque<PooledDestroyScopeOperation> destroyScopeOperations = new ArrayDeque<PooledDestroyScopeOperation>();
+
+    public PooledActivitiEngineAgenda(CommandContext commandContext) {
+        this.commandContext = commandContext;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    @Override
+    public Runnable getNextOperation() {
+        return operations.poll();
+    }
+
+    @Override
+    public void planOperation(Runnable operation) {
+        operations.add(operation);
+
+        if (operation instanceof AbstractOperation) {
+            ExecutionEntity execution = ((AbstractOperation) operation).getExecution();
+            if (execution != null) {
+                commandContext.addInvolvedExecution(execution);
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Operation {} added to agenda", operation.getClass());
+        }
+    }
+
+    @Override
+    public void planContinueProcessOperation(ExecutionEntity execution) {
+        planOperation(obtainContinueProcessOperation(execution, false, false));
+    }
+
+    @Override
+    public void planContinueProcessSynchronousOperation(ExecutionEntity execution) {
+        planOperation(obtainContinueProcessOperation(execution, true, false));
+    }
+
+    @Override
+    public void planContinueProcessInCompensation(ExecutionEntity execution) {
+        planOperation(obtainContinueProcessOperation(execution, false, true));
+    }
+
+    @Override
+    public void planContinueMultiInstanceOperation(ExecutionEntity execution) {
+        PooledContinueMultiInstanceOperation operation = continueMultiInstanceOperations.poll();
+        if (operation == null) {
+            operation = new PooledContinueMultiInstanceOperation(commandContext, this);
+        }
+        operation.setExecution(execution);
+        planOperation(operation);
+    }
+
+    @Override
+    public void planTakeOutgoingSequenceFlowsOperation(ExecutionEntity execution, boolean evaluateConditions) {
+        PooledTakeOutgoingSequenceFlowsOperation operation = takeOutgoingSequenceFlowsOperations.poll();
+        if (operation == null) {
+            operation = new PooledTakeOutgoingSequenceFlowsOperation(commandContext, this);
+        }
+        operation.setExecution(execution);
+        operation.evaluateConditions = evaluateConditions;
+        planOperation(operation);
+    }
+
+    @Override
+    public void planEndExecutionOperation(ExecutionEntity execution) {
+        PooledEndExecutionOperation operation = endExecutionOperations.poll();
+        if (operation == null) {
+            operation = new PooledEndExecutionOperation(commandContext, this);
+        }
+        operation.setExecution(execution);
+        planOperation(operation);
+    }
+
+    @Override
+    public void planTriggerExecutionOperation(ExecutionEntity execution) {
+        PooledTriggerExecutionOperation operation = triggerExecutionOperations.poll();
+        if (operation == null) {
+            operation = new PooledTriggerExecutionOperation(commandContext, this);
+        }
+        operation.setExecution(execution);
+        planOperation(operation);
+    }
+
+    @Override
+    public void planDestroyScopeOperation(ExecutionEntity execution) {
+        PooledDestroyScopeOperation operation = destroyScopeOperations.poll();
+        if (operation == null) {
+            operation = new PooledDestroyScopeOperation(commandContext, this);
+        }
+        operation.setExecution(execution);
+        planOperation(operation);
+    }
+
+    @Override
+    public void planExecuteInactiveBehaviorsOperation() {
+        // Planned once per command, so there's nothing to gain by pooling it
+        planOperation(new ExecuteInactiveBehaviorsOperation(commandContext));
+    }
+
+    protected PooledContinueProcessOperation obtainContinueProcessOperation(ExecutionEntity execution, boolean forceSynchronousOperation, boolean inCompensation) {
+        PooledContinueProcessOperation operation = continueProcessOperations.poll();
+        if (operation == null) {
+            operation = new PooledContinueProcessOperation(commandContext, this);
+        }
+        operation.setExecution(execution);
+        operation.forceSynchronousOperation = forceSynchronousOperation;
+        operation.inCompensation = inCompensation;
+        return operation;
+    }
+
+    protected <T extends AbstractOperation> void release(ArrayDeque<T> pool, T operation) {
+        operation.setExecution(null);
+        if (pool.size() < MAX_POOLED_OPERATIONS_PER_TYPE) {
+            pool.push(operation);
+        }
+    }
+
+    // Pooled operations: each one returns itself to the pool of its agenda after it has run
+
+    protected static class PooledContinueProcessOperation extends ContinueProcessOperation {
+
+        protected final PooledActivitiEngineAgenda pooledAgenda;
+
+        public PooledContinueProcessOperation(CommandContext commandContext, PooledActivitiEngineAgenda pooledAgenda) {
+            super(commandContext, null);
+            this.pooledAgenda = pooledAgenda;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                pooledAgenda.release(pooledAgenda.continueProcessOperations, this);
+            }
+        }
+    }
+
+    protected static class PooledContinueMultiInstanceOperation extends ContinueMultiInstanceOperation {
+
+        protected final PooledActivitiEngineAgenda pooledAgenda;
+
+        public PooledContinueMultiInstanceOperation(CommandContext commandContext, PooledActivitiEngineAgenda pooledAgenda) {
+            super(commandContext, null);
+            this.pooledAgenda = pooledAgenda;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                pooledAgenda.release(pooledAgenda.continueMultiInstanceOperations, this);
+            }
+        }
+    }
+
+    protected static class PooledTakeOutgoingSequenceFlowsOperation extends TakeOutgoingSequenceFlowsOperation {
+
+        protected final PooledActivitiEngineAgenda pooledAgenda;
+
+        public PooledTakeOutgoingSequenceFlowsOperation(CommandContext commandContext, PooledActivitiEngineAgenda pooledAgenda) {
+            super(commandContext, null, false);
+            this.pooledAgenda = pooledAgenda;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                pooledAgenda.release(pooledAgenda.takeOutgoingSequenceFlowsOperations, this);
+            }
+        }
+    }
+
+    protected static class PooledEndExecutionOperation extends EndExecutionOperation {
+
+        protected final PooledActivitiEngineAgenda pooledAgenda;
+
+        public PooledEndExecutionOperation(CommandContext commandContext, PooledActivitiEngineAgenda pooledAgenda) {
+            super(commandContext, null);
+            this.pooledAgenda = pooledAgenda;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                pooledAgenda.release(pooledAgenda.endExecutionOperations, this);
+            }
+        }
+    }
+
+    protected static class PooledTriggerExecutionOperation extends TriggerExecutionOperation {
+
+        protected final PooledActivitiEngineAgenda pooledAgenda;
+
+        public PooledTriggerExecutionOperation(CommandContext commandContext, PooledActivitiEngineAgenda pooledAgenda) {
+            super(commandContext, null);
+            this.pooledAgenda = pooledAgenda;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                pooledAgenda.release(pooledAgenda.triggerExecutionOperations, this);
+            }
+        }
+    }
+
+    protected static class PooledDestroyScopeOperation extends DestroyScopeOperation {
+
+        protected final PooledActivitiEngineAgenda pooledAgenda;
+
+        public PooledDestroyScopeOperation(CommandContext commandContext, PooledActivitiEngineAgenda pooledAgenda) {
+            super(commandContext, null);
+            this.pooledAgenda = pooledAgenda;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                pooledAgenda.release(pooledAgenda.destroyScopeOperations, this);
+            }
+        }
+    }
+
+}
@@ -14,29 +14,21 @@
  * limitations under the License.
  */
 
-package org.activiti.engine.impl.asyncexecutor;
+package org.activiti.engine.impl.agenda;
 
-import java.util.List;
-
-import org.activiti.engine.impl.Page;
-import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.ActivitiEngineAgenda;
+import org.activiti.engine.ActivitiEngineAgendaFactory;
 import org.activiti.engine.impl.interceptor.CommandContext;
-import org.activiti.engine.impl.persistence.entity.JobEntity;
 
 /**
-
+ * Creates a {@link PooledActivitiEngineAgenda} for every command context. Set it with
+ * {@link org.activiti.engine.ProcessEngineConfiguration#setEngineAgendaFactory(ActivitiEngineAgendaFactory)}.
  */
-public class FindExpiredJobsCmd implements Command<List<JobEntity>> {
-
-  protected int pageSize;
-
-  public FindExpiredJobsCmd(int pageSize) {
-    this.pageSize = pageSize;
-  }
+public class PooledActivitiEngineAgendaFactory implements ActivitiEngineAgendaFactory {
 
   @Override
-  public List<JobEntity> execute(CommandContext commandContext) {
-    return commandContext.getJobEntityManager().findExpiredJobs(new Page(0, pageSize));
+  public ActivitiEngineAgenda createAgenda(CommandContext commandContext) {
+    return new PooledActivitiEngineAgenda(commandContext);
   }
 
 }
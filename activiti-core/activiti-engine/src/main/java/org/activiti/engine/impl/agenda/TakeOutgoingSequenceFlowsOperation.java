@@ -16,6 +16,7 @@
 package org.activiti.engine.impl.agenda;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -40,9 +41,11 @@ import org.activiti.engine.impl.bpmn.helper.SkipExpressionUtil;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.el.UelExpressionCondition;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.deploy.CompiledProcessGraph;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.activiti.engine.impl.util.CollectionUtil;
+import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 import org.activiti.engine.impl.util.condition.ConditionUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -134,17 +137,43 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
                      flowNode.getId(),
                      flowNode.getOutgoingFlows().size());
 
-        // Get default sequence flow (if set)
+        // The compiled graph has the outgoing sequence flow, the default flow and the parsed conditions and skip expressions resolved
+        List<SequenceFlow> flowNodeOutgoingFlows = flowNode.getOutgoingFlows();
+        Expression[] compiledConditions = null;
+        Expression[] compiledSkipExpressions = null;
+        SequenceFlow defaultSequenceFlow = null;
         String defaultSequenceFlowId = null;
-        if (flowNode instanceof Activity) {
-            defaultSequenceFlowId = ((Activity) flowNode).getDefaultFlow();
-        } else if (flowNode instanceof Gateway) {
-            defaultSequenceFlowId = ((Gateway) flowNode).getDefaultFlow();
+
+        CompiledProcessGraph processGraph = ProcessDefinitionUtil.getCompiledProcessGraph(execution.getProcessDefinitionId());
+        int nodeIndex = processGraph != null ? processGraph.indexOf(flowNode) : CompiledProcessGraph.NO_INDEX;
+        if (nodeIndex != CompiledProcessGraph.NO_INDEX) {
+            flowNodeOutgoingFlows = Arrays.asList(processGraph.getOutgoingFlows(nodeIndex));
+            compiledConditions = processGraph.getOutgoingConditions(nodeIndex);
+            compiledSkipExpressions = processGraph.getOutgoingSkipExpressions(nodeIndex);
+            defaultSequenceFlow = processGraph.getDefaultFlow(nodeIndex);
+            defaultSequenceFlowId = defaultSequenceFlow != null ? defaultSequenceFlow.getId() : null;
+
+        } else {
+            // Get default sequence flow (if set)
+            if (flowNode instanceof Activity) {
+                defaultSequenceFlowId = ((Activity) flowNode).getDefaultFlow();
+            } else if (flowNode instanceof Gateway) {
+                defaultSequenceFlowId = ((Gateway) flowNode).getDefaultFlow();
+            }
+            if (defaultSequenceFlowId != null) {
+                for (SequenceFlow sequenceFlow : flowNodeOutgoingFlows) {
+                    if (defaultSequenceFlowId.equals(sequenceFlow.getId())) {
+                        defaultSequenceFlow = sequenceFlow;
+                        break;
+                    }
+                }
+            }
         }
 
         // Determine which sequence flows can be used for leaving
         List<SequenceFlow> outgoingSequenceFlows = new ArrayList<SequenceFlow>();
-        for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
+        for (int i = 0; i < flowNodeOutgoingFlows.size(); i++) {
+            SequenceFlow sequenceFlow = flowNodeOutgoingFlows.get(i);
 
             String skipExpressionString = sequenceFlow.getSkipExpression();
             if (!SkipExpressionUtil.isSkipExpressionEnabled(execution,
@@ -152,12 +181,15 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
 
                 if (!evaluateConditions
                         || (evaluateConditions && ConditionUtil.hasTrueCondition(sequenceFlow,
-                                                                                 execution) && (defaultSequenceFlowId == null || !defaultSequenceFlowId.equals(sequenceFlow.getId())))) {
+                                                                                 execution,
+                                                                                 compiledConditions != null ? compiledConditions[i] : null)
+                        && (defaultSequenceFlowId == null || !defaultSequenceFlowId.equals(sequenceFlow.getId())))) {
                     outgoingSequenceFlows.add(sequenceFlow);
                 }
-            } else if (flowNode.getOutgoingFlows().size() == 1 || SkipExpressionUtil.shouldSkipFlowElement(commandContext,
-                                                                                                           execution,
-                                                                                                           skipExpressionString)) {
+            } else if (flowNodeOutgoingFlows.size() == 1 || SkipExpressionUtil.shouldSkipFlowElement(commandContext,
+                                                                                                    execution,
+                                                                                                    skipExpressionString,
+                                                                                                    compiledSkipExpressions != null ? compiledSkipExpressions[i] : null)) {
                 // The 'skip' for a sequence flow means that we skip the condition, not the sequence flow.
                 outgoingSequenceFlows.add(sequenceFlow);
             }
@@ -165,13 +197,8 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
 
         // Check if there is a default sequence flow
         if (outgoingSequenceFlows.size() == 0 && evaluateConditions) { // The elements that set this to false also have no support for default sequence flow
-            if (defaultSequenceFlowId != null) {
-                for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
-                    if (defaultSequenceFlowId.equals(sequenceFlow.getId())) {
-                        outgoingSequenceFlows.add(sequenceFlow);
-                        break;
-                    }
-                }
+            if (defaultSequenceFlow != null) {
+                outgoingSequenceFlows.add(defaultSequenceFlow);
             }
         }
 
@@ -54,7 +54,9 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     while (!isInterrupted) {
 
       try {
+        long acquisitionStart = System.currentTimeMillis();
         AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+        asyncExecutor.getMetrics().asyncJobsAcquired(acquiredJobs.size(), System.currentTimeMillis() - acquisitionStart);
 
         boolean allJobsSuccessfullyOffered = true;
         for (JobEntity job : acquiredJobs.getJobs()) {
@@ -79,6 +81,7 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         }
 
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+        asyncExecutor.getMetrics().optimisticLockingConflict();
         if (log.isDebugEnabled()) {
           log.debug("Optimistic locking exception during async job acquisition. If you have multiple async executors running against the same database, "
               + "this exception means that this thread tried to acquire a due async job, which already was acquired by another async executor acquisition thread."
@@ -16,6 +16,8 @@
 
 package org.activiti.engine.impl.asyncexecutor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.activiti.engine.ActivitiOptimisticLockingException;
@@ -24,6 +26,7 @@ import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.runtime.Job;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,18 +61,38 @@ public class AcquireTimerJobsRunnable implements Runnable {
     while (!isInterrupted) {
 
       try {
+        long acquisitionStart = System.currentTimeMillis();
         final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+        asyncExecutor.getMetrics().timerJobsAcquired(acquiredJobs.size(), System.currentTimeMillis() - acquisitionStart);
+
+        final List<TimerJobEntity> timerJobsToMove = new ArrayList<TimerJobEntity>(acquiredJobs.size());
+        List<TimerJobEntity> timerJobsToExecute = new ArrayList<TimerJobEntity>(acquiredJobs.size());
+        for (TimerJobEntity job : acquiredJobs.getJobs()) {
+          if (isExecutableInPlace(job)) {
+            timerJobsToExecute.add(job);
+          } else {
+            timerJobsToMove.add(job);
+          }
+        }
 
-        commandExecutor.execute(new Command<Void>() {
+        if (!timerJobsToMove.isEmpty()) {
+          commandExecutor.execute(new Command<Void>() {
 
-          @Override
-          public Void execute(CommandContext commandContext) {
-            for (TimerJobEntity job : acquiredJobs.getJobs()) {
-              jobManager.moveTimerJobToExecutableJob(job);
+            @Override
+            public Void execute(CommandContext commandContext) {
+              for (TimerJobEntity job : timerJobsToMove) {
+                jobManager.moveTimerJobToExecutableJob(job);
+              }
+              return null;
             }
-            return null;
-          }
-        });
+          });
+        }
+
+        // The timer jobs are locked by this node, so they can be executed directly
+        // without going through the async job table first
+        for (TimerJobEntity job : timerJobsToExecute) {
+          asyncExecutor.executeAsyncJob(job);
+        }
 
         // if all jobs were executed
         millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
@@ -79,6 +102,7 @@ public class AcquireTimerJobsRunnable implements Runnable {
         }
 
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+        asyncExecutor.getMetrics().optimisticLockingConflict();
         if (log.isDebugEnabled()) {
           log.debug("Optimistic locking exception during timer job acquisition. If you have multiple timer executors running against the same database, "
               + "this exception means that this thread tried to acquire a timer job, which already was acquired by another timer executor acquisition thread."
@@ -119,6 +143,16 @@ public class AcquireTimerJobsRunnable implements Runnable {
     log.info("{} stopped async job due acquisition");
   }
 
+  /**
+   * A timer job is only executed in place when it is a regular timer that has not failed before.
+   * Retries of failed jobs keep going through the async job table, where the retry handling lives.
+   */
+  protected boolean isExecutableInPlace(TimerJobEntity job) {
+    return asyncExecutor.isExecuteTimerJobsInPlace()
+        && Job.JOB_TYPE_TIMER.equals(job.getJobType())
+        && job.getExceptionMessage() == null;
+  }
+
   public void stop() {
     synchronized (MONITOR) {
       isInterrupted = true;
@@ -87,6 +87,18 @@ public interface AsyncExecutor {
 
   void setMaxTimerJobsPerAcquisition(int maxJobs);
 
+  boolean isExecuteTimerJobsInPlace();
+
+  void setExecuteTimerJobsInPlace(boolean executeTimerJobsInPlace);
+
+  int getMaxChainedJobs();
+
+  void setMaxChainedJobs(int maxChainedJobs);
+
+  AsyncExecutorMetrics getMetrics();
+
+  void setMetrics(AsyncExecutorMetrics metrics);
+
   int getRetryWaitTimeInMillis();
 
   void setRetryWaitTimeInMillis(int retryWaitTimeInMillis);
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * Instrumentation hook of the {@link AsyncExecutor}. The acquisition threads, the job runnables
+ * and the reset expired jobs thread report to it, so the executor settings (pool size, queue size,
+ * acquisition sizes) can be tuned based on what actually happens.
+ *
+ * Implementations are called from many threads concurrently, and from the hot path
+ * of job execution, so they should be cheap and must not block.
+ */
+@Internal
+public interface AsyncExecutorMetrics {
+
+  /**
+   * Called after an acquisition query for async jobs, with the number of jobs
+   * that were acquired and the time the acquisition took.
+   */
+  void asyncJobsAcquired(int numberOfJobs, long durationInMillis);
+
+  /**
+   * Called after an acquisition query for timer jobs, with the number of jobs
+   * that were acquired and the time the acquisition took.
+   */
+  void timerJobsAcquired(int numberOfJobs, long durationInMillis);
+
+  /**
+   * Called when a job was executed successfully.
+   */
+  void jobExecuted(long durationInMillis);
+
+  /**
+   * Called when the execution of a job failed (the job will be retried or moved to the dead letter jobs).
+   */
+  void jobFailed(long durationInMillis);
+
+  /**
+   * Called when a job could not be handed to the executor because its queue was full.
+   */
+  void jobRejected();
+
+  /**
+   * Called when a job is executed by the thread that executed the job that created it,
+   * instead of being handed to the executor.
+   */
+  void jobChained();
+
+  /**
+   * Called when the exclusive lock on the process instance of a job could not be acquired.
+   */
+  void exclusiveLockFailed();
+
+  /**
+   * Called when an optimistic locking exception happened during acquisition or execution.
+   */
+  void optimisticLockingConflict();
+
+  /**
+   * Called when jobs with an expired lock were reset, so they can be acquired again.
+   */
+  void expiredJobsReset(int numberOfJobs);
+
+  /**
+   * Sets the source of the current number of jobs waiting in the executor queue.
+   */
+  void setQueueDepthSupplier(IntSupplier queueDepthSupplier);
+
+  /**
+   * Returns a point-in-time view on the collected values, keyed by metric name.
+   */
+  Map<String, Object> getSnapshot();
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import org.activiti.engine.runtime.Job;
+
+/**
+ * Collects the follow-up job of the job that is being executed by the current async executor thread,
+ * so the thread can execute it right away instead of handing it to the executor.
+ *
+ * A job is only accepted when it belongs to the same process instance and has the same exclusive
+ * setting as the job that started the chain, so the process instance lock held by the thread
+ * covers it. The chain stops accepting jobs when its budget of jobs or time is used up.
+ */
+public class AsyncJobChain {
+
+  protected static final ThreadLocal<AsyncJobChain> currentChain = new ThreadLocal<AsyncJobChain>();
+
+  protected final String processInstanceId;
+  protected final boolean exclusive;
+  protected final long deadline;
+  protected int remainingJobs;
+  protected Job nextJob;
+
+  public AsyncJobChain(Job firstJob, int maxChainedJobs, long deadline) {
+    this.processInstanceId = firstJob.getProcessInstanceId();
+    this.exclusive = firstJob.isExclusive();
+    this.remainingJobs = maxChainedJobs;
+    this.deadline = deadline;
+  }
+
+  public static AsyncJobChain getCurrent() {
+    return currentChain.get();
+  }
+
+  public static void setCurrent(AsyncJobChain chain) {
+    if (chain != null) {
+      currentChain.set(chain);
+    } else {
+      currentChain.remove();
+    }
+  }
+
+  /**
+   * Returns true when the job will be executed by the chain. Only one follow-up job is accepted
+   * per executed job: other jobs created by the same transaction go to the executor as usual.
+   */
+  public boolean offer(Job job, long currentTime) {
+    if (nextJob != null || remainingJobs <= 0 || currentTime >= deadline
+        || processInstanceId == null || !processInstanceId.equals(job.getProcessInstanceId())
+        || job.isExclusive() != exclusive) {
+      return false;
+    }
+
+    nextJob = job;
+    remainingJobs--;
+    return true;
+  }
+
+  /**
+   * Returns the accepted follow-up job, if any, and makes room for the next one.
+   */
+  public Job poll() {
+    Job job = nextJob;
+    nextJob = null;
+    return job;
+  }
+
+}
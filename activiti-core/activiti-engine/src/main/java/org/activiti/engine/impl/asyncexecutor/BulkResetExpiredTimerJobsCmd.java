@@ -0,0 +1,51 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.List;
+
+import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Resets one batch of expired timer jobs (timer jobs that were acquired by an executor that went down),
+ * using one update statement for the batch.
+ *
+ * Returns the number of timer jobs that were reset. When this is less than the batch size,
+ * no expired timer jobs were left at the time of execution.
+ *
+ * @see BulkResetExpiredJobsCmd
+ */
+public class BulkResetExpiredTimerJobsCmd implements Command<Integer> {
+
+  protected int batchSize;
+
+  public BulkResetExpiredTimerJobsCmd(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public Integer execute(CommandContext commandContext) {
+    List<String> expiredTimerJobIds = commandContext.getTimerJobEntityManager().findExpiredJobIds(new Page(0, batchSize));
+    if (expiredTimerJobIds.isEmpty()) {
+      return 0;
+    }
+    return commandContext.getTimerJobEntityManager().resetExpiredJobs(expiredTimerJobIds);
+  }
+
+}
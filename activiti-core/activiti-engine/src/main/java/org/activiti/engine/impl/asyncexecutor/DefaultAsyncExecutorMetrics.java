@@ -0,0 +1,198 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Default {@link AsyncExecutorMetrics}, based on lock-free counters and histograms.
+ *
+ * The histograms use power-of-two buckets (in milliseconds), so recording a value is a
+ * couple of atomic increments and percentiles are reported as the upper bound of their bucket.
+ */
+public class DefaultAsyncExecutorMetrics implements AsyncExecutorMetrics {
+
+  protected final LongAdder acquiredAsyncJobs = new LongAdder();
+  protected final LongAdder acquiredTimerJobs = new LongAdder();
+  protected final LongAdder executedJobs = new LongAdder();
+  protected final LongAdder failedJobs = new LongAdder();
+  protected final LongAdder rejectedJobs = new LongAdder();
+  protected final LongAdder chainedJobs = new LongAdder();
+  protected final LongAdder exclusiveLockFailures = new LongAdder();
+  protected final LongAdder optimisticLockingConflicts = new LongAdder();
+  protected final LongAdder expiredJobResets = new LongAdder();
+
+  protected final Histogram asyncJobAcquisitionTime = new Histogram();
+  protected final Histogram timerJobAcquisitionTime = new Histogram();
+  protected final Histogram jobExecutionTime = new Histogram();
+
+  protected volatile IntSupplier queueDepthSupplier;
+
+  @Override
+  public void asyncJobsAcquired(int numberOfJobs, long durationInMillis) {
+    acquiredAsyncJobs.add(numberOfJobs);
+    asyncJobAcquisitionTime.record(durationInMillis);
+  }
+
+  @Override
+  public void timerJobsAcquired(int numberOfJobs, long durationInMillis) {
+    acquiredTimerJobs.add(numberOfJobs);
+    timerJobAcquisitionTime.record(durationInMillis);
+  }
+
+  @Override
+  public void jobExecuted(long durationInMillis) {
+    executedJobs.increment();
+    jobExecutionTime.record(durationInMillis);
+  }
+
+  @Override
+  public void jobFailed(long durationInMillis) {
+    failedJobs.increment();
+    jobExecutionTime.record(durationInMillis);
+  }
+
+  @Override
+  public void jobRejected() {
+    rejectedJobs.increment();
+  }
+
+  @Override
+  public void jobChained() {
+    chainedJobs.increment();
+  }
+
+  @Override
+  public void exclusiveLockFailed() {
+    exclusiveLockFailures.increment();
+  }
+
+  @Override
+  public void optimisticLockingConflict() {
+    optimisticLockingConflicts.increment();
+  }
+
+  @Override
+  public void expiredJobsReset(int numberOfJobs) {
+    expiredJobResets.add(numberOfJobs);
+  }
+
+  @Override
+  public void setQueueDepthSupplier(IntSupplier queueDepthSupplier) {
+    this.queueDepthSupplier = queueDepthSupplier;
+  }
+
+  @Override
+  public Map<String, Object> getSnapshot() {
+    Map<String, Object> snapshot = new LinkedHashMap<String, Object>();
+    IntSupplier currentQueueDepthSupplier = queueDepthSupplier;
+    if (currentQueueDepthSupplier != null) {
+      snapshot.put("queueDepth", currentQueueDepthSupplier.getAsInt());
+    }
+    snapshot.put("acquiredAsyncJobCount", acquiredAsyncJobs.sum());
+    snapshot.put("acquiredTimerJobCount", acquiredTimerJobs.sum());
+    snapshot.put("executedJobCount", executedJobs.sum());
+    snapshot.put("failedJobCount", failedJobs.sum());
+    snapshot.put("rejectedJobCount", rejectedJobs.sum());
+    snapshot.put("chainedJobCount", chainedJobs.sum());
+    snapshot.put("exclusiveLockFailureCount", exclusiveLockFailures.sum());
+    snapshot.put("optimisticLockingConflictCount", optimisticLockingConflicts.sum());
+    snapshot.put("expiredJobResetCount", expiredJobResets.sum());
+    snapshot.put("asyncJobAcquisitionTimeInMillis", asyncJobAcquisitionTime.getSnapshot());
+    snapshot.put("timerJobAcquisitionTimeInMillis", timerJobAcquisitionTime.getSnapshot());
+    snapshot.put("jobExecutionTimeInMillis", jobExecutionTime.getSnapshot());
+    return snapshot;
+  }
+
+  /**
+   * Lock-free histogram with power-of-two buckets: bucket i holds the values in [2^(i-1), 2^i),
+   * bucket 0 holds 0. Values above the last bucket are counted in the last bucket.
+   */
+  public static class Histogram {
+
+    protected static final int NUMBER_OF_BUCKETS = 32;
+
+    protected final AtomicLongArray buckets = new AtomicLongArray(NUMBER_OF_BUCKETS);
+    protected final LongAdder count = new LongAdder();
+    protected final LongAdder sum = new LongAdder();
+    protected final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+      long nonNegativeValue = Math.max(0L, value);
+      int bucket = Math.min(NUMBER_OF_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nonNegativeValue));
+      buckets.incrementAndGet(bucket);
+      count.increment();
+      sum.add(nonNegativeValue);
+      max.accumulateAndGet(nonNegativeValue, Math::max);
+    }
+
+    public long getCount() {
+      return count.sum();
+    }
+
+    public long getMax() {
+      return max.get();
+    }
+
+    /**
+     * Returns the upper bound of the bucket containing the given percentile (between 0 and 100).
+     */
+    public long getPercentile(double percentile) {
+      long[] counts = new long[NUMBER_OF_BUCKETS];
+      long total = 0L;
+      for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+        counts[i] = buckets.get(i);
+        total += counts[i];
+      }
+      if (total == 0L) {
+        return 0L;
+      }
+
+      long rank = (long) Math.ceil(total * percentile / 100.0);
+      long seen = 0L;
+      for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.min(upperBound(i), getMax());
+        }
+      }
+      return getMax();
+    }
+
+    protected long upperBound(int bucket) {
+      return bucket == 0 ? 0L : (1L << bucket) - 1;
+    }
+
+    public Map<String, Object> getSnapshot() {
+      Map<String, Object> snapshot = new LinkedHashMap<String, Object>();
+      long currentCount = count.sum();
+      snapshot.put("count", currentCount);
+      snapshot.put("mean", currentCount == 0L ? 0.0 : (double) sum.sum() / currentCount);
+      snapshot.put("max", getMax());
+      snapshot.put("p50", getPercentile(50));
+      snapshot.put("p95", getPercentile(95));
+      snapshot.put("p99", getPercentile(99));
+      return snapshot;
+    }
+  }
+
+}
@@ -82,12 +82,24 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
 
   protected ExecuteAsyncRunnableFactory executeAsyncRunnableFactory;
 
+  /**
+   * The number of serial lanes exclusive jobs are dispatched to, based on their process instance.
+   * When 0 (the default), exclusive jobs are executed like any other job and lock the process instance per job.
+   */
+  protected int numberOfExclusiveJobLanes;
+
+  protected StripedExclusiveJobDispatcher exclusiveJobDispatcher;
+
+  protected AsyncExecutorMetrics metrics = new DefaultAsyncExecutorMetrics();
+
   protected boolean isAutoActivate;
   protected boolean isActive;
   protected boolean isMessageQueueMode;
 
   protected int maxTimerJobsPerAcquisition = 1;
   protected int maxAsyncJobsDuePerAcquisition = 1;
+  protected boolean executeTimerJobsInPlace;
+  protected int maxChainedJobs;
   protected int defaultTimerJobAcquireWaitTimeInMillis = 10 * 1000;
   protected int defaultAsyncJobAcquireWaitTimeInMillis = 10 * 1000;
   protected int defaultQueueSizeFullWaitTime = 0;
@@ -98,7 +110,7 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   protected int retryWaitTimeInMillis = 500;
 
   protected int resetExpiredJobsInterval = 60 * 1000;
-  protected int resetExpiredJobsPageSize = 3;
+  protected int resetExpiredJobsPageSize = 100;
 
   // Job queue used when async executor is not yet started and jobs are already added.
   // This is mainly used for testing purpose.
@@ -116,11 +128,16 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
 
     Runnable runnable = null;
     if (isActive) {
+      if (exclusiveJobDispatcher != null && exclusiveJobDispatcher.isDispatchable(job)) {
+        return exclusiveJobDispatcher.dispatch(job);
+      }
+
       runnable = createRunnableForJob(job);
 
       try {
         executorService.execute(runnable);
       } catch (RejectedExecutionException e) {
+        metrics.jobRejected();
 
         // When a RejectedExecutionException is caught, this means that the queue for holding the jobs
         // that are to be executed is full and can't store more.
@@ -186,6 +203,8 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
 
     if (!isMessageQueueMode) {
       initAsyncJobExecutionThreadPool();
+      initExclusiveJobDispatcher();
+      initQueueDepthMetric();
       startJobAcquisitionThread();
     }
 
@@ -229,6 +248,7 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     timerJobRunnable = null;
     asyncJobsDueRunnable = null;
     resetExpiredJobsRunnable = null;
+    exclusiveJobDispatcher = null;
 
     isActive = false;
   }
@@ -247,6 +267,20 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     }
   }
 
+  protected void initQueueDepthMetric() {
+    metrics.setQueueDepthSupplier(() -> {
+      BlockingQueue<Runnable> queue = threadPoolQueue;
+      return queue != null ? queue.size() : 0;
+    });
+  }
+
+  protected void initExclusiveJobDispatcher() {
+    if (numberOfExclusiveJobLanes > 0 && exclusiveJobDispatcher == null) {
+      log.info("Creating exclusive job dispatcher with {} lanes", numberOfExclusiveJobLanes);
+      exclusiveJobDispatcher = new StripedExclusiveJobDispatcher(this, executorService, numberOfExclusiveJobLanes);
+    }
+  }
+
   protected void stopExecutingAsyncJobs() {
     if (executorService != null) {
 
@@ -342,8 +376,11 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
 
     maxAsyncJobsDuePerAcquisition = processEngineConfiguration.getAsyncExecutorMaxAsyncJobsDuePerAcquisition();
     maxTimerJobsPerAcquisition = processEngineConfiguration.getAsyncExecutorMaxTimerJobsPerAcquisition();
+    executeTimerJobsInPlace = processEngineConfiguration.isAsyncExecutorExecuteTimerJobsInPlace();
+    maxChainedJobs = processEngineConfiguration.getAsyncExecutorMaxChainedJobs();
 
     retryWaitTimeInMillis = processEngineConfiguration.getAsyncFailedJobWaitTime();
+    numberOfExclusiveJobLanes = processEngineConfiguration.getAsyncExecutorNumberOfExclusiveJobLanes();
   }
 
   private void applyLockConfig(ProcessEngineConfigurationImpl processEngineConfiguration) {
@@ -519,6 +556,23 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.maxAsyncJobsDuePerAcquisition = maxAsyncJobsDuePerAcquisition;
   }
 
+  public boolean isExecuteTimerJobsInPlace() {
+    // In message queue mode the jobs are not executed by this executor, so timers always need to be moved
+    return executeTimerJobsInPlace && !isMessageQueueMode;
+  }
+
+  public void setExecuteTimerJobsInPlace(boolean executeTimerJobsInPlace) {
+    this.executeTimerJobsInPlace = executeTimerJobsInPlace;
+  }
+
+  public int getMaxChainedJobs() {
+    return maxChainedJobs;
+  }
+
+  public void setMaxChainedJobs(int maxChainedJobs) {
+    this.maxChainedJobs = maxChainedJobs;
+  }
+
   public int getDefaultTimerJobAcquireWaitTimeInMillis() {
     return defaultTimerJobAcquireWaitTimeInMillis;
   }
@@ -579,6 +633,30 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.resetExpiredJobsPageSize = resetExpiredJobsPageSize;
   }
 
+  public int getNumberOfExclusiveJobLanes() {
+    return numberOfExclusiveJobLanes;
+  }
+
+  public void setNumberOfExclusiveJobLanes(int numberOfExclusiveJobLanes) {
+    this.numberOfExclusiveJobLanes = numberOfExclusiveJobLanes;
+  }
+
+  public StripedExclusiveJobDispatcher getExclusiveJobDispatcher() {
+    return exclusiveJobDispatcher;
+  }
+
+  public void setExclusiveJobDispatcher(StripedExclusiveJobDispatcher exclusiveJobDispatcher) {
+    this.exclusiveJobDispatcher = exclusiveJobDispatcher;
+  }
+
+  public AsyncExecutorMetrics getMetrics() {
+    return metrics;
+  }
+
+  public void setMetrics(AsyncExecutorMetrics metrics) {
+    this.metrics = metrics;
+  }
+
   public ExecuteAsyncRunnableFactory getExecuteAsyncRunnableFactory() {
     return executeAsyncRunnableFactory;
   }
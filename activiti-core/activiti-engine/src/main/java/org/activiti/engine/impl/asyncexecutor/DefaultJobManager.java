@@ -131,15 +131,23 @@ public class DefaultJobManager implements JobManager {
 
   @Override
   public JobEntity moveTimerJobToExecutableJob(TimerJobEntity timerJob) {
+    JobEntity executableJob = moveFailedTimerJobToExecutableJob(timerJob);
+    if (executableJob != null) {
+      triggerExecutorIfNeeded(executableJob);
+    }
+    return executableJob;
+  }
+
+  @Override
+  public JobEntity moveFailedTimerJobToExecutableJob(TimerJobEntity timerJob) {
     if (timerJob == null) {
       throw new ActivitiException("Empty timer job can not be scheduled");
     }
 
     JobEntity executableJob = createExecutableJobFromOtherJob(timerJob);
-    boolean insertSuccesful = processEngineConfiguration.getJobEntityManager().insertJobEntity(executableJob);
-    if (insertSuccesful) {
+    boolean insertSuccessful = processEngineConfiguration.getJobEntityManager().insertJobEntity(executableJob);
+    if (insertSuccessful) {
       processEngineConfiguration.getTimerJobEntityManager().delete(timerJob);
-      triggerExecutorIfNeeded(executableJob);
       return executableJob;
     }
     return null;
@@ -233,8 +241,11 @@ public class DefaultJobManager implements JobManager {
         executeTimerJob((JobEntity) job);
       }
 
+    } else if (job instanceof TimerJobEntity) {
+      executeTimerJobInPlace((TimerJobEntity) job);
+
     } else {
-      throw new ActivitiException("Only jobs with type JobEntity are supported to be executed");
+      throw new ActivitiException("Only jobs with type JobEntity or TimerJobEntity are supported to be executed");
     }
   }
 
@@ -259,6 +270,15 @@ public class DefaultJobManager implements JobManager {
       // for a reason (eg queue full or exclusive lock failure). No need to try it immediately again,
       // as the chance of failure will be high.
 
+    } else if (job instanceof TimerJobEntity) {
+      // A timer job that was going to be executed in place: releasing the lock
+      // makes it available again for the next timer acquisition.
+      TimerJobEntity timerJob = processEngineConfiguration.getTimerJobEntityManager().findById(job.getId());
+      if (timerJob != null) {
+        timerJob.setLockOwner(null);
+        timerJob.setLockExpirationTime(null);
+      }
+
     } else {
       // It could be a v5 job, so simply unlock it.
       processEngineConfiguration.getJobEntityManager().resetExpiredJob(job.getId());
@@ -274,6 +294,24 @@ public class DefaultJobManager implements JobManager {
   }
 
   protected void executeTimerJob(JobEntity timerEntity) {
+    executeTimerJob(timerEntity, true);
+  }
+
+  /**
+   * Executes a timer job without moving it to the async job table. The job handlers
+   * work with a {@link JobEntity}, so a transient copy (with the id of the timer job, for events
+   * and logging) is handed to them. As with a move, the timer job itself is deleted before the
+   * handler runs, so it isn't cancelled (and deleted) a second time when the handler ends the
+   * execution it belongs to.
+   */
+  protected void executeTimerJobInPlace(TimerJobEntity timerJob) {
+    JobEntity timerEntity = createExecutableJobFromOtherJob(timerJob);
+    timerEntity.setId(timerJob.getId());
+    processEngineConfiguration.getTimerJobEntityManager().delete(timerJob);
+    executeTimerJob(timerEntity, false);
+  }
+
+  protected void executeTimerJob(JobEntity timerEntity, boolean deleteExecutedJob) {
     TimerJobEntityManager timerJobEntityManager = processEngineConfiguration.getTimerJobEntityManager();
 
     VariableScope variableScope = null;
@@ -292,12 +330,16 @@ public class DefaultJobManager implements JobManager {
       if (logger.isDebugEnabled()) {
         logger.debug("Timer {} fired. but the dueDate is after the endDate.  Deleting timer.", timerEntity.getId());
       }
-      processEngineConfiguration.getJobEntityManager().delete(timerEntity);
+      if (deleteExecutedJob) {
+        processEngineConfiguration.getJobEntityManager().delete(timerEntity);
+      }
       return;
     }
 
     executeJobHandler(timerEntity);
-    processEngineConfiguration.getJobEntityManager().delete(timerEntity);
+    if (deleteExecutedJob) {
+      processEngineConfiguration.getJobEntityManager().delete(timerEntity);
+    }
 
     if (logger.isDebugEnabled()) {
       logger.debug("Timer {} fired. Deleting timer.", timerEntity.getId());
@@ -428,6 +470,11 @@ public class DefaultJobManager implements JobManager {
     transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
         @Override
         public void execute(CommandContext commandContext) {
+            // A job created by a job that is being executed may be picked up by the same thread
+            AsyncJobChain jobChain = AsyncJobChain.getCurrent();
+            if (jobChain != null && jobChain.offer(job, processEngineConfiguration.getClock().getCurrentTime().getTime())) {
+                return;
+            }
             jobAddedNotification.closed(commandContext);
         }
     });
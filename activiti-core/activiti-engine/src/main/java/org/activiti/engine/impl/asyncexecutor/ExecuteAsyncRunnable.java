@@ -21,6 +21,7 @@ import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cmd.ExecuteAsyncJobCmd;
+import org.activiti.engine.impl.cmd.ExecuteTimerJobCmd;
 import org.activiti.engine.impl.cmd.LockExclusiveJobCmd;
 import org.activiti.engine.impl.cmd.UnlockExclusiveJobCmd;
 import org.activiti.engine.impl.context.Context;
@@ -29,6 +30,7 @@ import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.jobexecutor.FailedJobCommandFactory;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 import org.activiti.engine.runtime.Job;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +46,7 @@ public class ExecuteAsyncRunnable implements Runnable {
   protected String jobId;
   protected Job job;
   protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected AsyncJobChain jobChain;
 
   public ExecuteAsyncRunnable(String jobId, ProcessEngineConfigurationImpl processEngineConfiguration) {
     this.jobId = jobId;
@@ -73,16 +76,74 @@ public class ExecuteAsyncRunnable implements Runnable {
       boolean lockNotNeededOrSuccess = lockJobIfNeeded();
 
       if (lockNotNeededOrSuccess) {
+          jobChain = createJobChain();
           executeJob();
+          executeChainedJobs();
           unlockJobIfNeeded();
       }
   }
 
+  /**
+   * Returns the chain that collects the follow-up job of the executed job,
+   * or null when chaining is disabled.
+   */
+  protected AsyncJobChain createJobChain() {
+    AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+    int maxChainedJobs = asyncExecutor.getMaxChainedJobs();
+    if (maxChainedJobs <= 0) {
+      return null;
+    }
+
+    // The process instance lock is not renewed while chaining, so stay well within the lock time
+    long deadline = processEngineConfiguration.getClock().getCurrentTime().getTime() + asyncExecutor.getAsyncJobLockTimeInMillis() / 2;
+    return new AsyncJobChain(job, maxChainedJobs, deadline);
+  }
+
+  /**
+   * Executes the follow-up jobs that were handed to the chain, one after the other.
+   * The lock of the process instance (if the jobs are exclusive) is kept until the chain ends.
+   */
+  protected void executeChainedJobs() {
+    if (jobChain == null) {
+      return;
+    }
+
+    Job chainedJob;
+    while ((chainedJob = jobChain.poll()) != null) {
+      job = chainedJob;
+      jobId = chainedJob.getId();
+      getMetrics().jobChained();
+      executeJob();
+    }
+  }
+
+  /**
+   * Executes the command with the job chain of this runnable as the current one,
+   * so the follow-up job it creates can be handed to this thread.
+   */
+  protected <T> T executeInJobChain(Command<T> command) {
+    AsyncJobChain previousJobChain = AsyncJobChain.getCurrent();
+    AsyncJobChain.setCurrent(jobChain);
+    try {
+      return processEngineConfiguration.getCommandExecutor().execute(command);
+    } finally {
+      AsyncJobChain.setCurrent(previousJobChain);
+    }
+  }
+
   protected void executeJob() {
+    if (job instanceof TimerJobEntity) {
+      executeTimerJobInPlace();
+      return;
+    }
+
+    long executionStart = System.currentTimeMillis();
     try {
-      processEngineConfiguration.getCommandExecutor().execute(new ExecuteAsyncJobCmd(jobId));
+      executeInJobChain(new ExecuteAsyncJobCmd(jobId));
 
     } catch (final ActivitiOptimisticLockingException e) {
+      getMetrics().optimisticLockingConflict();
+      getMetrics().jobFailed(System.currentTimeMillis() - executionStart);
 
       handleFailedJob(e);
 
@@ -92,13 +153,81 @@ public class ExecuteAsyncRunnable implements Runnable {
             + "This is expected behavior in a clustered environment. " + "You can ignore this message if you indeed have multiple job executor threads running against the same database. "
             + "Exception message: {}", e.getMessage());
       }
+      return;
 
     } catch (Throwable exception) {
+      getMetrics().jobFailed(System.currentTimeMillis() - executionStart);
       handleFailedJob(exception);
 
       // Finally, Throw the exception to indicate the ExecuteAsyncJobCmd failed
       String message = "Job " + jobId + " failed";
       log.error(message, exception);
+      return;
+    }
+
+    recordJobExecuted(executionStart);
+  }
+
+  /**
+   * Executes a timer job that was acquired but not moved to the async job table.
+   * When this fails, the timer job is moved to the async job table after all,
+   * so its failure is handled (and its retries are decremented) like that of any other async job.
+   */
+  protected void executeTimerJobInPlace() {
+    long executionStart = System.currentTimeMillis();
+    try {
+      executeInJobChain(new ExecuteTimerJobCmd(jobId));
+
+    } catch (Throwable exception) {
+      if (exception instanceof ActivitiOptimisticLockingException) {
+        getMetrics().optimisticLockingConflict();
+      }
+      getMetrics().jobFailed(System.currentTimeMillis() - executionStart);
+
+      JobEntity executableJob = moveFailedTimerJobToExecutableJob();
+      if (executableJob != null) {
+        job = executableJob;
+        jobId = executableJob.getId();
+        handleFailedJob(exception);
+      }
+
+      String message = "Timer job " + jobId + " failed";
+      log.error(message, exception);
+      return;
+    }
+
+    recordJobExecuted(executionStart);
+  }
+
+  /**
+   * Reports a successful execution to the metrics. This is done outside of the execution's try block and
+   * guarded, so a failing metrics implementation is never handled as a failure of the (already committed) job,
+   * and doesn't prevent the exclusive lock from being released.
+   */
+  protected void recordJobExecuted(long executionStart) {
+    try {
+      getMetrics().jobExecuted(System.currentTimeMillis() - executionStart);
+    } catch (Throwable t) {
+      log.error("Error while recording the execution of job " + jobId + " in the async executor metrics", t);
+    }
+  }
+
+  protected JobEntity moveFailedTimerJobToExecutableJob() {
+    try {
+      return processEngineConfiguration.getCommandExecutor().execute(new Command<JobEntity>() {
+        @Override
+        public JobEntity execute(CommandContext commandContext) {
+          TimerJobEntity timerJob = commandContext.getTimerJobEntityManager().findById(jobId);
+          if (timerJob != null) {
+            return commandContext.getJobManager().moveFailedTimerJobToExecutableJob(timerJob);
+          }
+          return null;
+        }
+      });
+
+    } catch (Throwable t) {
+      log.error("Error while moving timer job " + jobId + " to the async job table", t);
+      return null;
     }
   }
 
@@ -109,6 +238,7 @@ public class ExecuteAsyncRunnable implements Runnable {
       }
 
     } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+      getMetrics().optimisticLockingConflict();
       if (log.isDebugEnabled()) {
         log.debug("Optimistic locking exception while unlocking the job. If you have multiple async executors running against the same database, "
             + "this exception means that this thread tried to acquire an exclusive job, which already was changed by another async executor thread."
@@ -132,6 +262,7 @@ public class ExecuteAsyncRunnable implements Runnable {
       }
 
     } catch (Throwable lockException) {
+      getMetrics().exclusiveLockFailed();
       if (log.isDebugEnabled()) {
         log.debug("Could not lock exclusive job. Unlocking job so it can be acquired again. Catched exception: " + lockException.getMessage());
       }
@@ -145,6 +276,10 @@ public class ExecuteAsyncRunnable implements Runnable {
     return true;
   }
 
+  protected AsyncExecutorMetrics getMetrics() {
+    return processEngineConfiguration.getAsyncExecutor().getMetrics();
+  }
+
   protected void unacquireJob() {
     CommandContext commandContext = Context.getCommandContext();
     if (commandContext != null) {
@@ -79,6 +79,14 @@ public interface JobManager {
    */
   JobEntity moveTimerJobToExecutableJob(TimerJobEntity timerJob);
 
+  /**
+   * Moves a {@link TimerJobEntity} that failed while it was executed in place
+   * to become an async {@link JobEntity}, without handing it to the {@link AsyncExecutor}.
+   *
+   * The failure can then be handled like that of any other async job.
+   */
+  JobEntity moveFailedTimerJobToExecutableJob(TimerJobEntity timerJob);
+
   /**
    * Moves an {@link AbstractJobEntity} to become a {@link TimerJobEntity}.
    *
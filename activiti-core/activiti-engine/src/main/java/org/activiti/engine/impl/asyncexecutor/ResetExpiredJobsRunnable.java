@@ -16,12 +16,10 @@
 
 package org.activiti.engine.impl.asyncexecutor;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.activiti.engine.ActivitiOptimisticLockingException;
-import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.runtime.Job;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,7 +31,7 @@ import org.slf4j.LoggerFactory;
  * A job is expired when this lock time is exceeded. This can happen when an executor
  * goes down before completing a task.
  *
- * This runnable will find such jobs and reset them, so they can be picked up again.
+ * This runnable will find such jobs (and timer jobs) and reset them in batches, so they can be picked up again.
  *
 
  */
@@ -59,21 +57,13 @@ public class ResetExpiredJobsRunnable implements Runnable {
 
       try {
 
-        List<JobEntity> expiredJobs = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
-            .execute(new FindExpiredJobsCmd(asyncExecutor.getResetExpiredJobsPageSize()));
-
-        List<String> expiredJobIds = new ArrayList<String>(expiredJobs.size());
-        for (JobEntity expiredJob : expiredJobs) {
-          expiredJobIds.add(expiredJob.getId());
-        }
-
-        if (expiredJobIds.size() > 0) {
-          asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
-            .execute(new ResetExpiredJobsCmd(expiredJobIds));
-        }
+        int batchSize = asyncExecutor.getResetExpiredJobsPageSize();
+        resetInBatches(new BulkResetExpiredJobsCmd(batchSize), batchSize);
+        resetInBatches(new BulkResetExpiredTimerJobsCmd(batchSize), batchSize);
 
       } catch (Throwable e) {
         if (e instanceof ActivitiOptimisticLockingException) {
+          asyncExecutor.getMetrics().optimisticLockingConflict();
           log.debug("Optmistic lock exception while resetting locked jobs", e);
         } else {
           log.error("exception during resetting expired jobs", e.getMessage(), e);
@@ -103,6 +93,21 @@ public class ResetExpiredJobsRunnable implements Runnable {
     log.info("{} stopped resetting expired jobs");
   }
 
+  /**
+   * Keeps resetting batches as long as they are full, so all the jobs of an executor
+   * that went down are available again within one run. Async jobs and timer jobs are
+   * reset by their own loop, so a full batch of one doesn't keep resetting the other.
+   */
+  protected void resetInBatches(Command<Integer> bulkResetCommand, int batchSize) {
+    int resetCount;
+    do {
+      resetCount = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor().execute(bulkResetCommand);
+      if (resetCount > 0) {
+        asyncExecutor.getMetrics().expiredJobsReset(resetCount);
+      }
+    } while (resetCount >= batchSize && !isInterrupted);
+  }
+
   public void stop() {
     synchronized (MONITOR) {
       isInterrupted = true;
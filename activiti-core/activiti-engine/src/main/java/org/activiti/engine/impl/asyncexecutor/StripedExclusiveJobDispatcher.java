@@ -0,0 +1,265 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cmd.ExtendExclusiveJobLockCmd;
+import org.activiti.engine.impl.cmd.LockExclusiveJobCmd;
+import org.activiti.engine.impl.cmd.UnlockExclusiveJobCmd;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.runtime.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches exclusive jobs to a fixed number of serial lanes, based on their process instance id.
+ *
+ * All exclusive jobs of one process instance that are acquired by this node end up in the same lane,
+ * and a lane executes its jobs one after the other. As such, the jobs of a process instance never
+ * compete with each other on this node. The process instance is still locked in the database
+ * (so other nodes can't execute its exclusive jobs concurrently), but only once for every run of
+ * consecutive jobs of the same process instance in a lane, instead of a lock and an unlock
+ * transaction for every job.
+ */
+public class StripedExclusiveJobDispatcher {
+
+  private static Logger log = LoggerFactory.getLogger(StripedExclusiveJobDispatcher.class);
+
+  protected final AsyncExecutor asyncExecutor;
+  protected final Executor executor;
+  protected final Lane[] lanes;
+
+  public StripedExclusiveJobDispatcher(AsyncExecutor asyncExecutor, Executor executor, int numberOfLanes) {
+    this.asyncExecutor = asyncExecutor;
+    this.executor = executor;
+    this.lanes = new Lane[numberOfLanes];
+    for (int i = 0; i < numberOfLanes; i++) {
+      lanes[i] = new Lane();
+    }
+  }
+
+  /**
+   * Returns whether the given job is handled by this dispatcher, rather than being
+   * executed by its own {@link ExecuteAsyncRunnable}.
+   */
+  public boolean isDispatchable(Job job) {
+    return job.isExclusive() && job.getProcessInstanceId() != null;
+  }
+
+  /**
+   * Queues the job on the lane of its process instance. Returns false if the
+   * lane could not be scheduled on the executor, in which case the job is unacquired.
+   */
+  public boolean dispatch(Job job) {
+    return getLane(job.getProcessInstanceId()).offer(job);
+  }
+
+  protected Lane getLane(String processInstanceId) {
+    int hash = processInstanceId.hashCode();
+    hash ^= (hash >>> 16);
+    return lanes[(hash & Integer.MAX_VALUE) % lanes.length];
+  }
+
+  protected ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
+    return asyncExecutor.getProcessEngineConfiguration();
+  }
+
+  protected long getCurrentTime() {
+    return getProcessEngineConfiguration().getClock().getCurrentTime().getTime();
+  }
+
+  protected boolean lockProcessInstance(Job job) {
+    try {
+      getProcessEngineConfiguration().getCommandExecutor().execute(new LockExclusiveJobCmd(job));
+      return true;
+
+    } catch (Throwable lockException) {
+      asyncExecutor.getMetrics().exclusiveLockFailed();
+      if (log.isDebugEnabled()) {
+        log.debug("Could not lock process instance {} of exclusive job {}. Unlocking job so it can be acquired again. Catched exception: {}",
+            job.getProcessInstanceId(), job.getId(), lockException.getMessage());
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Extends the lock held on the process instance of the given job. Returns false if the
+   * lock could not be extended (e.g. because it already expired), in which case it needs to be acquired again.
+   */
+  protected boolean extendProcessInstanceLock(Job job) {
+    try {
+      getProcessEngineConfiguration().getCommandExecutor().execute(new ExtendExclusiveJobLockCmd(job));
+      return true;
+
+    } catch (Throwable extendException) {
+      if (log.isDebugEnabled()) {
+        log.debug("Could not extend lock of process instance {} of exclusive job {}. Catched exception: {}",
+            job.getProcessInstanceId(), job.getId(), extendException.getMessage());
+      }
+      return false;
+    }
+  }
+
+  protected void unlockProcessInstance(Job job) {
+    try {
+      getProcessEngineConfiguration().getCommandExecutor().execute(new UnlockExclusiveJobCmd(job));
+    } catch (Throwable t) {
+      log.error("Error while unlocking process instance " + job.getProcessInstanceId() + " of exclusive job " + job.getId(), t);
+    }
+  }
+
+  protected void unacquireJob(final Job job) {
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null) {
+      commandContext.getJobManager().unacquire(job);
+    } else {
+      getProcessEngineConfiguration().getCommandExecutor().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          commandContext.getJobManager().unacquire(job);
+          return null;
+        }
+      });
+    }
+  }
+
+  /**
+   * A serial lane: at most one thread of the executor drains its queue at any time.
+   */
+  protected class Lane implements Runnable {
+
+    protected final ArrayDeque<Job> queue = new ArrayDeque<Job>();
+    protected boolean scheduled;
+
+    public boolean offer(Job job) {
+      synchronized (this) {
+        queue.add(job);
+        if (scheduled) {
+          return true;
+        }
+        scheduled = true;
+      }
+
+      try {
+        executor.execute(this);
+        return true;
+
+      } catch (RejectedExecutionException e) {
+        // Nothing is draining this lane, so all the jobs queued in the meantime need to be released
+        List<Job> rejectedJobs;
+        synchronized (this) {
+          rejectedJobs = new ArrayList<Job>(queue);
+          queue.clear();
+          scheduled = false;
+        }
+        for (Job rejectedJob : rejectedJobs) {
+          asyncExecutor.getMetrics().jobRejected();
+          unacquireJob(rejectedJob);
+        }
+        return false;
+      }
+    }
+
+    public void run() {
+      Job lockedJob = null;
+      long lockTime = 0L;
+      long lockExtendInterval = asyncExecutor.getAsyncJobLockTimeInMillis() / 2;
+
+      while (true) {
+        Job job;
+        synchronized (this) {
+          job = queue.poll();
+        }
+
+        if (job == null) {
+          // Release the process instance before giving up the lane, so a new run of
+          // this lane can immediately lock it again
+          if (lockedJob != null) {
+            unlockProcessInstance(lockedJob);
+            lockedJob = null;
+          }
+          synchronized (this) {
+            if (queue.isEmpty()) {
+              scheduled = false;
+              return;
+            }
+          }
+          continue;
+        }
+
+        // Lock once per run of jobs of the same process instance. The lock is extended in place
+        // before it can expire, so other nodes never see it as free while this lane still holds it.
+        boolean sameProcessInstance = lockedJob != null && lockedJob.getProcessInstanceId().equals(job.getProcessInstanceId());
+        if (sameProcessInstance && getCurrentTime() - lockTime > lockExtendInterval) {
+          if (extendProcessInstanceLock(lockedJob)) {
+            lockTime = getCurrentTime();
+          } else {
+            lockedJob = null;
+            sameProcessInstance = false;
+          }
+        }
+        if (!sameProcessInstance) {
+          if (lockedJob != null) {
+            unlockProcessInstance(lockedJob);
+            lockedJob = null;
+          }
+          if (!lockProcessInstance(job)) {
+            unacquireJob(job);
+            continue;
+          }
+          lockedJob = job;
+          lockTime = getCurrentTime();
+        }
+
+        try {
+          new LaneExecuteAsyncRunnable(job, getProcessEngineConfiguration()).run();
+        } catch (Throwable t) {
+          log.error("Error while executing exclusive job " + job.getId(), t);
+        }
+      }
+    }
+  }
+
+  /**
+   * Executes a job of which the process instance is already locked by the lane.
+   */
+  protected static class LaneExecuteAsyncRunnable extends ExecuteAsyncRunnable {
+
+    public LaneExecuteAsyncRunnable(Job job, ProcessEngineConfigurationImpl processEngineConfiguration) {
+      super(job, processEngineConfiguration);
+    }
+
+    @Override
+    protected boolean lockJobIfNeeded() {
+      return true;
+    }
+
+    @Override
+    protected void unlockJobIfNeeded() {
+      // The lane releases the process instance lock
+    }
+  }
+
+}
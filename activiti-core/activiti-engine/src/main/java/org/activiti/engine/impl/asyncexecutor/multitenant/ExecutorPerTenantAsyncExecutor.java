@@ -226,6 +226,36 @@ public class ExecutorPerTenantAsyncExecutor implements TenantAwareAsyncExecutor
     }
   }
 
+  public boolean isExecuteTimerJobsInPlace() {
+    return determineAsyncExecutor().isExecuteTimerJobsInPlace();
+  }
+
+  public void setExecuteTimerJobsInPlace(boolean executeTimerJobsInPlace) {
+    for (AsyncExecutor asyncExecutor : tenantExecutors.values()) {
+      asyncExecutor.setExecuteTimerJobsInPlace(executeTimerJobsInPlace);
+    }
+  }
+
+  public int getMaxChainedJobs() {
+    return determineAsyncExecutor().getMaxChainedJobs();
+  }
+
+  public void setMaxChainedJobs(int maxChainedJobs) {
+    for (AsyncExecutor asyncExecutor : tenantExecutors.values()) {
+      asyncExecutor.setMaxChainedJobs(maxChainedJobs);
+    }
+  }
+
+  public AsyncExecutorMetrics getMetrics() {
+    return determineAsyncExecutor().getMetrics();
+  }
+
+  public void setMetrics(AsyncExecutorMetrics metrics) {
+    for (AsyncExecutor asyncExecutor : tenantExecutors.values()) {
+      asyncExecutor.setMetrics(metrics);
+    }
+  }
+
   public int getRetryWaitTimeInMillis() {
     return determineAsyncExecutor().getRetryWaitTimeInMillis();
   }
@@ -16,17 +16,21 @@
 
 package org.activiti.engine.impl.bpmn.behavior;
 
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.List;
 
 import org.activiti.bpmn.model.ExclusiveGateway;
 import org.activiti.bpmn.model.SequenceFlow;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.delegate.Expression;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.bpmn.helper.SkipExpressionUtil;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.persistence.deploy.CompiledProcessGraph;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 import org.activiti.engine.impl.util.condition.ConditionUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,21 +72,34 @@ public class ExclusiveGatewayActivityBehavior extends GatewayActivityBehavior {
     SequenceFlow defaultSequenceFlow = null;
     String defaultSequenceFlowId = exclusiveGateway.getDefaultFlow();
 
+    // The compiled graph has the parsed conditions and skip expressions of the outgoing sequence flow
+    List<SequenceFlow> outgoingFlows = exclusiveGateway.getOutgoingFlows();
+    Expression[] compiledConditions = null;
+    Expression[] compiledSkipExpressions = null;
+    CompiledProcessGraph processGraph = ProcessDefinitionUtil.getCompiledProcessGraph(execution.getProcessDefinitionId());
+    int nodeIndex = processGraph != null ? processGraph.indexOf(exclusiveGateway) : CompiledProcessGraph.NO_INDEX;
+    if (nodeIndex != CompiledProcessGraph.NO_INDEX) {
+      outgoingFlows = Arrays.asList(processGraph.getOutgoingFlows(nodeIndex));
+      compiledConditions = processGraph.getOutgoingConditions(nodeIndex);
+      compiledSkipExpressions = processGraph.getOutgoingSkipExpressions(nodeIndex);
+    }
+
     // Determine sequence flow to take
-    Iterator<SequenceFlow> sequenceFlowIterator = exclusiveGateway.getOutgoingFlows().iterator();
-    while (outgoingSequenceFlow == null && sequenceFlowIterator.hasNext()) {
-      SequenceFlow sequenceFlow = sequenceFlowIterator.next();
+    for (int i = 0; outgoingSequenceFlow == null && i < outgoingFlows.size(); i++) {
+      SequenceFlow sequenceFlow = outgoingFlows.get(i);
 
       String skipExpressionString = sequenceFlow.getSkipExpression();
       if (!SkipExpressionUtil.isSkipExpressionEnabled(execution, skipExpressionString)) {
-        boolean conditionEvaluatesToTrue = ConditionUtil.hasTrueCondition(sequenceFlow, execution);
+        boolean conditionEvaluatesToTrue = ConditionUtil.hasTrueCondition(sequenceFlow, execution,
+            compiledConditions != null ? compiledConditions[i] : null);
         if (conditionEvaluatesToTrue && (defaultSequenceFlowId == null || !defaultSequenceFlowId.equals(sequenceFlow.getId()))) {
           if (log.isDebugEnabled()) {
             log.debug("Sequence flow '{}'selected as outgoing sequence flow.", sequenceFlow.getId());
           }
           outgoingSequenceFlow = sequenceFlow;
         }
-      } else if (SkipExpressionUtil.shouldSkipFlowElement(Context.getCommandContext(), execution, skipExpressionString)) {
+      } else if (SkipExpressionUtil.shouldSkipFlowElement(Context.getCommandContext(), execution, skipExpressionString,
+          compiledSkipExpressions != null ? compiledSkipExpressions[i] : null)) {
         outgoingSequenceFlow = sequenceFlow;
       }
 
@@ -31,6 +31,10 @@ public abstract class GatewayActivityBehavior extends FlowNodeActivityBehavior {
   private static final long serialVersionUID = 1L;
 
   protected void lockFirstParentScope(DelegateExecution execution) {
+    findFirstParentScope(execution).forceUpdate();
+  }
+
+  protected ExecutionEntity findFirstParentScope(DelegateExecution execution) {
 
     ExecutionEntityManager executionEntityManager = Context.getCommandContext().getExecutionEntityManager();
 
@@ -45,7 +49,7 @@ public abstract class GatewayActivityBehavior extends FlowNodeActivityBehavior {
       currentExecution = parentScopeExecution;
     }
 
-    parentScopeExecution.forceUpdate();
+    return parentScopeExecution;
   }
 
 }
@@ -20,9 +20,11 @@ import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.delegate.InactiveActivityBehavior;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.deploy.CompiledProcessGraph;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.activiti.engine.impl.util.ExecutionGraphUtil;
+import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,13 +69,17 @@ public class InclusiveGatewayActivityBehavior extends GatewayActivityBehavior im
 
     lockFirstParentScope(execution);
 
+    // The reachability of the gateway is precomputed in the compiled graph of the process definition
+    CompiledProcessGraph processGraph = ProcessDefinitionUtil.getCompiledProcessGraph(execution.getProcessDefinitionId());
+    int gatewayIndex = processGraph != null ? processGraph.indexOfElement(execution.getCurrentActivityId()) : CompiledProcessGraph.NO_INDEX;
+
     Collection<ExecutionEntity> allExecutions = executionEntityManager.findChildExecutionsByProcessInstanceId(execution.getProcessInstanceId());
     Iterator<ExecutionEntity> executionIterator = allExecutions.iterator();
     boolean oneExecutionCanReachGateway = false;
     while (!oneExecutionCanReachGateway && executionIterator.hasNext()) {
       ExecutionEntity executionEntity = executionIterator.next();
       if (!executionEntity.getActivityId().equals(execution.getCurrentActivityId())) {
-        boolean canReachGateway = ExecutionGraphUtil.isReachable(execution.getProcessDefinitionId(), executionEntity.getActivityId(), execution.getCurrentActivityId());
+        boolean canReachGateway = canReachGateway(processGraph, gatewayIndex, executionEntity, execution);
         if (canReachGateway) {
           oneExecutionCanReachGateway = true;
         }
@@ -102,4 +108,14 @@ public class InclusiveGatewayActivityBehavior extends GatewayActivityBehavior im
       commandContext.getAgenda().planTakeOutgoingSequenceFlowsOperation(execution, true);
     }
   }
+
+  protected boolean canReachGateway(CompiledProcessGraph processGraph, int gatewayIndex, ExecutionEntity executionEntity, ExecutionEntity gatewayExecution) {
+    if (gatewayIndex != CompiledProcessGraph.NO_INDEX) {
+      int sourceIndex = processGraph.indexOfElement(executionEntity.getActivityId());
+      if (sourceIndex != CompiledProcessGraph.NO_INDEX) {
+        return processGraph.isReachable(sourceIndex, gatewayIndex);
+      }
+    }
+    return ExecutionGraphUtil.isReachable(gatewayExecution.getProcessDefinitionId(), executionEntity.getActivityId(), gatewayExecution.getCurrentActivityId());
+  }
 }
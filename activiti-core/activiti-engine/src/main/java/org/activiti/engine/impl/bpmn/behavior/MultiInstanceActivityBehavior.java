@@ -34,6 +34,7 @@ import org.activiti.engine.delegate.BpmnError;
 import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.delegate.ExecutionListener;
 import org.activiti.engine.delegate.Expression;
+import org.activiti.engine.delegate.MultiInstanceElementSource;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.bpmn.helper.ErrorPropagation;
@@ -70,6 +71,9 @@ public abstract class MultiInstanceActivityBehavior extends FlowNodeActivityBeha
   protected static final String NUMBER_OF_ACTIVE_INSTANCES = "nrOfActiveInstances";
   protected static final String NUMBER_OF_COMPLETED_INSTANCES = "nrOfCompletedInstances";
 
+  // Position of the last fetched element when the collection is a MultiInstanceElementSource
+  protected static final String ELEMENT_SOURCE_POSITION = "elementSourcePosition";
+
   // Instance members
   protected Activity activity;
   protected AbstractBpmnActivityBehavior innerActivityBehavior;
@@ -208,8 +212,21 @@ public abstract class MultiInstanceActivityBehavior extends FlowNodeActivityBeha
     }
   }
 
-  @SuppressWarnings("rawtypes")
   protected void executeOriginalBehavior(DelegateExecution execution, int loopCounter) {
+    initializeCollectionElement(execution, loopCounter);
+    continueOriginalBehavior(execution);
+  }
+
+  protected void continueOriginalBehavior(DelegateExecution execution) {
+    execution.setCurrentFlowElement(activity);
+    Context.getAgenda().planContinueMultiInstanceOperation((ExecutionEntity) execution);
+  }
+
+  /**
+   * Sets the element of the collection for the given loop counter as collection element variable, if any.
+   */
+  @SuppressWarnings("rawtypes")
+  protected void initializeCollectionElement(DelegateExecution execution, int loopCounter) {
     if (usesCollection() && collectionElementVariable != null) {
       Collection collection = (Collection) resolveCollection(execution);
 
@@ -222,15 +239,15 @@ public abstract class MultiInstanceActivityBehavior extends FlowNodeActivityBeha
       }
       setLoopVariable(execution, collectionElementVariable, value);
     }
-
-    execution.setCurrentFlowElement(activity);
-    Context.getAgenda().planContinueMultiInstanceOperation((ExecutionEntity) execution);
   }
 
   @SuppressWarnings("rawtypes")
   protected Collection resolveAndValidateCollection(DelegateExecution execution) {
     Object obj = resolveCollection(execution);
     if (collectionExpression != null) {
+      if (obj instanceof MultiInstanceElementSource) {
+        throw new ActivitiIllegalArgumentException(collectionExpression.getExpressionText() + "' resolved to a MultiInstanceElementSource, which is only supported for sequential multi-instance");
+      }
       if (!(obj instanceof Collection)) {
         throw new ActivitiIllegalArgumentException(collectionExpression.getExpressionText() + "' didn't resolve to a Collection");
       }
@@ -261,6 +278,19 @@ public abstract class MultiInstanceActivityBehavior extends FlowNodeActivityBeha
     return collection;
   }
 
+  /**
+   * @return the {@link MultiInstanceElementSource} the collection expression resolves to, or null if the elements come from a regular collection.
+   */
+  protected MultiInstanceElementSource resolveElementSource(DelegateExecution execution) {
+    if (loopCardinalityExpression == null && collectionExpression != null) {
+      Object value = collectionExpression.getValue(execution);
+      if (value instanceof MultiInstanceElementSource) {
+        return (MultiInstanceElementSource) value;
+      }
+    }
+    return null;
+  }
+
   protected boolean usesCollection() {
     return collectionExpression != null || collectionVariable != null;
   }
@@ -481,7 +511,8 @@ public abstract class MultiInstanceActivityBehavior extends FlowNodeActivityBeha
                 getCollectionElementIndexVariable(),
                 NUMBER_OF_INSTANCES,
                 NUMBER_OF_COMPLETED_INSTANCES,
-                NUMBER_OF_ACTIVE_INSTANCES);
+                NUMBER_OF_ACTIVE_INSTANCES,
+                ELEMENT_SOURCE_POSITION);
             HashMap<String, Object> resultItem = new HashMap<>(availableVariables);
             resultItemExclusions.forEach(resultItem.keySet()::remove);
             return resultItem;
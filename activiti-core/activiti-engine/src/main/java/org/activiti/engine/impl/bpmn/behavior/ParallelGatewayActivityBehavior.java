@@ -56,6 +56,8 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
 
   private static Logger log = LoggerFactory.getLogger(ParallelGatewayActivityBehavior.class);
 
+  public static final String JOIN_COUNTER_VARIABLE_PREFIX = "nrOfJoinedExecutions_";
+
   public void execute(DelegateExecution execution) {
 
     // First off all, deactivate the execution
@@ -70,6 +72,12 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
       throw new ActivitiException("Programmatic error: parallel gateway behaviour can only be applied" + " to a ParallelGateway instance, but got an instance of " + flowElement);
     }
 
+    if (parallelGateway.getIncomingFlows().size() > 1
+        && Context.getProcessEngineConfiguration().getPerformanceSettings().isEnableParallelGatewayJoinCounter()) {
+      executeCounterBasedJoin(execution, parallelGateway);
+      return;
+    }
+
     lockFirstParentScope(execution);
 
     DelegateExecution multiInstanceExecution = null;
@@ -99,16 +107,7 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
       }
 
       if (parallelGateway.getIncomingFlows().size() > 1) {
-
-        // All (now inactive) children are deleted.
-        for (ExecutionEntity joinedExecution : joinedExecutions) {
-
-          // The current execution will be reused and not deleted
-          if (!joinedExecution.getId().equals(execution.getId())) {
-            executionEntityManager.deleteExecutionAndRelatedData(joinedExecution, null);
-          }
-
-        }
+        deleteJoinedExecutions(execution, joinedExecutions);
       }
 
       // TODO: potential optimization here: reuse more then 1 execution, only 1 currently
@@ -120,6 +119,63 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
 
   }
 
+  /**
+   * Join that counts the arrived executions in a variable on the first parent scope execution.
+   * The forced update of the scope execution still guards against concurrent arrivals,
+   * but the inactive executions in the gateway are only fetched once, when the gateway fires.
+   */
+  protected void executeCounterBasedJoin(DelegateExecution execution, ParallelGateway parallelGateway) {
+    ExecutionEntity scopeExecution = findFirstParentScope(execution);
+    scopeExecution.forceUpdate();
+
+    String counterVariableName = JOIN_COUNTER_VARIABLE_PREFIX + parallelGateway.getId();
+    Integer previouslyJoined = (Integer) scopeExecution.getVariableLocal(counterVariableName, false);
+    int nbrOfExecutionsCurrentlyJoined = (previouslyJoined != null ? previouslyJoined : 0) + 1;
+    int nbrOfExecutionsToJoin = parallelGateway.getIncomingFlows().size();
+
+    // Is needed to set the endTime for all historic activity joins
+    Context.getCommandContext().getHistoryManager().recordActivityEnd((ExecutionEntity) execution, null);
+
+    if (nbrOfExecutionsCurrentlyJoined < nbrOfExecutionsToJoin) {
+      scopeExecution.setVariableLocal(counterVariableName, nbrOfExecutionsCurrentlyJoined, false);
+      if (log.isDebugEnabled()) {
+        log.debug("parallel gateway '{}' does not activate: {} of {} joined", execution.getCurrentActivityId(), nbrOfExecutionsCurrentlyJoined, nbrOfExecutionsToJoin);
+      }
+      return;
+    }
+
+    if (log.isDebugEnabled()) {
+      log.debug("parallel gateway '{}' activates: {} of {} joined", execution.getCurrentActivityId(), nbrOfExecutionsCurrentlyJoined, nbrOfExecutionsToJoin);
+    }
+
+    if (previouslyJoined != null) {
+      scopeExecution.removeVariableLocal(counterVariableName);
+    }
+
+    ExecutionEntityManager executionEntityManager = Context.getCommandContext().getExecutionEntityManager();
+    Collection<ExecutionEntity> joinedExecutions = executionEntityManager.findInactiveExecutionsByActivityIdAndProcessInstanceId(execution.getCurrentActivityId(), execution.getProcessInstanceId());
+    if (hasMultiInstanceParent(parallelGateway)) {
+      joinedExecutions = cleanJoinedExecutions(joinedExecutions, findMultiInstanceParentExecution(execution));
+    }
+    deleteJoinedExecutions(execution, joinedExecutions);
+
+    Context.getAgenda().planTakeOutgoingSequenceFlowsOperation((ExecutionEntity) execution, false); // false -> ignoring conditions on parallel gw
+  }
+
+  protected void deleteJoinedExecutions(DelegateExecution execution, Collection<ExecutionEntity> joinedExecutions) {
+    ExecutionEntityManager executionEntityManager = Context.getCommandContext().getExecutionEntityManager();
+
+    // All (now inactive) children are deleted.
+    for (ExecutionEntity joinedExecution : joinedExecutions) {
+
+      // The current execution will be reused and not deleted
+      if (!joinedExecution.getId().equals(execution.getId())) {
+        executionEntityManager.deleteExecutionAndRelatedData(joinedExecution, null);
+      }
+
+    }
+  }
+
   protected Collection<ExecutionEntity> cleanJoinedExecutions(Collection<ExecutionEntity> joinedExecutions, DelegateExecution multiInstanceExecution) {
     List<ExecutionEntity> cleanedExecutions = new ArrayList<ExecutionEntity>();
     for (ExecutionEntity executionEntity : joinedExecutions) {
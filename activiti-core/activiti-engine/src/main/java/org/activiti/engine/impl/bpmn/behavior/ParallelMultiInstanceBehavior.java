@@ -28,12 +28,15 @@ import org.activiti.bpmn.model.SubProcess;
 import org.activiti.bpmn.model.Transaction;
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.impl.asyncexecutor.JobManager;
 import org.activiti.engine.impl.bpmn.helper.ScopeUtil;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.delegate.ActivityBehavior;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.AsyncMultiInstanceContinuationJobHandler;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntityManager;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
 import org.activiti.engine.impl.util.CollectionUtil;
 import org.apache.commons.lang3.StringUtils;
 
@@ -60,26 +63,28 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
 
     execution.setMultiInstanceRoot(true);
 
+    // With a window, only the first instances are created now. The others are created when instances complete.
+    int nrOfActiveInstances = nrOfInstances;
+    int windowSize = getWindowSize();
+    if (windowSize > 0 && windowSize < nrOfInstances) {
+      nrOfActiveInstances = windowSize;
+    }
+
     setLoopVariable(execution, NUMBER_OF_INSTANCES, nrOfInstances);
     setLoopVariable(execution, NUMBER_OF_COMPLETED_INSTANCES, 0);
-    setLoopVariable(execution, NUMBER_OF_ACTIVE_INSTANCES, nrOfInstances);
+    setLoopVariable(execution, NUMBER_OF_ACTIVE_INSTANCES, nrOfActiveInstances);
 
     List<DelegateExecution> concurrentExecutions = new ArrayList<DelegateExecution>();
-    for (int loopCounter = 0; loopCounter < nrOfInstances; loopCounter++) {
-      DelegateExecution concurrentExecution = Context.getCommandContext().getExecutionEntityManager()
-          .createChildExecution((ExecutionEntity) execution);
-      concurrentExecution.setCurrentFlowElement(activity);
-      concurrentExecution.setActive(true);
-      concurrentExecution.setScope(false);
-
+    for (int loopCounter = 0; loopCounter < nrOfActiveInstances; loopCounter++) {
+      DelegateExecution concurrentExecution = createInstanceExecution(execution);
       concurrentExecutions.add(concurrentExecution);
-      logLoopDetails(concurrentExecution, "initialized", loopCounter, 0, nrOfInstances, nrOfInstances);
+      logLoopDetails(concurrentExecution, "initialized", loopCounter, 0, nrOfActiveInstances, nrOfInstances);
     }
 
     // Before the activities are executed, all executions MUST be created up front
     // Do not try to merge this loop with the previous one, as it will lead
     // to bugs, due to possible child execution pruning.
-    for (int loopCounter = 0; loopCounter < nrOfInstances; loopCounter++) {
+    for (int loopCounter = 0; loopCounter < nrOfActiveInstances; loopCounter++) {
       DelegateExecution concurrentExecution = concurrentExecutions.get(loopCounter);
       // executions can be inactive, if instances are all automatics
       // (no-waitstate) and completionCondition has been met in the meantime
@@ -101,6 +106,62 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
     return nrOfInstances;
   }
 
+  protected ExecutionEntity createInstanceExecution(DelegateExecution multiInstanceRootExecution) {
+    ExecutionEntity instanceExecution = Context.getCommandContext().getExecutionEntityManager()
+        .createChildExecution((ExecutionEntity) multiInstanceRootExecution);
+    instanceExecution.setCurrentFlowElement(activity);
+    instanceExecution.setActive(true);
+    instanceExecution.setScope(false);
+    return instanceExecution;
+  }
+
+  /**
+   * Creates the next instance when the number of active instances is bounded by a window
+   * and an instance has completed without completing the multi-instance activity.
+   * Depending on the configuration, the new instance is started in this transaction or through an async job,
+   * either way through the same operation as the instances created when the activity was reached.
+   */
+  protected void createNextWindowedInstance(DelegateExecution miRootExecution, int nrOfCompletedInstances, int nrOfActiveInstances, int nrOfInstances) {
+    int windowSize = getWindowSize();
+    int loopCounter = nrOfCompletedInstances + nrOfActiveInstances;
+    if (windowSize <= 0 || miRootExecution == null || miRootExecution.isEnded()
+        || nrOfActiveInstances >= windowSize || loopCounter >= nrOfInstances) {
+      return;
+    }
+
+    ExecutionEntity instanceExecution = createInstanceExecution(miRootExecution);
+    setLoopVariable(miRootExecution, NUMBER_OF_ACTIVE_INSTANCES, nrOfActiveInstances + 1);
+    logLoopDetails(instanceExecution, "initialized", loopCounter, nrOfCompletedInstances, nrOfActiveInstances + 1, nrOfInstances);
+
+    setLoopVariable(instanceExecution, getCollectionElementIndexVariable(), loopCounter);
+    if (Context.getProcessEngineConfiguration().isParallelMultiInstanceAsyncWindow() && !activity.isAsynchronous()) {
+      initializeCollectionElement(instanceExecution, loopCounter);
+      JobManager jobManager = Context.getCommandContext().getJobManager();
+      JobEntity job = jobManager.createAsyncJob(instanceExecution, activity.isExclusive());
+      job.setJobHandlerType(AsyncMultiInstanceContinuationJobHandler.TYPE);
+      jobManager.scheduleAsyncJob(job);
+    } else {
+      executeOriginalBehavior(instanceExecution, loopCounter);
+    }
+  }
+
+  /**
+   * With a window, a completed instance is deleted right away instead of when the multi-instance activity completes,
+   * so the number of child executions stays bounded by the window. The execution of a sub process instance is
+   * not deleted here, as it is already deleted when the scope of the sub process is destroyed.
+   */
+  protected void deleteCompletedWindowedInstance(ExecutionEntity instanceExecution) {
+    if (!instanceExecution.isScope()) {
+      ExecutionEntityManager executionEntityManager = Context.getCommandContext().getExecutionEntityManager();
+      executionEntityManager.deleteChildExecutions(instanceExecution, null);
+      executionEntityManager.deleteExecutionAndRelatedData(instanceExecution, null);
+    }
+  }
+
+  protected int getWindowSize() {
+    return Context.getProcessEngineConfiguration().getParallelMultiInstanceWindowSize();
+  }
+
   /**
    * Called when the wrapped {@link ActivityBehavior} calls the {@link AbstractBpmnActivityBehavior#leave(ActivityExecution)} method. Handles the completion of one of the parallel instances
    */
@@ -217,6 +278,10 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         executionToUse.setScope(false);
         executionToUse.setMultiInstanceRoot(false);
         Context.getAgenda().planTakeOutgoingSequenceFlowsOperation(executionToUse, true);
+
+      } else if (getWindowSize() > 0) {
+        deleteCompletedWindowedInstance(executionEntity);
+        createNextWindowedInstance(miRootExecution, nrOfCompletedInstances, nrOfActiveInstances, nrOfInstances);
       }
       dispatchActivityCompletedEvent(executionEntity);
 
@@ -23,6 +23,8 @@ import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.delegate.BpmnError;
 import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.delegate.MultiInstanceElement;
+import org.activiti.engine.delegate.MultiInstanceElementSource;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.delegate.ActivityBehavior;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
@@ -41,6 +43,11 @@ public class SequentialMultiInstanceBehavior extends MultiInstanceActivityBehavi
    */
   protected int createInstances(DelegateExecution multiInstanceExecution) {
 
+    MultiInstanceElementSource elementSource = resolveElementSource(multiInstanceExecution);
+    if (elementSource != null) {
+      return createStreamedInstance(multiInstanceExecution, elementSource);
+    }
+
     int nrOfInstances = resolveNrOfInstances(multiInstanceExecution);
     if (nrOfInstances == 0) {
       return nrOfInstances;
@@ -66,6 +73,40 @@ public class SequentialMultiInstanceBehavior extends MultiInstanceActivityBehavi
     return nrOfInstances;
   }
 
+  /**
+   * Same as {@link #createInstances(DelegateExecution)}, but only fetches the first element of the source.
+   * The next elements are fetched when the previous instance completes.
+   */
+  protected int createStreamedInstance(DelegateExecution multiInstanceExecution, MultiInstanceElementSource elementSource) {
+    MultiInstanceElement element = elementSource.next(multiInstanceExecution, null);
+    if (element == null) {
+      return 0;
+    }
+
+    ExecutionEntity childExecution = Context.getCommandContext().getExecutionEntityManager()
+        .createChildExecution((ExecutionEntity) multiInstanceExecution);
+    childExecution.setCurrentFlowElement(multiInstanceExecution.getCurrentFlowElement());
+    multiInstanceExecution.setMultiInstanceRoot(true);
+    multiInstanceExecution.setActive(false);
+
+    setLoopVariable(multiInstanceExecution, NUMBER_OF_INSTANCES, 1);
+    setLoopVariable(multiInstanceExecution, NUMBER_OF_COMPLETED_INSTANCES, 0);
+    setLoopVariable(multiInstanceExecution, NUMBER_OF_ACTIVE_INSTANCES, 1);
+    setLoopVariable(childExecution, getCollectionElementIndexVariable(), 0);
+    logLoopDetails(multiInstanceExecution, "initialized", 0, 0, 1, 1);
+
+    executeStreamedElement(multiInstanceExecution, childExecution, element);
+    return 1;
+  }
+
+  protected void executeStreamedElement(DelegateExecution multiInstanceRootExecution, DelegateExecution execution, MultiInstanceElement element) {
+    setLoopVariable(multiInstanceRootExecution, ELEMENT_SOURCE_POSITION, element.getPosition());
+    if (collectionElementVariable != null) {
+      setLoopVariable(execution, collectionElementVariable, element.getValue());
+    }
+    continueOriginalBehavior(execution);
+  }
+
   /**
    * Called when the wrapped {@link ActivityBehavior} calls the {@link AbstractBpmnActivityBehavior#leave(DelegateExecution)} method. Handles the completion of one instance, and executes the logic for
    * the sequential behavior.
@@ -77,6 +118,21 @@ public class SequentialMultiInstanceBehavior extends MultiInstanceActivityBehavi
     int nrOfCompletedInstances = getLoopVariable(multiInstanceRootExecution, NUMBER_OF_COMPLETED_INSTANCES) + 1;
     int nrOfActiveInstances = getLoopVariable(multiInstanceRootExecution, NUMBER_OF_ACTIVE_INSTANCES);
 
+    // With an element source, the loop continues as long as the source returns elements
+    MultiInstanceElement nextElement = null;
+    MultiInstanceElementSource elementSource = null;
+    if (multiInstanceRootExecution.hasVariableLocal(ELEMENT_SOURCE_POSITION)) {
+      elementSource = resolveElementSource(multiInstanceRootExecution);
+    }
+    if (elementSource != null) {
+      String position = (String) multiInstanceRootExecution.getVariableLocal(ELEMENT_SOURCE_POSITION);
+      nextElement = elementSource.next(multiInstanceRootExecution, position);
+      if (nextElement != null) {
+        nrOfInstances = loopCounter + 1;
+        setLoopVariable(multiInstanceRootExecution, NUMBER_OF_INSTANCES, nrOfInstances);
+      }
+    }
+
     setLoopVariable(multiInstanceRootExecution, NUMBER_OF_COMPLETED_INSTANCES, nrOfCompletedInstances);
     setLoopVariable(childExecution, getCollectionElementIndexVariable(), loopCounter);
     logLoopDetails(childExecution, "instance completed", loopCounter, nrOfCompletedInstances, nrOfActiveInstances, nrOfInstances);
@@ -89,6 +145,9 @@ public class SequentialMultiInstanceBehavior extends MultiInstanceActivityBehavi
     if (loopCounter >= nrOfInstances || completionConditionSatisfied(multiInstanceRootExecution)) {
       propagateLoopDataOutputRefToProcessInstance((ExecutionEntity) multiInstanceRootExecution);
       removeLocalLoopVariable(childExecution, getCollectionElementIndexVariable());
+      if (elementSource != null) {
+        removeLocalLoopVariable(multiInstanceRootExecution, ELEMENT_SOURCE_POSITION);
+      }
       multiInstanceRootExecution.setMultiInstanceRoot(false);
       multiInstanceRootExecution.setScope(false);
       multiInstanceRootExecution.setCurrentFlowElement(childExecution.getCurrentFlowElement());
@@ -105,9 +164,9 @@ public class SequentialMultiInstanceBehavior extends MultiInstanceActivityBehavi
           executionToContinue.setCurrentFlowElement(childExecution.getCurrentFlowElement());
           executionToContinue.setScope(true);
           setLoopVariable(executionToContinue, getCollectionElementIndexVariable(), loopCounter);
-          executeOriginalBehavior(executionToContinue, loopCounter);
+          executeNextInstance(multiInstanceRootExecution, executionToContinue, loopCounter, nextElement);
         } else {
-          executeOriginalBehavior(childExecution, loopCounter);
+          executeNextInstance(multiInstanceRootExecution, childExecution, loopCounter, nextElement);
         }
         dispatchActivityCompletedEvent(childExecution);
       } catch (BpmnError error) {
@@ -119,4 +178,12 @@ public class SequentialMultiInstanceBehavior extends MultiInstanceActivityBehavi
       }
     }
   }
+
+  protected void executeNextInstance(DelegateExecution multiInstanceRootExecution, DelegateExecution execution, int loopCounter, MultiInstanceElement nextElement) {
+    if (nextElement != null) {
+      executeStreamedElement(multiInstanceRootExecution, execution, nextElement);
+    } else {
+      executeOriginalBehavior(execution, loopCounter);
+    }
+  }
 }
@@ -53,7 +53,18 @@ public class SkipExpressionUtil {
   }
 
   public static boolean shouldSkipFlowElement(CommandContext commandContext, DelegateExecution execution, String skipExpressionString) {
-    Expression skipExpression = commandContext.getProcessEngineConfiguration().getExpressionManager().createExpression(skipExpressionString);
+    return shouldSkipFlowElement(commandContext, execution, skipExpressionString, null);
+  }
+
+  /**
+   * @param compiledSkipExpression the already parsed skip expression (can be null), used instead of parsing the skip expression string again.
+   */
+  public static boolean shouldSkipFlowElement(CommandContext commandContext, DelegateExecution execution, String skipExpressionString,
+      Expression compiledSkipExpression) {
+    Expression skipExpression = compiledSkipExpression;
+    if (skipExpression == null) {
+      skipExpression = commandContext.getProcessEngineConfiguration().getExpressionManager().createExpression(skipExpressionString);
+    }
     Object value = skipExpression.getValue(execution);
 
     if (value instanceof Boolean) {
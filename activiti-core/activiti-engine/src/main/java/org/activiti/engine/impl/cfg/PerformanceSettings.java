@@ -54,6 +54,68 @@ public class PerformanceSettings {
    */
   protected boolean enableLocalization = true;
 
+  /**
+   * Experimental setting: if true, a joining parallel gateway keeps the number of arrived executions
+   * in a local variable on the first parent scope execution, instead of querying all inactive executions
+   * in the gateway each time an execution arrives. The joined executions are only fetched when the gateway fires.
+   *
+   * This avoids a quadratic amount of fetching for gateways with many incoming sequence flow.
+   * The counter variable is visible as a regular variable of the scope until the gateway fires.
+   */
+  protected boolean enableParallelGatewayJoinCounter;
+
+  /**
+   * Experimental setting: if true, the runtime variables, identity links, event subscriptions and jobs of a process instance
+   * that ends or is deleted are removed with one delete statement per table (and the byte arrays they reference with a single select
+   * and batched deletes), instead of being fetched and deleted one by one for every execution.
+   *
+   * Tasks and executions are still deleted one by one, so history is recorded as before. However, no entity deleted or
+   * job canceled events are dispatched for the rows that are removed in bulk.
+   */
+  protected boolean enableProcessInstanceBulkDelete;
+
+  /**
+   * Experimental setting: if true (and {@link #enableEagerExecutionTreeFetching} is enabled), the variables, tasks, jobs,
+   * timer jobs, event subscriptions and identity links of the whole execution tree are fetched right after the tree itself,
+   * with one query per kind of entity. They are attached to the executions, so no lazy selects are needed per execution afterwards.
+   */
+  protected boolean enableEagerProcessInstanceAggregateFetching;
+
+  /**
+   * Experimental setting: if true, setting a variable to a value equal to its current value (compared per type
+   * for primitives, strings, dates, json trees and byte arrays) is skipped: the variable is not updated,
+   * no historic detail is recorded and no variable updated event is dispatched.
+   */
+  protected boolean enableSkipUnchangedVariableUpdates;
+
+  /**
+   * Experimental setting: if true, a variable that is set multiple times within one command gets a single historic detail
+   * (holding the last value) and a single variable updated event, dispatched when the command context closes
+   * (holding the value before the first and after the last update).
+   */
+  protected boolean enableVariableUpdateCoalescing;
+
+  /**
+   * Experimental setting: if true, the variable instance a variable name resolves to on an execution (walking up the parent executions)
+   * is cached for the duration of a command, for that execution and every parent on the way. On a cache miss, the variables of all
+   * executions in the hierarchy that weren't fetched yet are fetched with a single query.
+   *
+   * The cache of a process instance is invalidated when one of its variables is created or deleted.
+   */
+  protected boolean enableResolvedVariablesCache;
+
+  /**
+   * Experimental setting: if true, an expression that has been evaluated {@link #expressionCompilationThreshold} times is compiled
+   * into a tree of evaluators, built from the parsed JUEL tree, that applies the operators without going through the JUEL tree.
+   * Only literals, identifiers, property access and logical, comparison, empty and conditional operators are compiled;
+   * expressions using other constructs (method calls, functions, arithmetic, ...) keep being interpreted.
+   *
+   * Identifiers and property access still go through the EL resolvers of the expression manager.
+   */
+  protected boolean enableExpressionCompilation;
+
+  protected int expressionCompilationThreshold = 100;
+
   public boolean isEnableEagerExecutionTreeFetching() {
     return enableEagerExecutionTreeFetching;
   }
@@ -86,4 +148,68 @@ public class PerformanceSettings {
     this.enableLocalization = enableLocalization;
   }
 
+  public boolean isEnableParallelGatewayJoinCounter() {
+    return enableParallelGatewayJoinCounter;
+  }
+
+  public void setEnableParallelGatewayJoinCounter(boolean enableParallelGatewayJoinCounter) {
+    this.enableParallelGatewayJoinCounter = enableParallelGatewayJoinCounter;
+  }
+
+  public boolean isEnableProcessInstanceBulkDelete() {
+    return enableProcessInstanceBulkDelete;
+  }
+
+  public void setEnableProcessInstanceBulkDelete(boolean enableProcessInstanceBulkDelete) {
+    this.enableProcessInstanceBulkDelete = enableProcessInstanceBulkDelete;
+  }
+
+  public boolean isEnableEagerProcessInstanceAggregateFetching() {
+    return enableEagerProcessInstanceAggregateFetching;
+  }
+
+  public void setEnableEagerProcessInstanceAggregateFetching(boolean enableEagerProcessInstanceAggregateFetching) {
+    this.enableEagerProcessInstanceAggregateFetching = enableEagerProcessInstanceAggregateFetching;
+  }
+
+  public boolean isEnableSkipUnchangedVariableUpdates() {
+    return enableSkipUnchangedVariableUpdates;
+  }
+
+  public void setEnableSkipUnchangedVariableUpdates(boolean enableSkipUnchangedVariableUpdates) {
+    this.enableSkipUnchangedVariableUpdates = enableSkipUnchangedVariableUpdates;
+  }
+
+  public boolean isEnableVariableUpdateCoalescing() {
+    return enableVariableUpdateCoalescing;
+  }
+
+  public void setEnableVariableUpdateCoalescing(boolean enableVariableUpdateCoalescing) {
+    this.enableVariableUpdateCoalescing = enableVariableUpdateCoalescing;
+  }
+
+  public boolean isEnableResolvedVariablesCache() {
+    return enableResolvedVariablesCache;
+  }
+
+  public void setEnableResolvedVariablesCache(boolean enableResolvedVariablesCache) {
+    this.enableResolvedVariablesCache = enableResolvedVariablesCache;
+  }
+
+  public boolean isEnableExpressionCompilation() {
+    return enableExpressionCompilation;
+  }
+
+  public void setEnableExpressionCompilation(boolean enableExpressionCompilation) {
+    this.enableExpressionCompilation = enableExpressionCompilation;
+  }
+
+  public int getExpressionCompilationThreshold() {
+    return expressionCompilationThreshold;
+  }
+
+  public void setExpressionCompilationThreshold(int expressionCompilationThreshold) {
+    this.expressionCompilationThreshold = expressionCompilationThreshold;
+  }
+
 }
@@ -153,6 +153,7 @@ import org.activiti.engine.impl.interceptor.LogInterceptor;
 import org.activiti.engine.impl.interceptor.SessionFactory;
 import org.activiti.engine.impl.interceptor.TransactionContextInterceptor;
 import org.activiti.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.activiti.engine.impl.jobexecutor.AsyncMultiInstanceContinuationJobHandler;
 import org.activiti.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
 import org.activiti.engine.impl.jobexecutor.FailedJobCommandFactory;
 import org.activiti.engine.impl.jobexecutor.JobHandler;
@@ -162,6 +163,7 @@ import org.activiti.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.activiti.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler;
 import org.activiti.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
 import org.activiti.engine.impl.persistence.GenericManagerFactory;
+import org.activiti.engine.impl.persistence.blob.BlobStore;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.persistence.cache.EntityCacheImpl;
 import org.activiti.engine.impl.persistence.deploy.DefaultDeploymentCache;
@@ -286,6 +288,7 @@ import org.activiti.engine.impl.util.IoUtil;
 import org.activiti.engine.impl.util.ProcessInstanceHelper;
 import org.activiti.engine.impl.util.ReflectUtil;
 import org.activiti.engine.impl.variable.BigDecimalType;
+import org.activiti.engine.impl.variable.BinaryJsonType;
 import org.activiti.engine.impl.variable.BooleanType;
 import org.activiti.engine.impl.variable.ByteArrayType;
 import org.activiti.engine.impl.variable.CustomObjectType;
@@ -301,6 +304,7 @@ import org.activiti.engine.impl.variable.JodaDateTimeType;
 import org.activiti.engine.impl.variable.JodaDateType;
 import org.activiti.engine.impl.variable.JsonType;
 import org.activiti.engine.impl.variable.JsonTypeConverter;
+import org.activiti.engine.impl.variable.JsonValueSerializer;
 import org.activiti.engine.impl.variable.LocalDateTimeType;
 import org.activiti.engine.impl.variable.LocalDateType;
 import org.activiti.engine.impl.variable.LongJsonType;
@@ -308,6 +312,7 @@ import org.activiti.engine.impl.variable.LongStringType;
 import org.activiti.engine.impl.variable.LongType;
 import org.activiti.engine.impl.variable.NullType;
 import org.activiti.engine.impl.variable.SerializableType;
+import org.activiti.engine.impl.variable.SerializedVariableValueCache;
 import org.activiti.engine.impl.variable.ShortType;
 import org.activiti.engine.impl.variable.StringType;
 import org.activiti.engine.impl.variable.UUIDType;
@@ -485,6 +490,23 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int knowledgeBaseCacheLimit = -1;
   protected DeploymentCache<Object> knowledgeBaseCache;
 
+  /**
+   * The maximum total size, in bytes, of the serialized variable values (stored in byte arrays) that are kept across commands.
+   * Values are only reused for the same revision of their byte array. By default (-1), values are not kept across commands.
+   * Every command still deserializes its own instance of the value.
+   */
+  protected long serializedVariableValueCacheSizeLimit = -1;
+  protected SerializedVariableValueCache serializedVariableValueCache;
+
+  // BLOB STORE ///////////////////////////////////////////////////////////////
+
+  /**
+   * If set, the bytes of byte arrays (variables, deployment resources, ...) of at least {@link #blobStoreSizeThreshold} bytes
+   * are stored in this blob store instead of in the database, which only keeps a reference to them.
+   */
+  protected BlobStore blobStore;
+  protected int blobStoreSizeThreshold = 64 * 1024;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -585,6 +607,48 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int asyncExecutorMaxAsyncJobsDuePerAcquisition = 1;
 
+  /**
+   * When true, timer jobs whose due date is reached are executed directly from
+   * the timer job table by the node that acquired them, instead of first being
+   * moved to the async job table and picked up again by the async job acquisition.
+   * A timer that fails when executed this way, or that is a retry of an earlier
+   * failure, is moved to the async job table as before so the regular retry
+   * handling applies.
+   *
+   * Default value = false.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorExecuteTimerJobsInPlace;
+
+  /**
+   * The number of serial lanes the exclusive jobs acquired by this node are dispatched to.
+   * All exclusive jobs of one process instance go to the same lane and are executed one after
+   * the other, so they don't compete for the process instance lock on this node. The process
+   * instance is locked in the database once per run of consecutive jobs of that instance,
+   * which keeps other nodes from executing its exclusive jobs concurrently.
+   *
+   * Default value = 0, which means every exclusive job locks and unlocks its process instance.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected int asyncExecutorNumberOfExclusiveJobLanes;
+
+  /**
+   * The maximum number of follow-up async jobs an async executor thread executes right after
+   * the job it just finished, without handing them back to the executor. Only a job created by
+   * the finished job for the same process instance (with the same exclusive setting) is chained,
+   * which makes a sequence of async steps run on one thread without a round trip per step.
+   *
+   * Default value = 0, which disables chaining.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected int asyncExecutorMaxChainedJobs;
+
   /**
    * The time (in milliseconds) the timer acquisition thread will wait to
    * execute the next acquirement query. This happens when no new timer jobs
@@ -672,9 +736,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   /**
    * The {@link AsyncExecutor} has a 'cleanup' thread that resets expired jobs
    * so they can be re-acquired by other executors. This setting defines the size
-   * of the page being used when fetching these expired jobs.
+   * of the batch of expired jobs (and expired timer jobs) that are reset with one update statement.
+   * Batches are reset one after the other until no expired jobs are left.
+   *
+   * Keep this below 1000, as the ids of a batch are passed in an 'in' clause.
    */
-  protected int asyncExecutorResetExpiredJobsPageSize = 3;
+  protected int asyncExecutorResetExpiredJobsPageSize = 100;
 
   /**
    * Experimental!
@@ -737,9 +804,39 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean serializableVariableTypeTrackDeserializedObjects = true;
 
+  /**
+   * Same as {@link #serializableVariableTypeTrackDeserializedObjects}, for the json and longJson variable types:
+   * when true, changes made in place to a json variable value (for example a Jackson ObjectNode) are persisted.
+   * Otherwise the changed value is only visible in the current command (as the parsed value is cached), and a
+   * manual call to setVariable is needed.
+   *
+   * By default false, as it requires serializing every json value that is read once more when the command ends.
+   */
+  protected boolean jsonVariableTypeTrackDeserializedObjects = false;
+
   protected boolean serializePOJOsInVariablesToJson = false;
   protected String javaClassFieldForJackson = JsonTypeInfo.Id.CLASS.getDefaultPropertyName();
 
+  /**
+   * If true, serializable objects are stored with the {@link BinaryJsonType} (compact binary json in the byte array table)
+   * instead of with java serialization, as long as they come back from the binary json as they were given (which is checked for every value).
+   * Other values keep using java serialization.
+   * Requires jackson-dataformat-smile on the classpath, unless a {@link #binaryJsonObjectMapper} is set.
+   */
+  protected boolean serializePOJOsInVariablesToBinaryJson = false;
+
+  /**
+   * Classes (including their subclasses) of which the values are stored with the {@link BinaryJsonType}.
+   * When set, only these classes use the binary json type, regardless of {@link #serializePOJOsInVariablesToBinaryJson},
+   * and their values are not checked to come back as they were given.
+   */
+  protected Set<Class<?>> binaryJsonVariableClasses;
+
+  /**
+   * The object mapper used by the {@link BinaryJsonType}. By default a mapper backed by a Smile factory.
+   */
+  protected ObjectMapper binaryJsonObjectMapper;
+
   protected ExpressionManager expressionManager;
   protected List<String> customScriptingEngineClasses;
   protected ScriptingEngines scriptingEngines;
@@ -848,6 +945,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean enableVerboseExecutionTreeLogging;
 
+  /**
+   * The maximum number of instances of a parallel multi-instance activity that are active at the same time.
+   * When set, only this many child executions are created when the activity is reached,
+   * and a next instance is created every time an instance completes.
+   * Zero or a negative value (the default) creates all instances up front.
+   */
+  protected int parallelMultiInstanceWindowSize;
+
+  /**
+   * Only used when {@link #parallelMultiInstanceWindowSize} is set: if true, the instances that are created
+   * when an earlier instance completes are started through an async job instead of in the completing transaction
+   * (an asynchronous activity always starts its instances through an async job).
+   * This bounds the size of a transaction for multi-instance activities without wait states.
+   */
+  protected boolean parallelMultiInstanceAsyncWindow;
+
   protected PerformanceSettings performanceSettings = new PerformanceSettings();
 
   protected ProcessDefinitionHelper processDefinitionHelper;
@@ -895,6 +1008,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initProcessDefinitionCache();
     initProcessDefinitionInfoCache();
     initKnowledgeBaseCache();
+    initSerializedVariableValueCache();
     initJobHandlers();
     initJobManager();
     initAsyncExecutor();
@@ -1620,6 +1734,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  public void initSerializedVariableValueCache() {
+    if (serializedVariableValueCache == null && serializedVariableValueCacheSizeLimit > 0) {
+      serializedVariableValueCache = new SerializedVariableValueCache(serializedVariableValueCacheSizeLimit);
+    }
+  }
+
   public void initDeployers() {
     if (this.deployers == null) {
       this.deployers = new ArrayList<Deployer>();
@@ -1831,6 +1951,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     AsyncContinuationJobHandler asyncContinuationJobHandler = new AsyncContinuationJobHandler();
     jobHandlers.put(asyncContinuationJobHandler.getType(), asyncContinuationJobHandler);
 
+    AsyncMultiInstanceContinuationJobHandler asyncMultiInstanceContinuationJobHandler = new AsyncMultiInstanceContinuationJobHandler();
+    jobHandlers.put(asyncMultiInstanceContinuationJobHandler.getType(), asyncMultiInstanceContinuationJobHandler);
+
     TriggerTimerEventJobHandler triggerTimerEventJobHandler = new TriggerTimerEventJobHandler();
     jobHandlers.put(triggerTimerEventJobHandler.getType(), triggerTimerEventJobHandler);
 
@@ -1955,15 +2078,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       variableTypes.addType(new DoubleType());
       variableTypes.addType(new UUIDType());
       variableTypes.addType(new BigDecimalType());
+      if (serializePOJOsInVariablesToBinaryJson || (binaryJsonVariableClasses != null && !binaryJsonVariableClasses.isEmpty())) {
+        if (binaryJsonObjectMapper == null) {
+          binaryJsonObjectMapper = BinaryJsonType.createSmileObjectMapper();
+        }
+        variableTypes.addType(new BinaryJsonType(binaryJsonObjectMapper, binaryJsonVariableClasses, serializableVariableTypeTrackDeserializedObjects));
+      }
 
         objectMapper.configOverride(BigDecimal.class)
             .setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.STRING));
       JsonTypeConverter jsonTypeConverter = new JsonTypeConverter(objectMapper,
             javaClassFieldForJackson);
+      JsonValueSerializer jsonValueSerializer = new JsonValueSerializer(objectMapper);
       variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper,serializePOJOsInVariablesToJson,
-            jsonTypeConverter));
+            jsonTypeConverter, jsonValueSerializer, jsonVariableTypeTrackDeserializedObjects));
       variableTypes.addType(new LongJsonType(getMaxLengthString() + 1, objectMapper,serializePOJOsInVariablesToJson,
-          jsonTypeConverter));
+          jsonTypeConverter, jsonValueSerializer, jsonVariableTypeTrackDeserializedObjects));
 
       //java serialization only supported OOTB if not defaulting to json
       //if java serliazation needed together with json defaulting then add to customPostVariableTypes
@@ -2470,6 +2600,42 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     this.serializableVariableTypeTrackDeserializedObjects = serializableVariableTypeTrackDeserializedObjects;
   }
 
+  public boolean isJsonVariableTypeTrackDeserializedObjects() {
+    return jsonVariableTypeTrackDeserializedObjects;
+  }
+
+  public ProcessEngineConfigurationImpl setJsonVariableTypeTrackDeserializedObjects(boolean jsonVariableTypeTrackDeserializedObjects) {
+    this.jsonVariableTypeTrackDeserializedObjects = jsonVariableTypeTrackDeserializedObjects;
+    return this;
+  }
+
+  public boolean isSerializePOJOsInVariablesToBinaryJson() {
+    return serializePOJOsInVariablesToBinaryJson;
+  }
+
+  public ProcessEngineConfigurationImpl setSerializePOJOsInVariablesToBinaryJson(boolean serializePOJOsInVariablesToBinaryJson) {
+    this.serializePOJOsInVariablesToBinaryJson = serializePOJOsInVariablesToBinaryJson;
+    return this;
+  }
+
+  public Set<Class<?>> getBinaryJsonVariableClasses() {
+    return binaryJsonVariableClasses;
+  }
+
+  public ProcessEngineConfigurationImpl setBinaryJsonVariableClasses(Set<Class<?>> binaryJsonVariableClasses) {
+    this.binaryJsonVariableClasses = binaryJsonVariableClasses;
+    return this;
+  }
+
+  public ObjectMapper getBinaryJsonObjectMapper() {
+    return binaryJsonObjectMapper;
+  }
+
+  public ProcessEngineConfigurationImpl setBinaryJsonObjectMapper(ObjectMapper binaryJsonObjectMapper) {
+    this.binaryJsonObjectMapper = binaryJsonObjectMapper;
+    return this;
+  }
+
   public boolean isSerializePOJOsInVariablesToJson() {
     return serializePOJOsInVariablesToJson;
   }
@@ -2859,6 +3025,42 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public long getSerializedVariableValueCacheSizeLimit() {
+    return serializedVariableValueCacheSizeLimit;
+  }
+
+  public ProcessEngineConfigurationImpl setSerializedVariableValueCacheSizeLimit(long serializedVariableValueCacheSizeLimit) {
+    this.serializedVariableValueCacheSizeLimit = serializedVariableValueCacheSizeLimit;
+    return this;
+  }
+
+  public SerializedVariableValueCache getSerializedVariableValueCache() {
+    return serializedVariableValueCache;
+  }
+
+  public ProcessEngineConfigurationImpl setSerializedVariableValueCache(SerializedVariableValueCache serializedVariableValueCache) {
+    this.serializedVariableValueCache = serializedVariableValueCache;
+    return this;
+  }
+
+  public BlobStore getBlobStore() {
+    return blobStore;
+  }
+
+  public ProcessEngineConfigurationImpl setBlobStore(BlobStore blobStore) {
+    this.blobStore = blobStore;
+    return this;
+  }
+
+  public int getBlobStoreSizeThreshold() {
+    return blobStoreSizeThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setBlobStoreSizeThreshold(int blobStoreSizeThreshold) {
+    this.blobStoreSizeThreshold = blobStoreSizeThreshold;
+    return this;
+  }
+
   public DeploymentCache<Object> getKnowledgeBaseCache() {
     return knowledgeBaseCache;
   }
@@ -2976,6 +3178,24 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public int getParallelMultiInstanceWindowSize() {
+    return parallelMultiInstanceWindowSize;
+  }
+
+  public ProcessEngineConfigurationImpl setParallelMultiInstanceWindowSize(int parallelMultiInstanceWindowSize) {
+    this.parallelMultiInstanceWindowSize = parallelMultiInstanceWindowSize;
+    return this;
+  }
+
+  public boolean isParallelMultiInstanceAsyncWindow() {
+    return parallelMultiInstanceAsyncWindow;
+  }
+
+  public ProcessEngineConfigurationImpl setParallelMultiInstanceAsyncWindow(boolean parallelMultiInstanceAsyncWindow) {
+    this.parallelMultiInstanceAsyncWindow = parallelMultiInstanceAsyncWindow;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setEnableEagerExecutionTreeFetching(boolean enableEagerExecutionTreeFetching) {
     this.performanceSettings.setEnableEagerExecutionTreeFetching(enableEagerExecutionTreeFetching);
     return this;
@@ -2999,6 +3219,46 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public ProcessEngineConfigurationImpl setEnableParallelGatewayJoinCounter(boolean enableParallelGatewayJoinCounter) {
+    this.performanceSettings.setEnableParallelGatewayJoinCounter(enableParallelGatewayJoinCounter);
+    return this;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableProcessInstanceBulkDelete(boolean enableProcessInstanceBulkDelete) {
+    this.performanceSettings.setEnableProcessInstanceBulkDelete(enableProcessInstanceBulkDelete);
+    return this;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableEagerProcessInstanceAggregateFetching(boolean enableEagerProcessInstanceAggregateFetching) {
+    this.performanceSettings.setEnableEagerProcessInstanceAggregateFetching(enableEagerProcessInstanceAggregateFetching);
+    return this;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableSkipUnchangedVariableUpdates(boolean enableSkipUnchangedVariableUpdates) {
+    this.performanceSettings.setEnableSkipUnchangedVariableUpdates(enableSkipUnchangedVariableUpdates);
+    return this;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableVariableUpdateCoalescing(boolean enableVariableUpdateCoalescing) {
+    this.performanceSettings.setEnableVariableUpdateCoalescing(enableVariableUpdateCoalescing);
+    return this;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableResolvedVariablesCache(boolean enableResolvedVariablesCache) {
+    this.performanceSettings.setEnableResolvedVariablesCache(enableResolvedVariablesCache);
+    return this;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableExpressionCompilation(boolean enableExpressionCompilation) {
+    this.performanceSettings.setEnableExpressionCompilation(enableExpressionCompilation);
+    return this;
+  }
+
+  public ProcessEngineConfigurationImpl setExpressionCompilationThreshold(int expressionCompilationThreshold) {
+    this.performanceSettings.setExpressionCompilationThreshold(expressionCompilationThreshold);
+    return this;
+  }
+
   public AttachmentDataManager getAttachmentDataManager() {
     return attachmentDataManager;
   }
@@ -3597,6 +3857,33 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isAsyncExecutorExecuteTimerJobsInPlace() {
+    return asyncExecutorExecuteTimerJobsInPlace;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorExecuteTimerJobsInPlace(boolean asyncExecutorExecuteTimerJobsInPlace) {
+    this.asyncExecutorExecuteTimerJobsInPlace = asyncExecutorExecuteTimerJobsInPlace;
+    return this;
+  }
+
+  public int getAsyncExecutorNumberOfExclusiveJobLanes() {
+    return asyncExecutorNumberOfExclusiveJobLanes;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorNumberOfExclusiveJobLanes(int asyncExecutorNumberOfExclusiveJobLanes) {
+    this.asyncExecutorNumberOfExclusiveJobLanes = asyncExecutorNumberOfExclusiveJobLanes;
+    return this;
+  }
+
+  public int getAsyncExecutorMaxChainedJobs() {
+    return asyncExecutorMaxChainedJobs;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorMaxChainedJobs(int asyncExecutorMaxChainedJobs) {
+    this.asyncExecutorMaxChainedJobs = asyncExecutorMaxChainedJobs;
+    return this;
+  }
+
   public int getAsyncExecutorDefaultTimerJobAcquireWaitTime() {
     return asyncExecutorDefaultTimerJobAcquireWaitTime;
   }
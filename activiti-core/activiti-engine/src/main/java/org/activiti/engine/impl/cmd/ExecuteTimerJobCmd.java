@@ -0,0 +1,62 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes a due timer job directly from the timer job table, without moving it
+ * to the async job table first.
+ */
+public class ExecuteTimerJobCmd extends ExecuteAsyncJobCmd {
+
+  private static final long serialVersionUID = 1L;
+
+  private static Logger log = LoggerFactory.getLogger(ExecuteTimerJobCmd.class);
+
+  public ExecuteTimerJobCmd(String jobId) {
+    super(jobId);
+  }
+
+  @Override
+  public Object execute(CommandContext commandContext) {
+
+    if (jobId == null) {
+      throw new ActivitiIllegalArgumentException("jobId is null");
+    }
+
+    // Same as for async jobs: the timer could have been deleted in the meantime,
+    // for example when the execution it belongs to was ended concurrently.
+    TimerJobEntity timerJob = commandContext.getTimerJobEntityManager().findById(jobId);
+    if (timerJob == null) {
+      log.debug("Timer job does not exist anymore and will not be executed. It has most likely been deleted "
+          + "as part of another concurrent part of the process instance.");
+      return null;
+    }
+
+    if (log.isDebugEnabled()) {
+      log.debug("Executing timer job {}", timerJob.getId());
+    }
+
+    executeInternal(commandContext, timerJob);
+    return null;
+  }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Releases all job and timer job locks of one lock owner, typically an async executor that is known to be down.
+ */
+public class ResetJobLocksCmd implements Command<Integer>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static Logger log = LoggerFactory.getLogger(ResetJobLocksCmd.class);
+
+  protected String lockOwner;
+
+  public ResetJobLocksCmd(String lockOwner) {
+    this.lockOwner = lockOwner;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    if (lockOwner == null) {
+      throw new ActivitiIllegalArgumentException("lockOwner is null");
+    }
+
+    int resetCount = commandContext.getJobEntityManager().resetJobLocksByLockOwner(lockOwner)
+        + commandContext.getTimerJobEntityManager().resetJobLocksByLockOwner(lockOwner);
+
+    if (log.isDebugEnabled()) {
+      log.debug("Reset {} job locks of lock owner {}", resetCount, lockOwner);
+    }
+
+    return resetCount;
+  }
+
+}
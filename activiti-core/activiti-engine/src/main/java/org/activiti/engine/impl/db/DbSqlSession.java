@@ -228,12 +228,22 @@ public class DbSqlSession implements Session {
     public void delete(String statement,
                        Object parameter,
                        Class<? extends Entity> entityClass) {
+        addBulkDeleteOperation(new BulkDeleteOperation(dbSqlSessionFactory.mapStatement(statement),
+                                                       parameter),
+                               entityClass);
+    }
+
+    /**
+     * Adds a {@link BulkDeleteOperation} that will be executed when the passed class has passed in the {@link EntityDependencyOrder}.
+     * Operations for the same class are executed in the order they were added.
+     */
+    public void addBulkDeleteOperation(BulkDeleteOperation bulkDeleteOperation,
+                                       Class<? extends Entity> entityClass) {
         if (!bulkDeleteOperations.containsKey(entityClass)) {
             bulkDeleteOperations.put(entityClass,
                                      new ArrayList<BulkDeleteOperation>(1));
         }
-        bulkDeleteOperations.get(entityClass).add(new BulkDeleteOperation(dbSqlSessionFactory.mapStatement(statement),
-                                                                          parameter));
+        bulkDeleteOperations.get(entityClass).add(bulkDeleteOperation);
     }
 
     public void delete(Entity entity) {
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.db;
+
+import java.util.List;
+
+import org.apache.ibatis.session.SqlSession;
+
+/**
+ * Deletes the byte arrays referenced by rows that are bulk deleted themselves.
+ *
+ * The byte arrays can only be deleted after the rows referencing them, at which point
+ * their ids can't be queried anymore. The ids are therefore selected by the operation returned
+ * from {@link #getSelectOperation()}, which must be executed before the referencing rows are deleted.
+ * The byte arrays are deleted in batches, without optimistic locking checks.
+ */
+public class ReferencedByteArraysBulkDeleteOperation extends BulkDeleteOperation {
+
+  protected String selectStatement;
+  protected int batchSize;
+  protected List<String> byteArrayIds;
+
+  public ReferencedByteArraysBulkDeleteOperation(String selectStatement, String deleteStatement, Object parameter, int batchSize) {
+    super(deleteStatement, parameter);
+    this.selectStatement = selectStatement;
+    this.batchSize = Math.max(batchSize, 1);
+  }
+
+  public BulkDeleteOperation getSelectOperation() {
+    return new BulkDeleteOperation(selectStatement, parameter) {
+
+      @Override
+      public void execute(SqlSession sqlSession) {
+        byteArrayIds = sqlSession.selectList(statement, parameter);
+      }
+
+      @Override
+      public String toString() {
+        return "select referenced byte arrays: " + statement + "(" + parameter + ")";
+      }
+    };
+  }
+
+  @Override
+  public void execute(SqlSession sqlSession) {
+    if (byteArrayIds == null || byteArrayIds.isEmpty()) {
+      return;
+    }
+    for (int fromIndex = 0; fromIndex < byteArrayIds.size(); fromIndex += batchSize) {
+      int toIndex = Math.min(fromIndex + batchSize, byteArrayIds.size());
+      sqlSession.delete(statement, byteArrayIds.subList(fromIndex, toIndex));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "bulk delete referenced byte arrays: " + statement + "(" + parameter + ")";
+  }
+}
@@ -25,9 +25,15 @@ import javax.el.ValueExpression;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.delegate.Expression;
 import org.activiti.engine.delegate.VariableScope;
+import org.activiti.engine.impl.cfg.PerformanceSettings;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.delegate.invocation.CompiledExpressionGetInvocation;
 import org.activiti.engine.impl.delegate.invocation.ExpressionGetInvocation;
+import org.activiti.engine.impl.delegate.invocation.ExpressionInvocation;
 import org.activiti.engine.impl.delegate.invocation.ExpressionSetInvocation;
+import org.activiti.engine.impl.el.compiler.CompiledExpression;
+import org.activiti.engine.impl.el.compiler.ExpressionCompiler;
 import org.activiti.engine.impl.interceptor.DelegateInterceptor;
 
 /**
@@ -41,6 +47,12 @@ public class JuelExpression implements Expression {
     private String expressionText;
     private ValueExpression valueExpression;
 
+    private static final ExpressionCompiler EXPRESSION_COMPILER = new ExpressionCompiler();
+
+    private int evaluationCount;
+    private volatile boolean compiled;
+    private volatile CompiledExpression compiledExpression;
+
     public JuelExpression(ValueExpression valueExpression, String expressionText) {
         this.valueExpression = valueExpression;
         this.expressionText = expressionText;
@@ -48,10 +60,41 @@ public class JuelExpression implements Expression {
 
     @Override
     public Object getValue(VariableScope variableScope) {
-        ELContext elContext = Context.getProcessEngineConfiguration()
+        ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+        ELContext elContext = processEngineConfiguration
                                      .getExpressionManager()
                                      .getElContext(variableScope);
-        return getValueFromContext(elContext, Context.getProcessEngineConfiguration().getDelegateInterceptor());
+        CompiledExpression compiledExpression = getCompiledExpression(processEngineConfiguration);
+        if (compiledExpression != null) {
+            return getInvocationResult(new CompiledExpressionGetInvocation(valueExpression, compiledExpression, elContext),
+                processEngineConfiguration.getDelegateInterceptor());
+        }
+        return getValueFromContext(elContext, processEngineConfiguration.getDelegateInterceptor());
+    }
+
+    /**
+     * @return the compiled expression once the expression has been evaluated often enough and could be compiled, null otherwise.
+     */
+    protected CompiledExpression getCompiledExpression(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        if (compiled) {
+            return compiledExpression;
+        }
+
+        PerformanceSettings performanceSettings = processEngineConfiguration.getPerformanceSettings();
+        if (!performanceSettings.isEnableExpressionCompilation() || ++evaluationCount < performanceSettings.getExpressionCompilationThreshold()) {
+            return null;
+        }
+
+        compiledExpression = EXPRESSION_COMPILER.compile(valueExpression.getExpressionString());
+        compiled = true;
+        return compiledExpression;
+    }
+
+    /**
+     * @return whether the expression is evaluated by its compiled form.
+     */
+    public boolean isCompiled() {
+        return compiled && compiledExpression != null;
     }
 
     @Override
@@ -88,9 +131,13 @@ public class JuelExpression implements Expression {
     }
 
     private Object getValueFromContext(ELContext elContext,
+        DelegateInterceptor delegateInterceptor) {
+        return getInvocationResult(new ExpressionGetInvocation(valueExpression, elContext), delegateInterceptor);
+    }
+
+    private Object getInvocationResult(ExpressionInvocation invocation,
         DelegateInterceptor delegateInterceptor) {
         try {
-            ExpressionGetInvocation invocation = new ExpressionGetInvocation(valueExpression, elContext);
             delegateInterceptor.handleInvocation(invocation);
             return invocation.getInvocationResult();
         } catch (PropertyNotFoundException pnfe) {
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.el.compiler;
+
+import javax.el.ELContext;
+
+/**
+ * An expression compiled by the {@link ExpressionCompiler}.
+ */
+public interface CompiledExpression {
+
+    /**
+     * @param elContext the context the interpreted expression would be evaluated in, used to resolve identifiers and properties
+     */
+    Object getValue(ELContext elContext);
+
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.el.compiler;
+
+import javax.el.ELContext;
+import javax.el.ELException;
+import javax.el.PropertyNotFoundException;
+import de.odysseus.el.misc.BooleanOperations;
+import de.odysseus.el.misc.NumberOperations;
+import de.odysseus.el.misc.TypeConverter;
+import de.odysseus.el.tree.Node;
+import de.odysseus.el.tree.Tree;
+import de.odysseus.el.tree.TreeBuilder;
+import de.odysseus.el.tree.impl.Builder;
+import de.odysseus.el.tree.impl.ast.AstBinary;
+import de.odysseus.el.tree.impl.ast.AstBoolean;
+import de.odysseus.el.tree.impl.ast.AstChoice;
+import de.odysseus.el.tree.impl.ast.AstDot;
+import de.odysseus.el.tree.impl.ast.AstEval;
+import de.odysseus.el.tree.impl.ast.AstIdentifier;
+import de.odysseus.el.tree.impl.ast.AstNested;
+import de.odysseus.el.tree.impl.ast.AstNode;
+import de.odysseus.el.tree.impl.ast.AstNull;
+import de.odysseus.el.tree.impl.ast.AstNumber;
+import de.odysseus.el.tree.impl.ast.AstString;
+import de.odysseus.el.tree.impl.ast.AstUnary;
+
+/**
+ * Compiles JUEL expressions into a tree of {@link CompiledExpression}s, which evaluates them without the parsed JUEL tree.
+ * <p>
+ * The expression is parsed by JUEL's own {@link TreeBuilder}, and the nodes of the resulting {@link Tree} are turned into
+ * evaluators. Only eval expressions (<code>${...}</code> or <code>#{...}</code>) built from the following nodes are compiled:
+ * string, number, boolean and null literals, identifiers, property access using the dot notation, the logical
+ * (<code>&amp;&amp; || !</code>), comparison (<code>== != &lt; &gt; &lt;= &gt;=</code>), <code>empty</code> and negation
+ * operators and the conditional operator. For any other node (method calls, functions, brackets, arithmetic, composite
+ * expressions, ...) no compiled expression is returned and the expression should be interpreted.
+ * <p>
+ * Operators follow the coercion rules of JUEL. Identifiers and property access are resolved through the resolvers of
+ * the EL context, the way the interpreter resolves them, so no method can be invoked by a compiled expression.
+ * As the expression manager parses expressions without variable mapper, identifiers are never bound to variables
+ * of the parsing context.
+ */
+public class ExpressionCompiler {
+
+    protected static final TypeConverter CONVERTER = TypeConverter.DEFAULT;
+
+    protected TreeBuilder treeBuilder;
+
+    public ExpressionCompiler() {
+        this(new Builder());
+    }
+
+    public ExpressionCompiler(TreeBuilder treeBuilder) {
+        this.treeBuilder = treeBuilder;
+    }
+
+    /**
+     * @return the compiled expression, or null if the expression uses constructs that can't be compiled.
+     */
+    public CompiledExpression compile(String expressionText) {
+        if (expressionText == null) {
+            return null;
+        }
+
+        Tree tree;
+        try {
+            tree = treeBuilder.build(expressionText.trim());
+        } catch (ELException e) {
+            return null;
+        }
+        if (!(tree.getRoot() instanceof AstEval)) {
+            return null;
+        }
+        return compile(tree.getRoot().getChild(0));
+    }
+
+    protected CompiledExpression compile(Node node) {
+        if (node instanceof AstNested) {
+            return compile(node.getChild(0));
+        }
+        if (node instanceof AstBoolean || node instanceof AstNull || node instanceof AstNumber || node instanceof AstString) {
+            // literals evaluate to their value without using the bindings or the context
+            return new Literal(((AstNode) node).eval(null, null));
+        }
+        if (node instanceof AstIdentifier) {
+            return new Identifier(((AstIdentifier) node).getName());
+        }
+        if (node instanceof AstDot) {
+            return compileDot((AstDot) node);
+        }
+        if (node instanceof AstUnary) {
+            return compileUnary((AstUnary) node);
+        }
+        if (node instanceof AstBinary) {
+            return compileBinary((AstBinary) node);
+        }
+        if (node instanceof AstChoice) {
+            CompiledExpression question = compile(node.getChild(0));
+            CompiledExpression yes = compile(node.getChild(1));
+            CompiledExpression no = compile(node.getChild(2));
+            return question != null && yes != null && no != null ? new Choice(question, yes, no) : null;
+        }
+        return null;
+    }
+
+    protected CompiledExpression compileDot(AstDot node) {
+        // the property name of a dot node is only exposed through its string form: ". " + property
+        String text = node.toString();
+        CompiledExpression base = compile(node.getChild(0));
+        if (base == null || !text.startsWith(". ")) {
+            return null;
+        }
+        return new Property(base, text.substring(2));
+    }
+
+    protected CompiledExpression compileUnary(AstUnary node) {
+        CompiledExpression operand = compile(node.getChild(0));
+        if (operand == null) {
+            return null;
+        }
+
+        AstUnary.Operator operator = node.getOperator();
+        if (operator == AstUnary.NOT) {
+            return new Not(operand);
+        } else if (operator == AstUnary.EMPTY) {
+            return new Empty(operand);
+        } else if (operator == AstUnary.NEG) {
+            return new Negate(operand);
+        }
+        return null;
+    }
+
+    protected CompiledExpression compileBinary(AstBinary node) {
+        CompiledExpression left = compile(node.getChild(0));
+        CompiledExpression right = compile(node.getChild(1));
+        if (left == null || right == null) {
+            return null;
+        }
+
+        AstBinary.Operator operator = node.getOperator();
+        if (operator == AstBinary.AND) {
+            return new And(left, right);
+        } else if (operator == AstBinary.OR) {
+            return new Or(left, right);
+        } else if (operator == AstBinary.EQ) {
+            return new Comparison(Comparison.EQ, left, right);
+        } else if (operator == AstBinary.NE) {
+            return new Comparison(Comparison.NE, left, right);
+        } else if (operator == AstBinary.LT) {
+            return new Comparison(Comparison.LT, left, right);
+        } else if (operator == AstBinary.GT) {
+            return new Comparison(Comparison.GT, left, right);
+        } else if (operator == AstBinary.LE) {
+            return new Comparison(Comparison.LE, left, right);
+        } else if (operator == AstBinary.GE) {
+            return new Comparison(Comparison.GE, left, right);
+        }
+        return null;
+    }
+
+    protected static class Literal implements CompiledExpression {
+
+        protected Object value;
+
+        public Literal(Object value) {
+            this.value = value;
+        }
+
+        public Object getValue(ELContext elContext) {
+            return value;
+        }
+    }
+
+    protected static class Identifier implements CompiledExpression {
+
+        protected String name;
+
+        public Identifier(String name) {
+            this.name = name;
+        }
+
+        public Object getValue(ELContext elContext) {
+            elContext.setPropertyResolved(false);
+            Object value = elContext.getELResolver().getValue(elContext, null, name);
+            if (!elContext.isPropertyResolved()) {
+                throw new PropertyNotFoundException("Cannot resolve identifier '" + name + "'");
+            }
+            return value;
+        }
+    }
+
+    protected static class Property implements CompiledExpression {
+
+        protected CompiledExpression base;
+        protected String name;
+
+        public Property(CompiledExpression base, String name) {
+            this.base = base;
+            this.name = name;
+        }
+
+        public Object getValue(ELContext elContext) {
+            Object baseValue = base.getValue(elContext);
+            if (baseValue == null) {
+                return null;
+            }
+
+            elContext.setPropertyResolved(false);
+            Object value = elContext.getELResolver().getValue(elContext, baseValue, name);
+            if (!elContext.isPropertyResolved()) {
+                throw new PropertyNotFoundException("Cannot resolve property '" + name + "' in '" + baseValue + "'");
+            }
+            return value;
+        }
+    }
+
+    protected static class And implements CompiledExpression {
+
+        protected CompiledExpression left;
+        protected CompiledExpression right;
+
+        public And(CompiledExpression left, CompiledExpression right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        public Object getValue(ELContext elContext) {
+            Boolean leftValue = CONVERTER.convert(left.getValue(elContext), Boolean.class);
+            return Boolean.TRUE.equals(leftValue) ? CONVERTER.convert(right.getValue(elContext), Boolean.class) : Boolean.FALSE;
+        }
+    }
+
+    protected static class Or implements CompiledExpression {
+
+        protected CompiledExpression left;
+        protected CompiledExpression right;
+
+        public Or(CompiledExpression left, CompiledExpression right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        public Object getValue(ELContext elContext) {
+            Boolean leftValue = CONVERTER.convert(left.getValue(elContext), Boolean.class);
+            return Boolean.TRUE.equals(leftValue) ? Boolean.TRUE : CONVERTER.convert(right.getValue(elContext), Boolean.class);
+        }
+    }
+
+    protected static class Not implements CompiledExpression {
+
+        protected CompiledExpression operand;
+
+        public Not(CompiledExpression operand) {
+            this.operand = operand;
+        }
+
+        public Object getValue(ELContext elContext) {
+            return !CONVERTER.convert(operand.getValue(elContext), Boolean.class);
+        }
+    }
+
+    protected static class Negate implements CompiledExpression {
+
+        protected CompiledExpression operand;
+
+        public Negate(CompiledExpression operand) {
+            this.operand = operand;
+        }
+
+        public Object getValue(ELContext elContext) {
+            return NumberOperations.neg(CONVERTER, operand.getValue(elContext));
+        }
+    }
+
+    protected static class Empty implements CompiledExpression {
+
+        protected CompiledExpression operand;
+
+        public Empty(CompiledExpression operand) {
+            this.operand = operand;
+        }
+
+        public Object getValue(ELContext elContext) {
+            return BooleanOperations.empty(CONVERTER, operand.getValue(elContext));
+        }
+    }
+
+    protected static class Comparison implements CompiledExpression {
+
+        protected static final int EQ = 0;
+        protected static final int NE = 1;
+        protected static final int LT = 2;
+        protected static final int GT = 3;
+        protected static final int LE = 4;
+        protected static final int GE = 5;
+
+        protected int operator;
+        protected CompiledExpression left;
+        protected CompiledExpression right;
+
+        public Comparison(int operator, CompiledExpression left, CompiledExpression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        public Object getValue(ELContext elContext) {
+            Object leftValue = left.getValue(elContext);
+            Object rightValue = right.getValue(elContext);
+            switch (operator) {
+                case EQ:
+                    return BooleanOperations.eq(CONVERTER, leftValue, rightValue);
+                case NE:
+                    return BooleanOperations.ne(CONVERTER, leftValue, rightValue);
+                case LT:
+                    return BooleanOperations.lt(CONVERTER, leftValue, rightValue);
+                case GT:
+                    return BooleanOperations.gt(CONVERTER, leftValue, rightValue);
+                case LE:
+                    return BooleanOperations.le(CONVERTER, leftValue, rightValue);
+                default:
+                    return BooleanOperations.ge(CONVERTER, leftValue, rightValue);
+            }
+        }
+    }
+
+    protected static class Choice implements CompiledExpression {
+
+        protected CompiledExpression question;
+        protected CompiledExpression yes;
+        protected CompiledExpression no;
+
+        public Choice(CompiledExpression question, CompiledExpression yes, CompiledExpression no) {
+            this.question = question;
+            this.yes = yes;
+            this.no = no;
+        }
+
+        public Object getValue(ELContext elContext) {
+            Boolean questionValue = CONVERTER.convert(question.getValue(elContext), Boolean.class);
+            return questionValue ? yes.getValue(elContext) : no.getValue(elContext);
+        }
+    }
+
+}
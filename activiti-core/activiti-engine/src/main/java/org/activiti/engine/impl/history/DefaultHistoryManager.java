@@ -18,7 +18,9 @@
 package org.activiti.engine.impl.history;
 
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.activiti.bpmn.model.FlowElement;
 import org.activiti.bpmn.model.FlowNode;
@@ -29,6 +31,7 @@ import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.cfg.IdGenerator;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.identity.Authentication;
+import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.AbstractManager;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.persistence.entity.CommentEntity;
@@ -54,6 +57,8 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
 
   private static Logger log = LoggerFactory.getLogger(DefaultHistoryManager.class.getName());
 
+  protected static final String COALESCED_HISTORIC_DETAILS_ATTRIBUTE = "coalescedHistoricVariableDetails";
+
   private HistoryLevel historyLevel;
 
   public DefaultHistoryManager(ProcessEngineConfigurationImpl processEngineConfiguration, HistoryLevel historyLevel) {
@@ -648,7 +653,19 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
   public void recordHistoricDetailVariableCreate(VariableInstanceEntity variable, ExecutionEntity sourceActivityExecution, boolean useActivityId) {
     if (isHistoryLevelAtLeast(HistoryLevel.FULL)) {
 
-      HistoricDetailVariableInstanceUpdateEntity historicVariableUpdate = getHistoricDetailEntityManager().copyAndInsertHistoricDetailVariableInstanceUpdateEntity(variable);
+      HistoricDetailVariableInstanceUpdateEntity historicVariableUpdate = null;
+      if (getProcessEngineConfiguration().getPerformanceSettings().isEnableVariableUpdateCoalescing()) {
+        historicVariableUpdate = findCoalescedHistoricDetail(variable);
+      }
+
+      if (historicVariableUpdate != null) {
+        getHistoricDetailEntityManager().copyVariableValue(historicVariableUpdate, variable);
+      } else {
+        historicVariableUpdate = getHistoricDetailEntityManager().copyAndInsertHistoricDetailVariableInstanceUpdateEntity(variable);
+        if (getProcessEngineConfiguration().getPerformanceSettings().isEnableVariableUpdateCoalescing()) {
+          getCoalescedHistoricDetails().put(variable.getId(), historicVariableUpdate);
+        }
+      }
 
       if (useActivityId && sourceActivityExecution != null) {
         HistoricActivityInstanceEntity historicActivityInstance = findActivityInstance(sourceActivityExecution, false, false);
@@ -680,6 +697,27 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
     }
   }
 
+  /**
+   * Returns the historic detail that was inserted for the variable earlier in the current command, if it wasn't flushed yet.
+   */
+  protected HistoricDetailVariableInstanceUpdateEntity findCoalescedHistoricDetail(VariableInstanceEntity variable) {
+    HistoricDetailVariableInstanceUpdateEntity historicVariableUpdate = getCoalescedHistoricDetails().get(variable.getId());
+    if (historicVariableUpdate != null && historicVariableUpdate.isInserted() && !historicVariableUpdate.isDeleted()) {
+      return historicVariableUpdate;
+    }
+    return null;
+  }
+
+  protected Map<String, HistoricDetailVariableInstanceUpdateEntity> getCoalescedHistoricDetails() {
+    CommandContext commandContext = getCommandContext();
+    Map<String, HistoricDetailVariableInstanceUpdateEntity> historicDetails = commandContext.getGenericAttribute(COALESCED_HISTORIC_DETAILS_ATTRIBUTE);
+    if (historicDetails == null) {
+      historicDetails = new HashMap<String, HistoricDetailVariableInstanceUpdateEntity>();
+      commandContext.addAttribute(COALESCED_HISTORIC_DETAILS_ATTRIBUTE, historicDetails);
+    }
+    return historicDetails;
+  }
+
   // Comment related history
 
 
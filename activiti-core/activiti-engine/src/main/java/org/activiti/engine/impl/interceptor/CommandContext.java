@@ -82,6 +82,7 @@ public class CommandContext {
 
     protected ActivitiEngineAgenda agenda;
     protected Map<String, ExecutionEntity> involvedExecutions = new HashMap<>(1); // The executions involved with the command
+    protected boolean executionTreeChanged; // Executions were inserted, deleted, moved, (in)activated or ended
     protected LinkedList<Object> resultStack = new LinkedList<>(); // needs to be a stack, as JavaDelegates can do api calls again
 
     public CommandContext(Command<?> command,
@@ -191,8 +192,9 @@ public class CommandContext {
     protected void executeCloseListenersClosing() {
         if (closeListeners != null) {
             try {
-                for (CommandContextCloseListener listener : closeListeners) {
-                    listener.closing(this);
+                // Listeners may register new close listeners while closing, these are called as well
+                for (int i = 0; i < closeListeners.size(); i++) {
+                    closeListeners.get(i).closing(this);
                 }
             } catch (Throwable exception) {
                 exception(exception);
@@ -449,6 +451,18 @@ public class CommandContext {
         return involvedExecutions.values();
     }
 
+    /**
+     * Called when an execution is inserted, deleted, moved to another activity, (in)activated or ended.
+     * Only then the inactive behaviours (e.g. of a waiting inclusive gateway) need to be re-evaluated.
+     */
+    public void markExecutionTreeChanged() {
+        executionTreeChanged = true;
+    }
+
+    public boolean isExecutionTreeChanged() {
+        return executionTreeChanged;
+    }
+
     // getters and setters
     // //////////////////////////////////////////////////////
 
@@ -45,9 +45,8 @@ public class CommandInvoker extends AbstractCommandInterceptor {
     // Run loop for agenda
     executeOperations(commandContext);
 
-    // At the end, call the execution tree change listeners.
-    // TODO: optimization: only do this when the tree has actually changed (ie check dbSqlSession).
-    if (commandContext.hasInvolvedExecutions()) {
+    // At the end, call the execution tree change listeners, if the tree has actually changed
+    if (commandContext.hasInvolvedExecutions() && commandContext.isExecutionTreeChanged()) {
       Context.getAgenda().planExecuteInactiveBehaviorsOperation();
       executeOperations(commandContext);
     }
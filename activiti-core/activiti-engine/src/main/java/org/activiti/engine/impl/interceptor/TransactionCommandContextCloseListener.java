@@ -50,4 +50,8 @@ public class TransactionCommandContextCloseListener implements CommandContextClo
     transactionContext.rollback();
   }
 
+  public TransactionContext getTransactionContext() {
+    return transactionContext;
+  }
+
 }
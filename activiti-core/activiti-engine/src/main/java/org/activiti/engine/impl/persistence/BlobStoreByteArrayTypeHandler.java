@@ -0,0 +1,153 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.TransactionContext;
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.cfg.TransactionState;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+import org.activiti.engine.impl.interceptor.TransactionCommandContextCloseListener;
+import org.activiti.engine.impl.persistence.blob.BlobReference;
+import org.activiti.engine.impl.persistence.blob.BlobStore;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.BlobTypeHandler;
+import org.apache.ibatis.type.ByteArrayTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * MyBatis TypeHandler for the bytes of a byte array (the BYTES_ column of ACT_GE_BYTEARRAY).
+ *
+ * When a {@link BlobStore} is configured, bytes above the configured threshold are stored in the blob store
+ * and only a {@link BlobReference} is stored in the database. References are resolved again when reading.
+ * Blobs are addressed by their content and may be shared by several byte arrays. A new blob is therefore only staged while
+ * the session is flushed: it is published when the transaction commits and discarded when the transaction rolls back, so
+ * a failed transaction leaves no orphaned blobs behind. Published blobs are not deleted when the byte arrays referencing them are.
+ * The actual reading and writing of the column is delegated to the type handler MyBatis uses by default for the blob type of the database.
+ */
+public class BlobStoreByteArrayTypeHandler extends BaseTypeHandler<byte[]> {
+
+  protected static final TypeHandler<byte[]> BLOB_TYPE_HANDLER = new BlobTypeHandler();
+  protected static final TypeHandler<byte[]> BYTE_ARRAY_TYPE_HANDLER = new ByteArrayTypeHandler();
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, byte[] parameter, JdbcType jdbcType) throws SQLException {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    getDelegate(processEngineConfiguration, jdbcType).setParameter(ps, i, toStoredBytes(processEngineConfiguration, parameter), jdbcType);
+  }
+
+  @Override
+  public byte[] getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return fromStoredBytes(processEngineConfiguration, getDelegate(processEngineConfiguration, null).getResult(rs, columnName));
+  }
+
+  @Override
+  public byte[] getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return fromStoredBytes(processEngineConfiguration, getDelegate(processEngineConfiguration, null).getResult(rs, columnIndex));
+  }
+
+  @Override
+  public byte[] getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return fromStoredBytes(processEngineConfiguration, getDelegate(processEngineConfiguration, null).getResult(cs, columnIndex));
+  }
+
+  protected byte[] toStoredBytes(ProcessEngineConfigurationImpl processEngineConfiguration, byte[] bytes) {
+    BlobStore blobStore = processEngineConfiguration != null ? processEngineConfiguration.getBlobStore() : null;
+    if (blobStore == null || (bytes.length < processEngineConfiguration.getBlobStoreSizeThreshold() && !BlobReference.isReference(bytes))) {
+      return bytes;
+    }
+
+    String key = blobStore.createKey(bytes);
+    String stagingKey = blobStore.stage(key, bytes);
+    if (stagingKey != null) {
+      publishOnCommit(blobStore, key, stagingKey);
+    }
+    return BlobReference.toBytes(key);
+  }
+
+  protected void publishOnCommit(final BlobStore blobStore, final String key, final String stagingKey) {
+    TransactionContext transactionContext = getTransactionContext(Context.getCommandContext());
+    if (transactionContext == null) {
+      blobStore.publish(key, stagingKey);
+      return;
+    }
+
+    transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+      @Override
+      public void execute(CommandContext commandContext) {
+        blobStore.publish(key, stagingKey);
+      }
+    });
+    transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, new TransactionListener() {
+      @Override
+      public void execute(CommandContext commandContext) {
+        blobStore.discard(key, stagingKey);
+      }
+    });
+  }
+
+  /**
+   * Byte arrays are flushed when the command context is closed, after the transaction context was removed from the {@link Context}.
+   */
+  protected TransactionContext getTransactionContext(CommandContext commandContext) {
+    if (commandContext != null && commandContext.getCloseListeners() != null) {
+      for (CommandContextCloseListener closeListener : commandContext.getCloseListeners()) {
+        if (closeListener instanceof TransactionCommandContextCloseListener) {
+          return ((TransactionCommandContextCloseListener) closeListener).getTransactionContext();
+        }
+      }
+    }
+    return Context.getTransactionContext();
+  }
+
+  protected byte[] fromStoredBytes(ProcessEngineConfigurationImpl processEngineConfiguration, byte[] storedBytes) {
+    if (!BlobReference.isReference(storedBytes)) {
+      return storedBytes;
+    }
+
+    BlobStore blobStore = processEngineConfiguration != null ? processEngineConfiguration.getBlobStore() : null;
+    if (blobStore == null) {
+      throw new ActivitiException("Byte array is stored in a blob store, but no blob store is configured");
+    }
+    return blobStore.read(BlobReference.getKey(storedBytes));
+  }
+
+  protected TypeHandler<byte[]> getDelegate(ProcessEngineConfigurationImpl processEngineConfiguration, JdbcType jdbcType) {
+    if (jdbcType == null) {
+      String blobType = processEngineConfiguration != null
+          ? processEngineConfiguration.getSqlSessionFactory().getConfiguration().getVariables().getProperty("blobType") : null;
+      jdbcType = blobType != null ? JdbcType.valueOf(blobType) : JdbcType.BLOB;
+    }
+    if (jdbcType == JdbcType.BLOB || jdbcType == JdbcType.LONGVARBINARY) {
+      return BLOB_TYPE_HANDLER;
+    }
+    return BYTE_ARRAY_TYPE_HANDLER;
+  }
+
+}
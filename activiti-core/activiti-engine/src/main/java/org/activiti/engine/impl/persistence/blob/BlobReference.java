@@ -0,0 +1,55 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.blob;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The reference to a blob in a {@link BlobStore}, as it is stored in the BYTES_ column of a byte array.
+ *
+ * A reference is the key of the blob, prefixed with a marker that starts with a zero byte. To keep references unambiguous,
+ * bytes that start with the marker themselves are always stored in the blob store, regardless of their size.
+ */
+public class BlobReference {
+
+  protected static final byte[] MARKER = "\u0000ACT_BLOB_REF:".getBytes(StandardCharsets.UTF_8);
+
+  public static byte[] toBytes(String key) {
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    byte[] bytes = Arrays.copyOf(MARKER, MARKER.length + keyBytes.length);
+    System.arraycopy(keyBytes, 0, bytes, MARKER.length, keyBytes.length);
+    return bytes;
+  }
+
+  public static boolean isReference(byte[] bytes) {
+    if (bytes == null || bytes.length < MARKER.length) {
+      return false;
+    }
+    for (int i = 0; i < MARKER.length; i++) {
+      if (bytes[i] != MARKER[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static String getKey(byte[] bytes) {
+    return new String(bytes, MARKER.length, bytes.length - MARKER.length, StandardCharsets.UTF_8);
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.blob;
+
+/**
+ * Stores the bytes of large byte arrays (byte array variables, deployment resources, ...) outside of the database.
+ *
+ * When a blob store is configured on the process engine configuration, the bytes of a byte array that are larger than
+ * the configured threshold are handed to the blob store when the byte array is flushed to the database. Only a
+ * reference to the blob is stored in the database (see {@link BlobReference}), which is resolved again when the
+ * byte array is read.
+ *
+ * Blobs are written while the database session is flushed, so before the transaction commits. As the key of a blob is derived
+ * from its bytes, a blob may be referenced by byte arrays of several transactions, and a transaction that fails can't simply
+ * delete the blobs it wrote. New blobs are therefore first staged under a staging key that belongs to the writing transaction
+ * only: the engine publishes a staged blob under its key when the transaction commits and discards it when the transaction
+ * rolls back. Discarding a staged blob never affects blobs published by, or staged for, other transactions.
+ */
+public interface BlobStore {
+
+  /**
+   * @return the key under which the given bytes are stored.
+   */
+  String createKey(byte[] bytes);
+
+  /**
+   * Stages the given bytes to be stored under the given key. The staged bytes are only readable under the key once
+   * the blob is published with {@link #publish(String, String)}.
+   *
+   * @return the staging key of the staged blob, or null if a blob with the given key was already published.
+   */
+  String stage(String key, byte[] bytes);
+
+  /**
+   * Makes the blob staged under the given staging key readable under the given key.
+   * Does nothing if the staged blob was already published.
+   */
+  void publish(String key, String stagingKey);
+
+  /**
+   * Deletes the blob staged under the given staging key, if it wasn't published yet.
+   */
+  void discard(String key, String stagingKey);
+
+  /**
+   * @return the bytes stored under the given key. As only committed transactions reference a blob, a blob that was staged but
+   *         not published (because the process stopped between the commit and the publish) is published when it is read.
+   */
+  byte[] read(String key);
+
+  /**
+   * Deletes the blob stored under the given key, if any.
+   * Not called by the engine itself, as published blobs may be shared by several byte arrays.
+   */
+  void delete(String key);
+
+}
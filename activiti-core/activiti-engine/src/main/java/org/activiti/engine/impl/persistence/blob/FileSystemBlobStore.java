@@ -0,0 +1,218 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.blob;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.ActivitiObjectNotFoundException;
+
+/**
+ * A {@link BlobStore} that keeps blobs as files in a directory on the local file system.
+ *
+ * Blobs are content addressed: the key of a blob is the SHA-256 hash of its bytes, so equal bytes are stored only once.
+ * Files are spread over subdirectories named after the first two characters of the key. A file is first written
+ * to a temporary file in the same directory and then atomically moved to its final name, so readers never see
+ * a partially written blob. Files are read using memory-mapped I/O.
+ *
+ * A staged blob is a file named after its key and a random staging key, next to the file of the blob. Publishing it
+ * atomically renames it to the name of the blob, discarding it deletes it. Transactions that store the same new bytes
+ * concurrently each stage their own file, so a transaction that rolls back never deletes a file another transaction relies on.
+ *
+ * As published files can be shared by several byte arrays, they are not deleted when a byte array is deleted.
+ */
+public class FileSystemBlobStore implements BlobStore {
+
+  protected static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+  protected static final Pattern STAGING_KEY_PATTERN = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+  protected static final String STAGED_FILE_SUFFIX = ".staged";
+
+  protected Path rootDirectory;
+
+  public FileSystemBlobStore(Path rootDirectory) {
+    this.rootDirectory = rootDirectory;
+  }
+
+  @Override
+  public String createKey(byte[] bytes) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+      StringBuilder key = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return key.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new ActivitiException("Could not create blob key", e);
+    }
+  }
+
+  @Override
+  public String stage(String key, byte[] bytes) {
+    if (Files.exists(getFile(key))) {
+      return null;
+    }
+
+    String stagingKey = UUID.randomUUID().toString();
+    Path stagedFile = getStagedFile(key, stagingKey);
+    Path temporaryFile = null;
+    try {
+      Files.createDirectories(stagedFile.getParent());
+      temporaryFile = Files.createTempFile(stagedFile.getParent(), key, ".tmp");
+      try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      Files.move(temporaryFile, stagedFile, StandardCopyOption.ATOMIC_MOVE);
+      return stagingKey;
+
+    } catch (IOException e) {
+      throw new ActivitiException("Could not store blob " + key + " in " + rootDirectory, e);
+
+    } finally {
+      deleteQuietly(temporaryFile);
+    }
+  }
+
+  @Override
+  public void publish(String key, String stagingKey) {
+    try {
+      publishStagedFile(getStagedFile(key, stagingKey), getFile(key));
+    } catch (IOException e) {
+      throw new ActivitiException("Could not publish blob " + key + " in " + rootDirectory, e);
+    }
+  }
+
+  @Override
+  public void discard(String key, String stagingKey) {
+    try {
+      Files.deleteIfExists(getStagedFile(key, stagingKey));
+    } catch (IOException e) {
+      throw new ActivitiException("Could not discard blob " + key + " from " + rootDirectory, e);
+    }
+  }
+
+  @Override
+  public byte[] read(String key) {
+    Path file = getFile(key);
+    try {
+      if (!Files.exists(file)) {
+        publishStagedFile(key, file);
+      }
+
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+          throw new ActivitiException("Blob " + key + " is too large to be read into a byte array");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        byte[] bytes = new byte[(int) size];
+        buffer.get(bytes);
+        return bytes;
+      }
+
+    } catch (NoSuchFileException e) {
+      throw new ActivitiObjectNotFoundException("Could not find blob " + key + " in " + rootDirectory, byte[].class);
+    } catch (IOException e) {
+      throw new ActivitiException("Could not read blob " + key + " from " + rootDirectory, e);
+    }
+  }
+
+  @Override
+  public void delete(String key) {
+    try {
+      Files.deleteIfExists(getFile(key));
+    } catch (IOException e) {
+      throw new ActivitiException("Could not delete blob " + key + " from " + rootDirectory, e);
+    }
+  }
+
+  protected Path getFile(String key) {
+    if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+      throw new ActivitiIllegalArgumentException("Invalid blob key: " + key);
+    }
+    return rootDirectory.resolve(key.substring(0, 2)).resolve(key);
+  }
+
+  protected Path getStagedFile(String key, String stagingKey) {
+    if (stagingKey == null || !STAGING_KEY_PATTERN.matcher(stagingKey).matches()) {
+      throw new ActivitiIllegalArgumentException("Invalid blob staging key: " + stagingKey);
+    }
+    return getFile(key).resolveSibling(key + "." + stagingKey + STAGED_FILE_SUFFIX);
+  }
+
+  /**
+   * Publishes any file staged for the given key. Only called when a reference to the blob was read, which means
+   * the transaction that staged the blob committed but stopped before publishing it.
+   */
+  protected void publishStagedFile(String key, Path file) throws IOException {
+    if (!Files.isDirectory(file.getParent())) {
+      return;
+    }
+    try (DirectoryStream<Path> stagedFiles = Files.newDirectoryStream(file.getParent(), key + ".*" + STAGED_FILE_SUFFIX)) {
+      for (Path stagedFile : stagedFiles) {
+        publishStagedFile(stagedFile, file);
+        return;
+      }
+    }
+  }
+
+  protected void publishStagedFile(Path stagedFile, Path file) throws IOException {
+    try {
+      if (!Files.exists(file)) {
+        Files.move(stagedFile, file, StandardCopyOption.ATOMIC_MOVE);
+      }
+    } catch (FileAlreadyExistsException | NoSuchFileException e) {
+      // published concurrently, by the transaction itself or by a reader
+    } finally {
+      deleteQuietly(stagedFile);
+    }
+  }
+
+  protected void deleteQuietly(Path file) {
+    if (file != null) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        // the file was already moved, or will be left behind
+      }
+    }
+  }
+
+  public Path getRootDirectory() {
+    return rootDirectory;
+  }
+
+}
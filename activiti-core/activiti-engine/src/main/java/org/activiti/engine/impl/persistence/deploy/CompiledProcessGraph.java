@@ -0,0 +1,348 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.impl.persistence.deploy;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.el.ELException;
+
+import org.activiti.bpmn.constants.BpmnXMLConstants;
+import org.activiti.bpmn.model.Activity;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.FlowElementsContainer;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.Gateway;
+import org.activiti.bpmn.model.InclusiveGateway;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.SubProcess;
+import org.activiti.engine.delegate.Expression;
+import org.activiti.engine.impl.el.ExpressionManager;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Immutable, index based view on the flow nodes and sequence flow of a deployed {@link Process}.
+ *
+ * Every {@link FlowNode} of the process (including the ones nested in sub processes) gets an int index.
+ * The outgoing sequence flow, their targets, the default flow, the enclosing sub process and the
+ * parsed condition and skip expressions are resolved once when the graph is compiled, so that navigating
+ * the graph at runtime doesn't depend on the size of the process definition.
+ *
+ * The flow nodes reachable from each flow node are kept as a {@link BitSet} per node. For processes
+ * with an inclusive gateway, which needs them on every join check, they are computed up front.
+ * Otherwise they are computed on first use.
+ *
+ * A process marked with activiti:straightThrough="true" expects its instances to usually start and end in the same
+ * transaction, see {@link #isStraightThrough()}.
+ */
+public class CompiledProcessGraph {
+
+  public static final int NO_INDEX = -1;
+
+  protected final Process process;
+  protected final Map<String, Integer> nodeIndexes;
+  protected final Map<String, Integer> sequenceFlowTargetIndexes;
+  protected final FlowNode[] nodes;
+  protected final SequenceFlow[][] outgoingFlows;
+  protected final int[][] outgoingTargets;
+  protected final Expression[][] outgoingConditions;
+  protected final Expression[][] outgoingSkipExpressions;
+  protected final SequenceFlow[] defaultFlows;
+  protected final int[] parentSubProcesses;
+  protected final AtomicReferenceArray<BitSet> reachableNodes;
+  protected final boolean straightThrough;
+
+  public CompiledProcessGraph(Process process, ExpressionManager expressionManager) {
+    this.process = process;
+    this.straightThrough = Boolean.parseBoolean(process.getAttributeValue(BpmnXMLConstants.ACTIVITI_EXTENSIONS_NAMESPACE,
+        BpmnXMLConstants.ATTRIBUTE_PROCESS_STRAIGHT_THROUGH));
+
+    List<FlowNode> flowNodes = new ArrayList<FlowNode>();
+    List<FlowNode> flowNodeParents = new ArrayList<FlowNode>();
+    List<SequenceFlow> sequenceFlows = new ArrayList<SequenceFlow>();
+    collectFlowElements(process, null, flowNodes, flowNodeParents, sequenceFlows);
+
+    int size = flowNodes.size();
+    this.nodes = flowNodes.toArray(new FlowNode[size]);
+    this.nodeIndexes = new HashMap<String, Integer>(size * 2);
+    for (int i = 0; i < size; i++) {
+      if (nodes[i].getId() != null) {
+        nodeIndexes.put(nodes[i].getId(), i);
+      }
+    }
+
+    this.sequenceFlowTargetIndexes = new HashMap<String, Integer>(sequenceFlows.size() * 2);
+    for (SequenceFlow sequenceFlow : sequenceFlows) {
+      int targetIndex = indexOf(sequenceFlow.getTargetRef());
+      if (sequenceFlow.getId() != null && targetIndex != NO_INDEX) {
+        sequenceFlowTargetIndexes.put(sequenceFlow.getId(), targetIndex);
+      }
+    }
+
+    this.outgoingFlows = new SequenceFlow[size][];
+    this.outgoingTargets = new int[size][];
+    this.outgoingConditions = new Expression[size][];
+    this.outgoingSkipExpressions = new Expression[size][];
+    this.defaultFlows = new SequenceFlow[size];
+    this.parentSubProcesses = new int[size];
+
+    for (int i = 0; i < size; i++) {
+      FlowNode flowNode = nodes[i];
+      FlowNode parent = flowNodeParents.get(i);
+      parentSubProcesses[i] = parent != null ? indexOf(parent.getId()) : NO_INDEX;
+
+      List<SequenceFlow> flows = flowNode.getOutgoingFlows();
+      int flowCount = flows != null ? flows.size() : 0;
+      outgoingFlows[i] = new SequenceFlow[flowCount];
+      outgoingTargets[i] = new int[flowCount];
+      outgoingConditions[i] = new Expression[flowCount];
+      outgoingSkipExpressions[i] = new Expression[flowCount];
+
+      String defaultFlowId = getDefaultFlowId(flowNode);
+      for (int j = 0; j < flowCount; j++) {
+        SequenceFlow sequenceFlow = flows.get(j);
+        outgoingFlows[i][j] = sequenceFlow;
+        outgoingTargets[i][j] = indexOf(sequenceFlow.getTargetRef());
+        if (expressionManager != null && StringUtils.isNotEmpty(sequenceFlow.getConditionExpression())) {
+          outgoingConditions[i][j] = compileCondition(expressionManager, sequenceFlow);
+        }
+        if (expressionManager != null && StringUtils.isNotEmpty(sequenceFlow.getSkipExpression())) {
+          outgoingSkipExpressions[i][j] = compileExpression(expressionManager, sequenceFlow.getSkipExpression());
+        }
+        if (defaultFlowId != null && defaultFlows[i] == null && defaultFlowId.equals(sequenceFlow.getId())) {
+          defaultFlows[i] = sequenceFlow;
+        }
+      }
+    }
+
+    this.reachableNodes = new AtomicReferenceArray<BitSet>(size);
+    if (containsInclusiveGateway()) {
+      for (int i = 0; i < size; i++) {
+        reachableNodes.set(i, computeReachableNodes(i));
+      }
+    }
+  }
+
+  protected void collectFlowElements(FlowElementsContainer container, FlowNode containerNode, List<FlowNode> flowNodes,
+      List<FlowNode> flowNodeParents, List<SequenceFlow> sequenceFlows) {
+    for (FlowElement flowElement : container.getFlowElements()) {
+      if (flowElement instanceof FlowNode) {
+        flowNodes.add((FlowNode) flowElement);
+        flowNodeParents.add(containerNode);
+      } else if (flowElement instanceof SequenceFlow) {
+        sequenceFlows.add((SequenceFlow) flowElement);
+      }
+      if (flowElement instanceof SubProcess) {
+        collectFlowElements((SubProcess) flowElement, (SubProcess) flowElement, flowNodes, flowNodeParents, sequenceFlows);
+      }
+    }
+  }
+
+  protected boolean containsInclusiveGateway() {
+    for (FlowNode flowNode : nodes) {
+      if (flowNode instanceof InclusiveGateway) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  protected Expression compileCondition(ExpressionManager expressionManager, SequenceFlow sequenceFlow) {
+    return compileExpression(expressionManager, sequenceFlow.getConditionExpression());
+  }
+
+  protected Expression compileExpression(ExpressionManager expressionManager, String expressionText) {
+    try {
+      return expressionManager.createExpression(expressionText);
+    } catch (ELException e) {
+      // Invalid expressions keep failing when the sequence flow is evaluated, not when the process definition is cached
+      return null;
+    }
+  }
+
+  protected String getDefaultFlowId(FlowNode flowNode) {
+    if (flowNode instanceof Activity) {
+      return ((Activity) flowNode).getDefaultFlow();
+    } else if (flowNode instanceof Gateway) {
+      return ((Gateway) flowNode).getDefaultFlow();
+    }
+    return null;
+  }
+
+  public Process getProcess() {
+    return process;
+  }
+
+  public int size() {
+    return nodes.length;
+  }
+
+  /**
+   * Whether the process is marked with activiti:straightThrough="true". Executions of such a process that were created in
+   * the current command haven't been flushed to the database yet, so their related runtime data is looked up in the
+   * in-memory relationship collections instead of being queried when the executions are deleted again. When the instance
+   * reaches a wait state or an async continuation the runtime rows are flushed as usual.
+   */
+  public boolean isStraightThrough() {
+    return straightThrough;
+  }
+
+  /**
+   * @return the index of the flow node with the given id, or {@link #NO_INDEX} if the process has no such flow node.
+   */
+  public int indexOf(String flowNodeId) {
+    if (flowNodeId == null) {
+      return NO_INDEX;
+    }
+    Integer index = nodeIndexes.get(flowNodeId);
+    return index != null ? index : NO_INDEX;
+  }
+
+  /**
+   * @return the index of the flow node with the given id or, for a sequence flow id, the index of the target of the sequence flow.
+   *         Returns {@link #NO_INDEX} when no such element exists.
+   */
+  public int indexOfElement(String elementId) {
+    int index = indexOf(elementId);
+    if (index == NO_INDEX && elementId != null) {
+      Integer targetIndex = sequenceFlowTargetIndexes.get(elementId);
+      if (targetIndex != null) {
+        index = targetIndex;
+      }
+    }
+    return index;
+  }
+
+  /**
+   * @return the index of the given flow node, or {@link #NO_INDEX} when the flow node is not the instance this graph was compiled from
+   * (eg. a flow node of an older, evicted version of the same process definition).
+   */
+  public int indexOf(FlowNode flowNode) {
+    int index = indexOf(flowNode.getId());
+    if (index != NO_INDEX && nodes[index] != flowNode) {
+      return NO_INDEX;
+    }
+    return index;
+  }
+
+  public FlowNode getFlowNode(int index) {
+    return nodes[index];
+  }
+
+  public SequenceFlow[] getOutgoingFlows(int index) {
+    return outgoingFlows[index];
+  }
+
+  /**
+   * @return the indexes of the targets of the outgoing sequence flow, in the same order as {@link #getOutgoingFlows(int)}.
+   */
+  public int[] getOutgoingTargets(int index) {
+    return outgoingTargets[index];
+  }
+
+  /**
+   * @return the parsed condition expressions of the outgoing sequence flow, in the same order as {@link #getOutgoingFlows(int)}.
+   *         An entry is null when the sequence flow has no condition.
+   */
+  public Expression[] getOutgoingConditions(int index) {
+    return outgoingConditions[index];
+  }
+
+  /**
+   * @return the parsed skip expressions of the outgoing sequence flow, in the same order as {@link #getOutgoingFlows(int)}.
+   *         An entry is null when the sequence flow has no skip expression.
+   */
+  public Expression[] getOutgoingSkipExpressions(int index) {
+    return outgoingSkipExpressions[index];
+  }
+
+  public SequenceFlow getDefaultFlow(int index) {
+    return defaultFlows[index];
+  }
+
+  /**
+   * @return the index of the sub process directly containing the flow node, or {@link #NO_INDEX} for flow nodes on the process level.
+   */
+  public int getParentSubProcess(int index) {
+    return parentSubProcesses[index];
+  }
+
+  /**
+   * Verifies if the target flow node can be reached from the source flow node by following sequence flow.
+   * When a flow node without outgoing sequence flow is reached, the search continues from its enclosing sub process.
+   */
+  public boolean isReachable(int sourceIndex, int targetIndex) {
+    return getReachableNodes(sourceIndex).get(targetIndex);
+  }
+
+  /**
+   * @return the indexes of all flow nodes reachable from the given flow node. The returned {@link BitSet} is shared and must not be modified.
+   */
+  protected BitSet getReachableNodes(int sourceIndex) {
+    BitSet reachable = reachableNodes.get(sourceIndex);
+    if (reachable == null) {
+      reachable = computeReachableNodes(sourceIndex);
+      reachableNodes.set(sourceIndex, reachable);
+    }
+    return reachable;
+  }
+
+  protected BitSet computeReachableNodes(int sourceIndex) {
+    BitSet reachable = new BitSet(nodes.length);
+    BitSet visited = new BitSet(nodes.length);
+    int[] stack = new int[nodes.length + 1];
+    int stackSize = 0;
+    stack[stackSize++] = sourceIndex;
+
+    while (stackSize > 0) {
+      int current = stack[--stackSize];
+      if (visited.get(current)) {
+        continue;
+      }
+
+      // No outgoing seq flow: could be the end of eg. the process or an embedded subprocess
+      if (outgoingTargets[current].length == 0) {
+        visited.set(current);
+        current = parentSubProcesses[current];
+        if (current == NO_INDEX) {
+          continue;
+        }
+      }
+
+      reachable.set(current);
+      visited.set(current);
+
+      for (int target : outgoingTargets[current]) {
+        if (target != NO_INDEX && !visited.get(target)) {
+          if (stackSize == stack.length) {
+            int[] newStack = new int[stack.length * 2];
+            System.arraycopy(stack, 0, newStack, 0, stackSize);
+            stack = newStack;
+          }
+          stack[stackSize++] = target;
+        }
+      }
+    }
+    return reachable;
+  }
+
+}
@@ -32,6 +32,7 @@ public class ProcessDefinitionCacheEntry implements Serializable {
   protected ProcessDefinition processDefinition;
   protected BpmnModel bpmnModel;
   protected Process process;
+  protected transient volatile CompiledProcessGraph compiledProcessGraph;
 
   public ProcessDefinitionCacheEntry(ProcessDefinition processDefinition, BpmnModel bpmnModel, Process process) {
     this.processDefinition = processDefinition;
@@ -61,6 +62,15 @@ public class ProcessDefinitionCacheEntry implements Serializable {
 
   public void setProcess(Process process) {
     this.process = process;
+    this.compiledProcessGraph = null;
+  }
+
+  public CompiledProcessGraph getCompiledProcessGraph() {
+    return compiledProcessGraph;
+  }
+
+  public void setCompiledProcessGraph(CompiledProcessGraph compiledProcessGraph) {
+    this.compiledProcessGraph = compiledProcessGraph;
   }
 
 }
@@ -31,6 +31,12 @@ public interface ByteArrayEntityManager extends EntityManager<ByteArrayEntity> {
    */
   List<ByteArrayEntity> findAll();
 
+  /**
+   * Returns the revision of the {@link ByteArrayEntity} with the given id as stored in the database,
+   * without fetching the bytes, or null if there is no such byte array.
+   */
+  Integer findRevisionById(String byteArrayEntityId);
+
   /**
    * Deletes the {@link ByteArrayEntity} with the given id from the database.
    * Important: this operation will NOT do any optimistic locking, to avoid loading the bytes in memory. So use this method
@@ -38,4 +44,12 @@ public interface ByteArrayEntityManager extends EntityManager<ByteArrayEntity> {
    */
   void deleteByteArrayById(String byteArrayEntityId);
 
+  /**
+   * Deletes the byte arrays referenced by the runtime variables and jobs of the given process instance when the session is flushed,
+   * with a fixed number of statements. Meant to be used together with the bulk deletes of those variables and jobs
+   * (eg. {@link VariableInstanceEntityManager#deleteVariableInstancesByProcessInstanceId(String)}), which must be requested after this method.
+   * No optimistic locking checks are done.
+   */
+  void deleteRuntimeByteArraysByProcessInstanceId(String processInstanceId);
+
 }
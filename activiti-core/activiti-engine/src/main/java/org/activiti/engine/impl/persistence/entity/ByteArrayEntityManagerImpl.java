@@ -47,11 +47,21 @@ public class ByteArrayEntityManagerImpl extends AbstractEntityManager<ByteArrayE
     return byteArrayDataManager.findAll();
   }
 
+  @Override
+  public Integer findRevisionById(String byteArrayEntityId) {
+    return byteArrayDataManager.findRevisionById(byteArrayEntityId);
+  }
+
   @Override
   public void deleteByteArrayById(String byteArrayEntityId) {
     byteArrayDataManager.deleteByteArrayNoRevisionCheck(byteArrayEntityId);
   }
 
+  @Override
+  public void deleteRuntimeByteArraysByProcessInstanceId(String processInstanceId) {
+    byteArrayDataManager.deleteRuntimeByteArraysByProcessInstanceId(processInstanceId);
+  }
+
   public ByteArrayDataManager getByteArrayDataManager() {
     return byteArrayDataManager;
   }
@@ -70,6 +70,7 @@ public class ByteArrayRef implements Serializable {
         entity.setBytes(bytes);
         byteArrayEntityManager.insert(entity);
         id = entity.getId();
+        deleted = false;
       }
     } else {
       ensureInitialized();
@@ -50,4 +50,11 @@ public interface DeadLetterJobEntityManager extends EntityManager<DeadLetterJobE
    * Changes the tenantId for all jobs related to a given {@link DeploymentEntity}.
    */
   void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
+
+  /**
+   * Deletes all dead letter jobs of the given process instance with one statement when the session is flushed.
+   * No events are dispatched and no optimistic locking checks are done for the deleted rows.
+   */
+  void deleteJobsByProcessInstanceId(String processInstanceId);
+
 }
@@ -144,6 +144,11 @@ public class DeadLetterJobEntityManagerImpl extends AbstractEntityManager<DeadLe
         return newJobEntity;
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceId(String processInstanceId) {
+        jobDataManager.deleteJobsByProcessInstanceId(processInstanceId);
+    }
+
     protected DeadLetterJobDataManager getDataManager() {
         return jobDataManager;
     }
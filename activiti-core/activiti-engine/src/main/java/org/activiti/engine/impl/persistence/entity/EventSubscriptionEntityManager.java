@@ -105,5 +105,10 @@ public interface EventSubscriptionEntityManager extends EntityManager<EventSubsc
 
   List<CompensateEventSubscriptionEntity> findCompensateEventSubscriptionsByProcessInstanceIdAndActivityId(String processInstanceId, String activityId);
 
+  /**
+   * Deletes all event subscriptions of the given process instance with one statement when the session is flushed.
+   * No events are dispatched and no optimistic locking checks are done for the deleted rows.
+   */
+  void deleteEventSubscriptionsForProcessInstance(String processInstanceId);
 
 }
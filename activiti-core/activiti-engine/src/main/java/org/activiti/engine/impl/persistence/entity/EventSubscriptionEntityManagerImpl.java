@@ -306,6 +306,11 @@ public class EventSubscriptionEntityManagerImpl extends AbstractEntityManager<Ev
     return messageEventSubscriptionEntities;
   }
 
+  @Override
+  public void deleteEventSubscriptionsForProcessInstance(String processInstanceId) {
+    eventSubscriptionDataManager.deleteEventSubscriptionsForProcessInstance(processInstanceId);
+  }
+
   public EventSubscriptionDataManager getEventSubscriptionDataManager() {
     return eventSubscriptionDataManager;
   }
@@ -34,6 +34,7 @@ import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.CountingExecutionEntity;
 import org.activiti.engine.impl.util.ProcessDefinitionUtil;
+import org.activiti.engine.impl.variable.CoalescedVariableUpdatedEventsCommandContextCloseListener;
 
 public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionEntity, CountingExecutionEntity {
 
@@ -269,11 +270,11 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
   public void setCurrentFlowElement(FlowElement currentFlowElement) {
     this.currentFlowElement = currentFlowElement;
-    if (currentFlowElement != null) {
-      this.activityId = currentFlowElement.getId();
-    } else {
-      this.activityId = null;
+    String newActivityId = currentFlowElement != null ? currentFlowElement.getId() : null;
+    if (activityId == null ? newActivityId != null : !activityId.equals(newActivityId)) {
+      markExecutionTreeChanged();
     }
+    this.activityId = newActivityId;
   }
 
   public ActivitiListener getCurrentActivitiListener() {
@@ -408,6 +409,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     } else {
       this.parentId = null;
     }
+    invalidateResolvedVariables();
   }
 
   // parent process instance id      /////////////////////////////////////////
@@ -529,6 +531,71 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     return Context.getCommandContext().getVariableInstanceEntityManager().findVariableInstancesByExecutionId(id);
   }
 
+  @Override
+  public VariableInstance getVariableInstance(String variableName, boolean fetchAllVariables) {
+    if (!fetchAllVariables || !isResolvedVariablesCacheEnabled()) {
+      return super.getVariableInstance(variableName, fetchAllVariables);
+    }
+
+    ResolvedVariablesCache resolvedVariablesCache = ResolvedVariablesCache.getResolvedVariablesCache(Context.getCommandContext());
+    String resolvedVariablesProcessInstanceId = getResolvedVariablesProcessInstanceId();
+    if (resolvedVariablesCache.isResolved(resolvedVariablesProcessInstanceId, id, variableName)) {
+      return resolvedVariablesCache.getResolvedVariable(resolvedVariablesProcessInstanceId, id, variableName);
+    }
+
+    ensureParentVariableInstancesInitialized();
+    VariableInstance variableInstance = super.getVariableInstance(variableName, true);
+
+    // Transient variables are not cached, as setting them replaces the instance
+    if (variableInstance == null || variableInstance instanceof VariableInstanceEntity) {
+      resolvedVariablesCache.putResolvedVariable(resolvedVariablesProcessInstanceId, id, variableName, (VariableInstanceEntity) variableInstance);
+    }
+    return variableInstance;
+  }
+
+  /**
+   * Fetches the variables of this execution and all its parents that weren't fetched yet with one query,
+   * instead of one query per execution when walking up the hierarchy.
+   */
+  protected void ensureParentVariableInstancesInitialized() {
+    Map<String, ExecutionEntityImpl> executions = new HashMap<String, ExecutionEntityImpl>();
+    for (ExecutionEntityImpl execution = this; execution != null; execution = execution.getParent()) {
+      if (execution.variableInstances == null) {
+        executions.put(execution.getId(), execution);
+      }
+    }
+
+    if (executions.size() > 1) {
+      for (ExecutionEntityImpl execution : executions.values()) {
+        execution.variableInstances = new HashMap<String, VariableInstanceEntity>();
+      }
+      List<VariableInstanceEntity> variableInstances = Context.getCommandContext().getVariableInstanceEntityManager()
+          .findVariableInstancesByExecutionIds(executions.keySet());
+      for (VariableInstanceEntity variableInstance : variableInstances) {
+        ExecutionEntityImpl execution = executions.get(variableInstance.getExecutionId());
+        if (execution != null) {
+          execution.variableInstances.put(variableInstance.getName(), variableInstance);
+        }
+      }
+    }
+  }
+
+  @Override
+  protected void invalidateResolvedVariables() {
+    if (isResolvedVariablesCacheEnabled()) {
+      ResolvedVariablesCache.getResolvedVariablesCache(Context.getCommandContext()).invalidate(getResolvedVariablesProcessInstanceId());
+    }
+  }
+
+  protected boolean isResolvedVariablesCacheEnabled() {
+    return Context.getCommandContext() != null
+        && Context.getProcessEngineConfiguration().getPerformanceSettings().isEnableResolvedVariablesCache();
+  }
+
+  protected String getResolvedVariablesProcessInstanceId() {
+    return processInstanceId != null ? processInstanceId : id;
+  }
+
   @Override
   protected VariableScopeImpl getParentVariableScope() {
     return getParent();
@@ -558,15 +625,23 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   @Override
-  protected void updateVariableInstance(VariableInstanceEntity variableInstance, Object value, ExecutionEntity sourceActivityExecution) {
+  protected boolean updateVariableInstance(VariableInstanceEntity variableInstance, Object value, ExecutionEntity sourceActivityExecution) {
       Object previousValue = variableInstance.getValue();
-      super.updateVariableInstance(variableInstance, value, sourceActivityExecution);
+      if (!super.updateVariableInstance(variableInstance, value, sourceActivityExecution)) {
+        return false;
+      }
 
       // Dispatch event, if needed
       if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
-          Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
-              ActivitiEventBuilder.createVariableUpdateEvent(variableInstance, previousValue, getProcessInstanceId(), getProcessDefinitionId()));
+          if (Context.getProcessEngineConfiguration().getPerformanceSettings().isEnableVariableUpdateCoalescing()) {
+              CoalescedVariableUpdatedEventsCommandContextCloseListener.addVariableUpdate(Context.getCommandContext(),
+                  variableInstance, previousValue, getProcessInstanceId(), getProcessDefinitionId());
+          } else {
+              Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
+                  ActivitiEventBuilder.createVariableUpdateEvent(variableInstance, previousValue, getProcessInstanceId(), getProcessDefinitionId()));
+          }
       }
+      return true;
   }
 
   @Override
@@ -653,6 +728,38 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     }
   }
 
+  // aggregate fetching ///////////////////////////////////////////////////////
+
+  /**
+   * Initializes the related entity collections that weren't loaded yet with entities fetched
+   * together with the execution tree. Collections that were already initialized are kept as they are.
+   */
+  public void initializeRelatedEntities(Collection<VariableInstanceEntity> variableInstances, List<TaskEntity> tasks, List<JobEntity> jobs,
+      List<TimerJobEntity> timerJobs, List<EventSubscriptionEntity> eventSubscriptions, List<IdentityLinkEntity> identityLinks) {
+
+    if (this.variableInstances == null) {
+      this.variableInstances = new HashMap<String, VariableInstanceEntity>();
+      for (VariableInstanceEntity variableInstance : variableInstances) {
+        this.variableInstances.put(variableInstance.getName(), variableInstance);
+      }
+    }
+    if (this.tasks == null) {
+      this.tasks = tasks;
+    }
+    if (this.jobs == null) {
+      this.jobs = jobs;
+    }
+    if (this.timerJobs == null) {
+      this.timerJobs = timerJobs;
+    }
+    if (this.eventSubscriptions == null) {
+      this.eventSubscriptions = eventSubscriptions;
+    }
+    if (this.identityLinks == null) {
+      this.identityLinks = identityLinks;
+    }
+  }
+
   // getters and setters //////////////////////////////////////////////////////
 
   public String getProcessInstanceId() {
@@ -688,11 +795,14 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setActive(boolean isActive) {
+    if (this.isActive != isActive) {
+      markExecutionTreeChanged();
+    }
     this.isActive = isActive;
   }
 
   public void inactivate() {
-    this.isActive = false;
+    setActive(false);
   }
 
   public boolean isEnded() {
@@ -700,6 +810,9 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setEnded(boolean isEnded) {
+    if (this.isEnded != isEnded) {
+      markExecutionTreeChanged();
+    }
     this.isEnded = isEnded;
   }
 
@@ -848,9 +961,19 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
   }
 
   public void setDeleted(boolean isDeleted) {
+    if (this.isDeleted != isDeleted) {
+      markExecutionTreeChanged();
+    }
     this.isDeleted = isDeleted;
   }
 
+  protected void markExecutionTreeChanged() {
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null) {
+      commandContext.markExecutionTreeChanged();
+    }
+  }
+
   public String getActivityName() {
     return activityName;
   }
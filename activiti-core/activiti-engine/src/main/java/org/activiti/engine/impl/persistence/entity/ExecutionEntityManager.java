@@ -109,6 +109,11 @@ public interface ExecutionEntityManager extends EntityManager<ExecutionEntity> {
 
   void updateProcessInstanceLockTime(String processInstanceId);
 
+  /**
+   * Extends the lock of a process instance that is still locked, instead of waiting for it to expire first.
+   */
+  void extendProcessInstanceLockTime(String processInstanceId);
+
   void clearProcessInstanceLockTime(String processInstanceId);
 
 }
@@ -35,12 +35,17 @@ import org.activiti.engine.history.DeleteReason;
 import org.activiti.engine.impl.ExecutionQueryImpl;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.ProcessInstanceQueryImpl;
+import org.activiti.engine.impl.cfg.PerformanceSettings;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.db.DbSqlSession;
 import org.activiti.engine.impl.identity.Authentication;
 import org.activiti.engine.impl.persistence.CountingExecutionEntity;
+import org.activiti.engine.impl.persistence.cache.EntityCache;
+import org.activiti.engine.impl.persistence.deploy.CompiledProcessGraph;
 import org.activiti.engine.impl.persistence.entity.data.DataManager;
 import org.activiti.engine.impl.persistence.entity.data.ExecutionDataManager;
+import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 import org.activiti.engine.repository.ProcessDefinition;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -68,6 +73,12 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     return executionDataManager;
   }
 
+  @Override
+  public void insert(ExecutionEntity entity, boolean fireCreateEvent) {
+    super.insert(entity, fireCreateEvent);
+    getCommandContext().markExecutionTreeChanged();
+  }
+
   // Overriding the default delete methods to set the 'isDeleted' flag
 
   @Override
@@ -85,6 +96,13 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
 
   @Override
   public ExecutionEntity findSubProcessInstanceBySuperExecutionId(String superExecutionId) {
+    // A sub process instance started in this command is set on its super execution when it's created,
+    // so there is nothing to be found in the database for a straight-through super execution.
+    // The field is read directly, as the getter would call back into this method.
+    ExecutionEntityImpl superExecution = getSession(EntityCache.class).findInCache(ExecutionEntityImpl.class, superExecutionId);
+    if (superExecution != null && isStraightThroughExecution(superExecution)) {
+      return superExecution.subProcessInstance;
+    }
     return executionDataManager.findSubProcessInstanceBySuperExecutionId(superExecutionId);
   }
 
@@ -419,13 +437,18 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
       return;
     }
 
+    boolean relatedDataDeletedInBulk = isProcessInstanceBulkDeleteEnabled(processInstanceExecutionEntity);
+    if (relatedDataDeletedInBulk) {
+      deleteRelatedDataInBulk(processInstanceExecutionEntity.getId());
+    }
+
     List<ExecutionEntity> childExecutions = collectChildren(execution.getProcessInstance());
     for (int i=childExecutions.size()-1; i>=0; i--) {
       ExecutionEntity childExecutionEntity = childExecutions.get(i);
-      deleteExecutionAndRelatedData(childExecutionEntity, deleteReason);
+      deleteExecutionAndRelatedData(childExecutionEntity, deleteReason, relatedDataDeletedInBulk);
     }
 
-    deleteExecutionAndRelatedData(execution, deleteReason);
+    deleteExecutionAndRelatedData(execution, deleteReason, relatedDataDeletedInBulk);
 
     if (deleteHistory) {
       getHistoricProcessInstanceEntityManager().delete(execution.getId());
@@ -446,15 +469,23 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
 
     @Override
   public void deleteExecutionAndRelatedData(ExecutionEntity executionEntity, String deleteReason) {
+    deleteExecutionAndRelatedData(executionEntity, deleteReason, false);
+  }
+
+  protected void deleteExecutionAndRelatedData(ExecutionEntity executionEntity, String deleteReason, boolean relatedDataDeletedInBulk) {
     getHistoryManager().recordActivityEnd(executionEntity, deleteReason);
-    deleteDataForExecution(executionEntity, deleteReason);
+    deleteDataForExecution(executionEntity, deleteReason, relatedDataDeletedInBulk);
     delete(executionEntity);
   }
 
   @Override
   public void cancelExecutionAndRelatedData(ExecutionEntity executionEntity, String deleteReason) {
+    cancelExecutionAndRelatedData(executionEntity, deleteReason, false);
+  }
+
+  protected void cancelExecutionAndRelatedData(ExecutionEntity executionEntity, String deleteReason, boolean relatedDataDeletedInBulk) {
     getHistoryManager().recordActivityEnd(executionEntity, deleteReason);
-    cancelDataForExecution(executionEntity, deleteReason);
+    cancelDataForExecution(executionEntity, deleteReason, relatedDataDeletedInBulk);
     delete(executionEntity);
   }
 
@@ -472,6 +503,11 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
       return;
     }
 
+    boolean relatedDataDeletedInBulk = isProcessInstanceBulkDeleteEnabled(processInstanceEntity);
+    if (relatedDataDeletedInBulk) {
+      deleteRelatedDataInBulk(processInstanceId);
+    }
+
     // Call activities
     for (ExecutionEntity subExecutionEntity : processInstanceEntity.getExecutions()) {
       if (subExecutionEntity.getSubProcessInstance() != null &&  !subExecutionEntity.isEnded()) {
@@ -482,16 +518,16 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     // delete event scope executions
     for (ExecutionEntity childExecution : processInstanceEntity.getExecutions()) {
       if (childExecution.isEventScope()) {
-        deleteExecutionAndRelatedData(childExecution, null);
+        deleteExecutionAndRelatedData(childExecution, null, relatedDataDeletedInBulk);
       }
     }
 
     if(cancel) {
-        cancelChildExecutions(processInstanceEntity, deleteReason);
-        cancelExecutionAndRelatedData(processInstanceEntity, deleteReason);
+        cancelChildExecutions(processInstanceEntity, deleteReason, relatedDataDeletedInBulk);
+        cancelExecutionAndRelatedData(processInstanceEntity, deleteReason, relatedDataDeletedInBulk);
     } else {
-        deleteChildExecutions(processInstanceEntity, deleteReason);
-        deleteExecutionAndRelatedData(processInstanceEntity, deleteReason);
+        deleteChildExecutions(processInstanceEntity, deleteReason, relatedDataDeletedInBulk);
+        deleteExecutionAndRelatedData(processInstanceEntity, deleteReason, relatedDataDeletedInBulk);
     }
 
     if (getEventDispatcher().isEnabled()) {
@@ -509,6 +545,10 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
 
   @Override
   public void deleteChildExecutions(ExecutionEntity executionEntity, String deleteReason) {
+    deleteChildExecutions(executionEntity, deleteReason, false);
+  }
+
+  protected void deleteChildExecutions(ExecutionEntity executionEntity, String deleteReason, boolean relatedDataDeletedInBulk) {
 
     // The children of an execution for a tree. For correct deletions
     // (taking care of foreign keys between child-parent)
@@ -518,7 +558,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     for (int i = childExecutions.size() - 1; i>= 0; i--) {
       ExecutionEntity childExecutionEntity = childExecutions.get(i);
       if (!childExecutionEntity.isEnded()) {
-        deleteExecutionAndRelatedData(childExecutionEntity, deleteReason);
+        deleteExecutionAndRelatedData(childExecutionEntity, deleteReason, relatedDataDeletedInBulk);
       }
     }
 
@@ -526,6 +566,10 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
 
   @Override
   public void cancelChildExecutions(ExecutionEntity executionEntity, String deleteReason) {
+    cancelChildExecutions(executionEntity, deleteReason, false);
+  }
+
+  protected void cancelChildExecutions(ExecutionEntity executionEntity, String deleteReason, boolean relatedDataDeletedInBulk) {
 
     // The children of an execution for a tree. For correct deletions
     // (taking care of foreign keys between child-parent)
@@ -535,7 +579,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     for (int i = childExecutions.size() - 1; i>= 0; i--) {
       ExecutionEntity childExecutionEntity = childExecutions.get(i);
       if (!childExecutionEntity.isEnded()) {
-        cancelExecutionAndRelatedData(childExecutionEntity, deleteReason);
+        cancelExecutionAndRelatedData(childExecutionEntity, deleteReason, relatedDataDeletedInBulk);
       }
     }
 
@@ -599,18 +643,27 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     return null;
   }
 
-  private void deleteExecutionEntity(ExecutionEntity executionEntity, String deleteReason) {
+  private void deleteExecutionEntity(ExecutionEntity executionEntity, String deleteReason, boolean relatedDataDeletedInBulk) {
     // To start, deactivate the current incoming execution
     executionEntity.setEnded(true);
     executionEntity.setActive(false);
 
+    if (relatedDataDeletedInBulk) {
+      // Variables, identity links, jobs and event subscriptions of the process instance are deleted with a statement per table
+      return;
+    }
+
     boolean enableExecutionRelationshipCounts = isExecutionRelatedEntityCountEnabled(executionEntity);
+    boolean straightThrough = isStraightThroughExecution(executionEntity);
+    boolean useRelationshipCollections = straightThrough || isEagerProcessInstanceAggregateFetchingEnabled();
 
     if (executionEntity.getId().equals(executionEntity.getProcessInstanceId())
         && (!enableExecutionRelationshipCounts
             || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getIdentityLinkCount() > 0))) {
       IdentityLinkEntityManager identityLinkEntityManager = getIdentityLinkEntityManager();
-      Collection<IdentityLinkEntity> identityLinks = identityLinkEntityManager.findIdentityLinksByProcessInstanceId(executionEntity.getProcessInstanceId());
+      Collection<IdentityLinkEntity> identityLinks = useRelationshipCollections
+          ? getEntitiesNotToBeDeleted(executionEntity.getIdentityLinks())
+          : identityLinkEntityManager.findIdentityLinksByProcessInstanceId(executionEntity.getProcessInstanceId());
       for (IdentityLinkEntity identityLink : identityLinks) {
         identityLinkEntityManager.delete(identityLink);
       }
@@ -638,7 +691,9 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     if (!enableExecutionRelationshipCounts
         || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getTimerJobCount() > 0)) {
       TimerJobEntityManager timerJobEntityManager = getTimerJobEntityManager();
-      Collection<TimerJobEntity> timerJobsForExecution = timerJobEntityManager.findJobsByExecutionId(executionEntity.getId());
+      Collection<TimerJobEntity> timerJobsForExecution = useRelationshipCollections
+          ? getEntitiesNotToBeDeleted(executionEntity.getTimerJobs())
+          : timerJobEntityManager.findJobsByExecutionId(executionEntity.getId());
       for (TimerJobEntity job : timerJobsForExecution) {
         timerJobEntityManager.delete(job);
         if (getEventDispatcher().isEnabled()) {
@@ -650,7 +705,9 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     if (!enableExecutionRelationshipCounts
         || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getJobCount() > 0)) {
       JobEntityManager jobEntityManager = getJobEntityManager();
-      Collection<JobEntity> jobsForExecution = jobEntityManager.findJobsByExecutionId(executionEntity.getId());
+      Collection<JobEntity> jobsForExecution = useRelationshipCollections
+          ? getEntitiesNotToBeDeleted(executionEntity.getJobs())
+          : jobEntityManager.findJobsByExecutionId(executionEntity.getId());
       for (JobEntity job : jobsForExecution) {
         getJobEntityManager().delete(job);
         if (getEventDispatcher().isEnabled()) {
@@ -659,8 +716,9 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
       }
     }
 
-    if (!enableExecutionRelationshipCounts
-        || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getSuspendedJobCount() > 0)) {
+    // Suspended and dead letter jobs are only created from jobs that were already flushed
+    if (!straightThrough && (!enableExecutionRelationshipCounts
+        || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getSuspendedJobCount() > 0))) {
       SuspendedJobEntityManager suspendedJobEntityManager = getSuspendedJobEntityManager();
       Collection<SuspendedJobEntity> suspendedJobsForExecution = suspendedJobEntityManager.findJobsByExecutionId(executionEntity.getId());
       for (SuspendedJobEntity job : suspendedJobsForExecution) {
@@ -671,8 +729,8 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
       }
     }
 
-    if (!enableExecutionRelationshipCounts
-        || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getDeadLetterJobCount() > 0)) {
+    if (!straightThrough && (!enableExecutionRelationshipCounts
+        || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getDeadLetterJobCount() > 0))) {
       DeadLetterJobEntityManager deadLetterJobEntityManager = getDeadLetterJobEntityManager();
       Collection<DeadLetterJobEntity> deadLetterJobsForExecution = deadLetterJobEntityManager.findJobsByExecutionId(executionEntity.getId());
       for (DeadLetterJobEntity job : deadLetterJobsForExecution) {
@@ -687,7 +745,9 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     if (!enableExecutionRelationshipCounts
         || (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getEventSubscriptionCount() > 0)) {
       EventSubscriptionEntityManager eventSubscriptionEntityManager = getEventSubscriptionEntityManager();
-      List<EventSubscriptionEntity> eventSubscriptions = eventSubscriptionEntityManager.findEventSubscriptionsByExecution(executionEntity.getId());
+      List<EventSubscriptionEntity> eventSubscriptions = useRelationshipCollections
+          ? getEntitiesNotToBeDeleted(executionEntity.getEventSubscriptions())
+          : eventSubscriptionEntityManager.findEventSubscriptionsByExecution(executionEntity.getId());
       for (EventSubscriptionEntity eventSubscription : eventSubscriptions) {
         eventSubscriptionEntityManager.delete(eventSubscription);
       }
@@ -701,7 +761,9 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
       if (!enableExecutionRelationshipCounts ||
           (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getTaskCount() > 0)) {
           TaskEntityManager taskEntityManager = getTaskEntityManager();
-          Collection<TaskEntity> tasksForExecution = taskEntityManager.findTasksByExecutionId(executionEntity.getId());
+          Collection<TaskEntity> tasksForExecution = isUsingRelationshipCollections(executionEntity)
+              ? getEntitiesNotToBeDeleted(executionEntity.getTasks())
+              : taskEntityManager.findTasksByExecutionId(executionEntity.getId());
           for (TaskEntity taskEntity : tasksForExecution) {
               taskEntityManager.deleteTask(taskEntity, deleteReason, false, false);
           }
@@ -714,22 +776,24 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
         if (!enableExecutionRelationshipCounts ||
             (enableExecutionRelationshipCounts && ((CountingExecutionEntity) executionEntity).getTaskCount() > 0)) {
             TaskEntityManager taskEntityManager = getTaskEntityManager();
-            Collection<TaskEntity> tasksForExecution = taskEntityManager.findTasksByExecutionId(executionEntity.getId());
+            Collection<TaskEntity> tasksForExecution = isUsingRelationshipCollections(executionEntity)
+                ? getEntitiesNotToBeDeleted(executionEntity.getTasks())
+                : taskEntityManager.findTasksByExecutionId(executionEntity.getId());
             for (TaskEntity taskEntity : tasksForExecution) {
                 taskEntityManager.deleteTask(taskEntity, deleteReason, false, true);
             }
         }
     }
 
-  private void deleteDataForExecution(ExecutionEntity executionEntity, String deleteReason) {
-      deleteExecutionEntity(executionEntity,deleteReason);
+  private void deleteDataForExecution(ExecutionEntity executionEntity, String deleteReason, boolean relatedDataDeletedInBulk) {
+      deleteExecutionEntity(executionEntity, deleteReason, relatedDataDeletedInBulk);
       deleteUserTask(executionEntity, deleteReason);
   }
 
-  private void cancelDataForExecution(ExecutionEntity executionEntity, String deleteReason) {
+  private void cancelDataForExecution(ExecutionEntity executionEntity, String deleteReason, boolean relatedDataDeletedInBulk) {
       boolean isActive = executionEntity.isActive();
 
-      deleteExecutionEntity(executionEntity,deleteReason);
+      deleteExecutionEntity(executionEntity, deleteReason, relatedDataDeletedInBulk);
       cancelUserTask(executionEntity, deleteReason);
 
       if (isActive &&
@@ -740,6 +804,65 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
       }
     }
 
+  /**
+   * An execution runs straight-through when its process definition is marked with activiti:straightThrough="true"
+   * and the execution was created in the current command. Its runtime data hasn't been flushed yet, so the related
+   * entities are all kept in the relationship collections of the execution and don't need to be queried.
+   * The inserts and deletes of such an execution and its related data cancel each other out when the command ends.
+   */
+  protected boolean isStraightThroughExecution(ExecutionEntity executionEntity) {
+    if (executionEntity.getProcessDefinitionId() == null || !getSession(DbSqlSession.class).isEntityInserted(executionEntity)) {
+      return false;
+    }
+    CompiledProcessGraph compiledProcessGraph = ProcessDefinitionUtil.getCompiledProcessGraph(executionEntity.getProcessDefinitionId());
+    return compiledProcessGraph != null && compiledProcessGraph.isStraightThrough();
+  }
+
+  /**
+   * Related data is deleted in bulk when enabled in the {@link org.activiti.engine.impl.cfg.PerformanceSettings}
+   * and the process instance was already flushed: otherwise there is nothing in the database to delete.
+   */
+  protected boolean isProcessInstanceBulkDeleteEnabled(ExecutionEntity processInstanceEntity) {
+    return getProcessEngineConfiguration().getPerformanceSettings().isEnableProcessInstanceBulkDelete()
+        && !getSession(DbSqlSession.class).isEntityInserted(processInstanceEntity);
+  }
+
+  protected void deleteRelatedDataInBulk(String processInstanceId) {
+    // The byte arrays need to be requested before the variables and jobs referencing them
+    getByteArrayEntityManager().deleteRuntimeByteArraysByProcessInstanceId(processInstanceId);
+    getVariableInstanceEntityManager().deleteVariableInstancesByProcessInstanceId(processInstanceId);
+    getIdentityLinkEntityManager().deleteIdentityLinksByProcessInstanceId(processInstanceId);
+    getEventSubscriptionEntityManager().deleteEventSubscriptionsForProcessInstance(processInstanceId);
+    getJobEntityManager().deleteJobsByProcessInstanceId(processInstanceId);
+    getTimerJobEntityManager().deleteJobsByProcessInstanceId(processInstanceId);
+    getSuspendedJobEntityManager().deleteJobsByProcessInstanceId(processInstanceId);
+    getDeadLetterJobEntityManager().deleteJobsByProcessInstanceId(processInstanceId);
+  }
+
+  /**
+   * With eager aggregate fetching, the related entities were fetched together with the execution tree
+   * and are kept up to date in the relationship collections of the executions.
+   */
+  protected boolean isEagerProcessInstanceAggregateFetchingEnabled() {
+    PerformanceSettings performanceSettings = getProcessEngineConfiguration().getPerformanceSettings();
+    return performanceSettings.isEnableEagerExecutionTreeFetching() && performanceSettings.isEnableEagerProcessInstanceAggregateFetching();
+  }
+
+  protected boolean isUsingRelationshipCollections(ExecutionEntity executionEntity) {
+    return isEagerProcessInstanceAggregateFetchingEnabled() || isStraightThroughExecution(executionEntity);
+  }
+
+  protected <T extends Entity> List<T> getEntitiesNotToBeDeleted(List<T> entities) {
+    DbSqlSession dbSqlSession = getSession(DbSqlSession.class);
+    List<T> result = new ArrayList<T>(entities.size());
+    for (T entity : entities) {
+      if (!dbSqlSession.isEntityToBeDeleted(entity)) {
+        result.add(entity);
+      }
+    }
+    return result;
+  }
+
     // OTHER METHODS
 
   @Override
@@ -755,6 +878,19 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     executionDataManager.updateProcessInstanceLockTime(processInstanceId, lockDate, expirationTime);
   }
 
+  @Override
+  public void extendProcessInstanceLockTime(String processInstanceId) {
+    Date currentTime = getClock().getCurrentTime();
+    int lockMillis = getAsyncExecutor().getAsyncJobLockTimeInMillis();
+
+    GregorianCalendar lockCal = new GregorianCalendar();
+    lockCal.setTime(currentTime);
+    lockCal.add(Calendar.MILLISECOND, lockMillis);
+    Date lockDate = lockCal.getTime();
+
+    executionDataManager.extendProcessInstanceLockTime(processInstanceId, lockDate, currentTime);
+  }
+
   @Override
   public void clearProcessInstanceLockTime(String processInstanceId) {
     executionDataManager.clearProcessInstanceLockTime(processInstanceId);
@@ -29,6 +29,8 @@ public interface HistoricDetailEntityManager extends EntityManager<HistoricDetai
 
   HistoricDetailVariableInstanceUpdateEntity copyAndInsertHistoricDetailVariableInstanceUpdateEntity(VariableInstanceEntity variableInstance);
 
+  void copyVariableValue(HistoricDetailVariableInstanceUpdateEntity historicVariableUpdate, VariableInstanceEntity variableInstance);
+
   long findHistoricDetailCountByQueryCriteria(HistoricDetailQueryImpl historicVariableUpdateQuery);
 
   List<HistoricDetail> findHistoricDetailsByQueryCriteria(HistoricDetailQueryImpl historicVariableUpdateQuery, Page page);
@@ -65,6 +65,25 @@ public class HistoricDetailEntityManagerImpl extends AbstractEntityManager<Histo
     return historicVariableUpdate;
   }
 
+  @Override
+  public void copyVariableValue(HistoricDetailVariableInstanceUpdateEntity historicVariableUpdate, VariableInstanceEntity variableInstance) {
+    historicVariableUpdate.setTime(getClock().getCurrentTime());
+    historicVariableUpdate.setRevision(variableInstance.getRevision());
+    historicVariableUpdate.setVariableType(variableInstance.getType());
+    historicVariableUpdate.setTextValue(variableInstance.getTextValue());
+    historicVariableUpdate.setTextValue2(variableInstance.getTextValue2());
+    historicVariableUpdate.setDoubleValue(variableInstance.getDoubleValue());
+    historicVariableUpdate.setLongValue(variableInstance.getLongValue());
+
+    byte[] bytes = variableInstance.getByteArrayRef() != null ? variableInstance.getBytes() : null;
+    if (bytes != null) {
+      historicVariableUpdate.setBytes(bytes);
+    } else if (historicVariableUpdate.getByteArrayRef() != null) {
+      // A detail that is copied into again (see variable update coalescing) can have the bytes of an earlier type
+      historicVariableUpdate.getByteArrayRef().delete();
+    }
+  }
+
   @Override
   public void delete(HistoricDetailEntity entity, boolean fireDeleteEvent) {
     super.delete(entity, fireDeleteEvent);
@@ -40,6 +40,7 @@ public class HistoricDetailVariableInstanceUpdateEntityImpl extends HistoricDeta
   protected ByteArrayRef byteArrayRef;
 
   protected Object cachedValue;
+  protected Object parsedValue;
 
   public HistoricDetailVariableInstanceUpdateEntityImpl() {
     this.detailType = "VariableUpdate";
@@ -158,6 +159,14 @@ public class HistoricDetailVariableInstanceUpdateEntityImpl extends HistoricDeta
     this.cachedValue = cachedValue;
   }
 
+  public Object getParsedValue() {
+    return parsedValue;
+  }
+
+  public void setParsedValue(Object parsedValue) {
+    this.parsedValue = parsedValue;
+  }
+
   // common methods ///////////////////////////////////////////////////////////////
 
   @Override
@@ -50,6 +50,7 @@ public class HistoricVariableInstanceEntityImpl extends AbstractEntity implement
   protected ByteArrayRef byteArrayRef;
 
   protected Object cachedValue;
+  protected Object parsedValue;
 
   public HistoricVariableInstanceEntityImpl() {
 
@@ -161,6 +162,14 @@ public class HistoricVariableInstanceEntityImpl extends AbstractEntity implement
     this.cachedValue = cachedValue;
   }
 
+  public Object getParsedValue() {
+    return parsedValue;
+  }
+
+  public void setParsedValue(Object parsedValue) {
+    this.parsedValue = parsedValue;
+  }
+
   public void setVariableType(VariableType variableType) {
     this.variableType = variableType;
   }
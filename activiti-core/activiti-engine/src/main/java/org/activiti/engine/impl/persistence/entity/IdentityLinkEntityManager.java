@@ -77,4 +77,10 @@ public interface IdentityLinkEntityManager extends EntityManager<IdentityLinkEnt
 
   void deleteIdentityLinksByProcDef(String processDefId);
 
+  /**
+   * Deletes all runtime identity links of the given process instance with one statement when the session is flushed.
+   * No events are dispatched and no optimistic locking checks are done for the deleted rows.
+   */
+  void deleteIdentityLinksByProcessInstanceId(String processInstanceId);
+
 }
@@ -259,6 +259,11 @@ public class IdentityLinkEntityManagerImpl extends AbstractEntityManager<Identit
     identityLinkDataManager.deleteIdentityLinksByProcDef(processDefId);
   }
 
+  @Override
+  public void deleteIdentityLinksByProcessInstanceId(String processInstanceId) {
+    identityLinkDataManager.deleteIdentityLinksByProcessInstanceId(processInstanceId);
+  }
+
   public IdentityLinkDataManager getIdentityLinkDataManager() {
     return identityLinkDataManager;
   }
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.engine.api.internal.Internal;
@@ -92,9 +93,32 @@ public interface JobEntityManager extends EntityManager<JobEntity> {
    */
   void resetExpiredJob(String jobId);
 
+  /**
+   * Returns the ids of the expired jobs (see {@link #findExpiredJobs(Page)}), without loading the jobs themselves.
+   */
+  List<String> findExpiredJobIds(Page page);
+
+  /**
+   * Resets the given expired jobs with one update statement. Jobs of which the lock
+   * is not expired (anymore) are left untouched. Returns the number of jobs that were reset.
+   */
+  int resetExpiredJobs(Collection<String> jobIds);
+
+  /**
+   * Resets all jobs locked by the given lock owner, regardless of their lock expiration time.
+   * Returns the number of jobs that were reset.
+   */
+  int resetJobLocksByLockOwner(String lockOwner);
+
   /**
    * Changes the tenantId for all jobs related to a given {@link DeploymentEntity}.
    */
   void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
 
+  /**
+   * Deletes all jobs of the given process instance with one statement when the session is flushed.
+   * No events are dispatched and no optimistic locking checks are done for the deleted rows.
+   */
+  void deleteJobsByProcessInstanceId(String processInstanceId);
+
 }
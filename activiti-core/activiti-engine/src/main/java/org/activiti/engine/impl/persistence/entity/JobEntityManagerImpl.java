@@ -17,6 +17,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.engine.delegate.event.ActivitiEventType;
@@ -122,6 +123,21 @@ public class JobEntityManagerImpl extends AbstractEntityManager<JobEntity> imple
         jobDataManager.resetExpiredJob(jobId);
     }
 
+    @Override
+    public List<String> findExpiredJobIds(Page page) {
+        return jobDataManager.findExpiredJobIds(page);
+    }
+
+    @Override
+    public int resetExpiredJobs(Collection<String> jobIds) {
+        return jobDataManager.resetExpiredJobs(jobIds);
+    }
+
+    @Override
+    public int resetJobLocksByLockOwner(String lockOwner) {
+        return jobDataManager.resetJobLocksByLockOwner(lockOwner);
+    }
+
     @Override
     public List<Job> findJobsByQueryCriteria(JobQueryImpl jobQuery,
                                              Page page) {
@@ -193,6 +209,11 @@ public class JobEntityManagerImpl extends AbstractEntityManager<JobEntity> imple
         }
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceId(String processInstanceId) {
+        jobDataManager.deleteJobsByProcessInstanceId(processInstanceId);
+    }
+
     public JobDataManager getJobDataManager() {
         return jobDataManager;
     }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.entity;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Keeps, for the duration of a command, which variable instance a variable name resolves to when it is looked up
+ * on an execution, walking up the parent scopes. The variable instance is cached for the execution on which it is
+ * looked up and for each parent execution that was passed, so later lookups from any execution of the tree are
+ * answered without walking the hierarchy again. Names that don't resolve to any variable are cached as well.
+ *
+ * The entries of a process instance are invalidated whenever a variable of it is created or deleted, when a transient
+ * variable is set or removed or when an execution gets a new parent. Updating the value of a variable doesn't change
+ * which variable instance a name resolves to, so it doesn't invalidate anything.
+ */
+public class ResolvedVariablesCache {
+
+  protected static final String ATTRIBUTE_NAME = "resolvedVariablesCache";
+
+  // process instance id -> execution id -> variable name -> variable instance (null if the variable doesn't exist)
+  protected Map<String, Map<String, Map<String, VariableInstanceEntity>>> resolvedVariables = new HashMap<String, Map<String, Map<String, VariableInstanceEntity>>>();
+
+  public static ResolvedVariablesCache getResolvedVariablesCache(CommandContext commandContext) {
+    ResolvedVariablesCache resolvedVariablesCache = commandContext.getGenericAttribute(ATTRIBUTE_NAME);
+    if (resolvedVariablesCache == null) {
+      resolvedVariablesCache = new ResolvedVariablesCache();
+      commandContext.addAttribute(ATTRIBUTE_NAME, resolvedVariablesCache);
+    }
+    return resolvedVariablesCache;
+  }
+
+  public boolean isResolved(String processInstanceId, String executionId, String variableName) {
+    Map<String, VariableInstanceEntity> variables = getResolvedVariables(processInstanceId, executionId, false);
+    if (variables == null || !variables.containsKey(variableName)) {
+      return false;
+    }
+    VariableInstanceEntity variableInstance = variables.get(variableName);
+    return variableInstance == null || !variableInstance.isDeleted();
+  }
+
+  public VariableInstanceEntity getResolvedVariable(String processInstanceId, String executionId, String variableName) {
+    Map<String, VariableInstanceEntity> variables = getResolvedVariables(processInstanceId, executionId, false);
+    return variables != null ? variables.get(variableName) : null;
+  }
+
+  public void putResolvedVariable(String processInstanceId, String executionId, String variableName, VariableInstanceEntity variableInstance) {
+    getResolvedVariables(processInstanceId, executionId, true).put(variableName, variableInstance);
+  }
+
+  public void invalidate(String processInstanceId) {
+    resolvedVariables.remove(processInstanceId);
+  }
+
+  protected Map<String, VariableInstanceEntity> getResolvedVariables(String processInstanceId, String executionId, boolean create) {
+    Map<String, Map<String, VariableInstanceEntity>> executions = resolvedVariables.get(processInstanceId);
+    if (executions == null) {
+      if (!create) {
+        return null;
+      }
+      executions = new HashMap<String, Map<String, VariableInstanceEntity>>();
+      resolvedVariables.put(processInstanceId, executions);
+    }
+
+    Map<String, VariableInstanceEntity> variables = executions.get(executionId);
+    if (variables == null && create) {
+      variables = new HashMap<String, VariableInstanceEntity>();
+      executions.put(executionId, variables);
+    }
+    return variables;
+  }
+
+}
@@ -56,4 +56,10 @@ public interface SuspendedJobEntityManager extends EntityManager<SuspendedJobEnt
    */
   void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
 
+  /**
+   * Deletes all suspended jobs of the given process instance with one statement when the session is flushed.
+   * No events are dispatched and no optimistic locking checks are done for the deleted rows.
+   */
+  void deleteJobsByProcessInstanceId(String processInstanceId);
+
 }
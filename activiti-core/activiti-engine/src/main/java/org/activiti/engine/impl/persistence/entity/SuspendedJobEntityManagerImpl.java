@@ -148,6 +148,11 @@ public class SuspendedJobEntityManagerImpl extends AbstractEntityManager<Suspend
         return newSuspendedJobEntity;
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceId(String processInstanceId) {
+        jobDataManager.deleteJobsByProcessInstanceId(processInstanceId);
+    }
+
     protected SuspendedJobDataManager getDataManager() {
         return jobDataManager;
     }
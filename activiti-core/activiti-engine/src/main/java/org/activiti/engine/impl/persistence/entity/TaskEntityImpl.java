@@ -34,6 +34,7 @@ import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.db.BulkDeleteable;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.variable.CoalescedVariableUpdatedEventsCommandContextCloseListener;
 import org.activiti.engine.task.DelegationState;
 import org.activiti.engine.task.IdentityLink;
 import org.activiti.engine.task.IdentityLinkType;
@@ -195,15 +196,23 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
   }
 
   @Override
-  protected void updateVariableInstance(VariableInstanceEntity variableInstance, Object value, ExecutionEntity sourceActivityExecution) {
+  protected boolean updateVariableInstance(VariableInstanceEntity variableInstance, Object value, ExecutionEntity sourceActivityExecution) {
       Object previousValue = variableInstance.getValue();
-      super.updateVariableInstance(variableInstance, value, sourceActivityExecution);
+      if (!super.updateVariableInstance(variableInstance, value, sourceActivityExecution)) {
+        return false;
+      }
 
       // Dispatch event, if needed
       if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
-          Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(ActivitiEventBuilder
-              .createVariableUpdateEvent(variableInstance, previousValue, getProcessInstanceId(), getProcessDefinitionId()));
+          if (Context.getProcessEngineConfiguration().getPerformanceSettings().isEnableVariableUpdateCoalescing()) {
+              CoalescedVariableUpdatedEventsCommandContextCloseListener.addVariableUpdate(Context.getCommandContext(),
+                  variableInstance, previousValue, getProcessInstanceId(), getProcessDefinitionId());
+          } else {
+              Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(ActivitiEventBuilder
+                  .createVariableUpdateEvent(variableInstance, previousValue, getProcessInstanceId(), getProcessDefinitionId()));
+          }
       }
+      return true;
   }
 
   // execution //////////////////////////////////////////////////////////////////
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.engine.api.internal.Internal;
@@ -100,4 +101,28 @@ public interface TimerJobEntityManager extends EntityManager<TimerJobEntity> {
    */
   void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
 
+  /**
+   * Returns the ids of the {@link TimerJobEntity} instances of which the lock is expired.
+   * These are timers that were acquired by an executor that went down before moving or executing them.
+   */
+  List<String> findExpiredJobIds(Page page);
+
+  /**
+   * Resets the given expired timer jobs with one update statement, so they can be acquired again.
+   * Returns the number of timer jobs that were reset.
+   */
+  int resetExpiredJobs(Collection<String> jobIds);
+
+  /**
+   * Resets all timer jobs locked by the given lock owner, regardless of their lock expiration time.
+   * Returns the number of timer jobs that were reset.
+   */
+  int resetJobLocksByLockOwner(String lockOwner);
+
+  /**
+   * Deletes all timer jobs of the given process instance with one statement when the session is flushed.
+   * No events are dispatched and no optimistic locking checks are done for the deleted rows.
+   */
+  void deleteJobsByProcessInstanceId(String processInstanceId);
+
 }
@@ -19,6 +19,7 @@ package org.activiti.engine.impl.persistence.entity;
 
 import static java.util.Arrays.asList;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -126,6 +127,21 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
                                                       newTenantId);
     }
 
+    @Override
+    public List<String> findExpiredJobIds(Page page) {
+        return jobDataManager.findExpiredJobIds(page);
+    }
+
+    @Override
+    public int resetExpiredJobs(Collection<String> jobIds) {
+        return jobDataManager.resetExpiredJobs(jobIds);
+    }
+
+    @Override
+    public int resetJobLocksByLockOwner(String lockOwner) {
+        return jobDataManager.resetJobLocksByLockOwner(lockOwner);
+    }
+
     @Override
     public boolean insertTimerJobEntity(TimerJobEntity timerJobEntity) {
         return doInsert(timerJobEntity,
@@ -295,6 +311,11 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
         return businessCalendarName;
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceId(String processInstanceId) {
+        jobDataManager.deleteJobsByProcessInstanceId(processInstanceId);
+    }
+
     protected TimerJobDataManager getDataManager() {
         return jobDataManager;
     }
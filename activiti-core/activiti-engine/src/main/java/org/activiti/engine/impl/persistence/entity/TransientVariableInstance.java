@@ -104,6 +104,16 @@ public class TransientVariableInstance implements VariableInstance {
 
   }
 
+  @Override
+  public Object getParsedValue() {
+    return null;
+  }
+
+  @Override
+  public void setParsedValue(Object parsedValue) {
+
+  }
+
   @Override
   public String getId() {
     return null;
@@ -49,6 +49,7 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
   protected ByteArrayRef byteArrayRef;
 
   protected Object cachedValue;
+  protected Object parsedValue;
   protected boolean forcedUpdate;
   protected boolean deleted;
 
@@ -223,6 +224,14 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     this.cachedValue = cachedValue;
   }
 
+  public Object getParsedValue() {
+    return parsedValue;
+  }
+
+  public void setParsedValue(Object parsedValue) {
+    this.parsedValue = parsedValue;
+  }
+
   // misc methods ///////////////////////////////////////////////////////////////
 
   @Override
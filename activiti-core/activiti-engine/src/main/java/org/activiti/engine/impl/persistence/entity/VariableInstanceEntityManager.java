@@ -49,4 +49,10 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
 
   void deleteVariableInstanceByTask(TaskEntity task);
 
+  /**
+   * Deletes all runtime variables of the given process instance with one statement when the session is flushed.
+   * No events are dispatched and no optimistic locking checks are done for the deleted rows.
+   */
+  void deleteVariableInstancesByProcessInstanceId(String processInstanceId);
+
 }
@@ -177,6 +177,11 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
     }
   }
 
+  @Override
+  public void deleteVariableInstancesByProcessInstanceId(String processInstanceId) {
+    variableInstanceDataManager.deleteVariableInstancesByProcessInstanceId(processInstanceId);
+  }
+
   public VariableInstanceDataManager getVariableInstanceDataManager() {
     return variableInstanceDataManager;
   }
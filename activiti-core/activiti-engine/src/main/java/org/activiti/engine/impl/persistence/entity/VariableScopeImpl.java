@@ -36,6 +36,7 @@ import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.variable.VariableType;
 import org.activiti.engine.impl.variable.VariableTypes;
+import org.activiti.engine.impl.variable.VariableValueComparator;
 
 /**
  */
@@ -310,6 +311,14 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
   protected abstract VariableInstanceEntity getSpecificVariable(String variableName);
 
+  /**
+   * Called whenever a variable is created or deleted, or a transient variable is set or removed on this scope,
+   * as this can change which variable a name resolves to on this scope and its child scopes.
+   */
+  protected void invalidateResolvedVariables() {
+
+  }
+
   public Object getVariableLocal(String variableName) {
     return getVariableLocal(variableName, true);
   }
@@ -830,6 +839,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
   protected void deleteVariableInstanceForExplicitUserCall(VariableInstanceEntity variableInstance, ExecutionEntity sourceActivityExecution) {
     Context.getCommandContext().getVariableInstanceEntityManager().delete(variableInstance);
     variableInstance.setValue(null);
+    invalidateResolvedVariables();
 
     // Record historic variable deletion
     Context.getCommandContext().getHistoryManager().recordVariableRemoved(variableInstance);
@@ -838,7 +848,11 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
     Context.getCommandContext().getHistoryManager().recordHistoricDetailVariableCreate(variableInstance, sourceActivityExecution, isActivityIdUsedForDetails());
   }
 
-  protected void updateVariableInstance(VariableInstanceEntity variableInstance, Object value, ExecutionEntity sourceActivityExecution) {
+  /**
+   * @return whether the variable instance was updated. Setting an unchanged value is skipped
+   *         when {@link org.activiti.engine.impl.cfg.PerformanceSettings#isEnableSkipUnchangedVariableUpdates()} is enabled.
+   */
+  protected boolean updateVariableInstance(VariableInstanceEntity variableInstance, Object value, ExecutionEntity sourceActivityExecution) {
 
     // Always check if the type should be altered. It's possible that the
     // previous type is lower in the type
@@ -850,6 +864,10 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
     VariableType newType = variableTypes.findVariableType(value);
 
+    if (isUnchangedVariableValue(variableInstance, newType, value)) {
+      return false;
+    }
+
     if (newType != null && !newType.equals(variableInstance.getType())) {
       variableInstance.setValue(null);
       variableInstance.setType(newType);
@@ -862,6 +880,15 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
     Context.getCommandContext().getHistoryManager().recordHistoricDetailVariableCreate(variableInstance, sourceActivityExecution, isActivityIdUsedForDetails());
 
     Context.getCommandContext().getHistoryManager().recordVariableUpdate(variableInstance);
+    return true;
+  }
+
+  protected boolean isUnchangedVariableValue(VariableInstanceEntity variableInstance, VariableType newType, Object value) {
+    if (!Context.getProcessEngineConfiguration().getPerformanceSettings().isEnableSkipUnchangedVariableUpdates()
+        || newType == null || !newType.equals(variableInstance.getType())) {
+      return false;
+    }
+    return VariableValueComparator.isUnchanged(variableInstance.getValue(), value);
   }
 
   protected VariableInstanceEntity createVariableInstance(String variableName, Object value, ExecutionEntity sourceActivityExecution) {
@@ -875,6 +902,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
             .create(variableName, type, value);
     initializeVariableInstanceBackPointer(variableInstance);
     Context.getCommandContext().getVariableInstanceEntityManager().insert(variableInstance);
+    invalidateResolvedVariables();
 
     if (variableInstances != null) {
       variableInstances.put(variableName, variableInstance);
@@ -905,6 +933,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
       transientVariabes = new HashMap<String, VariableInstance>();
     }
     transientVariabes.put(variableName, new TransientVariableInstance(variableName, variableValue));
+    invalidateResolvedVariables();
   }
 
   public void setTransientVariables(Map<String, Object> transientVariables) {
@@ -976,12 +1005,14 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
   public void removeTransientVariableLocal(String variableName) {
     if (transientVariabes != null) {
       transientVariabes.remove(variableName);
+      invalidateResolvedVariables();
     }
   }
 
   public void removeTransientVariablesLocal() {
     if (transientVariabes != null) {
       transientVariabes.clear();
+      invalidateResolvedVariables();
     }
   }
 
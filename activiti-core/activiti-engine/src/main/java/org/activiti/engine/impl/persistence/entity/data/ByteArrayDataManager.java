@@ -27,6 +27,10 @@ public interface ByteArrayDataManager extends DataManager<ByteArrayEntity> {
 
   List<ByteArrayEntity> findAll();
 
+  Integer findRevisionById(String byteArrayEntityId);
+
   void deleteByteArrayNoRevisionCheck(String byteArrayEntityId);
 
+  void deleteRuntimeByteArraysByProcessInstanceId(String processInstanceId);
+
 }
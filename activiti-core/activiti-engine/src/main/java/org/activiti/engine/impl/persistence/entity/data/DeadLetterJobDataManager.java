@@ -35,4 +35,7 @@ public interface DeadLetterJobDataManager extends DataManager<DeadLetterJobEntit
   long findJobCountByQueryCriteria(DeadLetterJobQueryImpl jobQuery);
 
   void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
+
+  void deleteJobsByProcessInstanceId(String processInstanceId);
+
 }
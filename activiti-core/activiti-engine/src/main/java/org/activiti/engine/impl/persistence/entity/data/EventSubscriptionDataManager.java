@@ -54,6 +54,8 @@ public interface EventSubscriptionDataManager extends DataManager<EventSubscript
 
   List<EventSubscriptionEntity> findEventSubscriptionsByExecution(final String executionId);
 
+  List<EventSubscriptionEntity> findEventSubscriptionsByRootProcessInstanceId(String rootProcessInstanceId);
+
   List<EventSubscriptionEntity> findEventSubscriptionsByTypeAndProcessDefinitionId(String type, String processDefinitionId, String tenantId);
 
   List<EventSubscriptionEntity> findEventSubscriptionsByName(final String type, final String eventName, final String tenantId);
@@ -66,4 +68,6 @@ public interface EventSubscriptionDataManager extends DataManager<EventSubscript
 
   void deleteEventSubscriptionsForProcessDefinition(String processDefinitionId);
 
+  void deleteEventSubscriptionsForProcessInstance(String processInstanceId);
+
 }
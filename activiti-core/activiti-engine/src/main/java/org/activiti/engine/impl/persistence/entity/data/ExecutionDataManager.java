@@ -71,6 +71,8 @@ public interface ExecutionDataManager extends DataManager<ExecutionEntity> {
 
   void updateProcessInstanceLockTime(String processInstanceId, Date lockDate, Date expirationTime);
 
+  void extendProcessInstanceLockTime(String processInstanceId, Date lockDate, Date currentTime);
+
   void updateAllExecutionRelatedEntityCountFlags(boolean newValue);
 
   void clearProcessInstanceLockTime(String processInstanceId);
@@ -29,6 +29,8 @@ public interface IdentityLinkDataManager extends DataManager<IdentityLinkEntity>
 
   List<IdentityLinkEntity> findIdentityLinksByProcessInstanceId(String processInstanceId);
 
+  List<IdentityLinkEntity> findIdentityLinksByRootProcessInstanceId(String rootProcessInstanceId);
+
   List<IdentityLinkEntity> findIdentityLinksByProcessDefinitionId(String processDefinitionId);
 
   List<IdentityLinkEntity> findIdentityLinkByTaskUserGroupAndType(String taskId, String userId, String groupId, String type);
@@ -39,4 +41,6 @@ public interface IdentityLinkDataManager extends DataManager<IdentityLinkEntity>
 
   void deleteIdentityLinksByProcDef(String processDefId);
 
+  void deleteIdentityLinksByProcessInstanceId(String processInstanceId);
+
 }
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.engine.impl.JobQueryImpl;
@@ -32,6 +33,8 @@ public interface JobDataManager extends DataManager<JobEntity> {
 
   List<JobEntity> findJobsByExecutionId(final String executionId);
 
+  List<JobEntity> findJobsByRootProcessInstanceId(String rootProcessInstanceId);
+
   List<JobEntity> findJobsByProcessDefinitionId(final String processDefinitionId);
 
   List<JobEntity> findJobsByTypeAndProcessDefinitionId(final String jobTypeTimer, final String id);
@@ -48,4 +51,12 @@ public interface JobDataManager extends DataManager<JobEntity> {
 
   void resetExpiredJob(String jobId);
 
+  List<String> findExpiredJobIds(Page page);
+
+  int resetExpiredJobs(Collection<String> jobIds);
+
+  int resetJobLocksByLockOwner(String lockOwner);
+
+  void deleteJobsByProcessInstanceId(String processInstanceId);
+
 }
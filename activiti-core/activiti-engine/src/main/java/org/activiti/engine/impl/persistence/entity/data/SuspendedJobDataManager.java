@@ -37,4 +37,7 @@ public interface SuspendedJobDataManager extends DataManager<SuspendedJobEntity>
   long findJobCountByQueryCriteria(SuspendedJobQueryImpl jobQuery);
 
   void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
+
+  void deleteJobsByProcessInstanceId(String processInstanceId);
+
 }
@@ -30,6 +30,8 @@ public interface TaskDataManager extends DataManager<TaskEntity> {
 
   List<TaskEntity> findTasksByExecutionId(final String executionId);
 
+  List<TaskEntity> findTasksByRootProcessInstanceId(String rootProcessInstanceId);
+
   List<TaskEntity> findTasksByProcessInstanceId(String processInstanceId);
 
   List<Task> findTasksByQueryCriteria(TaskQueryImpl taskQuery);
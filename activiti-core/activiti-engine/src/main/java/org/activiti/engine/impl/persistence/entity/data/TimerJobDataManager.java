@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.activiti.engine.impl.Page;
@@ -39,6 +40,8 @@ public interface TimerJobDataManager extends DataManager<TimerJobEntity> {
 
   List<TimerJobEntity> findJobsByExecutionId(String executionId);
 
+  List<TimerJobEntity> findJobsByRootProcessInstanceId(String rootProcessInstanceId);
+
   List<TimerJobEntity> findJobsByProcessInstanceId(String processInstanceId);
 
   List<Job> findJobsByQueryCriteria(TimerJobQueryImpl jobQuery, Page page);
@@ -46,4 +49,13 @@ public interface TimerJobDataManager extends DataManager<TimerJobEntity> {
   long findJobCountByQueryCriteria(TimerJobQueryImpl jobQuery);
 
   void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
+
+  List<String> findExpiredJobIds(Page page);
+
+  int resetExpiredJobs(Collection<String> jobIds);
+
+  int resetJobLocksByLockOwner(String lockOwner);
+
+  void deleteJobsByProcessInstanceId(String processInstanceId);
+
 }
@@ -35,6 +35,8 @@ public interface VariableInstanceDataManager extends DataManager<VariableInstanc
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds);
 
+  List<VariableInstanceEntity> findVariableInstancesByRootProcessInstanceId(String rootProcessInstanceId);
+
   VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName);
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionAndNames(String executionId, Collection<String> names);
@@ -43,4 +45,6 @@ public interface VariableInstanceDataManager extends DataManager<VariableInstanc
 
   List<VariableInstanceEntity> findVariableInstancesByTaskAndNames(String taskId, Collection<String> names);
 
+  void deleteVariableInstancesByProcessInstanceId(String processInstanceId);
+
 }
@@ -19,8 +19,12 @@ package org.activiti.engine.impl.persistence.entity.data.impl;
 import java.util.List;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.DbSqlSession;
+import org.activiti.engine.impl.db.DbSqlSessionFactory;
+import org.activiti.engine.impl.db.ReferencedByteArraysBulkDeleteOperation;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntityImpl;
+import org.activiti.engine.impl.persistence.entity.JobEntityImpl;
 import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
 import org.activiti.engine.impl.persistence.entity.data.ByteArrayDataManager;
 
@@ -49,9 +53,29 @@ public class MybatisByteArrayDataManager extends AbstractDataManager<ByteArrayEn
     return getDbSqlSession().selectList("selectByteArrays");
   }
 
+  @Override
+  public Integer findRevisionById(String byteArrayEntityId) {
+    return (Integer) getDbSqlSession().selectOne("selectByteArrayRevision", byteArrayEntityId);
+  }
+
   @Override
   public void deleteByteArrayNoRevisionCheck(String byteArrayEntityId) {
     getDbSqlSession().delete("deleteByteArrayNoRevisionCheck", byteArrayEntityId, ByteArrayEntityImpl.class);
   }
 
+  @Override
+  public void deleteRuntimeByteArraysByProcessInstanceId(String processInstanceId) {
+    DbSqlSession dbSqlSession = getDbSqlSession();
+    DbSqlSessionFactory dbSqlSessionFactory = dbSqlSession.getDbSqlSessionFactory();
+    ReferencedByteArraysBulkDeleteOperation deleteOperation = new ReferencedByteArraysBulkDeleteOperation(
+        dbSqlSessionFactory.mapStatement("selectRuntimeByteArrayIdsByProcessInstanceId"),
+        dbSqlSessionFactory.mapStatement("bulkDeleteByteArraysNoRevisionCheck"),
+        processInstanceId,
+        dbSqlSessionFactory.getMaxNrOfStatementsInBulkInsert());
+
+    // Jobs are the first entities referencing byte arrays in the delete order
+    dbSqlSession.addBulkDeleteOperation(deleteOperation.getSelectOperation(), JobEntityImpl.class);
+    dbSqlSession.addBulkDeleteOperation(deleteOperation, ByteArrayEntityImpl.class);
+  }
+
 }
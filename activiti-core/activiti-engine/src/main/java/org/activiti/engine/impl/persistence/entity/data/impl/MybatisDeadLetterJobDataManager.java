@@ -81,4 +81,9 @@ public class MybatisDeadLetterJobDataManager extends AbstractDataManager<DeadLet
     getDbSqlSession().update("updateDeadLetterJobTenantIdForDeployment", params);
   }
 
+  @Override
+  public void deleteJobsByProcessInstanceId(String processInstanceId) {
+    getDbSqlSession().delete("deleteDeadLetterJobsByProcessInstanceId", processInstanceId, DeadLetterJobEntityImpl.class);
+  }
+
 }
@@ -192,6 +192,11 @@ public class MybatisEventSubscriptionDataManager extends AbstractDataManager<Eve
     return getList("selectEventSubscriptionsByExecution", executionId, eventSubscritionsByExecutionIdMatcher, true);
   }
 
+  @Override
+  public List<EventSubscriptionEntity> findEventSubscriptionsByRootProcessInstanceId(String rootProcessInstanceId) {
+    return getList("selectEventSubscriptionsByRootProcessInstanceId", rootProcessInstanceId, null, true);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<EventSubscriptionEntity> findEventSubscriptionsByTypeAndProcessDefinitionId(String type, String processDefinitionId, String tenantId) {
@@ -271,4 +276,9 @@ public class MybatisEventSubscriptionDataManager extends AbstractDataManager<Eve
     return messageEventSubscriptionEntities;
   }
 
+  @Override
+  public void deleteEventSubscriptionsForProcessInstance(String processInstanceId) {
+    getDbSqlSession().delete("deleteEventSubscriptionsForProcessInstance", processInstanceId, EventSubscriptionEntityImpl.class);
+  }
+
 }
@@ -18,6 +18,7 @@ package org.activiti.engine.impl.persistence.entity.data.impl;
 
 import static java.util.Collections.emptyList;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
@@ -32,8 +33,14 @@ import org.activiti.engine.impl.cfg.PerformanceSettings;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
 import org.activiti.engine.impl.persistence.SingleCachedEntityMatcher;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
 import org.activiti.engine.impl.persistence.entity.data.ExecutionDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.ExecutionByProcessInstanceMatcher;
@@ -126,6 +133,10 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
     List<ExecutionEntity> executionEntities = getList("selectExecutionsWithSameRootProcessInstanceId", executionId,
         executionsWithSameRootProcessInstanceIdMatcher, true);
 
+    if (performanceSettings.isEnableEagerProcessInstanceAggregateFetching() && !executionEntities.isEmpty()) {
+      fetchRelatedEntities(executionEntities);
+    }
+
     for (ExecutionEntity executionEntity : executionEntities) {
       if (executionId.equals(executionEntity.getId())) {
         return executionEntity;
@@ -134,6 +145,60 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
     return null;
   }
 
+  /**
+   * Fetches the related entities of all executions in the tree with one query per kind of entity
+   * and attaches them to the executions. They are stored in the entity cache like any other fetched entity.
+   */
+  protected void fetchRelatedEntities(List<ExecutionEntity> executionEntities) {
+    String rootProcessInstanceId = executionEntities.get(0).getRootProcessInstanceId();
+
+    Map<String, List<VariableInstanceEntity>> variableInstances = new HashMap<String, List<VariableInstanceEntity>>();
+    for (VariableInstanceEntity variableInstance : getProcessEngineConfiguration().getVariableInstanceDataManager().findVariableInstancesByRootProcessInstanceId(rootProcessInstanceId)) {
+      addRelatedEntity(variableInstances, variableInstance.getExecutionId(), variableInstance);
+    }
+    Map<String, List<TaskEntity>> tasks = new HashMap<String, List<TaskEntity>>();
+    for (TaskEntity task : getProcessEngineConfiguration().getTaskDataManager().findTasksByRootProcessInstanceId(rootProcessInstanceId)) {
+      addRelatedEntity(tasks, task.getExecutionId(), task);
+    }
+    Map<String, List<JobEntity>> jobs = new HashMap<String, List<JobEntity>>();
+    for (JobEntity job : getProcessEngineConfiguration().getJobDataManager().findJobsByRootProcessInstanceId(rootProcessInstanceId)) {
+      addRelatedEntity(jobs, job.getExecutionId(), job);
+    }
+    Map<String, List<TimerJobEntity>> timerJobs = new HashMap<String, List<TimerJobEntity>>();
+    for (TimerJobEntity timerJob : getProcessEngineConfiguration().getTimerJobDataManager().findJobsByRootProcessInstanceId(rootProcessInstanceId)) {
+      addRelatedEntity(timerJobs, timerJob.getExecutionId(), timerJob);
+    }
+    Map<String, List<EventSubscriptionEntity>> eventSubscriptions = new HashMap<String, List<EventSubscriptionEntity>>();
+    for (EventSubscriptionEntity eventSubscription : getProcessEngineConfiguration().getEventSubscriptionDataManager().findEventSubscriptionsByRootProcessInstanceId(rootProcessInstanceId)) {
+      addRelatedEntity(eventSubscriptions, eventSubscription.getExecutionId(), eventSubscription);
+    }
+    // Identity links are only related to process instances
+    Map<String, List<IdentityLinkEntity>> identityLinks = new HashMap<String, List<IdentityLinkEntity>>();
+    for (IdentityLinkEntity identityLink : getProcessEngineConfiguration().getIdentityLinkDataManager().findIdentityLinksByRootProcessInstanceId(rootProcessInstanceId)) {
+      addRelatedEntity(identityLinks, identityLink.getProcessInstanceId(), identityLink);
+    }
+
+    for (ExecutionEntity executionEntity : executionEntities) {
+      String id = executionEntity.getId();
+      ((ExecutionEntityImpl) executionEntity).initializeRelatedEntities(getRelatedEntities(variableInstances, id), getRelatedEntities(tasks, id),
+          getRelatedEntities(jobs, id), getRelatedEntities(timerJobs, id), getRelatedEntities(eventSubscriptions, id), getRelatedEntities(identityLinks, id));
+    }
+  }
+
+  protected <T> void addRelatedEntity(Map<String, List<T>> relatedEntities, String executionId, T entity) {
+    List<T> entities = relatedEntities.get(executionId);
+    if (entities == null) {
+      entities = new ArrayList<T>(1);
+      relatedEntities.put(executionId, entities);
+    }
+    entities.add(entity);
+  }
+
+  protected <T> List<T> getRelatedEntities(Map<String, List<T>> relatedEntities, String executionId) {
+    List<T> entities = relatedEntities.get(executionId);
+    return entities != null ? entities : new ArrayList<T>(1);
+  }
+
   @Override
   public ExecutionEntity findSubProcessInstanceBySuperExecutionId(final String superExecutionId) {
     if (performanceSettings.isEnableEagerExecutionTreeFetching()) {
@@ -333,6 +398,19 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
     }
   }
 
+  @Override
+  public void extendProcessInstanceLockTime(String processInstanceId, Date lockDate, Date currentTime) {
+    HashMap<String, Object> params = new HashMap<String, Object>();
+    params.put("id", processInstanceId);
+    params.put("lockTime", lockDate);
+    params.put("currentTime", currentTime);
+
+    int result = getDbSqlSession().update("extendProcessInstanceLockTime", params);
+    if (result == 0) {
+      throw new ActivitiOptimisticLockingException("Could not extend lock of process instance");
+    }
+  }
+
   @Override
   public void updateAllExecutionRelatedEntityCountFlags(boolean newValue) {
     getDbSqlSession().update("updateExecutionRelatedEntityCountEnabled", newValue);
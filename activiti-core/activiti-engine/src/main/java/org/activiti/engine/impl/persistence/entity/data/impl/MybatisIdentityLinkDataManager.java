@@ -61,6 +61,11 @@ public class MybatisIdentityLinkDataManager extends AbstractDataManager<Identity
     return getList("selectIdentityLinksByProcessInstance", processInstanceId, identityLinkByProcessInstanceMatcher, true);
   }
 
+  @Override
+  public List<IdentityLinkEntity> findIdentityLinksByRootProcessInstanceId(String rootProcessInstanceId) {
+    return getList("selectIdentityLinksByRootProcessInstanceId", rootProcessInstanceId, null, true);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<IdentityLinkEntity> findIdentityLinksByProcessDefinitionId(String processDefinitionId) {
@@ -104,4 +109,9 @@ public class MybatisIdentityLinkDataManager extends AbstractDataManager<Identity
     getDbSqlSession().delete("deleteIdentityLinkByProcDef", processDefId, IdentityLinkEntityImpl.class);
   }
 
+  @Override
+  public void deleteIdentityLinksByProcessInstanceId(String processInstanceId) {
+    getDbSqlSession().delete("deleteIdentityLinksByProcessInstanceId", processInstanceId, IdentityLinkEntityImpl.class);
+  }
+
 }
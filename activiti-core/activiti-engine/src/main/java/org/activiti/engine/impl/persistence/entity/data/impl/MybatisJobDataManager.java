@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -65,6 +66,11 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
     return getList("selectJobsByExecutionId", executionId, jobsByExecutionIdMatcher, true);
   }
 
+  @Override
+  public List<JobEntity> findJobsByRootProcessInstanceId(String rootProcessInstanceId) {
+    return getList("selectJobsByRootProcessInstanceId", rootProcessInstanceId, null, true);
+  }
+
   @Override
   public List<JobEntity> findJobsByProcessDefinitionId(final String processDefinitionId) {
     Map<String, String> params = new HashMap<String, String>(1);
@@ -120,4 +126,31 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
     getDbSqlSession().update("resetExpiredJob", params);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findExpiredJobIds(Page page) {
+    Date now = getClock().getCurrentTime();
+    return getDbSqlSession().selectList("selectExpiredJobIds", now, page, false);
+  }
+
+  @Override
+  public int resetExpiredJobs(Collection<String> jobIds) {
+    Map<String, Object> params = new HashMap<String, Object>(2);
+    params.put("ids", jobIds);
+    params.put("now", getClock().getCurrentTime());
+    return getDbSqlSession().update("bulkResetExpiredJobs", params);
+  }
+
+  @Override
+  public int resetJobLocksByLockOwner(String lockOwner) {
+    Map<String, Object> params = new HashMap<String, Object>(1);
+    params.put("lockOwner", lockOwner);
+    return getDbSqlSession().update("resetJobLocksByLockOwner", params);
+  }
+
+  @Override
+  public void deleteJobsByProcessInstanceId(String processInstanceId) {
+    getDbSqlSession().delete("deleteJobsByProcessInstanceId", processInstanceId, JobEntityImpl.class);
+  }
+
 }
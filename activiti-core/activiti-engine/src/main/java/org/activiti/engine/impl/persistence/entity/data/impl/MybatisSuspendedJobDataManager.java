@@ -82,4 +82,9 @@ public class MybatisSuspendedJobDataManager extends AbstractDataManager<Suspende
     getDbSqlSession().update("updateSuspendedJobTenantIdForDeployment", params);
   }
 
+  @Override
+  public void deleteJobsByProcessInstanceId(String processInstanceId) {
+    getDbSqlSession().delete("deleteSuspendedJobsByProcessInstanceId", processInstanceId, SuspendedJobEntityImpl.class);
+  }
+
 }
@@ -58,6 +58,11 @@ public class MybatisTaskDataManager extends AbstractDataManager<TaskEntity> impl
     return getList("selectTasksByExecutionId", executionId, tasksByExecutionIdMatcher, true);
   }
 
+  @Override
+  public List<TaskEntity> findTasksByRootProcessInstanceId(String rootProcessInstanceId) {
+    return getList("selectTasksByRootProcessInstanceId", rootProcessInstanceId, null, true);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<TaskEntity> findTasksByProcessInstanceId(String processInstanceId) {
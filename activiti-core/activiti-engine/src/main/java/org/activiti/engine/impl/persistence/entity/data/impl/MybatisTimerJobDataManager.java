@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -88,6 +89,11 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
     return getList("selectTimerJobsByExecutionId", executionId, timerJobsByExecutionIdMatcher, true);
   }
 
+  @Override
+  public List<TimerJobEntity> findJobsByRootProcessInstanceId(String rootProcessInstanceId) {
+    return getList("selectTimerJobsByRootProcessInstanceId", rootProcessInstanceId, null, true);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<TimerJobEntity> findJobsByProcessInstanceId(final String processInstanceId) {
@@ -121,4 +127,31 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
     getDbSqlSession().update("updateTimerJobTenantIdForDeployment", params);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findExpiredJobIds(Page page) {
+    Date now = getClock().getCurrentTime();
+    return getDbSqlSession().selectList("selectExpiredTimerJobIds", now, page, false);
+  }
+
+  @Override
+  public int resetExpiredJobs(Collection<String> jobIds) {
+    Map<String, Object> params = new HashMap<String, Object>(2);
+    params.put("ids", jobIds);
+    params.put("now", getClock().getCurrentTime());
+    return getDbSqlSession().update("bulkResetExpiredTimerJobs", params);
+  }
+
+  @Override
+  public int resetJobLocksByLockOwner(String lockOwner) {
+    Map<String, Object> params = new HashMap<String, Object>(1);
+    params.put("lockOwner", lockOwner);
+    return getDbSqlSession().update("resetTimerJobLocksByLockOwner", params);
+  }
+
+  @Override
+  public void deleteJobsByProcessInstanceId(String processInstanceId) {
+    getDbSqlSession().delete("deleteTimerJobsByProcessInstanceId", processInstanceId, TimerJobEntityImpl.class);
+  }
+
 }
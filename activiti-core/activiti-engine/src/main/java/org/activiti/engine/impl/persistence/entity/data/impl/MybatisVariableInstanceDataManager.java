@@ -29,6 +29,7 @@ import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
 import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
 import org.activiti.engine.impl.persistence.entity.data.VariableInstanceDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.VariableByExecutionIdMatcher;
+import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.VariablesByExecutionIdsMatcher;
 
 /**
 
@@ -37,6 +38,8 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
 
   protected CachedEntityMatcher<VariableInstanceEntity> variableInstanceEntity = new VariableByExecutionIdMatcher();
 
+  protected CachedEntityMatcher<VariableInstanceEntity> variablesByExecutionIdsMatcher = new VariablesByExecutionIdsMatcher();
+
   public MybatisVariableInstanceDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
     super(processEngineConfiguration);
   }
@@ -71,9 +74,13 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds) {
-    return getDbSqlSession().selectList("selectVariablesByExecutionIds", executionIds);
+    return getList("selectVariablesByExecutionIds", executionIds, variablesByExecutionIdsMatcher, true);
+  }
+
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByRootProcessInstanceId(String rootProcessInstanceId) {
+    return getList("selectVariablesByRootProcessInstanceId", rootProcessInstanceId, null, true);
   }
 
   @Override
@@ -110,4 +117,9 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
     return getDbSqlSession().selectList("selectVariableInstancesByTaskAndNames", params);
   }
 
+  @Override
+  public void deleteVariableInstancesByProcessInstanceId(String processInstanceId) {
+    getDbSqlSession().delete("deleteVariableInstancesByProcessInstanceId", processInstanceId, VariableInstanceEntityImpl.class);
+  }
+
 }
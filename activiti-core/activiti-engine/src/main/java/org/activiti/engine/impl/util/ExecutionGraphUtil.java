@@ -30,6 +30,7 @@ import org.activiti.bpmn.model.Process;
 import org.activiti.bpmn.model.SequenceFlow;
 import org.activiti.bpmn.model.SubProcess;
 import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.persistence.deploy.CompiledProcessGraph;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 
 public class ExecutionGraphUtil {
@@ -74,7 +75,8 @@ public class ExecutionGraphUtil {
   public static boolean isReachable(String processDefinitionId, String sourceElementId, String targetElementId) {
 
     // Fetch source and target elements
-    Process process = ProcessDefinitionUtil.getProcess(processDefinitionId);
+    CompiledProcessGraph processGraph = ProcessDefinitionUtil.getCompiledProcessGraph(processDefinitionId);
+    Process process = processGraph != null ? processGraph.getProcess() : ProcessDefinitionUtil.getProcess(processDefinitionId);
 
     FlowElement sourceFlowElement = process.getFlowElement(sourceElementId, true);
     FlowNode sourceElement = null;
@@ -99,6 +101,14 @@ public class ExecutionGraphUtil {
       throw new ActivitiException("Invalid targetElementId '" + targetElementId + "': no element found for this id n process definition '" + processDefinitionId + "'");
     }
 
+    if (processGraph != null) {
+      int sourceIndex = processGraph.indexOf(sourceElement);
+      int targetIndex = processGraph.indexOf(targetElement);
+      if (sourceIndex != CompiledProcessGraph.NO_INDEX && targetIndex != CompiledProcessGraph.NO_INDEX) {
+        return processGraph.isReachable(sourceIndex, targetIndex);
+      }
+    }
+
     Set<String> visitedElements = new HashSet<String>();
     return isReachable(process, sourceElement, targetElement, visitedElements);
   }
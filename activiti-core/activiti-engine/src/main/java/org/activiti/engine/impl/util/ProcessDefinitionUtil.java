@@ -22,6 +22,7 @@ import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.ProcessDefinitionHelper;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.persistence.deploy.CompiledProcessGraph;
 import org.activiti.engine.impl.persistence.deploy.DeploymentManager;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
@@ -77,6 +78,27 @@ public class ProcessDefinitionUtil {
       }
   }
 
+  /**
+   * Returns the {@link CompiledProcessGraph} of the process definition, compiling it when the cache entry doesn't have one yet
+   * (eg. when the entry was deserialized from a distributed cache). Returns null when no process engine configuration is available.
+   */
+  public static CompiledProcessGraph getCompiledProcessGraph(String processDefinitionId) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration == null) {
+      return null;
+    }
+
+    DeploymentManager deploymentManager = processEngineConfiguration.getDeploymentManager();
+    ProcessDefinition processDefinitionEntity = deploymentManager.findDeployedProcessDefinitionById(processDefinitionId);
+    ProcessDefinitionCacheEntry cacheEntry = deploymentManager.resolveProcessDefinition(processDefinitionEntity);
+    CompiledProcessGraph compiledProcessGraph = cacheEntry.getCompiledProcessGraph();
+    if (compiledProcessGraph == null && cacheEntry.getProcess() != null) {
+      compiledProcessGraph = new CompiledProcessGraph(cacheEntry.getProcess(), processEngineConfiguration.getExpressionManager());
+      cacheEntry.setCompiledProcessGraph(compiledProcessGraph);
+    }
+    return compiledProcessGraph;
+  }
+
   public static BpmnModel getBpmnModel(String processDefinitionId) {
       if (Context.getProcessEngineConfiguration() == null) {
           return getProcessDefinitionHelper().getProcessDefinitionBpmnModel(processDefinitionId);
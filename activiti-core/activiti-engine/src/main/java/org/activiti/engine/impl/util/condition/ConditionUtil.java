@@ -34,6 +34,15 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 public class ConditionUtil {
 
   public static boolean hasTrueCondition(SequenceFlow sequenceFlow, DelegateExecution execution) {
+    return hasTrueCondition(sequenceFlow, execution, null);
+  }
+
+  /**
+   * @param compiledCondition the already parsed condition expression of the sequence flow (can be null).
+   *                          It is only used when the active condition is the one of the process definition,
+   *                          conditions overridden through the process definition info are always parsed.
+   */
+  public static boolean hasTrueCondition(SequenceFlow sequenceFlow, DelegateExecution execution, Expression compiledCondition) {
     String conditionExpression = null;
     if (Context.getProcessEngineConfiguration().isEnableProcessDefinitionInfoCache()) {
       ObjectNode elementProperties = Context.getBpmnOverrideElementProperties(sequenceFlow.getId(), execution.getProcessDefinitionId());
@@ -44,7 +53,12 @@ public class ConditionUtil {
 
     if (StringUtils.isNotEmpty(conditionExpression)) {
 
-      Expression expression = Context.getProcessEngineConfiguration().getExpressionManager().createExpression(conditionExpression);
+      Expression expression = null;
+      if (compiledCondition != null && conditionExpression.equals(sequenceFlow.getConditionExpression())) {
+        expression = compiledCondition;
+      } else {
+        expression = Context.getProcessEngineConfiguration().getExpressionManager().createExpression(conditionExpression);
+      }
       Condition condition = new UelExpressionCondition(expression);
       if (condition.evaluate(sequenceFlow.getId(), execution)) {
         return true;
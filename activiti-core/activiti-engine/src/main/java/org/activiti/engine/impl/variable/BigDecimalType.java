@@ -19,7 +19,7 @@ package org.activiti.engine.impl.variable;
 import java.math.BigDecimal;
 import java.util.Optional;
 
-public class BigDecimalType implements VariableType {
+public class BigDecimalType implements ClassAwareVariableType {
 
     @Override
     public String getTypeName() {
@@ -55,4 +55,9 @@ public class BigDecimalType implements VariableType {
                        .map(BigDecimal.class::isAssignableFrom)
                        .orElse(true);
     }
+
+    @Override
+    public Boolean isAbleToStoreClass(Class<?> valueClass) {
+        return BigDecimal.class.isAssignableFrom(valueClass);
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.variable;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.util.ReflectUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores objects in a compact binary json format (for example Smile) in the byte array table,
+ * as an alternative to java serialization.
+ *
+ * The class of the value is kept in text2 and the bytes are bound directly to that class when the value is read.
+ * As for the {@link SerializableType}, the bytes are only fetched and deserialized when the value is first asked for,
+ * after which the deserialized object is cached on the variable.
+ *
+ * As only the class of the value itself is kept, collections, maps and arrays are never stored with this type:
+ * the types of their elements would be lost. They are left to the types after this one, such as the {@link SerializableType}.
+ *
+ * When variable classes are given, only values of these classes (or their subclasses) are stored with this type.
+ * Otherwise a {@link Serializable} value with a default constructor is only stored with this type when it comes back
+ * from the binary json as it was given, see {@link #isRoundTripped(Object)}. Values that don't (empty beans, properties
+ * without setters, members declared as {@link Object} that would come back as maps, ...) are left to the types after this one.
+ * As this check writes and reads every value, listing the variable classes is the cheaper way to use this type.
+ */
+public class BinaryJsonType extends SerializableType {
+
+  private static final Logger logger = LoggerFactory.getLogger(BinaryJsonType.class);
+
+  public static final String TYPE_NAME = "binaryJson";
+
+  protected ObjectMapper binaryObjectMapper;
+  protected ObjectMapper roundTripObjectMapper;
+  protected Collection<Class<?>> variableClasses;
+
+  public BinaryJsonType(ObjectMapper binaryObjectMapper) {
+    this(binaryObjectMapper, null, false);
+  }
+
+  public BinaryJsonType(ObjectMapper binaryObjectMapper, Collection<Class<?>> variableClasses, boolean trackDeserializedObjects) {
+    super(trackDeserializedObjects);
+    this.binaryObjectMapper = binaryObjectMapper;
+    this.variableClasses = variableClasses;
+    // Compares the fields like java serialization would, keeping the class of members declared as Object
+    // which would otherwise equal the maps they come back as
+    this.roundTripObjectMapper = binaryObjectMapper.copy()
+        .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+        .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+        .activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.JAVA_LANG_OBJECT);
+  }
+
+  /**
+   * Creates an object mapper writing Smile, the binary json format of Jackson.
+   * Kept here so that jackson-dataformat-smile only needs to be on the classpath when this type is used.
+   */
+  public static ObjectMapper createSmileObjectMapper() {
+    return new ObjectMapper(new SmileFactory());
+  }
+
+  public String getTypeName() {
+    return TYPE_NAME;
+  }
+
+  public boolean isAbleToStore(Object value) {
+    if (value == null) {
+      return false;
+    }
+    Boolean ableToStoreClass = isAbleToStoreClass(value.getClass());
+    if (ableToStoreClass != null) {
+      return ableToStoreClass;
+    }
+    return isRoundTripped(value);
+  }
+
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    if (valueClass.isArray() || Collection.class.isAssignableFrom(valueClass) || Map.class.isAssignableFrom(valueClass)
+        || JsonNode.class.isAssignableFrom(valueClass)) {
+      return Boolean.FALSE;
+    }
+
+    if (variableClasses != null && !variableClasses.isEmpty()) {
+      for (Class<?> variableClass : variableClasses) {
+        if (variableClass.isAssignableFrom(valueClass)) {
+          return Boolean.TRUE;
+        }
+      }
+      return Boolean.FALSE;
+    }
+
+    if (Serializable.class.isAssignableFrom(valueClass) && hasDefaultConstructor(valueClass)
+        && binaryObjectMapper.canSerialize(valueClass)) {
+      // Depends on the value coming back as it was given
+      return null;
+    }
+    return Boolean.FALSE;
+  }
+
+  /**
+   * @return whether the value read back from its binary json has the same (non transient) fields as the value itself,
+   *         including the classes of members declared as {@link Object}.
+   */
+  protected boolean isRoundTripped(Object value) {
+    try {
+      Object readValue = binaryObjectMapper.readValue(binaryObjectMapper.writeValueAsBytes(value), value.getClass());
+      return roundTripObjectMapper.valueToTree(value).equals(roundTripObjectMapper.valueToTree(readValue));
+    } catch (Exception e) {
+      logger.debug("Value of type {} can't be stored as binary json: {}", value.getClass(), e.getMessage());
+      return false;
+    }
+  }
+
+  protected boolean hasDefaultConstructor(Class<?> valueClass) {
+    try {
+      valueClass.getDeclaredConstructor();
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  public byte[] serialize(Object value, ValueFields valueFields) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      byte[] bytes = binaryObjectMapper.writeValueAsBytes(value);
+      valueFields.setTextValue2(value.getClass().getName());
+      return bytes;
+    } catch (Exception e) {
+      throw new ActivitiException("Couldn't serialize value '" + value + "' in variable '" + valueFields.getName() + "'", e);
+    }
+  }
+
+  public Object deserialize(byte[] bytes, ValueFields valueFields) {
+    String className = valueFields.getTextValue2();
+    if (className == null) {
+      throw new ActivitiException("No class stored for binary json variable '" + valueFields.getName() + "'");
+    }
+    try {
+      return binaryObjectMapper.readValue(bytes, ReflectUtil.loadClass(className));
+    } catch (Exception e) {
+      throw new ActivitiException("Couldn't deserialize object in variable '" + valueFields.getName() + "'", e);
+    }
+  }
+
+}
@@ -19,7 +19,7 @@ package org.activiti.engine.impl.variable;
 /**
 
  */
-public class BooleanType implements VariableType {
+public class BooleanType implements ClassAwareVariableType {
 
   private static final long serialVersionUID = 1L;
 
@@ -57,4 +57,8 @@ public class BooleanType implements VariableType {
     }
     return Boolean.class.isAssignableFrom(value.getClass()) || boolean.class.isAssignableFrom(value.getClass());
   }
+
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    return Boolean.class.isAssignableFrom(valueClass);
+  }
 }
@@ -19,7 +19,7 @@ package org.activiti.engine.impl.variable;
 /**
 
  */
-public class ByteArrayType implements VariableType {
+public class ByteArrayType implements ClassAwareVariableType {
 
   private static final long serialVersionUID = 1L;
 
@@ -45,4 +45,8 @@ public class ByteArrayType implements VariableType {
     }
     return byte[].class.isAssignableFrom(value.getClass());
   }
+
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    return byte[].class.isAssignableFrom(valueClass);
+  }
 }
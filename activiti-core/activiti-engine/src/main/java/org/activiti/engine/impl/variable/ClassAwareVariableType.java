@@ -0,0 +1,37 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * A {@link VariableType} that can tell from the class of a value whether it is able to store it,
+ * which allows {@link DefaultVariableTypes} to cache the type resolution per value class.
+ *
+ * Subclasses of a class aware type that only override {@link #isAbleToStore(Object)} are not resolved by class:
+ * the class check is only used when it is declared by the class that declares the value check, or by a subclass of it.
+ */
+@Internal
+public interface ClassAwareVariableType extends VariableType {
+
+  /**
+   * @return {@link Boolean#TRUE} if this variable type can store every non-null value of the given class,
+   *         {@link Boolean#FALSE} if it can't store any of them, or null if it depends on the value itself
+   *         (in which case {@link #isAbleToStore(Object)} is called).
+   */
+  Boolean isAbleToStoreClass(Class<?> valueClass);
+
+}
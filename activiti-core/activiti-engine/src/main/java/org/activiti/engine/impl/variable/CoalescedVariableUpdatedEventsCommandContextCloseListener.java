@@ -0,0 +1,136 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.variable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.delegate.event.ActivitiEventDispatcher;
+import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * Collects the variable updates of a command and dispatches one variable updated event per variable,
+ * instead of one event for every time the variable is set.
+ *
+ * The events are dispatched by an operation planned on the agenda with the first collected update, so they are dispatched
+ * after the operations planned before that update (and with those, e.g. the next activity, before they complete), and the
+ * operations planned by the event listeners are still executed. Updates after the agenda has been drained are dispatched
+ * on the {@link #closing(CommandContext)} of the {@link CommandContext}.
+ *
+ * The event holds the value the variable had before the first update and the value after the last one.
+ * No event is dispatched for variables that were deleted before the events are dispatched.
+ */
+public class CoalescedVariableUpdatedEventsCommandContextCloseListener implements CommandContextCloseListener {
+
+  protected static final String ATTRIBUTE_NAME = "coalescedVariableUpdatedEvents";
+
+  protected Map<String, VariableUpdate> variableUpdates = new LinkedHashMap<String, VariableUpdate>();
+  protected boolean dispatchPlanned;
+
+  public static void addVariableUpdate(CommandContext commandContext, VariableInstanceEntity variableInstance, Object previousValue,
+      String processInstanceId, String processDefinitionId) {
+
+    CoalescedVariableUpdatedEventsCommandContextCloseListener listener = commandContext.getGenericAttribute(ATTRIBUTE_NAME);
+    if (listener == null) {
+      listener = new CoalescedVariableUpdatedEventsCommandContextCloseListener();
+      commandContext.addAttribute(ATTRIBUTE_NAME, listener);
+      commandContext.addCloseListener(listener);
+    }
+    listener.addVariableUpdate(variableInstance, previousValue, processInstanceId, processDefinitionId);
+    listener.planDispatchEvents(commandContext);
+  }
+
+  protected void addVariableUpdate(VariableInstanceEntity variableInstance, Object previousValue, String processInstanceId, String processDefinitionId) {
+    VariableUpdate variableUpdate = variableUpdates.get(variableInstance.getId());
+    if (variableUpdate == null) {
+      variableUpdates.put(variableInstance.getId(), new VariableUpdate(variableInstance, previousValue, processInstanceId, processDefinitionId));
+    } else {
+      variableUpdate.variableInstance = variableInstance;
+    }
+  }
+
+  protected void planDispatchEvents(final CommandContext commandContext) {
+    if (!dispatchPlanned) {
+      dispatchPlanned = true;
+      commandContext.getAgenda().planOperation(new Runnable() {
+        @Override
+        public void run() {
+          dispatchEvents(commandContext);
+        }
+      });
+    }
+  }
+
+  protected void dispatchEvents(CommandContext commandContext) {
+    // Updates done by the event listeners plan a new dispatch
+    dispatchPlanned = false;
+    List<VariableUpdate> updates = new ArrayList<VariableUpdate>(variableUpdates.values());
+    variableUpdates.clear();
+
+    ActivitiEventDispatcher eventDispatcher = commandContext.getProcessEngineConfiguration().getEventDispatcher();
+    if (eventDispatcher == null || !eventDispatcher.isEnabled()) {
+      return;
+    }
+
+    for (VariableUpdate variableUpdate : updates) {
+      if (!variableUpdate.variableInstance.isDeleted()) {
+        eventDispatcher.dispatchEvent(ActivitiEventBuilder.createVariableUpdateEvent(variableUpdate.variableInstance,
+            variableUpdate.previousValue, variableUpdate.processInstanceId, variableUpdate.processDefinitionId));
+      }
+    }
+  }
+
+  public void closing(CommandContext commandContext) {
+    // The agenda isn't executed anymore: updates done by the event listeners are collected by a new close listener,
+    // which is called after this one
+    commandContext.addAttribute(ATTRIBUTE_NAME, null);
+    dispatchEvents(commandContext);
+  }
+
+  public void closed(CommandContext commandContext) {
+
+  }
+
+  public void afterSessionsFlush(CommandContext commandContext) {
+
+  }
+
+  public void closeFailure(CommandContext commandContext) {
+
+  }
+
+  protected static class VariableUpdate {
+
+    protected VariableInstanceEntity variableInstance;
+    protected Object previousValue;
+    protected String processInstanceId;
+    protected String processDefinitionId;
+
+    public VariableUpdate(VariableInstanceEntity variableInstance, Object previousValue, String processInstanceId, String processDefinitionId) {
+      this.variableInstance = variableInstance;
+      this.previousValue = previousValue;
+      this.processInstanceId = processInstanceId;
+      this.processDefinitionId = processDefinitionId;
+    }
+  }
+
+}
@@ -21,7 +21,7 @@ import java.util.Date;
 /**
 
  */
-public class DateType implements VariableType {
+public class DateType implements ClassAwareVariableType {
 
   public String getTypeName() {
     return "date";
@@ -38,6 +38,10 @@ public class DateType implements VariableType {
     return Date.class.isAssignableFrom(value.getClass());
   }
 
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    return Date.class.isAssignableFrom(valueClass);
+  }
+
   public Object getValue(ValueFields valueFields) {
     Long longValue = valueFields.getLongValue();
     if (longValue != null) {
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.activiti.engine.ActivitiException;
 
@@ -34,6 +35,12 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
   private final List<VariableType> typesList = new ArrayList<VariableType>();
   private final Map<String, VariableType> typesMap = new HashMap<String, VariableType>();
 
+  // Types resolved by class only, see ClassAwareVariableType
+  private final Map<Class<?>, VariableType> typesByValueClass = new ConcurrentHashMap<Class<?>, VariableType>();
+
+  // Whether the class check of a type can be trusted, per type class
+  private final Map<Class<?>, Boolean> classAwareTypeClasses = new ConcurrentHashMap<Class<?>, Boolean>();
+
   public DefaultVariableTypes addType(VariableType type) {
     return addType(type, typesList.size());
   }
@@ -41,6 +48,7 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
   public DefaultVariableTypes addType(VariableType type, int index) {
     typesList.add(index, type);
     typesMap.put(type.getTypeName(), type);
+    typesByValueClass.clear();
     return this;
   }
 
@@ -51,6 +59,7 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
     for (VariableType type : typesList) {
       typesMap.put(type.getTypeName(), type);
     }
+    this.typesByValueClass.clear();
   }
 
   public VariableType getVariableType(String typeName) {
@@ -58,14 +67,64 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
   }
 
   public VariableType findVariableType(Object value) {
-    for (VariableType type : typesList) {
-      if (type.isAbleToStore(value)) {
-        return type;
+    if (value == null) {
+      for (VariableType type : typesList) {
+        if (type.isAbleToStore(value)) {
+          return type;
+        }
+      }
+    } else {
+      Class<?> valueClass = value.getClass();
+      VariableType cachedType = typesByValueClass.get(valueClass);
+      if (cachedType != null) {
+        return cachedType;
+      }
+
+      // The resolved type can only be cached if none of the types checked before it depended on the value itself
+      boolean resolvedByClass = true;
+      for (VariableType type : typesList) {
+        Boolean ableToStoreClass = isClassAware(type) ? ((ClassAwareVariableType) type).isAbleToStoreClass(valueClass) : null;
+        if (Boolean.TRUE.equals(ableToStoreClass)) {
+          if (resolvedByClass) {
+            typesByValueClass.put(valueClass, type);
+          }
+          return type;
+        }
+        if (ableToStoreClass == null) {
+          if (type.isAbleToStore(value)) {
+            return type;
+          }
+          resolvedByClass = false;
+        }
       }
     }
     throw new ActivitiException("couldn't find a variable type that is able to serialize " + value);
   }
 
+  /**
+   * A type is only resolved by class if its class check is declared by the same class as its value check, or by a subclass of it.
+   * A custom type that extends a built-in type and only overrides {@link VariableType#isAbleToStore(Object)} would
+   * otherwise inherit the class check of the built-in type, which doesn't know about the custom condition.
+   */
+  protected boolean isClassAware(VariableType type) {
+    if (!(type instanceof ClassAwareVariableType)) {
+      return false;
+    }
+    Class<?> typeClass = type.getClass();
+    Boolean classAware = classAwareTypeClasses.get(typeClass);
+    if (classAware == null) {
+      try {
+        Class<?> valueCheckClass = typeClass.getMethod("isAbleToStore", Object.class).getDeclaringClass();
+        Class<?> classCheckClass = typeClass.getMethod("isAbleToStoreClass", Class.class).getDeclaringClass();
+        classAware = valueCheckClass.isAssignableFrom(classCheckClass);
+      } catch (NoSuchMethodException e) {
+        classAware = false;
+      }
+      classAwareTypeClasses.put(typeClass, classAware);
+    }
+    return classAware;
+  }
+
   public int getTypeIndex(VariableType type) {
     return typesList.indexOf(type);
   }
@@ -82,6 +141,7 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
   public VariableTypes removeType(VariableType type) {
     typesList.remove(type);
     typesMap.remove(type.getTypeName());
+    typesByValueClass.clear();
     return this;
   }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * A {@link DeserializedObject} for the value of a {@link JsonType} variable, which is stored as text.
+ * If the value was changed in place, the variable is updated (and stored with another type, if the json became too long).
+ */
+public class DeserializedJsonObject extends DeserializedObject {
+
+  protected JsonType jsonType;
+  protected String originalJson;
+
+  public DeserializedJsonObject(JsonType jsonType, Object deserializedObject, String originalJson, VariableInstanceEntity variableInstanceEntity) {
+    super(null, deserializedObject, null, variableInstanceEntity);
+    this.jsonType = jsonType;
+    this.originalJson = originalJson;
+  }
+
+  @Override
+  public void verifyIfBytesOfSerializedObjectChanged() {
+    // this first check verifies if the variable value was not overwritten with another object
+    if (deserializedObject == variableInstanceEntity.getCachedValue() && !variableInstanceEntity.isDeleted()
+        && jsonType.isChanged(deserializedObject, originalJson)) {
+
+      VariableType newType = Context.getProcessEngineConfiguration().getVariableTypes().findVariableType(deserializedObject);
+      if (newType != variableInstanceEntity.getType()) {
+        variableInstanceEntity.setValue(null);
+        variableInstanceEntity.setType(newType);
+        variableInstanceEntity.forceUpdate();
+      }
+      variableInstanceEntity.setValue(deserializedObject);
+    }
+  }
+}
@@ -19,7 +19,7 @@ package org.activiti.engine.impl.variable;
 /**
 
  */
-public class DoubleType implements VariableType {
+public class DoubleType implements ClassAwareVariableType {
 
   private static final long serialVersionUID = 1L;
 
@@ -45,4 +45,8 @@ public class DoubleType implements VariableType {
     }
     return Double.class.isAssignableFrom(value.getClass());
   }
+
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    return Double.class.isAssignableFrom(valueClass);
+  }
 }
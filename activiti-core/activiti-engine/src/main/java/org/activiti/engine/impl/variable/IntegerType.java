@@ -19,7 +19,7 @@ package org.activiti.engine.impl.variable;
 /**
 
  */
-public class IntegerType implements VariableType {
+public class IntegerType implements ClassAwareVariableType {
 
   private static final long serialVersionUID = 1L;
 
@@ -54,4 +54,8 @@ public class IntegerType implements VariableType {
     }
     return Integer.class.isAssignableFrom(value.getClass()) || int.class.isAssignableFrom(value.getClass());
   }
+
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    return Integer.class.isAssignableFrom(valueClass);
+  }
 }
@@ -21,7 +21,7 @@ import org.joda.time.DateTime;
 /**
 
  */
-public class JodaDateTimeType implements VariableType {
+public class JodaDateTimeType implements ClassAwareVariableType {
 
   public String getTypeName() {
     return "jodadatetime";
@@ -38,6 +38,10 @@ public class JodaDateTimeType implements VariableType {
     return DateTime.class.isAssignableFrom(value.getClass());
   }
 
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    return DateTime.class.isAssignableFrom(valueClass);
+  }
+
   public Object getValue(ValueFields valueFields) {
     Long longValue = valueFields.getLongValue();
     if (longValue != null) {
@@ -21,7 +21,7 @@ import org.joda.time.LocalDate;
 /**
 
  */
-public class JodaDateType implements VariableType {
+public class JodaDateType implements ClassAwareVariableType {
 
   public String getTypeName() {
     return "jodadate";
@@ -38,6 +38,10 @@ public class JodaDateType implements VariableType {
     return LocalDate.class.isAssignableFrom(value.getClass());
   }
 
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    return LocalDate.class.isAssignableFrom(valueClass);
+  }
+
   public Object getValue(ValueFields valueFields) {
     Long longValue = valueFields.getLongValue();
     if (longValue != null) {
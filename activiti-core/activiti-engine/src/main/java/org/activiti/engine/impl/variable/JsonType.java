@@ -20,10 +20,12 @@ package org.activiti.engine.impl.variable;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class JsonType implements VariableType {
+public class JsonType implements ClassAwareVariableType {
 
     private static final Logger logger = LoggerFactory.getLogger(JsonType.class);
     public static final String JSON = "json";
@@ -32,46 +34,113 @@ public class JsonType implements VariableType {
   private ObjectMapper objectMapper;
   private boolean serializePOJOsInVariablesToJson;
     private JsonTypeConverter jsonTypeConverter;
+  private JsonValueSerializer jsonValueSerializer;
+  private boolean trackDeserializedObjects;
 
   public JsonType(int maxLength, ObjectMapper objectMapper, boolean serializePOJOsInVariablesToJson,
       JsonTypeConverter jsonTypeConverter) {
+    this(maxLength, objectMapper, serializePOJOsInVariablesToJson, jsonTypeConverter, new JsonValueSerializer(objectMapper), false);
+  }
+
+  public JsonType(int maxLength, ObjectMapper objectMapper, boolean serializePOJOsInVariablesToJson,
+      JsonTypeConverter jsonTypeConverter, JsonValueSerializer jsonValueSerializer, boolean trackDeserializedObjects) {
     this.maxLength = maxLength;
     this.objectMapper = objectMapper;
     this.serializePOJOsInVariablesToJson = serializePOJOsInVariablesToJson;
       this.jsonTypeConverter = jsonTypeConverter;
+    this.jsonValueSerializer = jsonValueSerializer;
+    this.trackDeserializedObjects = trackDeserializedObjects;
   }
 
   public String getTypeName() {
     return JSON;
   }
 
+  /**
+   * The value is cached by this type instead, see {@link #getValue(ValueFields)}.
+   */
   public boolean isCachable() {
-    return true;
+    return false;
   }
 
+  /**
+   * Parsing the json is expensive, so the parsed value is kept like for serializable variables.
+   * Unless deserialized objects are tracked, the parsed value is kept apart from the cached value
+   * and every read returns a copy of it, so a value modified in place doesn't change what the next read returns.
+   */
   public Object getValue(ValueFields valueFields) {
-    Object loadedValue = null;
-    if (valueFields.getTextValue() != null && valueFields.getTextValue().length() > 0) {
-        try {
-            loadedValue = jsonTypeConverter.convertToValue(
-                objectMapper.readTree(valueFields.getTextValue()), valueFields);
+    if (trackDeserializedObjects) {
+      return getTrackedValue(valueFields);
+    }
 
-        } catch (Exception e) {
-          logger.error("Error reading json variable " + valueFields.getName(), e);
-        }
-      }
+    Object parsedValue = valueFields.getParsedValue();
+    if (parsedValue == null) {
+      parsedValue = parseValue(valueFields);
+      valueFields.setParsedValue(parsedValue);
+    }
+    return parsedValue != null ? copyValue(parsedValue, valueFields) : null;
+  }
+
+  protected Object getTrackedValue(ValueFields valueFields) {
+    Object cachedValue = valueFields.getCachedValue();
+    if (cachedValue != null) {
+      return cachedValue;
+    }
+
+    Object loadedValue = parseValue(valueFields);
+    valueFields.setCachedValue(loadedValue);
+
+    if (loadedValue != null && valueFields instanceof VariableInstanceEntity) {
+      Context.getCommandContext().addCloseListener(new VerifyDeserializedObjectCommandContextCloseListener(
+          new DeserializedJsonObject(this, loadedValue, valueFields.getTextValue(), (VariableInstanceEntity) valueFields)));
+    }
     return loadedValue;
   }
 
+  protected Object parseValue(ValueFields valueFields) {
+    if (valueFields.getTextValue() != null && valueFields.getTextValue().length() > 0) {
+      try {
+        return jsonTypeConverter.convertToValue(objectMapper.readTree(valueFields.getTextValue()), valueFields);
+      } catch (Exception e) {
+        logger.error("Error reading json variable " + valueFields.getName(), e);
+      }
+    }
+    return null;
+  }
+
+  protected Object copyValue(Object value, ValueFields valueFields) {
+    if (value instanceof JsonNode) {
+      return ((JsonNode) value).deepCopy();
+    }
+    // A pojo is copied through its json tree, which is still cheaper than parsing the json again
+    return jsonTypeConverter.convertToValue(objectMapper.valueToTree(value), valueFields);
+  }
+
   public void setValue(Object value, ValueFields valueFields) {
     try {
-      valueFields.setTextValue(objectMapper.writeValueAsString(value));
+      valueFields.setTextValue(jsonValueSerializer.serialize(value));
       if (value != null) {
           valueFields.setTextValue2(value.getClass().getName());
       }
     } catch (JsonProcessingException e) {
     logger.error("Error writing json variable " + valueFields.getName(), e);
     }
+    valueFields.setCachedValue(value);
+    // The next read parses the new json, the caller may still modify the given value
+    valueFields.setParsedValue(null);
+  }
+
+  /**
+   * @return whether the json of the given value differs from the original json of the variable,
+   *         ignoring differences in formatting and field order.
+   */
+  public boolean isChanged(Object value, String originalJson) {
+    try {
+      return !objectMapper.readTree(originalJson).equals(objectMapper.valueToTree(value));
+    } catch (Exception e) {
+      logger.error("Error comparing json variable of type " + value.getClass(), e);
+      return false;
+    }
   }
 
   public boolean isAbleToStore(Object value) {
@@ -81,7 +150,7 @@ public class JsonType implements VariableType {
 
     if (JsonNode.class.isAssignableFrom(value.getClass()) || (objectMapper.canSerialize(value.getClass()) && serializePOJOsInVariablesToJson)) {
       try {
-        return objectMapper.writeValueAsString(value).length() <= maxLength;
+        return jsonValueSerializer.getLength(value, maxLength) <= maxLength;
       } catch (JsonProcessingException e) {
         logger.error("Error writing json variable of type " + value.getClass(), e);
       }
@@ -90,4 +159,12 @@ public class JsonType implements VariableType {
     return false;
   }
 
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    if (JsonNode.class.isAssignableFrom(valueClass) || (objectMapper.canSerialize(valueClass) && serializePOJOsInVariablesToJson)) {
+      // Depends on the length of the json
+      return null;
+    }
+    return Boolean.FALSE;
+  }
+
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+package org.activiti.engine.impl.variable;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serializes the values of {@link JsonType} and {@link LongJsonType} variables.
+ *
+ * Whether one of these types can store a value depends on the length of its JSON. To check that length, a value
+ * is only written up to the length that matters: writing stops as soon as the limit is exceeded. A large JSON value
+ * is therefore serialized completely only once, when it is stored. No JSON is kept between the check and the store,
+ * so nothing stays behind on the thread and a value modified in between is never stored with its old JSON.
+ */
+public class JsonValueSerializer {
+
+  protected ObjectMapper objectMapper;
+
+  public JsonValueSerializer(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * @return the length of the JSON of the given value, or <code>limit + 1</code> if it is longer than the given limit.
+   */
+  public int getLength(Object value, int limit) throws JsonProcessingException {
+    LengthLimitedWriter writer = new LengthLimitedWriter(limit);
+    try {
+      objectMapper.writeValue(writer, value);
+    } catch (IOException e) {
+      if (writer.isLimitExceeded()) {
+        return limit + 1;
+      }
+      if (e instanceof JsonProcessingException) {
+        throw (JsonProcessingException) e;
+      }
+      throw JsonMappingException.fromUnexpectedIOE(e);
+    }
+    return writer.getLength();
+  }
+
+  public String serialize(Object value) throws JsonProcessingException {
+    return objectMapper.writeValueAsString(value);
+  }
+
+  /**
+   * Counts the characters written to it, and fails as soon as they exceed the limit.
+   */
+  protected static class LengthLimitedWriter extends Writer {
+
+    protected final int limit;
+    protected int length;
+    protected boolean limitExceeded;
+
+    public LengthLimitedWriter(int limit) {
+      this.limit = limit;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+      length += len;
+      if (length > limit) {
+        limitExceeded = true;
+        throw new IOException("JSON is longer than " + limit + " characters");
+      }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public int getLength() {
+      return length;
+    }
+
+    public boolean isLimitExceeded() {
+      return limitExceeded;
+    }
+  }
+
+}
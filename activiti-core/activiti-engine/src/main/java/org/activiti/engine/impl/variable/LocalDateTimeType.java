@@ -18,7 +18,7 @@ package org.activiti.engine.impl.variable;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 
-public class LocalDateTimeType implements VariableType {
+public class LocalDateTimeType implements ClassAwareVariableType {
 
     public String getTypeName() {
         return "localDateTime";
@@ -35,6 +35,10 @@ public class LocalDateTimeType implements VariableType {
         return LocalDateTime.class.isAssignableFrom(value.getClass());
     }
 
+    public Boolean isAbleToStoreClass(Class<?> valueClass) {
+        return LocalDateTime.class.isAssignableFrom(valueClass);
+    }
+
     public Object getValue(ValueFields valueFields) {
         Long longValue = valueFields.getLongValue();
         if (longValue != null) {
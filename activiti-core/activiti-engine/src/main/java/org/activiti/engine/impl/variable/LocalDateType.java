@@ -20,7 +20,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 
-public class LocalDateType implements VariableType {
+public class LocalDateType implements ClassAwareVariableType {
 
     public String getTypeName() {
         return "localDate";
@@ -37,6 +37,10 @@ public class LocalDateType implements VariableType {
         return LocalDate.class.isAssignableFrom(value.getClass());
     }
 
+    public Boolean isAbleToStoreClass(Class<?> valueClass) {
+        return LocalDate.class.isAssignableFrom(valueClass);
+    }
+
     public Object getValue(ValueFields valueFields) {
         Long longValue = valueFields.getLongValue();
         if (longValue != null) {
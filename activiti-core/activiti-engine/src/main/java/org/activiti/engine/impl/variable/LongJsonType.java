@@ -34,14 +34,26 @@ public class LongJsonType extends SerializableType {
   private ObjectMapper objectMapper;
   private boolean serializePOJOsInVariablesToJson;
   private JsonTypeConverter jsonTypeConverter;
+  private JsonValueSerializer jsonValueSerializer;
 
   public LongJsonType(int minLength, ObjectMapper objectMapper,
       boolean serializePOJOsInVariablesToJson,
       JsonTypeConverter jsonTypeConverter) {
+    this(minLength, objectMapper, serializePOJOsInVariablesToJson, jsonTypeConverter, new JsonValueSerializer(objectMapper), false);
+  }
+
+  public LongJsonType(int minLength, ObjectMapper objectMapper,
+      boolean serializePOJOsInVariablesToJson,
+      JsonTypeConverter jsonTypeConverter,
+      JsonValueSerializer jsonValueSerializer,
+      boolean trackDeserializedObjects) {
+    // Parsed values are cached and tracked by the serializable type
+    super(trackDeserializedObjects);
     this.minLength = minLength;
     this.objectMapper = objectMapper;
     this.serializePOJOsInVariablesToJson = serializePOJOsInVariablesToJson;
     this.jsonTypeConverter = jsonTypeConverter;
+    this.jsonValueSerializer = jsonValueSerializer;
   }
 
   public String getTypeName() {
@@ -57,7 +69,7 @@ public class LongJsonType extends SerializableType {
         (objectMapper.canSerialize(value.getClass()) &&
             serializePOJOsInVariablesToJson)) {
       try {
-        return objectMapper.writeValueAsString(value).length() >= minLength;
+        return jsonValueSerializer.getLength(value, minLength) >= minLength;
       } catch (JsonProcessingException e) {
         logger.error("Error writing json variable of type " + value.getClass(), e);
       }
@@ -66,13 +78,21 @@ public class LongJsonType extends SerializableType {
     return false;
   }
 
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    if (JsonNode.class.isAssignableFrom(valueClass) || (objectMapper.canSerialize(valueClass) && serializePOJOsInVariablesToJson)) {
+      // Depends on the length of the json
+      return null;
+    }
+    return Boolean.FALSE;
+  }
+
   public byte[] serialize(Object value, ValueFields valueFields) {
     if (value == null) {
       return null;
     }
     String json = null;
     try {
-      json = objectMapper.writeValueAsString(value);
+      json = jsonValueSerializer.serialize(value);
     } catch (JsonProcessingException e) {
       logger.error("Error writing long json variable " + valueFields.getName(), e);
     }
@@ -41,4 +41,9 @@ public class LongStringType extends SerializableType {
     }
     return false;
   }
+
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    // Depends on the length of the string
+    return String.class.isAssignableFrom(valueClass) ? null : Boolean.FALSE;
+  }
 }
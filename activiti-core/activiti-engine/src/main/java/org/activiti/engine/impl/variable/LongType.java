@@ -19,7 +19,7 @@ package org.activiti.engine.impl.variable;
 /**
 
  */
-public class LongType implements VariableType {
+public class LongType implements ClassAwareVariableType {
 
   private static final long serialVersionUID = 1L;
 
@@ -50,4 +50,8 @@ public class LongType implements VariableType {
     }
     return Long.class.isAssignableFrom(value.getClass()) || long.class.isAssignableFrom(value.getClass());
   }
+
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    return Long.class.isAssignableFrom(valueClass);
+  }
 }
@@ -19,7 +19,7 @@ package org.activiti.engine.impl.variable;
 /**
 
  */
-public class NullType implements VariableType {
+public class NullType implements ClassAwareVariableType {
 
   private static final long serialVersionUID = 1L;
 
@@ -39,6 +39,10 @@ public class NullType implements VariableType {
     return (value == null);
   }
 
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    return Boolean.FALSE;
+  }
+
   public void setValue(Object value, ValueFields valueFields) {
   }
 }
@@ -25,9 +25,25 @@ import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityImpl;
+import org.activiti.engine.impl.persistence.entity.ByteArrayRef;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.activiti.engine.impl.util.IoUtil;
 import org.activiti.engine.impl.util.ReflectUtil;
@@ -40,6 +56,11 @@ public class SerializableType extends ByteArrayType {
 
   public static final String TYPE_NAME = "serializable";
 
+  protected static final Set<Class<?>> IMMUTABLE_VALUE_CLASSES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+      String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+      BigInteger.class, BigDecimal.class, UUID.class, Instant.class, LocalDate.class, LocalTime.class, LocalDateTime.class,
+      OffsetDateTime.class, ZonedDateTime.class, Duration.class, Period.class));
+
   protected boolean trackDeserializedObjects;
 
   public String getTypeName() {
@@ -60,20 +81,86 @@ public class SerializableType extends ByteArrayType {
       return cachedObject;
     }
 
+    String sharedByteArrayId = getSharedByteArrayId(valueFields);
+    if (sharedByteArrayId != null) {
+      Integer sharedRevision = findSharedRevision(sharedByteArrayId);
+      if (sharedRevision != null) {
+        SerializedVariableValueCache serializedVariableValueCache = Context.getProcessEngineConfiguration().getSerializedVariableValueCache();
+        Object sharedValue = serializedVariableValueCache.getValue(sharedByteArrayId, sharedRevision);
+        if (sharedValue != null) {
+          valueFields.setCachedValue(sharedValue);
+          return sharedValue;
+        }
+        byte[] sharedBytes = serializedVariableValueCache.get(sharedByteArrayId, sharedRevision);
+        if (sharedBytes != null) {
+          return cacheDeserializedObject(deserialize(sharedBytes, valueFields), sharedBytes, valueFields);
+        }
+      }
+    }
+
     byte[] bytes = (byte[]) super.getValue(valueFields);
     if (bytes != null) {
+      Object deserializedObject = deserialize(bytes, valueFields);
+      if (sharedByteArrayId != null) {
+        addSharedValue(sharedByteArrayId, (VariableInstanceEntity) valueFields, bytes, deserializedObject);
+      }
+      return cacheDeserializedObject(deserializedObject, bytes, valueFields);
+    }
+    return null; // byte array is null
+  }
 
-	    Object deserializedObject = deserialize(bytes, valueFields);
-      valueFields.setCachedValue(deserializedObject);
+  protected Object cacheDeserializedObject(Object deserializedObject, byte[] bytes, ValueFields valueFields) {
+    valueFields.setCachedValue(deserializedObject);
 
-      if (trackDeserializedObjects && valueFields instanceof VariableInstanceEntity) {
-        Context.getCommandContext().addCloseListener(new VerifyDeserializedObjectCommandContextCloseListener(
-            new DeserializedObject(this, valueFields.getCachedValue(), bytes, (VariableInstanceEntity)valueFields)));
-      }
+    if (trackDeserializedObjects && valueFields instanceof VariableInstanceEntity) {
+      Context.getCommandContext().addCloseListener(new VerifyDeserializedObjectCommandContextCloseListener(
+          new DeserializedObject(this, valueFields.getCachedValue(), bytes, (VariableInstanceEntity)valueFields)));
+    }
 
-      return deserializedObject;
+    return deserializedObject;
+  }
+
+  /**
+   * Returns the id of the byte array of the variable if its value can be looked up in (or added to) the
+   * {@link SerializedVariableValueCache}, or null if that cache is not enabled or the byte array was already
+   * fetched or changed in the current command.
+   */
+  protected String getSharedByteArrayId(ValueFields valueFields) {
+    if (!(valueFields instanceof VariableInstanceEntity) || Context.getCommandContext() == null) {
+      return null;
     }
-    return null; // byte array is null
+    SerializedVariableValueCache serializedVariableValueCache = Context.getProcessEngineConfiguration().getSerializedVariableValueCache();
+    ByteArrayRef byteArrayRef = ((VariableInstanceEntity) valueFields).getByteArrayRef();
+    if (serializedVariableValueCache == null || byteArrayRef == null || byteArrayRef.getId() == null
+        || Context.getCommandContext().getEntityCache().findInCache(ByteArrayEntityImpl.class, byteArrayRef.getId()) != null) {
+      return null;
+    }
+    return byteArrayRef.getId();
+  }
+
+  /**
+   * @return the current revision of the byte array, or null when no revision of it is cached
+   *         (in which case the byte array is fetched right away, without selecting its revision first).
+   */
+  protected Integer findSharedRevision(String byteArrayId) {
+    if (!Context.getProcessEngineConfiguration().getSerializedVariableValueCache().contains(byteArrayId)) {
+      return null;
+    }
+    return Context.getCommandContext().getByteArrayEntityManager().findRevisionById(byteArrayId);
+  }
+
+  protected void addSharedValue(String byteArrayId, VariableInstanceEntity variableInstance, byte[] bytes, Object deserializedObject) {
+    int revision = variableInstance.getByteArrayRef().getEntity().getRevision();
+    // A deserialized object is only shared when the caller can't change it and when it doesn't need to be tracked by every command
+    Object sharedValue = !trackDeserializedObjects && isImmutableValue(deserializedObject) ? deserializedObject : null;
+    Context.getProcessEngineConfiguration().getSerializedVariableValueCache().add(byteArrayId, revision, bytes, sharedValue);
+  }
+
+  /**
+   * @return whether the value is of a class of which the instances can't be modified.
+   */
+  protected boolean isImmutableValue(Object value) {
+    return value != null && (value instanceof Enum || IMMUTABLE_VALUE_CLASSES.contains(value.getClass()));
   }
 
   public void setValue(Object value, ValueFields valueFields) {
@@ -125,6 +212,10 @@ public class SerializableType extends ByteArrayType {
     return value instanceof Serializable;
   }
 
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    return Serializable.class.isAssignableFrom(valueClass);
+  }
+
   protected ObjectInputStream createObjectInputStream(InputStream is) throws IOException {
     return new ObjectInputStream(is) {
       protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
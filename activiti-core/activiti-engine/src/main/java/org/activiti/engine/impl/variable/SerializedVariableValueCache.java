@@ -0,0 +1,147 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.variable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the serialized values of variables stored in byte arrays across commands, so they don't have to be fetched again.
+ *
+ * Values are kept per byte array id and are only returned for the revision of the byte array they were read from,
+ * so a value is never used after its byte array has been updated. The cache is bounded by the total size of the
+ * cached values; the least recently used values are evicted first.
+ *
+ * Mostly only the bytes are shared: every command deserializes its own instance of the value, so modifying a value in place
+ * never affects other commands. Only deserialized values that can't be modified (see {@link SerializableType}) are kept as well.
+ * The returned bytes must not be modified.
+ */
+public class SerializedVariableValueCache {
+
+  protected long maxSize;
+  protected long size;
+  protected Map<String, CachedValue> cachedValues = new LinkedHashMap<String, CachedValue>(16, 0.75f, true);
+
+  /**
+   * @param maxSize the maximum total size, in bytes, of the cached values
+   */
+  public SerializedVariableValueCache(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public synchronized byte[] get(String byteArrayId, int revision) {
+    CachedValue cachedValue = cachedValues.get(byteArrayId);
+    if (cachedValue != null && cachedValue.getRevision() == revision) {
+      return cachedValue.getBytes();
+    }
+    return null;
+  }
+
+  /**
+   * @return the deserialized value kept with the bytes of the given revision, or null if there's no such value.
+   */
+  public synchronized Object getValue(String byteArrayId, int revision) {
+    CachedValue cachedValue = cachedValues.get(byteArrayId);
+    if (cachedValue != null && cachedValue.getRevision() == revision) {
+      return cachedValue.getValue();
+    }
+    return null;
+  }
+
+  /**
+   * @return whether any revision of the given byte array is cached, without marking it as used.
+   */
+  public synchronized boolean contains(String byteArrayId) {
+    return cachedValues.containsKey(byteArrayId);
+  }
+
+  public synchronized void add(String byteArrayId, int revision, byte[] bytes) {
+    add(byteArrayId, revision, bytes, null);
+  }
+
+  /**
+   * @param value the deserialized value, which must not be modifiable, or null to only keep the bytes
+   */
+  public synchronized void add(String byteArrayId, int revision, byte[] bytes, Object value) {
+    if (bytes.length > maxSize) {
+      return;
+    }
+
+    CachedValue previousValue = cachedValues.put(byteArrayId, new CachedValue(revision, bytes, value));
+    if (previousValue != null) {
+      size -= previousValue.getBytes().length;
+    }
+    size += bytes.length;
+
+    Iterator<CachedValue> iterator = cachedValues.values().iterator();
+    while (size > maxSize && iterator.hasNext()) {
+      size -= iterator.next().getBytes().length;
+      iterator.remove();
+    }
+  }
+
+  public synchronized void remove(String byteArrayId) {
+    CachedValue cachedValue = cachedValues.remove(byteArrayId);
+    if (cachedValue != null) {
+      size -= cachedValue.getBytes().length;
+    }
+  }
+
+  public synchronized void clear() {
+    cachedValues.clear();
+    size = 0;
+  }
+
+  public synchronized int getNumberOfValues() {
+    return cachedValues.size();
+  }
+
+  public synchronized long getSize() {
+    return size;
+  }
+
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  protected static class CachedValue {
+
+    protected int revision;
+    protected byte[] bytes;
+    protected Object value;
+
+    public CachedValue(int revision, byte[] bytes, Object value) {
+      this.revision = revision;
+      this.bytes = bytes;
+      this.value = value;
+    }
+
+    public int getRevision() {
+      return revision;
+    }
+
+    public byte[] getBytes() {
+      return bytes;
+    }
+
+    public Object getValue() {
+      return value;
+    }
+  }
+
+}
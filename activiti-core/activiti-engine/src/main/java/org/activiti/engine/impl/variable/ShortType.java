@@ -19,7 +19,7 @@ package org.activiti.engine.impl.variable;
 /**
 
  */
-public class ShortType implements VariableType {
+public class ShortType implements ClassAwareVariableType {
 
   private static final long serialVersionUID = 1L;
 
@@ -54,4 +54,8 @@ public class ShortType implements VariableType {
     }
     return Short.class.isAssignableFrom(value.getClass()) || short.class.isAssignableFrom(value.getClass());
   }
+
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    return Short.class.isAssignableFrom(valueClass);
+  }
 }
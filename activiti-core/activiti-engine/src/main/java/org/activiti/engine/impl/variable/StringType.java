@@ -19,7 +19,7 @@ package org.activiti.engine.impl.variable;
 /**
 
  */
-public class StringType implements VariableType {
+public class StringType implements ClassAwareVariableType {
 
   private final int maxLength;
 
@@ -53,4 +53,9 @@ public class StringType implements VariableType {
     }
     return false;
   }
+
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    // Depends on the length of the string
+    return String.class.isAssignableFrom(valueClass) ? null : Boolean.FALSE;
+  }
 }
@@ -21,7 +21,7 @@ import java.util.UUID;
 /**
 
  */
-public class UUIDType implements VariableType {
+public class UUIDType implements ClassAwareVariableType {
 
   private static final long serialVersionUID = 1L;
 
@@ -54,4 +54,8 @@ public class UUIDType implements VariableType {
     }
     return UUID.class.isAssignableFrom(value.getClass());
   }
+
+  public Boolean isAbleToStoreClass(Class<?> valueClass) {
+    return UUID.class.isAssignableFrom(valueClass);
+  }
 }
@@ -102,4 +102,13 @@ public interface ValueFields {
 
   void setCachedValue(Object cachedValue);
 
+  /**
+   * @return the value parsed from the stored form of this variable by a variable type that hands out a copy of it on
+   *         every read (see {@link JsonType}), or null if it wasn't parsed yet. Unlike the cached value, this value never
+   *         leaves the variable type.
+   */
+  Object getParsedValue();
+
+  void setParsedValue(Object parsedValue);
+
 }
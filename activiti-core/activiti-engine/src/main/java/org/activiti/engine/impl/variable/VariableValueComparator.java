@@ -0,0 +1,84 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.variable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Decides whether setting a variable to a new value would leave the stored value as it is.
+ *
+ * Only values of which the stored form follows from equality are compared: primitives, strings, dates, json trees and byte arrays.
+ * Mutable values (dates, json trees and byte arrays) that are the same instance as the current value are considered changed,
+ * as they could have been modified in place since they were read.
+ * Any other value (e.g. a serialized object) is always considered changed.
+ */
+public class VariableValueComparator {
+
+  private VariableValueComparator() {
+  }
+
+  public static boolean isUnchanged(Object currentValue, Object newValue) {
+    if (currentValue == null || newValue == null) {
+      return currentValue == newValue;
+    }
+
+    if (!currentValue.getClass().equals(newValue.getClass())) {
+      return false;
+    }
+
+    if (isImmutableValue(newValue)) {
+      return currentValue.equals(newValue);
+    }
+
+    if (currentValue == newValue) {
+      return false;
+    }
+
+    if (newValue instanceof Date || newValue instanceof JsonNode) {
+      return currentValue.equals(newValue);
+    }
+
+    if (newValue instanceof byte[]) {
+      return Arrays.equals((byte[]) currentValue, (byte[]) newValue);
+    }
+
+    return false;
+  }
+
+  protected static boolean isImmutableValue(Object value) {
+    return value instanceof String
+        || value instanceof Boolean
+        || value instanceof Short
+        || value instanceof Integer
+        || value instanceof Long
+        || value instanceof Double
+        || value instanceof UUID
+        || value instanceof BigDecimal
+        || value instanceof LocalDate
+        || value instanceof LocalDateTime
+        || value instanceof org.joda.time.LocalDate
+        || value instanceof org.joda.time.DateTime;
+  }
+
+}
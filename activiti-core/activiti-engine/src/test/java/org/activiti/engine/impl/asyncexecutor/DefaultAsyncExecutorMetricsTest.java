@@ -0,0 +1,86 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.asyncexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.activiti.engine.impl.asyncexecutor.DefaultAsyncExecutorMetrics.Histogram;
+import org.junit.Test;
+
+public class DefaultAsyncExecutorMetricsTest {
+
+    @Test
+    public void getSnapshot_shouldReportCountersAndQueueDepth() {
+        //given
+        DefaultAsyncExecutorMetrics metrics = new DefaultAsyncExecutorMetrics();
+        metrics.setQueueDepthSupplier(() -> 7);
+
+        //when
+        metrics.asyncJobsAcquired(3, 5);
+        metrics.timerJobsAcquired(2, 1);
+        metrics.jobExecuted(10);
+        metrics.jobExecuted(20);
+        metrics.jobFailed(30);
+        metrics.jobRejected();
+        metrics.exclusiveLockFailed();
+        metrics.optimisticLockingConflict();
+        metrics.expiredJobsReset(4);
+        Map<String, Object> snapshot = metrics.getSnapshot();
+
+        //then
+        assertThat(snapshot)
+            .containsEntry("queueDepth", 7)
+            .containsEntry("acquiredAsyncJobCount", 3L)
+            .containsEntry("acquiredTimerJobCount", 2L)
+            .containsEntry("executedJobCount", 2L)
+            .containsEntry("failedJobCount", 1L)
+            .containsEntry("rejectedJobCount", 1L)
+            .containsEntry("exclusiveLockFailureCount", 1L)
+            .containsEntry("optimisticLockingConflictCount", 1L)
+            .containsEntry("expiredJobResetCount", 4L);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> executionTime = (Map<String, Object>) snapshot.get("jobExecutionTimeInMillis");
+        assertThat(executionTime)
+            .containsEntry("count", 3L)
+            .containsEntry("mean", 20.0)
+            .containsEntry("max", 30L);
+    }
+
+    @Test
+    public void getPercentile_shouldReturnUpperBoundOfBucket() {
+        //given
+        Histogram histogram = new Histogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(3);
+        }
+        histogram.record(1000);
+
+        //then
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getPercentile(50)).isEqualTo(3);
+        assertThat(histogram.getPercentile(99)).isEqualTo(3);
+        assertThat(histogram.getPercentile(100)).isEqualTo(1000);
+    }
+
+    @Test
+    public void getPercentile_shouldReturnZero_WhenNothingRecorded() {
+        assertThat(new Histogram().getPercentile(95)).isEqualTo(0);
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.el.compiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.beans.FeatureDescriptor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javax.el.ELContext;
+import javax.el.ELResolver;
+import javax.el.PropertyNotFoundException;
+import de.odysseus.el.ExpressionFactoryImpl;
+import org.activiti.core.el.ELContextBuilder;
+import org.activiti.engine.impl.el.ExpressionManager;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExpressionCompilerTest {
+
+    private ExpressionCompiler expressionCompiler = new ExpressionCompiler();
+
+    private ExpressionFactoryImpl expressionFactory = new ExpressionFactoryImpl();
+
+    private ELContext elContext;
+
+    @Before
+    public void setUp() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("input", 2);
+        variables.put("name", "jon");
+        variables.put("flag", true);
+        variables.put("emptyList", Collections.emptyList());
+        variables.put("list", Arrays.asList(1, 2));
+        variables.put("person", Collections.singletonMap("name", "jane"));
+        variables.put("nothing", null);
+        elContext = new ExpressionManager().getElContext(variables);
+    }
+
+    @Test
+    public void compile_should_evaluateLikeInterpreter_when_expressionIsSupported() {
+        String[] expressions = {
+            "${input == 2}",
+            "#{input eq 3}",
+            "${input != 1 && name == 'jon'}",
+            "${input > 2 || flag}",
+            "${input gt 2 or not flag}",
+            "${!flag}",
+            "${input >= 1.5 and input <= 2}",
+            "${input < -1}",
+            "${-input == -2}",
+            "${input == '2'}",
+            "${empty emptyList}",
+            "${empty list}",
+            "${empty nothing}",
+            "${nothing == null}",
+            "${flag ? name : 'other'}",
+            "${input > 5 ? name : \"other\"}",
+            "${person.name == 'jane'}",
+            "${(input > 0) && (input < 10)}",
+            "${'a' < 'b'}",
+            "${1e2 == 100}",
+            "${name}",
+            " ${input} "
+        };
+
+        for (String expression : expressions) {
+            CompiledExpression compiledExpression = expressionCompiler.compile(expression);
+
+            assertThat(compiledExpression).as(expression).isNotNull();
+            assertThat(compiledExpression.getValue(elContext)).as(expression).isEqualTo(interpret(expression));
+        }
+    }
+
+    @Test
+    public void compile_should_returnNull_when_expressionIsNotSupported() {
+        String[] expressions = {
+            "${input + 1}",
+            "${now()}",
+            "${list[0]}",
+            "${person.get('name')}",
+            "${ns:fn(input)}",
+            "${flag ? ns:fn() : input}",
+            "${input} and ${name}",
+            "text without expression",
+            "${input div 2}",
+            "${'unterminated}",
+            "${}"
+        };
+
+        for (String expression : expressions) {
+            assertThat(expressionCompiler.compile(expression)).as(expression).isNull();
+        }
+    }
+
+    @Test
+    public void getValue_should_throwPropertyNotFoundException_when_identifierIsUnknown() {
+        //given
+        CompiledExpression compiledExpression = expressionCompiler.compile("${unknown == 1}");
+
+        //then
+        assertThatThrownBy(() -> compiledExpression.getValue(elContext))
+            .isInstanceOf(PropertyNotFoundException.class)
+            .hasMessageContaining("unknown");
+    }
+
+    @Test
+    public void getValue_should_resolveIdentifiersThroughElResolvers() {
+        //given
+        List<Object> resolvedNames = new ArrayList<>();
+        ELResolver resolver = new ELResolver() {
+            public Object getValue(ELContext context, Object base, Object property) {
+                if (base == null && "input".equals(property)) {
+                    resolvedNames.add(property);
+                    context.setPropertyResolved(true);
+                    return 7;
+                }
+                return null;
+            }
+
+            public Class<?> getType(ELContext context, Object base, Object property) {
+                return null;
+            }
+
+            public void setValue(ELContext context, Object base, Object property, Object value) {
+            }
+
+            public boolean isReadOnly(ELContext context, Object base, Object property) {
+                return true;
+            }
+
+            public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+                return null;
+            }
+
+            public Class<?> getCommonPropertyType(ELContext context, Object base) {
+                return Object.class;
+            }
+        };
+        ELContext resolverContext = new ELContextBuilder().withResolvers(resolver).build();
+
+        //when
+        Object value = expressionCompiler.compile("${input == 7}").getValue(resolverContext);
+
+        //then
+        assertThat(value).isEqualTo(true);
+        assertThat(resolvedNames).containsExactly("input");
+    }
+
+    private Object interpret(String expression) {
+        return expressionFactory.createValueExpression(elContext, expression.trim(), Object.class).getValue(elContext);
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.blob;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.ActivitiObjectNotFoundException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileSystemBlobStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private FileSystemBlobStore blobStore;
+
+    @Before
+    public void setUp() {
+        blobStore = new FileSystemBlobStore(temporaryFolder.getRoot().toPath());
+    }
+
+    @Test
+    public void publish_should_storeBytesUnderContentKey() {
+        //given
+        byte[] bytes = "some content".getBytes(StandardCharsets.UTF_8);
+        String key = blobStore.createKey(bytes);
+        String stagingKey = blobStore.stage(key, bytes);
+
+        //when
+        blobStore.publish(key, stagingKey);
+
+        //then
+        assertThat(stagingKey).isNotNull();
+        assertThat(key).isEqualTo(blobStore.createKey("some content".getBytes(StandardCharsets.UTF_8)));
+        assertThat(Files.exists(blobStore.getFile(key))).isTrue();
+        assertThat(blobStore.read(key)).isEqualTo(bytes);
+        assertThat(blobStore.getFile(key).getParent().toFile().list()).containsExactly(key);
+    }
+
+    @Test
+    public void stage_should_notStageBlob_when_contentAlreadyPublished() {
+        //given
+        byte[] bytes = "some content".getBytes(StandardCharsets.UTF_8);
+        String key = blobStore.createKey(bytes);
+        blobStore.publish(key, blobStore.stage(key, bytes));
+
+        //then
+        assertThat(blobStore.stage(key, bytes)).isNull();
+        assertThat(blobStore.getFile(key).getParent().toFile().list()).containsExactly(key);
+    }
+
+    @Test
+    public void discard_should_onlyRemoveOwnStagedBlob() {
+        //given
+        byte[] bytes = "some content".getBytes(StandardCharsets.UTF_8);
+        String key = blobStore.createKey(bytes);
+        String stagingKey = blobStore.stage(key, bytes);
+        String otherStagingKey = blobStore.stage(key, bytes);
+
+        //when
+        blobStore.discard(key, stagingKey);
+        blobStore.publish(key, otherStagingKey);
+
+        //then
+        assertThat(otherStagingKey).isNotEqualTo(stagingKey);
+        assertThat(blobStore.read(key)).isEqualTo(bytes);
+        assertThat(blobStore.getFile(key).getParent().toFile().list()).containsExactly(key);
+    }
+
+    @Test
+    public void discard_should_keepBlob_when_publishedByOtherStagingKey() {
+        //given
+        byte[] bytes = "some content".getBytes(StandardCharsets.UTF_8);
+        String key = blobStore.createKey(bytes);
+        String stagingKey = blobStore.stage(key, bytes);
+        String otherStagingKey = blobStore.stage(key, bytes);
+
+        //when
+        blobStore.publish(key, otherStagingKey);
+        blobStore.discard(key, stagingKey);
+
+        //then
+        assertThat(blobStore.read(key)).isEqualTo(bytes);
+        assertThat(blobStore.getFile(key).getParent().toFile().list()).containsExactly(key);
+    }
+
+    @Test
+    public void read_should_notReadStagedBlob_when_discarded() {
+        //given
+        byte[] bytes = new byte[] {1, 2, 3};
+        String key = blobStore.createKey(bytes);
+
+        //when
+        blobStore.discard(key, blobStore.stage(key, bytes));
+
+        //then
+        assertThatThrownBy(() -> blobStore.read(key)).isInstanceOf(ActivitiObjectNotFoundException.class);
+        assertThat(blobStore.getFile(key).getParent().toFile().list()).isEmpty();
+    }
+
+    @Test
+    public void read_should_publishStagedBlob_when_notPublishedYet() {
+        //given
+        byte[] bytes = new byte[] {1, 2, 3};
+        String key = blobStore.createKey(bytes);
+        String stagingKey = blobStore.stage(key, bytes);
+
+        //when
+        byte[] readBytes = blobStore.read(key);
+
+        //then
+        assertThat(readBytes).isEqualTo(bytes);
+        assertThat(blobStore.getFile(key).getParent().toFile().list()).containsExactly(key);
+
+        // publishing it afterwards has no effect
+        blobStore.publish(key, stagingKey);
+        assertThat(blobStore.read(key)).isEqualTo(bytes);
+    }
+
+    @Test
+    public void delete_should_removeBlob() {
+        //given
+        byte[] bytes = new byte[] {1, 2, 3};
+        String key = blobStore.createKey(bytes);
+        blobStore.publish(key, blobStore.stage(key, bytes));
+
+        //when
+        blobStore.delete(key);
+
+        //then
+        assertThatThrownBy(() -> blobStore.read(key)).isInstanceOf(ActivitiObjectNotFoundException.class);
+    }
+
+    @Test
+    public void read_should_rejectInvalidKeys() {
+        assertThatThrownBy(() -> blobStore.read("../../etc/passwd")).isInstanceOf(ActivitiIllegalArgumentException.class);
+        String key = blobStore.createKey(new byte[] {1});
+        assertThatThrownBy(() -> blobStore.discard(key, "../" + key)).isInstanceOf(ActivitiIllegalArgumentException.class);
+    }
+
+    @Test
+    public void blobReference_should_roundTripKey() {
+        //given
+        String key = blobStore.createKey(new byte[] {1});
+
+        //when
+        byte[] reference = BlobReference.toBytes(key);
+
+        //then
+        assertThat(BlobReference.isReference(reference)).isTrue();
+        assertThat(BlobReference.getKey(reference)).isEqualTo(key);
+        assertThat(BlobReference.isReference(new byte[] {0, 1, 2})).isFalse();
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.persistence.deploy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import org.activiti.bpmn.constants.BpmnXMLConstants;
+import org.activiti.bpmn.model.EndEvent;
+import org.activiti.bpmn.model.ExclusiveGateway;
+import org.activiti.bpmn.model.ExtensionAttribute;
+import org.activiti.bpmn.model.FlowElementsContainer;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.InclusiveGateway;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.StartEvent;
+import org.activiti.bpmn.model.SubProcess;
+import org.activiti.bpmn.model.UserTask;
+import org.activiti.engine.delegate.Expression;
+import org.activiti.engine.impl.el.ExpressionManager;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompiledProcessGraphTest {
+
+    private Process process;
+
+    @Before
+    public void setUp() {
+        // start -> task1 -> subProcess [ subStart -> subTask -> subEnd ] -> gateway -> (default) end
+        //                                                                         -> (condition) task2 -> task1
+        process = new Process();
+        process.setId("process");
+
+        StartEvent start = node(process, new StartEvent(), "start");
+        UserTask task1 = node(process, new UserTask(), "task1");
+        SubProcess subProcess = node(process, new SubProcess(), "subProcess");
+        StartEvent subStart = node(subProcess, new StartEvent(), "subStart");
+        UserTask subTask = node(subProcess, new UserTask(), "subTask");
+        EndEvent subEnd = node(subProcess, new EndEvent(), "subEnd");
+        ExclusiveGateway gateway = node(process, new ExclusiveGateway(), "gateway");
+        UserTask task2 = node(process, new UserTask(), "task2");
+        EndEvent end = node(process, new EndEvent(), "end");
+
+        flow(process, "flow1", start, task1);
+        flow(process, "flow2", task1, subProcess);
+        flow(subProcess, "subFlow1", subStart, subTask);
+        flow(subProcess, "subFlow2", subTask, subEnd);
+        flow(process, "flow3", subProcess, gateway);
+        flow(process, "defaultFlow", gateway, end);
+        flow(process, "conditionalFlow", gateway, task2).setConditionExpression("${loop}");
+        flow(process, "flow4", task2, task1);
+        gateway.setDefaultFlow("defaultFlow");
+    }
+
+    @Test
+    public void should_indexAllFlowNodesIncludingNestedOnes() {
+        CompiledProcessGraph graph = new CompiledProcessGraph(process, null);
+
+        assertThat(graph.size()).isEqualTo(9);
+        assertThat(graph.indexOf("subTask")).isNotEqualTo(CompiledProcessGraph.NO_INDEX);
+        assertThat(graph.getFlowNode(graph.indexOf("subTask")).getId()).isEqualTo("subTask");
+        assertThat(graph.indexOf("flow1")).isEqualTo(CompiledProcessGraph.NO_INDEX);
+        assertThat(graph.indexOf(new UserTask())).isEqualTo(CompiledProcessGraph.NO_INDEX);
+    }
+
+    @Test
+    public void should_resolveOutgoingFlowsDefaultFlowAndParents() {
+        CompiledProcessGraph graph = new CompiledProcessGraph(process, null);
+        int gateway = graph.indexOf("gateway");
+
+        assertThat(graph.getOutgoingFlows(gateway)).extracting(SequenceFlow::getId).containsExactly("defaultFlow", "conditionalFlow");
+        assertThat(graph.getOutgoingTargets(gateway)).containsExactly(graph.indexOf("end"), graph.indexOf("task2"));
+        assertThat(graph.getDefaultFlow(gateway).getId()).isEqualTo("defaultFlow");
+        assertThat(graph.getDefaultFlow(graph.indexOf("task1"))).isNull();
+
+        assertThat(graph.getParentSubProcess(graph.indexOf("subTask"))).isEqualTo(graph.indexOf("subProcess"));
+        assertThat(graph.getParentSubProcess(graph.indexOf("subProcess"))).isEqualTo(CompiledProcessGraph.NO_INDEX);
+    }
+
+    @Test
+    public void should_compileConditionExpressions() {
+        ExpressionManager expressionManager = mock(ExpressionManager.class);
+        Expression loopExpression = mock(Expression.class);
+        given(expressionManager.createExpression("${loop}")).willReturn(loopExpression);
+
+        CompiledProcessGraph graph = new CompiledProcessGraph(process, expressionManager);
+
+        assertThat(graph.getOutgoingConditions(graph.indexOf("gateway"))).containsExactly(null, loopExpression);
+    }
+
+    @Test
+    public void should_checkReachabilityThroughLoopsAndSubProcesses() {
+        CompiledProcessGraph graph = new CompiledProcessGraph(process, null);
+
+        assertThat(graph.isReachable(graph.indexOf("start"), graph.indexOf("end"))).isTrue();
+        assertThat(graph.isReachable(graph.indexOf("task2"), graph.indexOf("subTask"))).isFalse();
+        assertThat(graph.isReachable(graph.indexOf("task2"), graph.indexOf("subProcess"))).isTrue();
+        assertThat(graph.isReachable(graph.indexOf("subTask"), graph.indexOf("task1"))).isTrue();
+        assertThat(graph.isReachable(graph.indexOf("subStart"), graph.indexOf("subStart"))).isTrue();
+        assertThat(graph.isReachable(graph.indexOf("end"), graph.indexOf("task1"))).isFalse();
+    }
+
+    @Test
+    public void should_resolveSequenceFlowIdsToTheirTarget() {
+        CompiledProcessGraph graph = new CompiledProcessGraph(process, null);
+
+        assertThat(graph.indexOfElement("conditionalFlow")).isEqualTo(graph.indexOf("task2"));
+        assertThat(graph.indexOfElement("subFlow2")).isEqualTo(graph.indexOf("subEnd"));
+        assertThat(graph.indexOfElement("task1")).isEqualTo(graph.indexOf("task1"));
+        assertThat(graph.indexOfElement("unknown")).isEqualTo(CompiledProcessGraph.NO_INDEX);
+    }
+
+    @Test
+    public void should_precomputeReachableNodesForInclusiveGatewayProcesses() {
+        CompiledProcessGraph graph = new CompiledProcessGraph(process, null);
+        assertThat(graph.reachableNodes.get(graph.indexOf("start"))).isNull();
+
+        InclusiveGateway join = node(process, new InclusiveGateway(), "join");
+        flow(process, "flow5", join, node(process, new EndEvent(), "joinEnd"));
+        graph = new CompiledProcessGraph(process, null);
+
+        for (int i = 0; i < graph.size(); i++) {
+            assertThat(graph.reachableNodes.get(i)).isNotNull();
+        }
+        assertThat(graph.isReachable(graph.indexOf("start"), graph.indexOf("join"))).isFalse();
+        assertThat(graph.isReachable(graph.indexOf("join"), graph.indexOf("joinEnd"))).isTrue();
+    }
+
+    @Test
+    public void should_readStraightThroughAttributeOfProcess() {
+        assertThat(new CompiledProcessGraph(process, null).isStraightThrough()).isFalse();
+
+        ExtensionAttribute attribute = new ExtensionAttribute(BpmnXMLConstants.ACTIVITI_EXTENSIONS_NAMESPACE,
+            BpmnXMLConstants.ATTRIBUTE_PROCESS_STRAIGHT_THROUGH);
+        attribute.setValue("true");
+        process.addAttribute(attribute);
+
+        assertThat(new CompiledProcessGraph(process, null).isStraightThrough()).isTrue();
+    }
+
+    private <T extends FlowNode> T node(FlowElementsContainer container, T flowNode, String id) {
+        flowNode.setId(id);
+        container.addFlowElement(flowNode);
+        return flowNode;
+    }
+
+    private SequenceFlow flow(FlowElementsContainer container, String id, FlowNode source, FlowNode target) {
+        SequenceFlow sequenceFlow = new SequenceFlow(source.getId(), target.getId());
+        sequenceFlow.setId(id);
+        sequenceFlow.setSourceFlowElement(source);
+        sequenceFlow.setTargetFlowElement(target);
+        source.getOutgoingFlows().add(sequenceFlow);
+        target.getIncomingFlows().add(sequenceFlow);
+        container.addFlowElement(sequenceFlow);
+        return sequenceFlow;
+    }
+}
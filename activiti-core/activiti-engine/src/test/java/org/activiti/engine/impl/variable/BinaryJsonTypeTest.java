@@ -0,0 +1,276 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
+import org.junit.Test;
+
+public class BinaryJsonTypeTest {
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private BinaryJsonType binaryJsonType = new BinaryJsonType(BinaryJsonType.createSmileObjectMapper());
+
+    @Test
+    public void deserialize_should_returnEqualObject_when_serialized() {
+        //given
+        ValueFields valueFields = new VariableInstanceEntityImpl();
+        Order order = createOrder();
+
+        //when
+        byte[] bytes = binaryJsonType.serialize(order, valueFields);
+        Object deserialized = binaryJsonType.deserialize(bytes, valueFields);
+
+        //then
+        assertThat(valueFields.getTextValue2()).isEqualTo(Order.class.getName());
+        assertThat(deserialized).isInstanceOf(Order.class);
+        assertThat(((Order) deserialized).getCustomer()).isEqualTo("John");
+        assertThat(((Order) deserialized).getLines()).hasSize(20);
+        assertThat(((Order) deserialized).getLines().get(3).getQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    public void serialize_should_produceLessBytes_than_javaSerializationAndJson() {
+        //given
+        Order order = createOrder();
+        SerializableType serializableType = new SerializableType();
+        LongJsonType longJsonType = new LongJsonType(4001, objectMapper, true, new JsonTypeConverter(objectMapper, "@class"));
+
+        //when
+        int binaryJsonSize = binaryJsonType.serialize(order, new VariableInstanceEntityImpl()).length;
+        int javaSerializationSize = serializableType.serialize(order, new VariableInstanceEntityImpl()).length;
+        int jsonSize = longJsonType.serialize(order, new VariableInstanceEntityImpl()).length;
+
+        //then
+        assertThat(binaryJsonSize).isLessThan(javaSerializationSize);
+        assertThat(binaryJsonSize).isLessThan(jsonSize);
+    }
+
+    @Test
+    public void isAbleToStore_should_acceptSerializableObjects_when_noClassesAreConfigured() {
+        assertThat(binaryJsonType.isAbleToStore(createOrder())).isTrue();
+        assertThat(binaryJsonType.isAbleToStore(new byte[] {1})).isFalse();
+        assertThat(binaryJsonType.isAbleToStore(objectMapper.createObjectNode())).isFalse();
+        assertThat(binaryJsonType.isAbleToStore(new Object())).isFalse();
+        assertThat(binaryJsonType.isAbleToStore(null)).isFalse();
+    }
+
+    @Test
+    public void isAbleToStore_should_rejectCollectionsMapsArraysAndClassesWithoutDefaultConstructor() {
+        assertThat(binaryJsonType.isAbleToStore(new ArrayList<>(asList(new OrderLine("product", 1))))).isFalse();
+        assertThat(binaryJsonType.isAbleToStore(new HashMap<String, OrderLine>())).isFalse();
+        assertThat(binaryJsonType.isAbleToStore(new OrderLine[] {new OrderLine("product", 1)})).isFalse();
+        assertThat(binaryJsonType.isAbleToStore(new Discount(10))).isFalse();
+    }
+
+    @Test
+    public void isAbleToStore_should_rejectValues_when_notReadBackAsGiven() {
+        assertThat(binaryJsonType.isAbleToStoreClass(Order.class)).isNull();
+        // Empty bean
+        assertThat(binaryJsonType.isAbleToStore(new Marker())).isFalse();
+        // Field without accessors
+        assertThat(binaryJsonType.isAbleToStore(new Counter().increment())).isFalse();
+        // Member declared as Object, that would be read back as a map
+        assertThat(binaryJsonType.isAbleToStore(new Envelope(new OrderLine("product", 1)))).isFalse();
+        assertThat(binaryJsonType.isAbleToStore(new Envelope("product"))).isTrue();
+    }
+
+    @Test
+    public void findVariableType_should_useSerializableType_when_valueIsListOfObjects() {
+        //given
+        DefaultVariableTypes variableTypes = new DefaultVariableTypes();
+        variableTypes.addType(binaryJsonType);
+        variableTypes.addType(new SerializableType());
+        List<OrderLine> lines = new ArrayList<>(asList(new OrderLine("product-1", 1), new OrderLine("product-2", 2)));
+        ValueFields valueFields = new VariableInstanceEntityImpl();
+
+        //when
+        VariableType variableType = variableTypes.findVariableType(lines);
+        SerializableType serializableType = (SerializableType) variableType;
+        Object deserialized = serializableType.deserialize(serializableType.serialize(lines, valueFields), valueFields);
+
+        //then
+        assertThat(variableType.getTypeName()).isEqualTo(SerializableType.TYPE_NAME);
+        assertThat(deserialized).isInstanceOf(List.class);
+        assertThat((List<?>) deserialized).hasSize(2).hasOnlyElementsOfType(OrderLine.class);
+        assertThat(((OrderLine) ((List<?>) deserialized).get(1)).getQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    public void isAbleToStore_should_onlyAcceptConfiguredClasses_when_classesAreConfigured() {
+        //given
+        BinaryJsonType type = new BinaryJsonType(BinaryJsonType.createSmileObjectMapper(),
+            Collections.<Class<?>>singleton(Order.class), false);
+
+        //then
+        assertThat(type.isAbleToStoreClass(Order.class)).isTrue();
+        assertThat(type.isAbleToStoreClass(OrderLine.class)).isFalse();
+        assertThat(type.isAbleToStore(new OrderLine("product", 1))).isFalse();
+    }
+
+    private Order createOrder() {
+        List<OrderLine> lines = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            lines.add(new OrderLine("product-" + i, i));
+        }
+        Order order = new Order();
+        order.setCustomer("John");
+        order.setTags(asList("priority", "express"));
+        order.setLines(lines);
+        return order;
+    }
+
+    public static class Order implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String customer;
+        private List<String> tags;
+        private List<OrderLine> lines;
+
+        public String getCustomer() {
+            return customer;
+        }
+
+        public void setCustomer(String customer) {
+            this.customer = customer;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public List<OrderLine> getLines() {
+            return lines;
+        }
+
+        public void setLines(List<OrderLine> lines) {
+            this.lines = lines;
+        }
+    }
+
+    public static class Discount implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int percentage;
+
+        public Discount(int percentage) {
+            this.percentage = percentage;
+        }
+
+        public int getPercentage() {
+            return percentage;
+        }
+    }
+
+    public static class Marker implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    public static class Counter implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String name = "counter";
+        private int count;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Counter increment() {
+            count++;
+            return this;
+        }
+
+        public int count() {
+            return count;
+        }
+    }
+
+    public static class Envelope implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Object payload;
+
+        public Envelope() {
+        }
+
+        public Envelope(Object payload) {
+            this.payload = payload;
+        }
+
+        public Object getPayload() {
+            return payload;
+        }
+
+        public void setPayload(Object payload) {
+            this.payload = payload;
+        }
+    }
+
+    public static class OrderLine implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String product;
+        private int quantity;
+
+        public OrderLine() {
+        }
+
+        public OrderLine(String product, int quantity) {
+            this.product = product;
+            this.quantity = quantity;
+        }
+
+        public String getProduct() {
+            return product;
+        }
+
+        public void setProduct(String product) {
+            this.product = product;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
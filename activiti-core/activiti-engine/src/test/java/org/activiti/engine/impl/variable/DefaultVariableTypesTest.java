@@ -0,0 +1,180 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
+import org.junit.Test;
+
+public class DefaultVariableTypesTest {
+
+    @Test
+    public void findVariableType_should_resolveTypeOnlyOnce_when_itDependsOnTheValueClassOnly() {
+        //given
+        ClassAwareVariableType integerType = mock(ClassAwareVariableType.class);
+        given(integerType.getTypeName()).willReturn("integer");
+        given(integerType.isAbleToStoreClass(Integer.class)).willReturn(Boolean.TRUE);
+
+        DefaultVariableTypes variableTypes = new DefaultVariableTypes()
+            .addType(new NullType())
+            .addType(new StringType(10))
+            .addType(integerType);
+
+        //when
+        VariableType firstType = variableTypes.findVariableType(1);
+        VariableType secondType = variableTypes.findVariableType(2);
+
+        //then
+        assertThat(firstType).isSameAs(integerType);
+        assertThat(secondType).isSameAs(integerType);
+        verify(integerType, times(1)).isAbleToStoreClass(Integer.class);
+    }
+
+    @Test
+    public void findVariableType_should_checkTheValue_when_itDependsOnTheValueItself() {
+        //given
+        DefaultVariableTypes variableTypes = new DefaultVariableTypes()
+            .addType(new NullType())
+            .addType(new StringType(10))
+            .addType(new LongStringType(11))
+            .addType(new IntegerType());
+
+        //when
+        VariableType shortStringType = variableTypes.findVariableType("short");
+        VariableType longStringType = variableTypes.findVariableType("a string that is too long");
+
+        //then
+        assertThat(shortStringType).isInstanceOf(StringType.class);
+        assertThat(longStringType).isInstanceOf(LongStringType.class);
+        assertThat(variableTypes.findVariableType(null)).isInstanceOf(NullType.class);
+        assertThat(variableTypes.findVariableType(5)).isInstanceOf(IntegerType.class);
+    }
+
+    @Test
+    public void findVariableType_should_useNewlyAddedType_when_classWasResolvedBefore() {
+        //given
+        DefaultVariableTypes variableTypes = new DefaultVariableTypes()
+            .addType(new IntegerType());
+        variableTypes.findVariableType(1);
+
+        //when
+        variableTypes.addType(new SerializableType(), 0);
+
+        //then
+        assertThat(variableTypes.findVariableType(1)).isInstanceOf(SerializableType.class);
+    }
+
+    @Test
+    public void findVariableType_should_checkTheValue_when_customTypeOnlyOverridesValueCheck() {
+        //given
+        DefaultVariableTypes variableTypes = new DefaultVariableTypes()
+            .addType(new NullType())
+            .addType(new OnlyArrayListsSerializableType())
+            .addType(new SerializableType());
+
+        //when
+        VariableType listType = variableTypes.findVariableType(new ArrayList<String>());
+        VariableType mapType = variableTypes.findVariableType(new HashMap<String, String>());
+
+        //then
+        assertThat(listType).isInstanceOf(OnlyArrayListsSerializableType.class);
+        assertThat(mapType).isNotInstanceOf(OnlyArrayListsSerializableType.class);
+        assertThat(variableTypes.findVariableType(new HashMap<String, String>())).isNotInstanceOf(OnlyArrayListsSerializableType.class);
+    }
+
+    @Test
+    public void should_serializeLongJsonOnlyOnce_when_variableIsSet() throws Exception {
+        //given
+        ObjectMapper objectMapper = spy(new ObjectMapper());
+        JsonTypeConverter jsonTypeConverter = new JsonTypeConverter(objectMapper, "@class");
+        JsonValueSerializer jsonValueSerializer = new JsonValueSerializer(objectMapper);
+        DefaultVariableTypes variableTypes = new DefaultVariableTypes()
+            .addType(new NullType())
+            .addType(new JsonType(10, objectMapper, true, jsonTypeConverter, jsonValueSerializer, false))
+            .addType(new LongJsonType(11, objectMapper, true, jsonTypeConverter, jsonValueSerializer, false));
+
+        ObjectNode value = objectMapper.createObjectNode().put("name", "a value that is too long for the json type");
+        VariableInstanceEntityImpl valueFields = new VariableInstanceEntityImpl();
+
+        //when
+        VariableType type = variableTypes.findVariableType(value);
+        byte[] bytes = ((LongJsonType) type).serialize(value, valueFields);
+
+        //then
+        assertThat(type).isInstanceOf(LongJsonType.class);
+        assertThat(objectMapper.readTree(bytes)).isEqualTo(value);
+        verify(objectMapper, times(1)).writeValueAsString(value);
+    }
+
+    @Test
+    public void should_storeCurrentJson_when_valueIsModifiedAfterTypeCheck() throws Exception {
+        //given
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonTypeConverter jsonTypeConverter = new JsonTypeConverter(objectMapper, "@class");
+        JsonValueSerializer jsonValueSerializer = new JsonValueSerializer(objectMapper);
+        DefaultVariableTypes variableTypes = new DefaultVariableTypes()
+            .addType(new NullType())
+            .addType(new JsonType(100, objectMapper, true, jsonTypeConverter, jsonValueSerializer, false))
+            .addType(new LongJsonType(101, objectMapper, true, jsonTypeConverter, jsonValueSerializer, false));
+        ObjectNode value = objectMapper.createObjectNode().put("name", "before");
+        VariableInstanceEntityImpl valueFields = new VariableInstanceEntityImpl();
+
+        //when
+        VariableType type = variableTypes.findVariableType(value);
+        value.put("name", "after");
+        type.setValue(value, valueFields);
+
+        //then
+        assertThat(type).isInstanceOf(JsonType.class);
+        assertThat(objectMapper.readTree(valueFields.getTextValue()).get("name").asText()).isEqualTo("after");
+    }
+
+    @Test
+    public void getLength_should_stopWriting_when_limitIsExceeded() throws Exception {
+        //given
+        JsonValueSerializer jsonValueSerializer = new JsonValueSerializer(new ObjectMapper());
+
+        //then
+        assertThat(jsonValueSerializer.getLength("abc", 10)).isEqualTo(5);
+        assertThat(jsonValueSerializer.getLength(String.join("", Collections.nCopies(100000, "a")), 10)).isEqualTo(11);
+    }
+
+    static class OnlyArrayListsSerializableType extends SerializableType {
+
+        @Override
+        public String getTypeName() {
+            return "onlyArrayLists";
+        }
+
+        @Override
+        public boolean isAbleToStore(Object value) {
+            return value instanceof ArrayList;
+        }
+    }
+
+}
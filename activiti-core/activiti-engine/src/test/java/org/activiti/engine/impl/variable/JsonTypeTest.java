@@ -0,0 +1,129 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
+import org.junit.Test;
+
+public class JsonTypeTest {
+
+    private ObjectMapper objectMapper = spy(new ObjectMapper());
+
+    private JsonType jsonType = new JsonType(4000, objectMapper, false, new JsonTypeConverter(objectMapper, "@class"));
+
+    @Test
+    public void getValue_should_parseJsonOnlyOnce() throws Exception {
+        //given
+        ValueFields valueFields = new VariableInstanceEntityImpl();
+        valueFields.setTextValue("{\"customer\":{\"name\":\"John\"}}");
+
+        //when
+        Object firstValue = jsonType.getValue(valueFields);
+        Object secondValue = jsonType.getValue(valueFields);
+
+        //then
+        assertThat(firstValue).isEqualTo(secondValue);
+        assertThat(((ObjectNode) firstValue).get("customer").get("name").asText()).isEqualTo("John");
+        verify(objectMapper, times(1)).readTree(anyString());
+    }
+
+    @Test
+    public void getValue_should_notReturnModifiedValue_when_previouslyReadValueIsModified() {
+        //given
+        ValueFields valueFields = new VariableInstanceEntityImpl();
+        valueFields.setTextValue("{\"customer\":{\"name\":\"John\"}}");
+        ObjectNode firstValue = (ObjectNode) jsonType.getValue(valueFields);
+
+        //when
+        ((ObjectNode) firstValue.get("customer")).put("name", "Jane");
+        ObjectNode secondValue = (ObjectNode) jsonType.getValue(valueFields);
+
+        //then
+        assertThat(secondValue).isNotSameAs(firstValue);
+        assertThat(secondValue.get("customer").get("name").asText()).isEqualTo("John");
+    }
+
+    @Test
+    public void getValue_should_returnNewValue_when_valueWasSet() {
+        //given
+        ValueFields valueFields = new VariableInstanceEntityImpl();
+        valueFields.setTextValue("{\"name\":\"John\"}");
+        jsonType.getValue(valueFields);
+        ObjectNode newValue = objectMapper.createObjectNode().put("name", "Jane");
+
+        //when
+        jsonType.setValue(newValue, valueFields);
+
+        //then
+        assertThat(jsonType.getValue(valueFields)).isEqualTo(newValue);
+        assertThat(valueFields.getTextValue()).isEqualTo("{\"name\":\"Jane\"}");
+    }
+
+    @Test
+    public void entityGetValue_should_notReturnModifiedValue_when_previouslyReadValueIsModified() {
+        //given
+        VariableInstanceEntityImpl variable = new VariableInstanceEntityImpl();
+        variable.setType(jsonType);
+        variable.setTextValue("{\"customer\":{\"name\":\"John\"}}");
+        ObjectNode firstValue = (ObjectNode) variable.getValue();
+
+        //when
+        ((ObjectNode) firstValue.get("customer")).put("name", "Jane");
+        ObjectNode secondValue = (ObjectNode) variable.getValue();
+        ((ObjectNode) secondValue.get("customer")).put("name", "Jack");
+        ObjectNode thirdValue = (ObjectNode) variable.getValue();
+
+        //then
+        assertThat(secondValue.get("customer").get("name").asText()).isEqualTo("Jack");
+        assertThat(thirdValue.get("customer").get("name").asText()).isEqualTo("John");
+    }
+
+    @Test
+    public void entityGetValue_should_returnStoredValue_when_setValueIsModified() {
+        //given
+        VariableInstanceEntityImpl variable = new VariableInstanceEntityImpl();
+        variable.setType(jsonType);
+        variable.setTextValue("{\"name\":\"John\"}");
+        variable.getValue();
+        ObjectNode newValue = objectMapper.createObjectNode().put("name", "Jane");
+        variable.setValue(newValue);
+
+        //when
+        newValue.put("name", "Jack");
+
+        //then
+        assertThat(((ObjectNode) variable.getValue()).get("name").asText()).isEqualTo("Jane");
+    }
+
+    @Test
+    public void isChanged_should_ignoreFieldOrder() {
+        //given
+        ObjectNode value = objectMapper.createObjectNode().put("b", 2).put("a", 1);
+
+        //then
+        assertThat(jsonType.isChanged(value, "{\"a\":1,\"b\":2}")).isFalse();
+        assertThat(jsonType.isChanged(value.put("c", 3), "{\"a\":1,\"b\":2}")).isTrue();
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class SerializedVariableValueCacheTest {
+
+    @Test
+    public void get_should_returnBytes_when_revisionMatches() {
+        //given
+        SerializedVariableValueCache cache = new SerializedVariableValueCache(100);
+        byte[] bytes = new byte[10];
+        cache.add("1", 2, bytes);
+
+        //then
+        assertThat(cache.get("1", 2)).isSameAs(bytes);
+        assertThat(cache.get("1", 3)).isNull();
+        assertThat(cache.get("2", 2)).isNull();
+    }
+
+    @Test
+    public void getValue_should_returnValue_when_keptForRevision() {
+        //given
+        SerializedVariableValueCache cache = new SerializedVariableValueCache(100);
+        cache.add("1", 2, new byte[10], "value");
+        cache.add("2", 2, new byte[10]);
+
+        //then
+        assertThat(cache.getValue("1", 2)).isEqualTo("value");
+        assertThat(cache.getValue("1", 3)).isNull();
+        assertThat(cache.getValue("2", 2)).isNull();
+        assertThat(cache.contains("2")).isTrue();
+        assertThat(cache.contains("3")).isFalse();
+    }
+
+    @Test
+    public void add_should_evictLeastRecentlyUsedValues_when_maxSizeExceeded() {
+        //given
+        SerializedVariableValueCache cache = new SerializedVariableValueCache(100);
+        cache.add("1", 1, new byte[40]);
+        cache.add("2", 1, new byte[40]);
+        cache.get("1", 1);
+
+        //when
+        cache.add("3", 1, new byte[40]);
+
+        //then
+        assertThat(cache.get("2", 1)).isNull();
+        assertThat(cache.get("1", 1)).isNotNull();
+        assertThat(cache.get("3", 1)).isNotNull();
+        assertThat(cache.getSize()).isEqualTo(80);
+    }
+
+    @Test
+    public void add_should_replacePreviousRevision() {
+        //given
+        SerializedVariableValueCache cache = new SerializedVariableValueCache(100);
+        cache.add("1", 1, new byte[40]);
+
+        //when
+        cache.add("1", 2, new byte[30]);
+
+        //then
+        assertThat(cache.get("1", 2)).hasSize(30);
+        assertThat(cache.getNumberOfValues()).isEqualTo(1);
+        assertThat(cache.getSize()).isEqualTo(30);
+    }
+
+    @Test
+    public void add_should_skipValues_when_largerThanMaxSize() {
+        //given
+        SerializedVariableValueCache cache = new SerializedVariableValueCache(100);
+
+        //when
+        cache.add("1", 1, new byte[101]);
+
+        //then
+        assertThat(cache.getNumberOfValues()).isZero();
+        assertThat(cache.getSize()).isZero();
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import org.junit.Test;
+
+public class VariableValueComparatorTest {
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void isUnchanged_should_compareImmutableValuesByEquality() {
+        assertThat(VariableValueComparator.isUnchanged("test", new String("test"))).isTrue();
+        assertThat(VariableValueComparator.isUnchanged(123, 123)).isTrue();
+        assertThat(VariableValueComparator.isUnchanged(new BigDecimal("1.0"), new BigDecimal("1.0"))).isTrue();
+        assertThat(VariableValueComparator.isUnchanged(null, null)).isTrue();
+
+        assertThat(VariableValueComparator.isUnchanged("test", "other")).isFalse();
+        assertThat(VariableValueComparator.isUnchanged(new BigDecimal("1.0"), new BigDecimal("1.00"))).isFalse();
+        assertThat(VariableValueComparator.isUnchanged(123, 123L)).isFalse();
+        assertThat(VariableValueComparator.isUnchanged(null, "test")).isFalse();
+    }
+
+    @Test
+    public void isUnchanged_should_compareMutableValuesByContent_when_notSameInstance() {
+        ObjectNode jsonValue = objectMapper.createObjectNode().put("name", "John");
+
+        assertThat(VariableValueComparator.isUnchanged(new Date(1000L), new Date(1000L))).isTrue();
+        assertThat(VariableValueComparator.isUnchanged(new byte[] {1, 2}, new byte[] {1, 2})).isTrue();
+        assertThat(VariableValueComparator.isUnchanged(jsonValue, jsonValue.deepCopy())).isTrue();
+
+        assertThat(VariableValueComparator.isUnchanged(new byte[] {1, 2}, new byte[] {1, 3})).isFalse();
+        assertThat(VariableValueComparator.isUnchanged(jsonValue, jsonValue.deepCopy().put("name", "Jane"))).isFalse();
+    }
+
+    @Test
+    public void isUnchanged_should_considerSameMutableInstanceChanged() {
+        //given
+        Date date = new Date(1000L);
+        ObjectNode jsonValue = objectMapper.createObjectNode();
+
+        //then
+        assertThat(VariableValueComparator.isUnchanged(date, date)).isFalse();
+        assertThat(VariableValueComparator.isUnchanged(jsonValue, jsonValue)).isFalse();
+    }
+
+    @Test
+    public void isUnchanged_should_considerOtherObjectsChanged() {
+        assertThat(VariableValueComparator.isUnchanged(new ArrayList<String>(), new ArrayList<String>())).isFalse();
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.agenda;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Tests the tracking of execution tree changes, which decides whether the
+ * inactive behaviours need to be executed at the end of a command.
+ */
+public class ExecutionTreeChangeTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testVariableUpdateDoesNotChangeExecutionTree() {
+    final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    boolean treeChanged = managementService.executeCommand(new Command<Boolean>() {
+      public Boolean execute(CommandContext commandContext) {
+        commandContext.getProcessEngineConfiguration().getRuntimeService().setVariable(processInstance.getId(), "var", "value");
+        return commandContext.isExecutionTreeChanged();
+      }
+    });
+
+    assertThat(treeChanged).isFalse();
+    assertThat(runtimeService.getVariable(processInstance.getId(), "var")).isEqualTo("value");
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testCompletingTaskChangesExecutionTree() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    final Task task = taskService.createTaskQuery().singleResult();
+
+    boolean treeChanged = managementService.executeCommand(new Command<Boolean>() {
+      public Boolean execute(CommandContext commandContext) {
+        commandContext.getProcessEngineConfiguration().getTaskService().complete(task.getId());
+        return commandContext.isExecutionTreeChanged();
+      }
+    });
+
+    assertThat(treeChanged).isTrue();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(0);
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.agenda;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.activiti.engine.ActivitiEngineAgenda;
+import org.activiti.engine.ActivitiEngineAgendaFactory;
+import org.activiti.engine.history.HistoricActivityInstance;
+import org.activiti.engine.impl.agenda.DefaultActivitiEngineAgendaFactory;
+import org.activiti.engine.impl.agenda.PooledActivitiEngineAgenda;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Runs processes on the {@link PooledActivitiEngineAgenda}, which reuses its operation instances.
+ */
+public class PooledAgendaTest extends ResourceActivitiTestCase {
+
+  public PooledAgendaTest() {
+    super(PooledAgendaTest.class.getName().replace(".", File.separator) + ".activiti.cfg.xml");
+  }
+
+  public void testPooledAgendaIsUsed() {
+    ActivitiEngineAgenda agenda = managementService.executeCommand(new Command<ActivitiEngineAgenda>() {
+      public ActivitiEngineAgenda execute(CommandContext commandContext) {
+        return commandContext.getAgenda();
+      }
+    });
+    assertThat(agenda).isInstanceOf(PooledActivitiEngineAgenda.class);
+  }
+
+  @Deployment
+  public void testStraightThroughLoop() {
+    // Every iteration plans the same operation types again, so the pooled instances are reused many times
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("straightThroughLoop", singletonMap("counter", (Object) 0));
+
+    assertThat(runtimeService.getVariable(processInstance.getId(), "counter")).isEqualTo(50L);
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    assertThat(task.getName()).isEqualTo("Wait");
+
+    taskService.complete(task.getId());
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(0L);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/agenda/PooledAgendaTest.testStraightThroughLoop.bpmn20.xml")
+  public void testStraightThroughLoopMatchesDefaultAgenda() {
+    List<String> pooledAgendaRun = runStraightThroughLoop();
+
+    ActivitiEngineAgendaFactory pooledAgendaFactory = processEngineConfiguration.getEngineAgendaFactory();
+    processEngineConfiguration.setEngineAgendaFactory(new DefaultActivitiEngineAgendaFactory());
+    List<String> defaultAgendaRun;
+    try {
+      defaultAgendaRun = runStraightThroughLoop();
+    } finally {
+      processEngineConfiguration.setEngineAgendaFactory(pooledAgendaFactory);
+    }
+
+    // Same activities executed, same variable value and same wait state as with the default agenda
+    assertThat(pooledAgendaRun).isNotEmpty();
+    assertThat(pooledAgendaRun).isEqualTo(defaultAgendaRun);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testOneTaskProcess() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(0L);
+  }
+
+  protected List<String> runStraightThroughLoop() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("straightThroughLoop", singletonMap("counter", (Object) 0));
+
+    List<String> result = new ArrayList<String>();
+    for (HistoricActivityInstance activityInstance : historyService.createHistoricActivityInstanceQuery()
+        .processInstanceId(processInstance.getId()).list()) {
+      result.add(activityInstance.getActivityId());
+    }
+    Collections.sort(result);
+    result.add("counter=" + runtimeService.getVariable(processInstance.getId(), "counter"));
+    for (Task task : taskService.createTaskQuery().processInstanceId(processInstance.getId()).list()) {
+      result.add("task=" + task.getName());
+    }
+    return result;
+  }
+
+}
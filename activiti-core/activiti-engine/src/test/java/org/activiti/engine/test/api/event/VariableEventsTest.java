@@ -16,18 +16,28 @@
 
 package org.activiti.engine.test.api.event;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonMap;
 import static org.activiti.engine.impl.util.CollectionUtil.map;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.ActivitiVariableEvent;
+import org.activiti.engine.delegate.event.ActivitiVariableUpdatedEvent;
+import org.activiti.engine.history.HistoricDetail;
+import org.activiti.engine.history.HistoricVariableUpdate;
+import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.persistence.entity.ByteArrayRef;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntity;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -380,6 +390,112 @@ public class VariableEventsTest extends PluggableActivitiTestCase {
         }
     }
 
+    @Deployment(resources = {"org/activiti/engine/test/api/runtime/oneTaskProcess.bpmn20.xml"})
+    public void testCoalescedVariableUpdateEvents() throws Exception {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", singletonMap("counter", 0));
+        listener.clearEventsReceived();
+
+        processEngineConfiguration.getPerformanceSettings().setEnableVariableUpdateCoalescing(true);
+        try {
+            managementService.executeCommand(commandContext -> {
+                ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+                for (int i = 1; i <= 3; i++) {
+                    execution.setVariable("counter", i);
+                }
+                return null;
+            });
+        } finally {
+            processEngineConfiguration.getPerformanceSettings().setEnableVariableUpdateCoalescing(false);
+        }
+
+        // One event, from the value before the first update to the value after the last one
+        assertThat(listener.getEventsReceived()).hasSize(1);
+        ActivitiVariableUpdatedEvent event = (ActivitiVariableUpdatedEvent) listener.getEventsReceived().get(0);
+        assertThat(event.getType()).isEqualTo(ActivitiEventType.VARIABLE_UPDATED);
+        assertThat(event.getVariableName()).isEqualTo("counter");
+        assertThat(event.getVariablePreviousValue()).isEqualTo(0);
+        assertThat(event.getVariableValue()).isEqualTo(3);
+
+        if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.FULL)) {
+            // One historic detail for the create and one for the coalesced updates
+            List<HistoricDetail> historicDetails = historyService.createHistoricDetailQuery()
+                .variableUpdates().processInstanceId(processInstance.getId()).list();
+            assertThat(historicDetails)
+                .extracting(historicDetail -> ((HistoricVariableUpdate) historicDetail).getValue())
+                .containsExactlyInAnyOrder(0, 3);
+        }
+    }
+
+    @Deployment(resources = {"org/activiti/engine/test/api/runtime/oneTaskProcess.bpmn20.xml"})
+    public void testCoalescedVariableUpdateOfAnotherType() throws Exception {
+        if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.FULL)) {
+            return;
+        }
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", singletonMap("counter", 0));
+
+        processEngineConfiguration.getPerformanceSettings().setEnableVariableUpdateCoalescing(true);
+        try {
+            managementService.executeCommand(commandContext -> {
+                ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+                execution.setVariable("counter", new ArrayList<>(asList(1, 2)));
+                execution.setVariable("counter", "done");
+                return null;
+            });
+        } finally {
+            processEngineConfiguration.getPerformanceSettings().setEnableVariableUpdateCoalescing(false);
+        }
+
+        // The coalesced historic detail doesn't keep the byte array of the serialized list
+        List<HistoricDetail> historicDetails = historyService.createHistoricDetailQuery()
+            .variableUpdates().processInstanceId(processInstance.getId()).list();
+        assertThat(historicDetails)
+            .extracting(historicDetail -> ((HistoricVariableUpdate) historicDetail).getValue())
+            .containsExactlyInAnyOrder(0, "done");
+        for (HistoricDetail historicDetail : historicDetails) {
+            ByteArrayRef byteArrayRef = ((HistoricDetailVariableInstanceUpdateEntity) historicDetail).getByteArrayRef();
+            assertThat(byteArrayRef == null || byteArrayRef.getId() == null).isTrue();
+        }
+    }
+
+    @Deployment(resources = {"org/activiti/engine/test/api/runtime/RuntimeServiceTest.testSignalWithProcessVariables.bpmn20.xml"})
+    public void testCoalescedVariableUpdateEventListenerCanPlanOperations() throws Exception {
+        runtimeService.startProcessInstanceByKey("testSignalWithProcessVariables");
+        Execution receiveExecution = runtimeService.createExecutionQuery().activityId("receiveMessage").singleResult();
+        runtimeService.setVariableLocal(receiveExecution.getId(), "counter", 0);
+
+        // Continues the process from the receive task when its variable is updated
+        ActivitiEventListener triggerListener = new ActivitiEventListener() {
+
+            public void onEvent(ActivitiEvent event) {
+                ExecutionEntity execution = Context.getCommandContext().getExecutionEntityManager()
+                    .findById(((ActivitiVariableEvent) event).getExecutionId());
+                Context.getAgenda().planTriggerExecutionOperation(execution);
+            }
+
+            public boolean isFailOnException() {
+                return true;
+            }
+        };
+        processEngineConfiguration.getEventDispatcher().addEventListener(triggerListener, ActivitiEventType.VARIABLE_UPDATED);
+        processEngineConfiguration.getPerformanceSettings().setEnableVariableUpdateCoalescing(true);
+        try {
+            managementService.executeCommand(commandContext -> {
+                ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(receiveExecution.getId());
+                for (int i = 1; i <= 3; i++) {
+                    execution.setVariableLocal("counter", i);
+                }
+                return null;
+            });
+        } finally {
+            processEngineConfiguration.getPerformanceSettings().setEnableVariableUpdateCoalescing(false);
+            processEngineConfiguration.getEventDispatcher().removeEventListener(triggerListener);
+        }
+
+        // The operation planned by the listener was executed within the same command
+        Task task = taskService.createTaskQuery().singleResult();
+        assertThat(task.getTaskDefinitionKey()).isEqualTo("theTask");
+    }
+
     @Override
     protected void initializeServices() {
         super.initializeServices();
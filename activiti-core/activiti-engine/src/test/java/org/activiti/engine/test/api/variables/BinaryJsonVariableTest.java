@@ -0,0 +1,115 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Serializable;
+
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.impl.variable.BinaryJsonType;
+import org.activiti.engine.impl.variable.SerializableType;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.test.Deployment;
+
+public class BinaryJsonVariableTest extends ResourceActivitiTestCase {
+
+  public BinaryJsonVariableTest() {
+    super("org/activiti/standalone/cfg/variable/binary-json-variables-activiti.cfg.xml");
+  }
+
+  @Deployment(resources = {"org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml"})
+  public void testValuesNotReadBackAsGivenUseJavaSerialization() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    String processInstanceId = processInstance.getId();
+
+    runtimeService.setVariable(processInstanceId, "customer", new Envelope("John"));
+    runtimeService.setVariable(processInstanceId, "marker", new Marker());
+    runtimeService.setVariable(processInstanceId, "counter", new Counter().increment());
+    runtimeService.setVariable(processInstanceId, "envelope", new Envelope(new Envelope("John")));
+
+    assertThat(runtimeService.getVariableInstance(processInstanceId, "customer").getTypeName()).isEqualTo(BinaryJsonType.TYPE_NAME);
+    assertThat(((Envelope) runtimeService.getVariable(processInstanceId, "customer")).getPayload()).isEqualTo("John");
+
+    // Empty bean
+    assertThat(runtimeService.getVariableInstance(processInstanceId, "marker").getTypeName()).isEqualTo(SerializableType.TYPE_NAME);
+    assertThat(runtimeService.getVariable(processInstanceId, "marker")).isInstanceOf(Marker.class);
+
+    // Field without accessors
+    assertThat(runtimeService.getVariableInstance(processInstanceId, "counter").getTypeName()).isEqualTo(SerializableType.TYPE_NAME);
+    assertThat(((Counter) runtimeService.getVariable(processInstanceId, "counter")).count()).isEqualTo(1);
+
+    // Member declared as Object, that would be read back as a map
+    assertThat(runtimeService.getVariableInstance(processInstanceId, "envelope").getTypeName()).isEqualTo(SerializableType.TYPE_NAME);
+    Object payload = ((Envelope) runtimeService.getVariable(processInstanceId, "envelope")).getPayload();
+    assertThat(payload).isInstanceOf(Envelope.class);
+    assertThat(((Envelope) payload).getPayload()).isEqualTo("John");
+  }
+
+  public static class Marker implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+  }
+
+  public static class Counter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String name = "counter";
+    private int count;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public Counter increment() {
+      count++;
+      return this;
+    }
+
+    public int count() {
+      return count;
+    }
+  }
+
+  public static class Envelope implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Object payload;
+
+    public Envelope() {
+    }
+
+    public Envelope(Object payload) {
+      this.payload = payload;
+    }
+
+    public Object getPayload() {
+      return payload;
+    }
+
+    public void setPayload(Object payload) {
+      this.payload = payload;
+    }
+  }
+
+}
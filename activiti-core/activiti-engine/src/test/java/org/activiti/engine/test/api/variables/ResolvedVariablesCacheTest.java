@@ -0,0 +1,79 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.api.variables;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class ResolvedVariablesCacheTest extends PluggableActivitiTestCase {
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.getPerformanceSettings().setEnableResolvedVariablesCache(true);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.getPerformanceSettings().setEnableResolvedVariablesCache(false);
+    super.tearDown();
+  }
+
+  @Deployment(resources = {"org/activiti/engine/test/bpmn/subprocess/SubProcessTest.testNestedSimpleSubProcess.bpmn20.xml"})
+  public void testResolveVariablesOfParentScopes() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("nestedSimpleSubProcess", singletonMap("name", "John"));
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+
+    managementService.executeCommand(commandContext -> {
+      ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(task.getExecutionId());
+      ExecutionEntity parentScope = execution.getParent();
+
+      assertThat(execution.getVariable("name")).isEqualTo("John");
+      assertThat(execution.getVariable("unknown")).isNull();
+
+      // Updates of the resolved variable are visible
+      commandContext.getExecutionEntityManager().findById(processInstance.getId()).setVariable("name", "Joe");
+      assertThat(execution.getVariable("name")).isEqualTo("Joe");
+
+      // A variable created on a scope in between shadows the process variable
+      parentScope.setVariableLocal("name", "Jane");
+      parentScope.setVariableLocal("unknown", "known");
+      assertThat(execution.getVariable("name")).isEqualTo("Jane");
+      assertThat(execution.getVariable("unknown")).isEqualTo("known");
+
+      // Removing it makes the process variable visible again
+      parentScope.removeVariableLocal("name");
+      assertThat(execution.getVariable("name")).isEqualTo("Joe");
+
+      // Transient variables shadow the persistent ones
+      parentScope.setTransientVariableLocal("name", "Transient");
+      assertThat(execution.getVariable("name")).isEqualTo("Transient");
+      parentScope.removeTransientVariableLocal("name");
+      assertThat(execution.getVariable("name")).isEqualTo("Joe");
+      return null;
+    });
+
+    assertThat(runtimeService.getVariable(processInstance.getId(), "name")).isEqualTo("Joe");
+    assertThat(runtimeService.getVariableLocal(processInstance.getId(), "unknown")).isNull();
+  }
+
+}
@@ -18,12 +18,18 @@ package org.activiti.engine.test.api.variables;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.delegate.JavaDelegate;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.impl.variable.SerializableType;
+import org.activiti.engine.impl.variable.SerializedVariableValueCache;
+import org.activiti.engine.impl.variable.VariableType;
+import org.activiti.engine.impl.variable.VariableTypes;
 import org.activiti.engine.runtime.ProcessInstance;
 import org.activiti.engine.task.Task;
 import org.activiti.engine.test.Deployment;
@@ -48,6 +54,56 @@ public class SerializableVariableTest extends PluggableActivitiTestCase {
     assertThat(testSerializableVariable.getNumber()).isEqualTo(2);
   }
 
+  @Deployment(resources = {"org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml"})
+  public void testSerializedVariableValueCache() {
+    processEngineConfiguration.setSerializedVariableValueCache(new SerializedVariableValueCache(1024 * 1024));
+    try {
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+          Collections.<String, Object>singletonMap("myVar", new TestSerializableVariable(1)));
+
+      // The bytes are cached, but every command deserializes its own instance of the value
+      TestSerializableVariable firstValue = (TestSerializableVariable) runtimeService.getVariable(processInstance.getId(), "myVar");
+      firstValue.setNumber(3);
+      TestSerializableVariable secondValue = (TestSerializableVariable) runtimeService.getVariable(processInstance.getId(), "myVar");
+      assertThat(secondValue).isNotSameAs(firstValue);
+      assertThat(secondValue.getNumber()).isEqualTo(1);
+      assertThat(processEngineConfiguration.getSerializedVariableValueCache().getNumberOfValues()).isEqualTo(1);
+
+      // An update of the byte array changes its revision, so the cached value is not used anymore
+      runtimeService.setVariable(processInstance.getId(), "myVar", new TestSerializableVariable(2));
+      TestSerializableVariable updatedValue = (TestSerializableVariable) runtimeService.getVariable(processInstance.getId(), "myVar");
+      assertThat(updatedValue).isNotSameAs(firstValue);
+      assertThat(updatedValue.getNumber()).isEqualTo(2);
+    } finally {
+      processEngineConfiguration.setSerializedVariableValueCache(null);
+    }
+  }
+
+  @Deployment(resources = {"org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml"})
+  public void testSerializedVariableValueCacheSharesImmutableValues() {
+    // Deserialized objects are only shared when they are not tracked
+    VariableTypes variableTypes = processEngineConfiguration.getVariableTypes();
+    VariableType trackingSerializableType = variableTypes.getVariableType(SerializableType.TYPE_NAME);
+    int serializableTypeIndex = variableTypes.getTypeIndex(trackingSerializableType);
+    variableTypes.removeType(trackingSerializableType);
+    variableTypes.addType(new SerializableType(false), serializableTypeIndex);
+    processEngineConfiguration.setSerializedVariableValueCache(new SerializedVariableValueCache(1024 * 1024));
+    try {
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+          Collections.<String, Object>singletonMap("myVar", new BigInteger("12345678901234567890")));
+
+      // Values that can't be modified are deserialized once and shared between commands
+      Object firstValue = runtimeService.getVariable(processInstance.getId(), "myVar");
+      Object secondValue = runtimeService.getVariable(processInstance.getId(), "myVar");
+      assertThat(firstValue).isEqualTo(new BigInteger("12345678901234567890"));
+      assertThat(secondValue).isSameAs(firstValue);
+    } finally {
+      processEngineConfiguration.setSerializedVariableValueCache(null);
+      variableTypes.removeType(variableTypes.getVariableType(SerializableType.TYPE_NAME));
+      variableTypes.addType(trackingSerializableType, serializableTypeIndex);
+    }
+  }
+
   public static class TestUpdateSerializableVariableDelegate implements JavaDelegate {
 
     public void execute(DelegateExecution execution) {
@@ -26,7 +26,11 @@ import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.ActivitiException;
+import org.activiti.engine.delegate.Expression;
+import org.activiti.engine.impl.el.JuelExpression;
+import org.activiti.engine.impl.persistence.deploy.CompiledProcessGraph;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.ProcessInstance;
 import org.activiti.engine.task.Task;
@@ -46,6 +50,28 @@ public class ExclusiveGatewayTest extends PluggableActivitiTestCase {
     }
   }
 
+  @Deployment(resources = "org/activiti/engine/test/bpmn/gateway/ExclusiveGatewayTest.testDivergingExclusiveGateway.bpmn20.xml")
+  public void testDivergingExclusiveGatewayWithCompiledConditions() {
+    processEngineConfiguration.setEnableExpressionCompilation(true).setExpressionCompilationThreshold(2);
+    try {
+      String processDefinitionId = null;
+      for (int run = 0; run < 3; run++) {
+        for (int i = 1; i <= 3; i++) {
+          ProcessInstance pi = runtimeService.startProcessInstanceByKey("exclusiveGwDiverging", singletonMap("input", i));
+          assertThat(taskService.createTaskQuery().singleResult().getName()).isEqualTo("Task " + i);
+          runtimeService.deleteProcessInstance(pi.getId(), "testing deletion");
+          processDefinitionId = pi.getProcessDefinitionId();
+        }
+      }
+
+      // The conditions are parsed once, so every condition reached the threshold and routed the last runs compiled
+      CompiledProcessGraph processGraph = getCompiledProcessGraph(processDefinitionId);
+      assertCompiled(processGraph.getOutgoingConditions(processGraph.indexOf("exclusiveGw")));
+    } finally {
+      processEngineConfiguration.setEnableExpressionCompilation(false).setExpressionCompilationThreshold(100);
+    }
+  }
+
   @Deployment
   public void testSkipExpression() {
     for (int i = 1; i <= 3; i++) {
@@ -59,6 +85,31 @@ public class ExclusiveGatewayTest extends PluggableActivitiTestCase {
     }
   }
 
+  @Deployment(resources = "org/activiti/engine/test/bpmn/gateway/ExclusiveGatewayTest.testSkipExpression.bpmn20.xml")
+  public void testSkipExpressionWithCompiledExpressions() {
+    processEngineConfiguration.setEnableExpressionCompilation(true).setExpressionCompilationThreshold(2);
+    try {
+      String processDefinitionId = null;
+      for (int run = 0; run < 3; run++) {
+        for (int i = 1; i <= 3; i++) {
+          Map<String, Object> variables = new HashMap<String, Object>();
+          variables.put("_ACTIVITI_SKIP_EXPRESSION_ENABLED", true);
+          variables.put("input", -i);
+
+          ProcessInstance pi = runtimeService.startProcessInstanceByKey("exclusiveGwDivergingSkipExpression", variables);
+          assertThat(taskService.createTaskQuery().singleResult().getName()).isEqualTo("Task " + i);
+          runtimeService.deleteProcessInstance(pi.getId(), "testing deletion");
+          processDefinitionId = pi.getProcessDefinitionId();
+        }
+      }
+
+      CompiledProcessGraph processGraph = getCompiledProcessGraph(processDefinitionId);
+      assertCompiled(processGraph.getOutgoingSkipExpressions(processGraph.indexOf("exclusiveGw")));
+    } finally {
+      processEngineConfiguration.setEnableExpressionCompilation(false).setExpressionCompilationThreshold(100);
+    }
+  }
+
   @Deployment
   public void testMergingExclusiveGateway() {
     runtimeService.startProcessInstanceByKey("exclusiveGwMerging");
@@ -208,4 +259,15 @@ public class ExclusiveGatewayTest extends PluggableActivitiTestCase {
     assertThat(count).isEqualTo(0);
   }
 
+  protected CompiledProcessGraph getCompiledProcessGraph(String processDefinitionId) {
+    return managementService.executeCommand(commandContext -> ProcessDefinitionUtil.getCompiledProcessGraph(processDefinitionId));
+  }
+
+  protected void assertCompiled(Expression[] expressions) {
+    assertThat(expressions).hasSize(3);
+    for (Expression expression : expressions) {
+      assertThat(((JuelExpression) expression).isCompiled()).as(expression.getExpressionText()).isTrue();
+    }
+  }
+
 }
@@ -26,6 +26,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.EndEvent;
+import org.activiti.bpmn.model.InclusiveGateway;
+import org.activiti.bpmn.model.ManualTask;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.StartEvent;
+import org.activiti.bpmn.model.UserTask;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
@@ -317,6 +325,75 @@ public class InclusiveGatewayTest extends PluggableActivitiTestCase {
     assertProcessEnded(pi.getId());
   }
 
+  /**
+   * Joins 200 concurrent tokens in one transaction on a 300 node process: every arriving token
+   * checks the reachability of the join for all the other tokens.
+   */
+  public void testJoinWithManyConcurrentTokens() {
+    int branches = 200;
+    int chainLength = 95;
+
+    BpmnModel model = new BpmnModel();
+    Process process = new Process();
+    process.setId("inclusiveManyTokens");
+    model.addProcess(process);
+
+    StartEvent start = new StartEvent();
+    start.setId("start");
+    process.addFlowElement(start);
+    String previous = "start";
+    for (int i = 0; i < chainLength; i++) {
+      ManualTask chainTask = new ManualTask();
+      chainTask.setId("chain" + i);
+      process.addFlowElement(chainTask);
+      process.addFlowElement(sequenceFlow(previous, chainTask.getId()));
+      previous = chainTask.getId();
+    }
+
+    InclusiveGateway fork = new InclusiveGateway();
+    fork.setId("fork");
+    process.addFlowElement(fork);
+    process.addFlowElement(sequenceFlow(previous, "fork"));
+    InclusiveGateway join = new InclusiveGateway();
+    join.setId("join");
+    process.addFlowElement(join);
+    for (int i = 0; i < branches; i++) {
+      ManualTask branchTask = new ManualTask();
+      branchTask.setId("branch" + i);
+      process.addFlowElement(branchTask);
+      process.addFlowElement(sequenceFlow("fork", branchTask.getId()));
+      process.addFlowElement(sequenceFlow(branchTask.getId(), "join"));
+    }
+
+    UserTask afterJoin = new UserTask();
+    afterJoin.setId("afterJoin");
+    afterJoin.setName("After join");
+    process.addFlowElement(afterJoin);
+    process.addFlowElement(sequenceFlow("join", "afterJoin"));
+    EndEvent end = new EndEvent();
+    end.setId("end");
+    process.addFlowElement(end);
+    process.addFlowElement(sequenceFlow("afterJoin", "end"));
+
+    String deploymentId = repositoryService.createDeployment().addBpmnModel("inclusiveManyTokens.bpmn20.xml", model).deploy().getId();
+    deploymentIdsForAutoCleanup.add(deploymentId);
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("inclusiveManyTokens");
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    assertThat(task.getName()).isEqualTo("After join");
+    assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).onlyChildExecutions().count()).isEqualTo(1);
+
+    taskService.complete(task.getId());
+    assertProcessEnded(processInstance.getId());
+  }
+
+  protected SequenceFlow sequenceFlow(String sourceRef, String targetRef) {
+    SequenceFlow sequenceFlow = new SequenceFlow(sourceRef, targetRef);
+    sequenceFlow.setId(sourceRef + "_" + targetRef);
+    return sequenceFlow;
+  }
+
   @Deployment
   public void testJoinAfterSubprocesses() {
     // Test case to test act-1204
@@ -20,6 +20,7 @@ package org.activiti.engine.test.bpmn.gateway;
 import java.util.List;
 
 import org.activiti.engine.history.HistoricActivityInstance;
+import org.activiti.engine.impl.bpmn.behavior.ParallelGatewayActivityBehavior;
 import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -106,6 +107,39 @@ public class ParallelGatewayTest extends PluggableActivitiTestCase {
     assertThat(tasks.get(0).getName()).isEqualTo("Task C");
   }
 
+  @Deployment(resources = "org/activiti/engine/test/bpmn/gateway/ParallelGatewayTest.testNestedForkJoin.bpmn20.xml")
+  public void testNestedForkJoinWithJoinCounter() {
+    processEngineConfiguration.setEnableParallelGatewayJoinCounter(true);
+    try {
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("nestedForkJoin");
+      TaskQuery query = taskService.createTaskQuery().orderByTaskName().asc();
+      taskService.complete(query.singleResult().getId());
+
+      // Completing task A only increments the counter of Join AB
+      List<Task> tasks = query.list();
+      assertThat(tasks.get(0).getName()).isEqualTo("Task A");
+      taskService.complete(tasks.get(0).getId());
+      assertThat(runtimeService.getVariable(processInstance.getId(), ParallelGatewayActivityBehavior.JOIN_COUNTER_VARIABLE_PREFIX + "Join_AB")).isEqualTo(1);
+
+      taskService.complete(query.singleResult().getId());
+      tasks = query.list();
+      assertThat(tasks).extracting(Task::getName).containsExactly("Task B1", "Task B2");
+
+      // Completing B1 and B2 activates both joins and removes the counters
+      taskService.complete(tasks.get(0).getId());
+      taskService.complete(tasks.get(1).getId());
+      tasks = query.list();
+      assertThat(tasks).extracting(Task::getName).containsExactly("Task C");
+      assertThat(runtimeService.getVariables(processInstance.getId())).isEmpty();
+      assertThat(runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).onlyChildExecutions().count()).isEqualTo(1);
+
+      taskService.complete(tasks.get(0).getId());
+      assertProcessEnded(processInstance.getId());
+    } finally {
+      processEngineConfiguration.setEnableParallelGatewayJoinCounter(false);
+    }
+  }
+
   /**
    * https://activiti.atlassian.net/browse/ACT-1222
    */
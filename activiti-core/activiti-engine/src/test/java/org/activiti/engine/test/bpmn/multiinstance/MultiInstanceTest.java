@@ -23,6 +23,7 @@ import static java.util.Collections.singleton;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
@@ -34,6 +35,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.delegate.DelegateTask;
 import org.activiti.engine.delegate.ExecutionListener;
+import org.activiti.engine.delegate.MultiInstanceElement;
+import org.activiti.engine.delegate.MultiInstanceElementSource;
 import org.activiti.engine.delegate.TaskListener;
 import org.activiti.engine.history.HistoricActivityInstance;
 import org.activiti.engine.history.HistoricProcessInstance;
@@ -80,6 +83,27 @@ public class MultiInstanceTest extends PluggableActivitiTestCase {
     assertProcessEnded(procId);
   }
 
+  @Deployment
+  public void testSequentialUserTasksWithElementSource() {
+    String procId = runtimeService.startProcessInstanceByKey("miSequentialUserTasksWithElementSource",
+        singletonMap("elementSource", new CountingElementSource(3))).getId();
+    Execution outerInstance = retrieveOuterExecution(procId);
+
+    for (int i = 0; i < 3; i++) {
+      Task task = taskService.createTaskQuery().singleResult();
+      assertThat(task.getName()).isEqualTo("My Task element-" + i);
+
+      // Only the position of the current element is kept
+      Map<String, Object> outerVariables = runtimeService.getVariablesLocal(outerInstance.getId());
+      assertThat(outerVariables).containsEntry("elementSourcePosition", String.valueOf(i));
+      assertThat(outerVariables).containsEntry(NR_OF_INSTANCES_KEY, i + 1);
+      taskService.complete(task.getId());
+    }
+
+    assertThat(taskService.createTaskQuery().singleResult()).isNull();
+    assertProcessEnded(procId);
+  }
+
   private Execution retrieveOuterExecution(String procId) {
     List<Execution> executions = runtimeService.createExecutionQuery().parentId(procId).list();
     assertThat(executions).hasSize(1);
@@ -222,6 +246,73 @@ public class MultiInstanceTest extends PluggableActivitiTestCase {
     assertProcessEnded(procId);
   }
 
+  @Deployment(resources = { "org/activiti/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml" })
+  public void testParallelUserTasksWithWindow() {
+    processEngineConfiguration.setParallelMultiInstanceWindowSize(2);
+    try {
+      String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasks").getId();
+
+      // Only the first two instances are created up front
+      List<Task> tasks = taskService.createTaskQuery().orderByTaskName().asc().list();
+      assertThat(tasks).extracting(Task::getName).containsExactly("My Task 0", "My Task 1");
+
+      Execution outerExecution = retrieveOuterExecution(procId);
+      checkBuiltInOuterVariables(outerExecution, 2, 0);
+
+      // Completing an instance creates the next one
+      taskService.complete(tasks.get(0).getId());
+      tasks = taskService.createTaskQuery().orderByTaskName().asc().list();
+      assertThat(tasks).extracting(Task::getName).containsExactly("My Task 1", "My Task 2");
+      checkInnerInstanceVariables(tasks.get(1), 2, LOOP_COUNTER_KEY);
+      checkBuiltInOuterVariables(outerExecution, 2, 1);
+
+      // The completed instance is deleted when its slot is refilled: the root and the two active instances remain
+      assertThat(runtimeService.createExecutionQuery().processInstanceId(procId).activityId("miTasks").count()).isEqualTo(3);
+
+      taskService.complete(tasks.get(0).getId());
+      checkBuiltInOuterVariables(outerExecution, 1, 2);
+      taskService.complete(tasks.get(1).getId());
+
+      assertProcessEnded(procId);
+    } finally {
+      processEngineConfiguration.setParallelMultiInstanceWindowSize(0);
+    }
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelScriptTasks.bpmn20.xml" })
+  public void testParallelScriptTasksWithAsyncWindow() {
+    processEngineConfiguration.setParallelMultiInstanceWindowSize(3);
+    processEngineConfiguration.setParallelMultiInstanceAsyncWindow(true);
+    try {
+      Map<String, Object> vars = new HashMap<String, Object>();
+      vars.put("sum", 0);
+      vars.put(NR_OF_LOOPS_KEY, 10);
+      String procId = runtimeService.startProcessInstanceByKey("miParallelScriptTask", vars).getId();
+
+      // The first window runs in the starting transaction, every completed instance schedules the next one
+      assertThat(managementService.createJobQuery().processInstanceId(procId).count()).isEqualTo(3);
+
+      List<Job> jobs = managementService.createJobQuery().processInstanceId(procId).list();
+      while (!jobs.isEmpty()) {
+        for (Job job : jobs) {
+          managementService.executeJob(job.getId());
+        }
+        jobs = managementService.createJobQuery().processInstanceId(procId).list();
+      }
+
+      assertThat(runtimeService.getVariable(procId, "sum")).isEqualTo(45);
+      assertThat(runtimeService.createExecutionQuery().processInstanceId(procId).activityId("waitState").count()).isEqualTo(1);
+
+      // The instances started through a job are started like the others
+      if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+        assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(procId).activityType("scriptTask").count()).isEqualTo(10);
+      }
+    } finally {
+      processEngineConfiguration.setParallelMultiInstanceWindowSize(0);
+      processEngineConfiguration.setParallelMultiInstanceAsyncWindow(false);
+    }
+  }
+
   private void checkBuiltInOuterVariables(Execution outerExecution, int expetedActiveNumber, int expectedCompletedNumber) {
     Map<String, Object> variables = runtimeService.getVariablesLocal(outerExecution.getId());
     assertThat(variables).containsEntry(NR_OF_INSTANCES_KEY, 3);
@@ -1513,6 +1604,35 @@ public class MultiInstanceTest extends PluggableActivitiTestCase {
   	TestTaskCompletionListener.count.set(0);
   }
 
+  public static class CountingElementSource implements MultiInstanceElementSource, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int size;
+
+    public CountingElementSource() {
+    }
+
+    public CountingElementSource(int size) {
+      this.size = size;
+    }
+
+    @Override
+    public MultiInstanceElement next(DelegateExecution execution, String position) {
+      int index = position != null ? Integer.parseInt(position) + 1 : 0;
+      return index < size ? new MultiInstanceElement("element-" + index, String.valueOf(index)) : null;
+    }
+
+    public int getSize() {
+      return size;
+    }
+
+    public void setSize(int size) {
+      this.size = size;
+    }
+
+  }
+
   public static class TestStartExecutionListener implements ExecutionListener {
 
   	public static AtomicInteger countWithLoopCounter = new AtomicInteger(0);
@@ -14,6 +14,11 @@
  * limitations under the License.
  */
 package org.activiti.engine.test.cfg.executioncount;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,7 +27,13 @@ import org.activiti.engine.impl.cfg.CommandExecutorImpl;
 import org.activiti.engine.impl.db.DbSqlSessionFactory;
 import org.activiti.engine.impl.history.DefaultHistoryManager;
 import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandInterceptor;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.repository.Deployment;
 import org.activiti.engine.task.Task;
@@ -32,6 +43,10 @@ import org.activiti.engine.test.profiler.ConsoleLogger;
 import org.activiti.engine.test.profiler.ProfileSession;
 import org.activiti.engine.test.profiler.ProfilingDbSqlSessionFactory;
 import org.activiti.engine.test.profiler.TotalExecutionTimeCommandInterceptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -141,6 +156,25 @@ public class VerifyDatabaseOperationsTest extends PluggableActivitiTestCase {
     assertThat(historyService.createHistoricProcessInstanceQuery().finished().count()).isEqualTo(1);
   }
 
+  public void testStraightThroughWithoutExecutionRelationshipCounts() {
+    processEngineConfiguration.getPerformanceSettings().setEnableEagerExecutionTreeFetching(false);
+    processEngineConfiguration.getPerformanceSettings().setEnableExecutionRelationshipCounts(false);
+
+    deployStartProcessInstanceAndProfile("process-straight-through.bpmn20.xml", "process-straight-through");
+
+    // Related data of the executions is taken from memory, not queried when the process instance ends
+    assertDatabaseSelects("StartProcessInstanceCmd",
+        "selectLatestProcessDefinitionByKey", 1L);
+    assertDatabaseInserts("StartProcessInstanceCmd",
+        "HistoricVariableInstanceEntityImpl-bulk-with-4", 1L,
+        "HistoricProcessInstanceEntityImpl", 1L,
+        "HistoricActivityInstanceEntityImpl-bulk-with-9", 1L);
+    assertNoUpdatesAndDeletes("StartProcessInstanceCmd");
+
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(0);
+    assertThat(historyService.createHistoricProcessInstanceQuery().finished().count()).isEqualTo(1);
+  }
+
   public void testManyVariablesViaServiceTaskAndPassthroughs() {
     deployStartProcessInstanceAndProfile("process-variables-servicetask02.bpmn20.xml", "process-variables-servicetask02");
 
@@ -264,6 +298,159 @@ public class VerifyDatabaseOperationsTest extends PluggableActivitiTestCase {
   }
 
 
+  public void testProcessInstanceBulkDelete() {
+    processEngineConfiguration.getPerformanceSettings().setEnableExecutionRelationshipCounts(false);
+    processEngineConfiguration.getPerformanceSettings().setEnableProcessInstanceBulkDelete(true);
+    try {
+      deploy("process-usertask-01.bpmn20.xml");
+
+      Map<String, Object> variables = new HashMap<String, Object>();
+      variables.put("simpleVar", "test");
+      variables.put("serializableVar", new ArrayList<String>(Arrays.asList("a", "b")));
+      runtimeService.startProcessInstanceByKey("process-usertask-01", variables);
+      Task task = taskService.createTaskQuery().singleResult();
+
+      String byteArrayTable = managementService.getTableName(ByteArrayEntity.class);
+      String variableTable = managementService.getTableName(VariableInstanceEntity.class);
+      long byteArrayCount = managementService.getTableCount().get(byteArrayTable);
+      assertThat(managementService.getTableCount().get(variableTable)).isEqualTo(2L);
+
+      ActivitiProfiler.getInstance().startProfileSession("Profiling session");
+      taskService.complete(task.getId());
+      stopProfiling();
+
+      // The related data of the process instance is deleted per table, not looked up per execution
+      CommandStats stats = getStats("CompleteTaskCmd");
+      assertThat(stats.getDbSelects()).doesNotContainKeys("selectVariablesByExecutionId", "selectIdentityLinksByProcessInstance",
+          "selectEventSubscriptionsByExecution", "selectJobsByExecutionId", "selectTimerJobsByExecutionId",
+          "selectSuspendedJobsByExecutionId", "selectDeadLetterJobsByExecutionId");
+
+      assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(0);
+      assertThat(managementService.getTableCount().get(variableTable)).isEqualTo(0L);
+      assertThat(managementService.getTableCount().get(byteArrayTable)).isEqualTo(byteArrayCount - 1);
+      assertThat(historyService.createHistoricVariableInstanceQuery().count()).isEqualTo(2);
+      assertThat(historyService.createHistoricProcessInstanceQuery().finished().count()).isEqualTo(1);
+    } finally {
+      processEngineConfiguration.getPerformanceSettings().setEnableProcessInstanceBulkDelete(false);
+    }
+  }
+
+
+  public void testEagerProcessInstanceAggregateFetching() {
+    processEngineConfiguration.getPerformanceSettings().setEnableExecutionRelationshipCounts(false);
+    processEngineConfiguration.getPerformanceSettings().setEnableEagerProcessInstanceAggregateFetching(true);
+    try {
+      deploy("process-usertask-01.bpmn20.xml");
+
+      Map<String, Object> variables = new HashMap<String, Object>();
+      variables.put("var1", "test");
+      variables.put("var2", 123);
+      runtimeService.startProcessInstanceByKey("process-usertask-01", variables);
+      Task task = taskService.createTaskQuery().singleResult();
+
+      ActivitiProfiler.getInstance().startProfileSession("Profiling session");
+      taskService.complete(task.getId());
+      stopProfiling();
+
+      // The related entities are fetched once for the whole execution tree, not lazily per execution
+      CommandStats stats = getStats("CompleteTaskCmd");
+      assertThat(stats.getDbSelects()).containsEntry("selectExecutionsWithSameRootProcessInstanceId", 1L)
+          .containsEntry("selectVariablesByRootProcessInstanceId", 1L)
+          .containsEntry("selectTasksByRootProcessInstanceId", 1L)
+          .containsEntry("selectJobsByRootProcessInstanceId", 1L)
+          .containsEntry("selectTimerJobsByRootProcessInstanceId", 1L)
+          .containsEntry("selectEventSubscriptionsByRootProcessInstanceId", 1L)
+          .containsEntry("selectIdentityLinksByRootProcessInstanceId", 1L)
+          .doesNotContainKeys("selectVariablesByExecutionId", "selectTasksByExecutionId", "selectJobsByExecutionId",
+              "selectTimerJobsByExecutionId", "selectEventSubscriptionsByExecution", "selectIdentityLinksByProcessInstance");
+
+      assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(0);
+      assertThat(historyService.createHistoricVariableInstanceQuery().count()).isEqualTo(2);
+      assertThat(historyService.createHistoricProcessInstanceQuery().finished().count()).isEqualTo(1);
+    } finally {
+      processEngineConfiguration.getPerformanceSettings().setEnableEagerProcessInstanceAggregateFetching(false);
+    }
+  }
+
+
+  public void testSkipUnchangedVariableUpdates() {
+    processEngineConfiguration.getPerformanceSettings().setEnableSkipUnchangedVariableUpdates(true);
+    try {
+      deploy("process-usertask-01.bpmn20.xml");
+
+      Map<String, Object> variables = new HashMap<String, Object>();
+      variables.put("stringVar", "test");
+      variables.put("intVar", 123);
+      variables.put("dateVar", new Date(1000L));
+      variables.put("bytesVar", new byte[] {1, 2, 3});
+      String processInstanceId = runtimeService.startProcessInstanceByKey("process-usertask-01", variables).getId();
+
+      Map<String, Object> sameVariables = new HashMap<String, Object>();
+      sameVariables.put("stringVar", "test");
+      sameVariables.put("intVar", 123);
+      sameVariables.put("dateVar", new Date(1000L));
+      sameVariables.put("bytesVar", new byte[] {1, 2, 3});
+
+      ActivitiProfiler.getInstance().startProfileSession("Profiling session");
+      runtimeService.setVariables(processInstanceId, sameVariables);
+      stopProfiling();
+
+      // Setting the same values again doesn't write anything
+      assertNoInserts("SetExecutionVariablesCmd");
+      assertNoUpdatesAndDeletes("SetExecutionVariablesCmd");
+
+      runtimeService.setVariable(processInstanceId, "intVar", 456);
+      assertThat(runtimeService.getVariable(processInstanceId, "intVar")).isEqualTo(456);
+
+      taskService.complete(taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId());
+    } finally {
+      processEngineConfiguration.getPerformanceSettings().setEnableSkipUnchangedVariableUpdates(false);
+    }
+  }
+
+  public void testSkipUnchangedVariableUpdatesWritesJsonModifiedInPlace() {
+    processEngineConfiguration.getPerformanceSettings().setEnableSkipUnchangedVariableUpdates(true);
+    try {
+      deploy("process-usertask-01.bpmn20.xml");
+
+      ObjectNode jsonVar = new ObjectMapper().createObjectNode().put("name", "John");
+      String processInstanceId = runtimeService.startProcessInstanceByKey("process-usertask-01",
+          Collections.<String, Object>singletonMap("jsonVar", jsonVar)).getId();
+
+      ActivitiProfiler.getInstance().startProfileSession("Profiling session");
+      managementService.executeCommand(new ModifyJsonVariableInPlaceCmd(processInstanceId, "jsonVar"));
+      stopProfiling();
+
+      // The value read and modified in place is not the same as the stored one
+      assertThat(getStats(ModifyJsonVariableInPlaceCmd.class.getName()).getDbUpdates())
+          .containsEntry(VariableInstanceEntityImpl.class.getName(), 1L);
+      assertThat(((ObjectNode) runtimeService.getVariable(processInstanceId, "jsonVar")).get("name").asText()).isEqualTo("Jane");
+
+      taskService.complete(taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId());
+    } finally {
+      processEngineConfiguration.getPerformanceSettings().setEnableSkipUnchangedVariableUpdates(false);
+    }
+  }
+
+  protected static class ModifyJsonVariableInPlaceCmd implements Command<Void> {
+
+    protected String executionId;
+    protected String variableName;
+
+    public ModifyJsonVariableInPlaceCmd(String executionId, String variableName) {
+      this.executionId = executionId;
+      this.variableName = variableName;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(executionId);
+      ObjectNode value = (ObjectNode) execution.getVariable(variableName);
+      value.put("name", "Jane");
+      execution.setVariable(variableName, value);
+      return null;
+    }
+  }
+
   // ---------------------------------
   // HELPERS
   // ---------------------------------
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.db;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.blob.FileSystemBlobStore;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.impl.util.IoUtil;
+import org.activiti.engine.repository.Deployment;
+import org.activiti.engine.runtime.ProcessInstance;
+
+public class BlobStoreTest extends PluggableActivitiTestCase {
+
+  protected Path blobStoreDirectory;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    blobStoreDirectory = Files.createTempDirectory("activiti-blobs");
+    processEngineConfiguration.setBlobStore(new FileSystemBlobStore(blobStoreDirectory)).setBlobStoreSizeThreshold(100);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setBlobStore(null).setBlobStoreSizeThreshold(64 * 1024);
+    try (Stream<Path> files = Files.walk(blobStoreDirectory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+    }
+    super.tearDown();
+  }
+
+  public void testLargeVariableAndResourceStoredInBlobStore() throws IOException {
+    Deployment deployment = repositoryService.createDeployment().addBpmnModel("oneTasktest.bpmn20.xml", createOneTaskTestProcess()).deploy();
+    try {
+      byte[] largeValue = randomBytes(1000);
+      byte[] smallValue = randomBytes(10);
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", singletonMap("largeVar", (Object) largeValue));
+      runtimeService.setVariable(processInstance.getId(), "smallVar", smallValue);
+
+      // The bpmn resource and the large variable are stored in the blob store, the small variable isn't
+      assertThat(countBlobs()).isEqualTo(2);
+      assertThat((byte[]) runtimeService.getVariable(processInstance.getId(), "largeVar")).isEqualTo(largeValue);
+      assertThat((byte[]) runtimeService.getVariable(processInstance.getId(), "smallVar")).isEqualTo(smallValue);
+
+      // The resource is read back from the blob store when the process definition is parsed again
+      processEngineConfiguration.getProcessDefinitionCache().clear();
+      try (InputStream resource = repositoryService.getResourceAsStream(deployment.getId(), "oneTasktest.bpmn20.xml")) {
+        assertThat(new String(IoUtil.readInputStream(resource, "resource"))).contains("oneTaskProcess");
+      }
+      assertThat(repositoryService.getBpmnModel(processInstance.getProcessDefinitionId()).getMainProcess().getId()).isEqualTo("oneTaskProcess");
+
+      // Equal bytes are stored once
+      runtimeService.setVariable(processInstance.getId(), "otherLargeVar", largeValue);
+      assertThat(countBlobs()).isEqualTo(2);
+
+      // Only a reference is stored in the database
+      processEngineConfiguration.setBlobStore(null);
+      assertThatThrownBy(() -> runtimeService.getVariable(processInstance.getId(), "largeVar"))
+          .hasStackTraceContaining("no blob store is configured");
+      processEngineConfiguration.setBlobStore(new FileSystemBlobStore(blobStoreDirectory));
+
+    } finally {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+    }
+  }
+
+  public void testBlobDiscardedWhenTransactionRollsBack() throws IOException {
+    final String byteArrayId = insertByteArray(randomBytes(10));
+    final byte[] largeBytes = randomBytes(1000);
+    final byte[] publishedBytes = randomBytes(1000);
+    String otherByteArrayId = null;
+    String publishedByteArrayId = null;
+
+    try {
+      publishedByteArrayId = insertByteArray(publishedBytes);
+      assertThat(countBlobs()).isEqualTo(1);
+
+      // Inserting a byte array with the same id fails after its bytes were staged in the blob store
+      assertThatThrownBy(() -> insertByteArray(byteArrayId, largeBytes)).isInstanceOf(Exception.class);
+      assertThatThrownBy(() -> insertByteArray(byteArrayId, publishedBytes)).isInstanceOf(Exception.class);
+
+      // The blob staged by the failed transaction is discarded,
+      // the blob published by another transaction is kept
+      assertThat(countBlobs()).isEqualTo(1);
+      assertThat(readByteArray(publishedByteArrayId)).isEqualTo(publishedBytes);
+
+      otherByteArrayId = insertByteArray(largeBytes);
+      assertThat(readByteArray(otherByteArrayId)).isEqualTo(largeBytes);
+      assertThat(countBlobs()).isEqualTo(2);
+
+    } finally {
+      deleteByteArray(byteArrayId);
+      deleteByteArray(otherByteArrayId);
+      deleteByteArray(publishedByteArrayId);
+    }
+  }
+
+  protected String insertByteArray(byte[] bytes) {
+    return insertByteArray(null, bytes);
+  }
+
+  protected String insertByteArray(final String id, final byte[] bytes) {
+    return managementService.executeCommand(new Command<String>() {
+      public String execute(CommandContext commandContext) {
+        ByteArrayEntity byteArray = commandContext.getByteArrayEntityManager().create();
+        if (id != null) {
+          byteArray.setId(id);
+        }
+        byteArray.setBytes(bytes);
+        commandContext.getByteArrayEntityManager().insert(byteArray);
+        return byteArray.getId();
+      }
+    });
+  }
+
+  protected byte[] readByteArray(final String id) {
+    return managementService.executeCommand(new Command<byte[]>() {
+      public byte[] execute(CommandContext commandContext) {
+        return commandContext.getByteArrayEntityManager().findById(id).getBytes();
+      }
+    });
+  }
+
+  protected void deleteByteArray(final String id) {
+    if (id != null) {
+      managementService.executeCommand(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          commandContext.getByteArrayEntityManager().deleteByteArrayById(id);
+          return null;
+        }
+      });
+    }
+  }
+
+  protected long countBlobs() throws IOException {
+    try (Stream<Path> files = Files.walk(blobStoreDirectory)) {
+      return files.filter(Files::isRegularFile).count();
+    }
+  }
+
+  protected static byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    new Random().nextBytes(bytes);
+    return bytes;
+  }
+
+}
@@ -20,15 +20,28 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiOptimisticLockingException;
 import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.delegate.event.ActivitiEntityEvent;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.DefaultAsyncExecutorMetrics;
 import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.cmd.ExtendExclusiveJobLockCmd;
+import org.activiti.engine.impl.cmd.LockExclusiveJobCmd;
+import org.activiti.engine.impl.cmd.UnlockExclusiveJobCmd;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 import org.activiti.engine.impl.test.JobTestHelper;
 import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -86,6 +99,189 @@ public class AsyncExecutorTest {
     }
   }
 
+  @Test
+  public void testTimerJobExecutedInPlace() {
+
+    ProcessEngine processEngine = null;
+
+    try {
+      // Deploy
+      processEngine = createProcessEngine(true, null, true);
+      setClockToCurrentTime(processEngine);
+      deploy(processEngine, "AsyncExecutorTest.testRegularAsyncExecution.bpmn20.xml");
+
+      final List<ActivitiEvent> canceledJobEvents = new CopyOnWriteArrayList<ActivitiEvent>();
+      processEngine.getRuntimeService().addEventListener(new ActivitiEventListener() {
+        @Override
+        public void onEvent(ActivitiEvent event) {
+          canceledJobEvents.add(event);
+        }
+
+        @Override
+        public boolean isFailOnException() {
+          return true;
+        }
+      }, ActivitiEventType.JOB_CANCELED);
+      final List<ActivitiEvent> firedTimerEvents = new CopyOnWriteArrayList<ActivitiEvent>();
+      processEngine.getRuntimeService().addEventListener(new ActivitiEventListener() {
+        @Override
+        public void onEvent(ActivitiEvent event) {
+          firedTimerEvents.add(event);
+        }
+
+        @Override
+        public boolean isFailOnException() {
+          return true;
+        }
+      }, ActivitiEventType.TIMER_FIRED);
+
+      processEngine.getRuntimeService().startProcessInstanceByKey("asyncExecutor");
+      Job timerJob = processEngine.getManagementService().createTimerJobQuery().singleResult();
+      assertThat(timerJob).isNotNull();
+
+      // Move clock 6 minutes and 1 second. Triggers the timer
+      addSecondsToCurrentTime(processEngine, 361);
+      waitForAllJobsBeingExecuted(processEngine);
+
+      // Verify if all is as expected
+      assertThat(processEngine.getTaskService().createTaskQuery().taskName("The Task").count()).isEqualTo(0);
+      assertThat(processEngine.getTaskService().createTaskQuery().taskName("Task after timer").count()).isEqualTo(1);
+      assertThat(processEngine.getManagementService().createTimerJobQuery().count()).isEqualTo(0);
+      assertThat(processEngine.getManagementService().createJobQuery().count()).isEqualTo(0);
+
+      // The timer job was handed to the executor directly, it never became an async job
+      CountingAsyncExecutor asyncExecutor = (CountingAsyncExecutor) processEngine.getProcessEngineConfiguration().getAsyncExecutor();
+      assertThat(asyncExecutor.getCounter().get()).isEqualTo(1);
+      assertThat(asyncExecutor.getExecutedJobTypes()).containsExactly(TimerJobEntity.class);
+
+      // The fired timer is not cancelled when the boundary event ends the user task
+      assertThat(canceledJobEvents).isEmpty();
+
+      // The fired event carries the id of the timer job that was executed
+      assertThat(firedTimerEvents).hasSize(1);
+      assertThat(((Job) ((ActivitiEntityEvent) firedTimerEvents.get(0)).getEntity()).getId()).isEqualTo(timerJob.getId());
+    } finally {
+      cleanup(processEngine);
+    }
+  }
+
+  @Test
+  public void testExclusiveJobLanes() {
+
+    ProcessEngine processEngine = null;
+
+    try {
+      processEngine = createProcessEngine(true);
+      setClockToCurrentTime(processEngine);
+      DefaultAsyncJobExecutor asyncExecutor = (DefaultAsyncJobExecutor) processEngine.getProcessEngineConfiguration().getAsyncExecutor();
+      asyncExecutor.shutdown();
+      asyncExecutor.setNumberOfExclusiveJobLanes(4);
+      asyncExecutor.start();
+      assertThat(asyncExecutor.getExclusiveJobDispatcher()).isNotNull();
+
+      deploy(processEngine, "AsyncExecutorTest.testExclusiveJobLanes.bpmn20.xml");
+
+      // The four exclusive jobs of each process instance are serialized in the lane of that instance
+      for (int i = 0; i < 5; i++) {
+        processEngine.getRuntimeService().startProcessInstanceByKey("exclusiveJobLanes");
+      }
+      waitForAllJobsBeingExecuted(processEngine);
+
+      assertThat(processEngine.getTaskService().createTaskQuery().taskName("Task after join").count()).isEqualTo(5);
+      assertThat(processEngine.getManagementService().createJobQuery().count()).isEqualTo(0);
+      assertThat(processEngine.getManagementService().createTimerJobQuery().count()).isEqualTo(0);
+      assertThat(processEngine.getManagementService().createDeadLetterJobQuery().count()).isEqualTo(0);
+      assertThat(getAsyncExecutorJobCount(processEngine)).isEqualTo(20);
+    } finally {
+      cleanup(processEngine);
+    }
+  }
+
+  @Test
+  public void testFailingMetricsDoNotFailExecutedJobs() {
+
+    ProcessEngine processEngine = null;
+
+    try {
+      processEngine = createProcessEngine(true);
+      setClockToCurrentTime(processEngine);
+      DefaultAsyncJobExecutor asyncExecutor = (DefaultAsyncJobExecutor) processEngine.getProcessEngineConfiguration().getAsyncExecutor();
+      asyncExecutor.shutdown();
+      FailingJobExecutedMetrics metrics = new FailingJobExecutedMetrics();
+      asyncExecutor.setMetrics(metrics);
+      asyncExecutor.start();
+
+      deploy(processEngine, "AsyncExecutorTest.testExclusiveJobLanes.bpmn20.xml");
+      processEngine.getRuntimeService().startProcessInstanceByKey("exclusiveJobLanes");
+      waitForAllJobsBeingExecuted(processEngine);
+
+      // The exclusive lock is still released after every job, and none of the jobs is handled as failed
+      assertThat(processEngine.getTaskService().createTaskQuery().taskName("Task after join").count()).isEqualTo(1);
+      assertThat(processEngine.getManagementService().createJobQuery().count()).isEqualTo(0);
+      assertThat(processEngine.getManagementService().createDeadLetterJobQuery().count()).isEqualTo(0);
+      assertThat(metrics.getSnapshot()).containsEntry("failedJobCount", 0L);
+    } finally {
+      cleanup(processEngine);
+    }
+  }
+
+  @Test
+  public void testExtendExclusiveJobLock() {
+
+    ProcessEngine processEngine = null;
+
+    try {
+      processEngine = createProcessEngine(false);
+      setClockToCurrentTime(processEngine);
+      deploy(processEngine, "AsyncExecutorTest.testExclusiveJobLanes.bpmn20.xml");
+      processEngine.getRuntimeService().startProcessInstanceByKey("exclusiveJobLanes");
+      Job job = processEngine.getManagementService().createJobQuery().list().get(0);
+
+      // A lock that is still held is extended in place, without unlocking the process instance first
+      CommandExecutor commandExecutor = processEngine.getProcessEngineConfiguration().getCommandExecutor();
+      commandExecutor.execute(new LockExclusiveJobCmd(job));
+      addSecondsToCurrentTime(processEngine, 1);
+      commandExecutor.execute(new ExtendExclusiveJobLockCmd(job));
+
+      // A released lock can't be extended, it needs to be acquired again
+      commandExecutor.execute(new UnlockExclusiveJobCmd(job));
+      assertThatExceptionOfType(ActivitiOptimisticLockingException.class)
+        .isThrownBy(() -> commandExecutor.execute(new ExtendExclusiveJobLockCmd(job)));
+    } finally {
+      cleanup(processEngine);
+    }
+  }
+
+  @Test
+  public void testChainedAsyncJobs() {
+
+    ProcessEngine processEngine = null;
+
+    try {
+      processEngine = createProcessEngine(true);
+      setClockToCurrentTime(processEngine);
+      DefaultAsyncJobExecutor asyncExecutor = (DefaultAsyncJobExecutor) processEngine.getProcessEngineConfiguration().getAsyncExecutor();
+      asyncExecutor.setMaxChainedJobs(5);
+
+      deploy(processEngine, "AsyncExecutorTest.testChainedAsyncJobs.bpmn20.xml");
+
+      for (int i = 0; i < 5; i++) {
+        processEngine.getRuntimeService().startProcessInstanceByKey("chainedAsyncJobs");
+      }
+      waitForAllJobsBeingExecuted(processEngine);
+
+      assertThat(processEngine.getTaskService().createTaskQuery().taskName("Task after chain").count()).isEqualTo(5);
+      assertThat(processEngine.getManagementService().createJobQuery().count()).isEqualTo(0);
+
+      // Only the first job of every process instance is handed to the executor,
+      // the second and third one are executed by the thread that created them
+      assertThat(getAsyncExecutorJobCount(processEngine)).isEqualTo(5);
+      assertThat(asyncExecutor.getMetrics().getSnapshot()).containsEntry("chainedJobCount", 10L);
+    } finally {
+      cleanup(processEngine);
+    }
+  }
+
   @Test
   public void testAsyncExecutorDisabledOnOneEngine() {
 
@@ -267,6 +463,10 @@ public class AsyncExecutorTest {
   }
 
   private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time) {
+    return createProcessEngine(enableAsyncExecutor, time, false);
+  }
+
+  private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time, boolean executeTimerJobsInPlace) {
     ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
     processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:activiti-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
     processEngineConfiguration.setDatabaseSchemaUpdate("true");
@@ -277,6 +477,7 @@ public class AsyncExecutorTest {
       CountingAsyncExecutor countingAsyncExecutor = new CountingAsyncExecutor();
       countingAsyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(50); // To avoid waiting too long when a retry happens
       countingAsyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(50);
+      countingAsyncExecutor.setExecuteTimerJobsInPlace(executeTimerJobsInPlace);
       processEngineConfiguration.setAsyncExecutor(countingAsyncExecutor);
     }
 
@@ -329,16 +530,27 @@ public class AsyncExecutorTest {
     return 0;
   }
 
+  static class FailingJobExecutedMetrics extends DefaultAsyncExecutorMetrics {
+
+    @Override
+    public void jobExecuted(long durationInMillis) {
+      throw new RuntimeException("Failing metrics");
+    }
+  }
+
   static class CountingAsyncExecutor extends DefaultAsyncJobExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(CountingAsyncExecutor.class);
 
     private AtomicInteger counter = new AtomicInteger(0);
 
+    private List<Class<?>> executedJobTypes = new CopyOnWriteArrayList<Class<?>>();
+
     @Override
     public boolean executeAsyncJob(Job job) {
       logger.info("About to execute job " + job.getId());
       counter.incrementAndGet();
+      executedJobTypes.add(job instanceof TimerJobEntity ? TimerJobEntity.class : job.getClass());
       boolean success = super.executeAsyncJob(job);
       logger.info("Handed off job " + job.getId() + " to async executor (retries=" + job.getRetries() + ")");
       return success;
@@ -352,6 +564,10 @@ public class AsyncExecutorTest {
       this.counter = counter;
     }
 
+    public List<Class<?>> getExecutedJobTypes() {
+      return executedJobTypes;
+    }
+
   }
 
 }
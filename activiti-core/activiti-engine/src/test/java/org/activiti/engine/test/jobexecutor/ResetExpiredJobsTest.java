@@ -18,14 +18,15 @@ package org.activiti.engine.test.jobexecutor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
-import org.activiti.engine.impl.asyncexecutor.FindExpiredJobsCmd;
-import org.activiti.engine.impl.asyncexecutor.ResetExpiredJobsCmd;
+import org.activiti.engine.impl.asyncexecutor.BulkResetExpiredJobsCmd;
+import org.activiti.engine.impl.asyncexecutor.BulkResetExpiredTimerJobsCmd;
 import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.cmd.AcquireTimerJobsCmd;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.JobQuery;
@@ -51,8 +52,7 @@ public class ResetExpiredJobsTest extends PluggableActivitiTestCase {
 
     // Running the 'reset expired' logic should have no effect now
     int expiredJobsPagesSize = processEngineConfiguration.getAsyncExecutorResetExpiredJobsPageSize();
-    List<JobEntity> expiredJobs = managementService.executeCommand(new FindExpiredJobsCmd(expiredJobsPagesSize));
-    assertThat(expiredJobs).hasSize(0);
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(expiredJobsPagesSize))).isEqualTo(0);
     assertJobDetails(false);
 
     // Run the acquire logic. This should lock the job
@@ -60,8 +60,7 @@ public class ResetExpiredJobsTest extends PluggableActivitiTestCase {
     assertJobDetails(true);
 
     // Running the 'reset expired' logic should have no effect, the lock time is not yet passed
-    expiredJobs = managementService.executeCommand(new FindExpiredJobsCmd(expiredJobsPagesSize));
-    assertThat(expiredJobs).hasSize(0);
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(expiredJobsPagesSize))).isEqualTo(0);
     assertJobDetails(true);
 
     // Move clock to past the lock time
@@ -69,15 +68,7 @@ public class ResetExpiredJobsTest extends PluggableActivitiTestCase {
     processEngineConfiguration.getClock().setCurrentTime(newDate);
 
     // Running the reset logic should now reset the lock
-    expiredJobs = managementService.executeCommand(new FindExpiredJobsCmd(expiredJobsPagesSize));
-    assertThat(expiredJobs.size() > 0).isTrue();
-
-    List<String> jobIds = new ArrayList<String>();
-    for (JobEntity jobEntity : expiredJobs) {
-      jobIds.add(jobEntity.getId());
-    }
-
-    managementService.executeCommand(new ResetExpiredJobsCmd(jobIds));
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(expiredJobsPagesSize))).isEqualTo(1);
     assertJobDetails(false);
 
     // And it can be re-acquired
@@ -99,6 +90,88 @@ public class ResetExpiredJobsTest extends PluggableActivitiTestCase {
     }
   }
 
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testBulkResetExpiredJobs() {
+    Date startOfTestTime = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(startOfTestTime);
+
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("myProcess");
+      managementService.executeCommand(new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor()));
+    }
+    assertThat(managementService.createJobQuery().locked().count()).isEqualTo(5);
+
+    // The lock time is not yet passed
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(2))).isEqualTo(0);
+    assertThat(managementService.createJobQuery().locked().count()).isEqualTo(5);
+
+    Date newDate = new Date(startOfTestTime.getTime() + processEngineConfiguration.getAsyncExecutor().getAsyncJobLockTimeInMillis() + 10000);
+    processEngineConfiguration.getClock().setCurrentTime(newDate);
+
+    // Every execution resets at most one batch
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(2))).isEqualTo(2);
+    assertThat(managementService.createJobQuery().unlocked().count()).isEqualTo(2);
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(2))).isEqualTo(2);
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(2))).isEqualTo(1);
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(2))).isEqualTo(0);
+
+    List<Job> unlockedJobs = managementService.createJobQuery().unlocked().list();
+    assertThat(unlockedJobs).hasSize(5);
+    for (Job job : unlockedJobs) {
+      JobEntity jobEntity = (JobEntity) job;
+      assertThat(jobEntity.getLockOwner()).isNull();
+      assertThat(jobEntity.getLockExpirationTime()).isNull();
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/AsyncExecutorTest.testRegularAsyncExecution.bpmn20.xml")
+  public void testBulkResetExpiredTimerJobs() {
+    Date startOfTestTime = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(startOfTestTime);
+
+    runtimeService.startProcessInstanceByKey("asyncExecutor");
+    assertThat(managementService.createTimerJobQuery().count()).isEqualTo(1);
+
+    // Make the timer due and acquire it
+    Date dueDate = new Date(startOfTestTime.getTime() + 6 * 60 * 1000L);
+    processEngineConfiguration.getClock().setCurrentTime(dueDate);
+    managementService.executeCommand(new AcquireTimerJobsCmd(processEngineConfiguration.getAsyncExecutor()));
+    assertThat(((TimerJobEntity) managementService.createTimerJobQuery().singleResult()).getLockOwner()).isNotNull();
+
+    Date newDate = new Date(dueDate.getTime() + processEngineConfiguration.getAsyncExecutor().getAsyncJobLockTimeInMillis() + 10000);
+    processEngineConfiguration.getClock().setCurrentTime(newDate);
+
+    // Async jobs and timer jobs are reset by their own command
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(2))).isEqualTo(0);
+    assertThat(managementService.executeCommand(new BulkResetExpiredTimerJobsCmd(2))).isEqualTo(1);
+    assertThat(managementService.executeCommand(new BulkResetExpiredTimerJobsCmd(2))).isEqualTo(0);
+
+    TimerJobEntity timerJob = (TimerJobEntity) managementService.createTimerJobQuery().singleResult();
+    assertThat(timerJob.getLockOwner()).isNull();
+    assertThat(timerJob.getLockExpirationTime()).isNull();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testResetJobLocksOfLockOwner() {
+    for (int i = 0; i < 2; i++) {
+      runtimeService.startProcessInstanceByKey("myProcess");
+      managementService.executeCommand(new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor()));
+    }
+    assertThat(managementService.createJobQuery().locked().count()).isEqualTo(2);
+
+    // Another lock owner has nothing to release
+    assertThat(managementService.resetJobLocks("unknownLockOwner")).isEqualTo(0);
+    assertThat(managementService.createJobQuery().locked().count()).isEqualTo(2);
+
+    // No need to wait for the lock to expire when the lock owner is known to be down
+    assertThat(managementService.resetJobLocks(processEngineConfiguration.getAsyncExecutor().getLockOwner())).isEqualTo(2);
+    assertThat(managementService.createJobQuery().unlocked().count()).isEqualTo(2);
+
+    // And the jobs can be re-acquired
+    managementService.executeCommand(new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor()));
+    assertThat(managementService.createJobQuery().locked().count()).isEqualTo(1);
+  }
+
   protected void assertJobDetails(boolean locked) {
     JobQuery jobQuery = managementService.createJobQuery();
 
@@ -19,12 +19,14 @@ package org.activiti.engine.test.json;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.history.HistoricVariableInstance;
 import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.runtime.ProcessInstance;
 import org.activiti.engine.task.Task;
@@ -123,6 +125,28 @@ public class JsonTest extends PluggableActivitiTestCase {
         assertThat(runtimeService.getVariable(processInstance.getId(), BIG_JSON_OBJ)).isNull();
     }
 
+    @Deployment(resources = "org/activiti/engine/test/json/JsonTest.testJsonObjectAvailable.bpmn20.xml")
+    public void testJsonObjectModifiedInPlaceIsNotVisibleToNextRead() {
+        ObjectNode varNode = objectMapper.createObjectNode();
+        varNode.put("var", "myValue");
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("testJsonAvailableProcess",
+            Collections.<String, Object>singletonMap(MY_JSON_OBJ, varNode));
+
+        // Modifying a read value in place doesn't change what the next read of the same variable instance returns
+        String nextReadValue = managementService.executeCommand(commandContext -> {
+            ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+            ((ObjectNode) execution.getVariable(MY_JSON_OBJ)).put("var", "firstModification");
+            ObjectNode value = (ObjectNode) execution.getVariable(MY_JSON_OBJ);
+            String readValue = value.get("var").asText();
+            value.put("var", "secondModification");
+            return readValue + "," + ((ObjectNode) execution.getVariable(MY_JSON_OBJ)).get("var").asText();
+        });
+        assertThat(nextReadValue).isEqualTo("myValue,myValue");
+
+        ObjectNode value = (ObjectNode) runtimeService.getVariable(processInstance.getId(), MY_JSON_OBJ);
+        assertThat(value.get("var").asText()).isEqualTo("myValue");
+    }
+
     @Deployment
     public void testDirectJsonPropertyAccess() {
         Map<String, Object> vars = new HashMap<String, Object>();
@@ -84,6 +84,35 @@ public class AsyncExecutorProperties {
      */
     private int maxAsyncJobsDuePerAcquisition = 1;
 
+    /**
+     * When true, due timer jobs are executed directly by the node that acquired them,
+     * instead of being moved to the async job table first. Timers that fail are
+     * moved to the async job table, so the regular retry handling applies.
+     *
+     * Default value = false.
+     *
+     */
+    private boolean executeTimerJobsInPlace = false;
+
+    /**
+     * The number of serial lanes exclusive jobs are dispatched to. Exclusive jobs of the same
+     * process instance are executed one after the other in the same lane, locking the process
+     * instance once per run of jobs instead of once per job.
+     *
+     * Default value = 0, which disables the lanes.
+     *
+     */
+    private int numberOfExclusiveJobLanes = 0;
+
+    /**
+     * The maximum number of follow-up async jobs of the same process instance a thread executes
+     * right after the job that created them, instead of handing them back to the executor.
+     *
+     * Default value = 0, which disables chaining.
+     *
+     */
+    private int maxChainedJobs = 0;
+
     /**
      * The time (in milliseconds) the timer acquisition thread will wait to
      * execute the next acquirement query. This happens when no new timer jobs
@@ -146,9 +175,9 @@ public class AsyncExecutorProperties {
 
     /**
      * The 'cleanup' thread resets expired jobs  so they can be re-acquired by other executors.
-     * This setting defines the size of the page being used when fetching these expired jobs.
+     * This setting defines the size of the batch of expired jobs that are reset with one update statement.
      */
-    private int resetExpiredJobsPageSize = 3;
+    private int resetExpiredJobsPageSize = 100;
 
     /**
      * Set this to true when using the message queue based job executor. Default is false.
@@ -283,6 +312,30 @@ public class AsyncExecutorProperties {
         this.resetExpiredJobsPageSize = resetExpiredJobsPageSize;
     }
 
+    public boolean isExecuteTimerJobsInPlace() {
+        return executeTimerJobsInPlace;
+    }
+
+    public void setExecuteTimerJobsInPlace(boolean executeTimerJobsInPlace) {
+        this.executeTimerJobsInPlace = executeTimerJobsInPlace;
+    }
+
+    public int getNumberOfExclusiveJobLanes() {
+        return numberOfExclusiveJobLanes;
+    }
+
+    public void setNumberOfExclusiveJobLanes(int numberOfExclusiveJobLanes) {
+        this.numberOfExclusiveJobLanes = numberOfExclusiveJobLanes;
+    }
+
+    public int getMaxChainedJobs() {
+        return maxChainedJobs;
+    }
+
+    public void setMaxChainedJobs(int maxChainedJobs) {
+        this.maxChainedJobs = maxChainedJobs;
+    }
+
     public int getNumberOfRetries() {
         return numberOfRetries;
     }
@@ -255,6 +255,9 @@ public class ProcessEngineAutoConfiguration extends AbstractProcessEngineAutoCon
 
             configuration.setAsyncExecutorMaxAsyncJobsDuePerAcquisition(properties.getMaxAsyncJobsDuePerAcquisition());
             configuration.setAsyncExecutorMaxTimerJobsPerAcquisition(properties.getMaxTimerJobsPerAcquisition());
+            configuration.setAsyncExecutorExecuteTimerJobsInPlace(properties.isExecuteTimerJobsInPlace());
+            configuration.setAsyncExecutorNumberOfExclusiveJobLanes(properties.getNumberOfExclusiveJobLanes());
+            configuration.setAsyncExecutorMaxChainedJobs(properties.getMaxChainedJobs());
             configuration.setAsyncExecutorMaxPoolSize(properties.getMaxPoolSize());
 
             configuration.setAsyncExecutorResetExpiredJobsInterval(properties.getResetExpiredJobsInterval());
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
@@ -35,7 +36,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
  * Registers a Boot Actuator endpoint that provides information on the
- * running process instance and renders BPMN diagrams of the deployed processes.
+ * running process instance and renders BPMN diagrams of the deployed processes,
+ * as well as the metrics collected by the async executor.
  */
 @ConfigurationProperties(prefix = "endpoints.activiti")
 @Endpoint(id = "activiti")
@@ -97,11 +99,19 @@ public class ProcessEngineEndpoint {
                     processEngine.getHistoryService().createHistoricActivityInstanceQuery().finished().count());
 
         // Process definition cache
-        DeploymentCache<ProcessDefinitionCacheEntry> deploymentCache = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getProcessDefinitionCache();
+        ProcessEngineConfigurationImpl processEngineConfiguration = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+        DeploymentCache<ProcessDefinitionCacheEntry> deploymentCache = processEngineConfiguration.getProcessDefinitionCache();
         if (deploymentCache instanceof DefaultDeploymentCache) {
             metrics.put("cachedProcessDefinitionCount",
                         ((DefaultDeploymentCache) deploymentCache).size());
         }
+
+        // Async executor
+        AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+        if (asyncExecutor != null && asyncExecutor.getMetrics() != null) {
+            metrics.put("asyncExecutor",
+                        asyncExecutor.getMetrics().getSnapshot());
+        }
         return metrics;
     }
 
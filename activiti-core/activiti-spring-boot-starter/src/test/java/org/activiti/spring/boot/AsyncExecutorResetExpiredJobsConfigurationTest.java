@@ -0,0 +1,38 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.spring.boot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.spring.SpringAsyncExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource("classpath:application-async-executor-reset-expired-jobs.properties")
+public class AsyncExecutorResetExpiredJobsConfigurationTest {
+
+    @Autowired
+    private SpringAsyncExecutor asyncExecutor;
+
+    @Test
+    public void shouldConfigureNonDefaultResetExpiredJobsBatchSize() {
+        assertThat(asyncExecutor.getResetExpiredJobsInterval()).isEqualTo(1000);
+        assertThat(asyncExecutor.getResetExpiredJobsPageSize()).isEqualTo(50);
+    }
+}
@@ -20,9 +20,10 @@ import java.util.concurrent.RejectedExecutionException;
 
 import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.activiti.engine.impl.asyncexecutor.ExecuteAsyncRunnable;
-import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.asyncexecutor.StripedExclusiveJobDispatcher;
 import org.activiti.engine.runtime.Job;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * <p>
@@ -76,10 +77,15 @@ public class SpringAsyncExecutor extends DefaultAsyncJobExecutor {
 
   @Override
   public boolean executeAsyncJob(Job job) {
+    if (exclusiveJobDispatcher != null && exclusiveJobDispatcher.isDispatchable(job)) {
+      return exclusiveJobDispatcher.dispatch(job);
+    }
+
     try {
-      taskExecutor.execute(new ExecuteAsyncRunnable((JobEntity) job, processEngineConfiguration));
+      taskExecutor.execute(new ExecuteAsyncRunnable(job, processEngineConfiguration));
       return true;
     } catch (RejectedExecutionException e) {
+      metrics.jobRejected();
       rejectedJobsHandler.jobRejected(this, job);
       return false;
     }
@@ -90,4 +96,19 @@ public class SpringAsyncExecutor extends DefaultAsyncJobExecutor {
     // Do nothing, using the Spring taskExecutor
   }
 
+  @Override
+  protected void initQueueDepthMetric() {
+    if (taskExecutor instanceof ThreadPoolTaskExecutor) {
+      ThreadPoolTaskExecutor threadPoolTaskExecutor = (ThreadPoolTaskExecutor) taskExecutor;
+      metrics.setQueueDepthSupplier(() -> threadPoolTaskExecutor.getThreadPoolExecutor().getQueue().size());
+    }
+  }
+
+  @Override
+  protected void initExclusiveJobDispatcher() {
+    if (numberOfExclusiveJobLanes > 0 && exclusiveJobDispatcher == null) {
+      exclusiveJobDispatcher = new StripedExclusiveJobDispatcher(this, taskExecutor, numberOfExclusiveJobLanes);
+    }
+  }
+
 }
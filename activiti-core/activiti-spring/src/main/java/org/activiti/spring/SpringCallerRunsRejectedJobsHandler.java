@@ -19,7 +19,6 @@ package org.activiti.spring;
 
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
 import org.activiti.engine.impl.asyncexecutor.ExecuteAsyncRunnable;
-import org.activiti.engine.impl.persistence.entity.JobEntity;
 import org.activiti.engine.runtime.Job;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,7 +35,7 @@ public class SpringCallerRunsRejectedJobsHandler implements SpringRejectedJobsHa
     try {
       // execute rejected work in caller thread (potentially blocking job
       // acquisition)
-      new ExecuteAsyncRunnable((JobEntity) job, asyncExecutor.getProcessEngineConfiguration()).run();
+      new ExecuteAsyncRunnable(job, asyncExecutor.getProcessEngineConfiguration()).run();
     } catch (Exception e) {
       log.error("Failed to execute rejected job " + job.getId(), e);
     }